@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+
+package com.aetrion.flickr.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs all benchmarks, or those whose name starts with the first argument.<p>
+ *
+ * The time per benchmark is set with the system properties bench.warmup and
+ * bench.measure, in milliseconds.
+ *
+ * <pre>
+ * java -Dbench.measure=5000 com.aetrion.flickr.bench.AllBenchmarks photos.
+ * </pre>
+ *
+ * @author Anthony Eden
+ */
+public class AllBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        String filter = args.length > 0 ? args[0] : "";
+        List all = new ArrayList();
+        all.addAll(Arrays.asList(RequestBenchmark.getBenchmarks()));
+        all.addAll(Arrays.asList(SignatureBenchmark.getBenchmarks()));
+        all.addAll(Arrays.asList(ResponseBenchmark.getBenchmarks()));
+        all.addAll(Arrays.asList(ConcurrencyBenchmark.getBenchmarks()));
+        all.addAll(Arrays.asList(PhotoUrlBenchmark.getBenchmarks()));
+        List selected = new ArrayList();
+        for (int i = 0; i < all.size(); i++) {
+            Benchmark benchmark = (Benchmark) all.get(i);
+            if (benchmark.getName().startsWith(filter)) {
+                selected.add(benchmark);
+            }
+        }
+        Benchmark.run((Benchmark[]) selected.toArray(new Benchmark[selected.size()]));
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+
+package com.aetrion.flickr.bench;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+/**
+ * A micro benchmark: an operation which is run repeatedly after a warm-up,
+ * reporting the time and, where the JVM can tell, the bytes allocated per
+ * operation.<p>
+ *
+ * The result of each operation is folded into a field, so the JIT cannot
+ * remove the work. Each benchmark runs on the calling thread.
+ *
+ * @author Anthony Eden
+ */
+public abstract class Benchmark {
+
+    public static final long DEFAULT_WARMUP_MILLIS = 2000;
+    public static final long DEFAULT_MEASURE_MILLIS = 3000;
+
+    private static volatile int sink;
+
+    private String name;
+
+    private long operations;
+    private long nanos;
+    private long allocatedBytes = -1;
+
+    protected Benchmark(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Prepare the input, called once before the warm-up.
+     *
+     * @throws Exception
+     */
+    protected void setUp() throws Exception {
+    }
+
+    /**
+     * Run the operation once.
+     *
+     * @return The result, which is consumed so the work is not optimized away
+     * @throws Exception
+     */
+    protected abstract Object run() throws Exception;
+
+    /**
+     * @return false if the operation runs on other threads, whose allocations are not counted
+     */
+    protected boolean isAllocationMeasured() {
+        return true;
+    }
+
+    /**
+     * Warm up, then run the operation for the given time.
+     *
+     * @param warmupMillis The time to run before measuring
+     * @param measureMillis The time to measure
+     * @throws Exception
+     */
+    public void measure(long warmupMillis, long measureMillis) throws Exception {
+        setUp();
+        loop(warmupMillis * 1000000L);
+        long allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+        operations = loop(measureMillis * 1000000L);
+        nanos = System.nanoTime() - start;
+        long allocatedAfter = getAllocatedBytes();
+        allocatedBytes = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+    }
+
+    private long loop(long duration) throws Exception {
+        long count = 0;
+        long end = System.nanoTime() + duration;
+        int hash = 0;
+        do {
+            // check the time every 16 operations only
+            for (int i = 0; i < 16; i++) {
+                Object result = run();
+                hash += result == null ? 0 : System.identityHashCode(result);
+            }
+            count += 16;
+        } while (System.nanoTime() < end);
+        sink += hash;
+        return count;
+    }
+
+    public double getOperationsPerSecond() {
+        return nanos == 0 ? 0 : operations * 1e9 / nanos;
+    }
+
+    public double getNanosPerOperation() {
+        return operations == 0 ? 0 : (double) nanos / operations;
+    }
+
+    /**
+     * @return The bytes allocated per operation, -1 if the JVM does not tell
+     */
+    public double getBytesPerOperation() {
+        return allocatedBytes < 0 || operations == 0 || !isAllocationMeasured() ? -1 : (double) allocatedBytes / operations;
+    }
+
+    /**
+     * Measure benchmarks one after the other and print a line for each.
+     *
+     * @param benchmarks The benchmarks
+     * @throws Exception
+     */
+    public static void run(Benchmark[] benchmarks) throws Exception {
+        long warmup = Long.getLong("bench.warmup", DEFAULT_WARMUP_MILLIS).longValue();
+        long measure = Long.getLong("bench.measure", DEFAULT_MEASURE_MILLIS).longValue();
+        System.out.println(pad("Benchmark", 44) + pad("ops/s", 14) + pad("ns/op", 12) + pad("B/op", 10));
+        for (int i = 0; i < benchmarks.length; i++) {
+            Benchmark benchmark = benchmarks[i];
+            benchmark.measure(warmup, measure);
+            System.out.println(
+                pad(benchmark.getName(), 44)
+                + pad(format(benchmark.getOperationsPerSecond()), 14)
+                + pad(format(benchmark.getNanosPerOperation()), 12)
+                + pad(benchmark.getBytesPerOperation() < 0 ? "n/a" : format(benchmark.getBytesPerOperation()), 10)
+            );
+        }
+    }
+
+    private static String format(double value) {
+        return value >= 100 ? String.valueOf(Math.round(value)) : String.valueOf(Math.round(value * 10) / 10.0);
+    }
+
+    private static String pad(String s, int width) {
+        StringBuffer buffer = new StringBuffer(s);
+        while (buffer.length() < width) {
+            buffer.append(' ');
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * The bytes allocated by the current thread so far, through the
+     * HotSpot extension of the ThreadMXBean where it is available.
+     */
+    private static long getAllocatedBytes() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            Method method = Class.forName("com.sun.management.ThreadMXBean")
+                .getMethod("getThreadAllocatedBytes", new Class[] {long.class});
+            Object bytes = method.invoke(bean, new Object[] {new Long(Thread.currentThread().getId())});
+            return ((Long) bytes).longValue();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+}
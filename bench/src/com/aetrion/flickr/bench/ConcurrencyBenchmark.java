@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+
+package com.aetrion.flickr.bench;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import com.aetrion.flickr.RESTResponse;
+import com.aetrion.flickr.util.DaemonThreadFactory;
+
+/**
+ * Parsing responses on several threads at once: with one DocumentBuilder
+ * per thread, as the REST transport does, and with one builder shared
+ * behind a lock, as it did before. One operation parses the search page
+ * once on each thread.<p>
+ *
+ * The work runs on other threads than the one measured, so no bytes per
+ * operation are reported.
+ *
+ * @author Anthony Eden
+ */
+public class ConcurrencyBenchmark {
+
+    private static final int THREADS = 4;
+
+    public static void main(String[] args) throws Exception {
+        Benchmark.run(getBenchmarks());
+    }
+
+    public static Benchmark[] getBenchmarks() throws Exception {
+        final byte[] searchPage = Payloads.getSearchPage();
+        final ThreadLocal builders = new ThreadLocal() {
+            protected Object initialValue() {
+                return newDocumentBuilder();
+            }
+        };
+        final DocumentBuilder sharedBuilder = newDocumentBuilder();
+        List benchmarks = new ArrayList();
+        benchmarks.add(new ParallelBenchmark("response.parse.search" + Payloads.PAGE_SIZE + ".threads" + THREADS) {
+            protected Object parse() throws Exception {
+                DocumentBuilder builder = (DocumentBuilder) builders.get();
+                RESTResponse response = new RESTResponse();
+                try {
+                    response.parse(builder.parse(new ByteArrayInputStream(searchPage)));
+                } finally {
+                    builder.reset();
+                }
+                return response;
+            }
+        });
+        benchmarks.add(new ParallelBenchmark("response.parse.search" + Payloads.PAGE_SIZE + ".threads" + THREADS + ".locked") {
+            protected Object parse() throws Exception {
+                RESTResponse response = new RESTResponse();
+                synchronized (sharedBuilder) {
+                    response.parse(sharedBuilder.parse(new ByteArrayInputStream(searchPage)));
+                }
+                return response;
+            }
+        });
+        return (Benchmark[]) benchmarks.toArray(new Benchmark[benchmarks.size()]);
+    }
+
+    private static DocumentBuilder newDocumentBuilder() {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs {@link #parse()} once on each of the threads per operation.
+     */
+    private abstract static class ParallelBenchmark extends Benchmark {
+
+        private ExecutorService executor;
+        private Callable task;
+
+        ParallelBenchmark(String name) {
+            super(name);
+        }
+
+        protected abstract Object parse() throws Exception;
+
+        protected boolean isAllocationMeasured() {
+            return false;
+        }
+
+        protected void setUp() {
+            executor = Executors.newFixedThreadPool(THREADS, new DaemonThreadFactory("bench"));
+            task = new Callable() {
+                public Object call() throws Exception {
+                    return parse();
+                }
+            };
+        }
+
+        protected Object run() throws Exception {
+            Future[] futures = new Future[THREADS];
+            for (int i = 0; i < THREADS; i++) {
+                futures[i] = executor.submit(task);
+            }
+            Object result = null;
+            for (int i = 0; i < THREADS; i++) {
+                result = futures[i].get();
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+
+package com.aetrion.flickr.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Document;
+
+import com.aetrion.flickr.util.IOUtilities;
+
+/**
+ * The response bodies the benchmarks run against.<p>
+ *
+ * The search page has the shape of flickr.photos.search with all extras and
+ * 500 photos per page, the largest page Flickr returns. Its values are
+ * generated from a fixed seed, so every run parses the same bytes; titles,
+ * tags and owner names mix plain ASCII, entities and non-ASCII text like real
+ * pages do. The getInfo response of a single photo, with notes, tags and a
+ * location, is kept next to this class.
+ *
+ * @author Anthony Eden
+ */
+public class Payloads {
+
+    public static final int PAGE_SIZE = 500;
+
+    private static final String[] TITLES = {
+        "IMG_4711", "Sunset over the river", "Brandenburger Tor &amp; Pariser Platz",
+        "\u6771\u4eac\u30bf\u30ef\u30fc", "Caf\u00e9 de Flore", "DSC01234", "Untitled",
+        "Kids at the beach, summer '09", "\u041c\u043e\u0441\u043a\u0432\u0430", "&quot;Blue hour&quot;"
+    };
+    private static final String[] TAGS = {
+        "berlin", "germany", "summer", "nikon", "d300", "sunset", "street", "bw",
+        "architecture", "night", "tokyo", "\u6771\u4eac", "caf\u00e9", "family", "2009", "travel"
+    };
+    private static final String[] OWNERS = {
+        "Anne Smith", "photo_joe", "M\u00fcller Fotografie", "\u5c71\u7530\u592a\u90ce", "xx_lens_xx"
+    };
+
+    private static byte[] searchPage;
+    private static byte[] photoInfo;
+
+    /**
+     * @return A search response with {@link #PAGE_SIZE} photos and all extras, UTF-8 encoded
+     */
+    public static synchronized byte[] getSearchPage() {
+        if (searchPage == null) {
+            searchPage = toBytes(createSearchPage(PAGE_SIZE));
+        }
+        return searchPage;
+    }
+
+    /**
+     * @return A flickr.photos.getInfo response
+     * @throws IOException
+     */
+    public static synchronized byte[] getPhotoInfo() throws IOException {
+        if (photoInfo == null) {
+            InputStream in = Payloads.class.getResourceAsStream("photo-info.xml");
+            try {
+                photoInfo = IOUtilities.toByteArray(in);
+            } finally {
+                IOUtilities.close(in);
+            }
+        }
+        return photoInfo;
+    }
+
+    public static Document parse(byte[] payload) throws Exception {
+        DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        return builder.parse(new ByteArrayInputStream(payload));
+    }
+
+    static String createSearchPage(int count) {
+        // a linear congruential generator, so pages do not depend on the JDK
+        long seed = 42;
+        StringBuffer buffer = new StringBuffer(count * 1200);
+        buffer.append("<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n");
+        buffer.append("<rsp stat=\"ok\">\n");
+        buffer.append("<photos page=\"3\" pages=\"2417\" perpage=\"" + count + "\" total=\"1208311\">\n");
+        for (int i = 0; i < count; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            int r = (int) (seed >>> 33);
+            String id = String.valueOf(3700000000L + (r & 0x3fffffff));
+            String secret = toSecret(seed);
+            String owner = (10000000 + (r & 0xffffff)) + "@N0" + (r & 7);
+            int server = 2000 + (r & 0x7ff);
+            int farm = 1 + (r & 3);
+            String ownerName = OWNERS[(r >>> 3) % OWNERS.length];
+            buffer.append("<photo id=\"").append(id).append("\" owner=\"").append(owner);
+            buffer.append("\" secret=\"").append(secret).append("\" server=\"").append(server);
+            buffer.append("\" farm=\"").append(farm).append("\" title=\"").append(TITLES[(r >>> 5) % TITLES.length]);
+            buffer.append("\" ispublic=\"1\" isfriend=\"0\" isfamily=\"0\" license=\"").append(r % 7);
+            buffer.append("\" dateupload=\"").append(1240000000 + (r & 0xffffff));
+            buffer.append("\" lastupdate=\"").append(1250000000 + (r & 0xffffff));
+            buffer.append("\" datetaken=\"2009-0").append(1 + r % 9).append("-1").append(r % 10);
+            buffer.append(" 1").append(r % 10).append(":2").append(r % 10).append(":3").append(r % 10);
+            buffer.append("\" datetakengranularity=\"0\" ownername=\"").append(ownerName);
+            buffer.append("\" iconserver=\"").append(server / 2).append("\" iconfarm=\"").append(farm);
+            buffer.append("\" originalsecret=\"").append(toSecret(seed >>> 20));
+            buffer.append("\" originalformat=\"jpg\" o_width=\"").append(3000 + r % 1000);
+            buffer.append("\" o_height=\"").append(2000 + r % 700);
+            buffer.append("\" latitude=\"").append(52 + (r % 1000) / 1000.0);
+            buffer.append("\" longitude=\"").append(13 + (r % 997) / 1000.0);
+            buffer.append("\" accuracy=\"16\" place_id=\"sRdiycKfApRGrrU\" woeid=\"638242");
+            buffer.append("\" tags=\"");
+            for (int t = 0; t < 3 + r % 6; t++) {
+                if (t > 0) {
+                    buffer.append(' ');
+                }
+                buffer.append(TAGS[(r >>> t) % TAGS.length]);
+            }
+            buffer.append("\" machine_tags=\"geo:lat=52.5 geo:lon=13.4\" views=\"").append(r % 5000);
+            buffer.append("\" media=\"photo\" media_status=\"ready\" pathalias=\"");
+            buffer.append(ownerName.indexOf(' ') < 0 ? ownerName : "");
+            appendUrl(buffer, "sq", farm, server, id, secret, 75, 75);
+            appendUrl(buffer, "t", farm, server, id, secret, 100, 67);
+            appendUrl(buffer, "s", farm, server, id, secret, 240, 160);
+            appendUrl(buffer, "m", farm, server, id, secret, 500, 333);
+            appendUrl(buffer, "l", farm, server, id, secret, 1024, 683);
+            appendUrl(buffer, "o", farm, server, id, secret, 3000, 2000);
+            buffer.append("\" />\n");
+        }
+        buffer.append("</photos>\n");
+        buffer.append("</rsp>\n");
+        return buffer.toString();
+    }
+
+    private static void appendUrl(StringBuffer buffer, String size, int farm, int server,
+      String id, String secret, int width, int height) {
+        buffer.append("\" url_").append(size).append("=\"http://farm").append(farm);
+        buffer.append(".static.flickr.com/").append(server).append('/').append(id).append('_').append(secret);
+        buffer.append(size.equals("m") ? "" : "_" + size).append(".jpg\" height_").append(size);
+        buffer.append("=\"").append(height).append("\" width_").append(size).append("=\"").append(width);
+    }
+
+    /**
+     * @return Ten hex digits, like the secrets of Flickr
+     */
+    private static String toSecret(long bits) {
+        return Long.toHexString((bits & 0xffffffffffL) | 0x10000000000L).substring(1);
+    }
+
+    private static byte[] toBytes(String s) {
+        try {
+            return s.getBytes("UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
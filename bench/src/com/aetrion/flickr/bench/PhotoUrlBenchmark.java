@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+
+package com.aetrion.flickr.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.aetrion.flickr.RESTResponse;
+import com.aetrion.flickr.photos.Photo;
+import com.aetrion.flickr.photos.PhotoList;
+import com.aetrion.flickr.photos.PhotoUtils;
+import com.aetrion.flickr.photos.Size;
+
+/**
+ * Building the image URLs of photos, going round the photos of a search page.
+ *
+ * @author Anthony Eden
+ */
+public class PhotoUrlBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Benchmark.run(getBenchmarks());
+    }
+
+    public static Benchmark[] getBenchmarks() throws Exception {
+        RESTResponse response = new RESTResponse();
+        response.parse(Payloads.parse(Payloads.getSearchPage()));
+        final PhotoList photos = PhotoUtils.createPhotoList(response.getPayload());
+        // from the extras, as a search returns them
+        final PhotoList plain = new PhotoList();
+        for (int i = 0; i < photos.size(); i++) {
+            Photo photo = (Photo) photos.get(i);
+            Photo copy = new Photo();
+            copy.setId(photo.getId());
+            copy.setSecret(photo.getSecret());
+            copy.setServer(photo.getServer());
+            copy.setFarm(photo.getFarm());
+            copy.setOriginalSecret(photo.getOriginalSecret());
+            copy.setOriginalFormat(photo.getOriginalFormat());
+            plain.add(copy);
+        }
+        List benchmarks = new ArrayList();
+        benchmarks.add(new UrlBenchmark("photo.getUrl.extras", photos));
+        benchmarks.add(new UrlBenchmark("photo.getUrl.built", plain));
+        return (Benchmark[]) benchmarks.toArray(new Benchmark[benchmarks.size()]);
+    }
+
+    private static class UrlBenchmark extends Benchmark {
+
+        private static final int[] SIZES = {
+            Size.SQUARE, Size.THUMB, Size.SMALL, Size.MEDIUM, Size.LARGE, Size.ORIGINAL
+        };
+
+        private PhotoList photos;
+        private int index = 0;
+
+        UrlBenchmark(String name, PhotoList photos) {
+            super(name);
+            this.photos = photos;
+        }
+
+        protected Object run() throws Exception {
+            Photo photo = (Photo) photos.get(index / SIZES.length);
+            String url = photo.getUrl(SIZES[index % SIZES.length]);
+            index = (index + 1) % (photos.size() * SIZES.length);
+            return url;
+        }
+
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+
+package com.aetrion.flickr.bench;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
+import com.aetrion.flickr.auth.AuthUtilities;
+import com.aetrion.flickr.photos.Extras;
+import com.aetrion.flickr.photos.SearchParameters;
+import com.aetrion.flickr.util.UrlUtilities;
+
+/**
+ * Building requests: the parameters of a search, their signature and the
+ * request URL.
+ *
+ * @author Anthony Eden
+ */
+public class RequestBenchmark {
+
+    private static final String SECRET = "0123456789abcdef";
+
+    public static void main(String[] args) throws Exception {
+        Benchmark.run(getBenchmarks());
+    }
+
+    public static Benchmark[] getBenchmarks() throws Exception {
+        final SearchParameters search = createSearchParameters();
+        List benchmarks = new ArrayList();
+        benchmarks.add(new Benchmark("search.getAsParameters") {
+            protected Object run() {
+                return search.getAsParameters();
+            }
+        });
+        benchmarks.add(new Benchmark("auth.getSignature.search") {
+            protected Object run() {
+                return AuthUtilities.getSignature(SECRET, createParameters(search));
+            }
+        });
+        benchmarks.add(new Benchmark("auth.getSignature.search.list") {
+            protected Object run() {
+                return AuthUtilities.getSignature(SECRET, createParameterObjects(search));
+            }
+        });
+        benchmarks.add(new Benchmark("url.buildUrl.search") {
+            private List parameters;
+            protected void setUp() {
+                parameters = createParameters(search);
+                parameters.add(new Parameter("api_sig", AuthUtilities.getSignature(SECRET, parameters)));
+            }
+            protected Object run() throws Exception {
+                return UrlUtilities.buildUrl("api.flickr.com", 0, "/services/rest/", parameters);
+            }
+        });
+        benchmarks.add(new Benchmark("url.buildUrl.search.list") {
+            private List parameters;
+            protected void setUp() {
+                parameters = createParameterObjects(search);
+                parameters.add(new Parameter("api_sig", AuthUtilities.getSignature(SECRET, parameters)));
+            }
+            protected Object run() throws Exception {
+                return UrlUtilities.buildUrl("api.flickr.com", 0, "/services/rest/", parameters);
+            }
+        });
+        return (Benchmark[]) benchmarks.toArray(new Benchmark[benchmarks.size()]);
+    }
+
+    /**
+     * A search by text, tags, date and place, with all extras and the largest page.
+     */
+    static SearchParameters createSearchParameters() throws Exception {
+        SearchParameters search = new SearchParameters();
+        search.setText("Brandenburger Tor at night & blue hour, caf\u00e9");
+        search.setTags(new String[] {"berlin", "night", "bluehour", "\u6771\u4eac"});
+        search.setTagMode("any");
+        search.setMinTakenDate(new Date(1230768000000L));
+        search.setMaxTakenDate(new Date(1262304000000L));
+        search.setLicense("4,5,6");
+        search.setBBox("13.08", "52.33", "13.76", "52.68");
+        search.setSafeSearch("1");
+        search.setSort(SearchParameters.INTERESTINGNESS_DESC);
+        search.setMedia("photos");
+        search.setExtras(Extras.ALL_EXTRAS);
+        return search;
+    }
+
+    /**
+     * The parameters of a search, built like PhotosInterface does.
+     */
+    static List createParameters(SearchParameters search) {
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", "flickr.photos.search");
+        parameters.add("api_key", "0123456789abcdef0123456789abcdef");
+        parameters.add("auth_token", "72157600000000000-0123456789abcdef");
+        parameters.addAll(search.getAsParameters());
+        parameters.add("per_page", 500);
+        parameters.add("page", 3);
+        return parameters;
+    }
+
+    /**
+     * The parameters of a search as a list of Parameter objects, the way
+     * requests were built before the ParameterList.
+     */
+    static List createParameterObjects(SearchParameters search) {
+        List parameters = new ArrayList();
+        parameters.add(new Parameter("method", "flickr.photos.search"));
+        parameters.add(new Parameter("api_key", "0123456789abcdef0123456789abcdef"));
+        parameters.add(new Parameter("auth_token", "72157600000000000-0123456789abcdef"));
+        parameters.addAll(search.getAsParameters());
+        parameters.add(new Parameter("per_page", 500));
+        parameters.add(new Parameter("page", 3));
+        return parameters;
+    }
+
+}
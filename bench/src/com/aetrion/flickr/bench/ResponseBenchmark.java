@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+
+package com.aetrion.flickr.bench;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.w3c.dom.Element;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+import com.aetrion.flickr.RESTResponse;
+import com.aetrion.flickr.photos.Photo;
+import com.aetrion.flickr.photos.PhotoListHandler;
+import com.aetrion.flickr.photos.PhotoUtils;
+
+/**
+ * Parsing responses: the XML into a {@link RESTResponse}, and the payload
+ * into photos, from the DOM and streaming. photos.createPhoto.attributes
+ * decodes one photo of a search page per operation.
+ *
+ * @author Anthony Eden
+ */
+public class ResponseBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Benchmark.run(getBenchmarks());
+    }
+
+    public static Benchmark[] getBenchmarks() throws Exception {
+        final byte[] searchPage = Payloads.getSearchPage();
+        final byte[] photoInfo = Payloads.getPhotoInfo();
+        final DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        final SAXParser parser = SAXParserFactory.newInstance().newSAXParser();
+        List benchmarks = new ArrayList();
+        benchmarks.add(new Benchmark("response.parse.search" + Payloads.PAGE_SIZE) {
+            protected Object run() throws Exception {
+                RESTResponse response = new RESTResponse();
+                response.parse(builder.parse(new ByteArrayInputStream(searchPage)));
+                return response;
+            }
+        });
+        benchmarks.add(new Benchmark("response.parse.info") {
+            protected Object run() throws Exception {
+                RESTResponse response = new RESTResponse();
+                response.parse(builder.parse(new ByteArrayInputStream(photoInfo)));
+                return response;
+            }
+        });
+        benchmarks.add(new Benchmark("photos.createPhotoList.search" + Payloads.PAGE_SIZE) {
+            private Element payload;
+            protected void setUp() throws Exception {
+                payload = getPayload(searchPage);
+            }
+            protected Object run() {
+                return PhotoUtils.createPhotoList(payload);
+            }
+        });
+        benchmarks.add(new Benchmark("photos.createPhoto.info") {
+            private Element payload;
+            protected void setUp() throws Exception {
+                payload = getPayload(photoInfo);
+            }
+            protected Object run() {
+                return PhotoUtils.createPhoto(payload);
+            }
+        });
+        benchmarks.add(new Benchmark("photos.createPhoto.attributes") {
+            private Attributes[] photos;
+            private Attributes list;
+            private int index = 0;
+            protected void setUp() throws Exception {
+                final List attributes = new ArrayList();
+                parser.parse(new ByteArrayInputStream(searchPage), new DefaultHandler() {
+                    public void startElement(String uri, String localName, String qName, Attributes a) {
+                        attributes.add(new AttributesImpl(a));
+                    }
+                });
+                parser.reset();
+                // rsp, photos, then one element per photo
+                list = (Attributes) attributes.get(1);
+                photos = (Attributes[]) attributes.subList(2, attributes.size()).toArray(new Attributes[0]);
+            }
+            protected Object run() {
+                Photo photo = PhotoUtils.createPhoto(photos[index], list);
+                index = (index + 1) % photos.length;
+                return photo;
+            }
+        });
+        benchmarks.add(new Benchmark("photos.stream.search" + Payloads.PAGE_SIZE) {
+            protected Object run() throws Exception {
+                PhotoListHandler handler = new PhotoListHandler();
+                parser.parse(new ByteArrayInputStream(searchPage), handler);
+                parser.reset();
+                return handler.getPhotoList();
+            }
+        });
+        return (Benchmark[]) benchmarks.toArray(new Benchmark[benchmarks.size()]);
+    }
+
+    private static Element getPayload(byte[] payload) throws Exception {
+        RESTResponse response = new RESTResponse();
+        response.parse(Payloads.parse(payload));
+        return response.getPayload();
+    }
+
+}
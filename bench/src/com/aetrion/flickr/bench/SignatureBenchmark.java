@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+
+package com.aetrion.flickr.bench;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterAlphaComparator;
+import com.aetrion.flickr.auth.Signer;
+import com.aetrion.flickr.util.ByteUtilities;
+
+/**
+ * Compares the {@link Signer} with the former signing code, which built the
+ * concatenated String and looked up a new MessageDigest for each signature,
+ * across parameter counts.
+ *
+ * @author Anthony Eden
+ */
+public class SignatureBenchmark {
+
+    private static final String SECRET = "0123456789abcdef";
+    private static final int[] PARAMETER_COUNTS = {2, 8, 32};
+
+    public static void main(String[] args) throws Exception {
+        Benchmark.run(getBenchmarks());
+    }
+
+    public static Benchmark[] getBenchmarks() {
+        List benchmarks = new ArrayList();
+        for (int i = 0; i < PARAMETER_COUNTS.length; i++) {
+            final List parameters = createParameters(PARAMETER_COUNTS[i]);
+            benchmarks.add(new Benchmark("signature.concatenate." + PARAMETER_COUNTS[i]) {
+                protected Object run() throws Exception {
+                    return concatenate(SECRET, parameters);
+                }
+            });
+            benchmarks.add(new Benchmark("signature.signer." + PARAMETER_COUNTS[i]) {
+                private Signer signer = new Signer(SECRET);
+                protected Object run() {
+                    return signer.sign(parameters);
+                }
+            });
+        }
+        return (Benchmark[]) benchmarks.toArray(new Benchmark[benchmarks.size()]);
+    }
+
+    /**
+     * Parameters like those of a search: the method, the API key, the auth
+     * token and short values.
+     */
+    static List createParameters(int count) {
+        List parameters = new ArrayList();
+        parameters.add(new Parameter("method", "flickr.photos.search"));
+        parameters.add(new Parameter("api_key", "0123456789abcdef0123456789abcdef"));
+        parameters.add(new Parameter("auth_token", "72157600000000000-0123456789abcdef"));
+        for (int i = parameters.size(); i < count; i++) {
+            parameters.add(new Parameter("param" + i, "value " + i));
+        }
+        return new ArrayList(parameters.subList(0, count));
+    }
+
+    /**
+     * The signing code before the Signer.
+     */
+    static String concatenate(String sharedSecret, List params) throws Exception {
+        StringBuffer buffer = new StringBuffer();
+        buffer.append(sharedSecret);
+        Collections.sort(params, new ParameterAlphaComparator());
+        Iterator iter = params.iterator();
+        while (iter.hasNext()) {
+            Parameter param = (Parameter) iter.next();
+            buffer.append(param.getName());
+            buffer.append(param.getValue());
+        }
+        MessageDigest md = MessageDigest.getInstance("MD5");
+        return ByteUtilities.toHexString(md.digest(buffer.toString().getBytes("UTF-8")));
+    }
+
+}
@@ -1,10 +1,6 @@
-import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -15,12 +11,15 @@ import org.xml.sax.SAXException;
 
 import com.aetrion.flickr.Flickr;
 import com.aetrion.flickr.FlickrException;
+import com.aetrion.flickr.PageSource;
+import com.aetrion.flickr.PagedIterator;
 import com.aetrion.flickr.REST;
 import com.aetrion.flickr.RequestContext;
+import com.aetrion.flickr.SearchResultList;
 import com.aetrion.flickr.auth.Auth;
 import com.aetrion.flickr.auth.Permission;
 import com.aetrion.flickr.photos.Photo;
-import com.aetrion.flickr.photos.PhotoList;
+import com.aetrion.flickr.photos.PhotoDownloader;
 import com.aetrion.flickr.photos.PhotosInterface;
 import com.aetrion.flickr.photos.Size;
 import com.aetrion.flickr.photosets.Photoset;
@@ -80,38 +79,41 @@ public class Backup {
 		}
 		
 		
-		PhotosetsInterface pi = flickr.getPhotosetsInterface();
-		PhotosInterface photoInt = flickr.getPhotosInterface();
+		final PhotosetsInterface pi = flickr.getPhotosetsInterface();
+		final PhotosInterface photoInt = flickr.getPhotosInterface();
 		Map allPhotos = new HashMap();
 		
 		Iterator sets = pi.getList(this.nsid).getPhotosets().iterator();
 		
 		while (sets.hasNext()) {
-			Photoset set = (Photoset)sets.next();
-			PhotoList photos = pi.getPhotos(set.getId(), 500, 1);
+			final Photoset set = (Photoset)sets.next();
+			// the pages are fetched while the photos are written
+			PagedIterator photos = new PagedIterator(new PageSource() {
+				public SearchResultList getPage(int perPage, int page) throws IOException, SAXException, FlickrException {
+					return pi.getPhotos(set.getId(), perPage, page);
+				}
+			}, 500, flickr.getExecutor(), 1);
 			allPhotos.put(set.getTitle(), photos);
 		}
 		
-		int notInSetPage = 1;
-		Collection notInASet = new ArrayList();
-		while (true) {
-			Collection nis = photoInt.getNotInSet(50, notInSetPage);
-			notInASet.addAll(nis);
-			if (nis.size() < 50) break;
-			notInSetPage++;
-		}
+		PagedIterator notInASet = new PagedIterator(new PageSource() {
+			public SearchResultList getPage(int perPage, int page) throws IOException, SAXException, FlickrException {
+				return photoInt.getNotInSet(perPage, page);
+			}
+		}, 50, flickr.getExecutor(), 1);
 		allPhotos.put("NotInASet", notInASet);
 		
 		
 		
 		Iterator allIter = allPhotos.keySet().iterator();
+		// the photos are downloaded concurrently while the pages are walked
+		PhotoDownloader downloader = new PhotoDownloader();
 
 		while (allIter.hasNext()) {
 			String setTitle = (String) allIter.next();
 			String setDirectoryName = makeSafeFilename(setTitle);
 
-			Collection currentSet = (Collection) allPhotos.get(setTitle);
-			Iterator setIterator = currentSet.iterator();
+			Iterator setIterator = (Iterator) allPhotos.get(setTitle);
 			File setDirectory = new File(directory, setDirectoryName);
 			setDirectory.mkdir();
 			while (setIterator.hasNext()) {
@@ -122,21 +124,13 @@ public class Backup {
 				String filename = u.getFile();
 				filename = filename.substring(filename.lastIndexOf("/") + 1 , filename.length());				
 				System.out.println("Now writing " + filename + " to " + setDirectory.getCanonicalPath());
-				BufferedInputStream inStream = new BufferedInputStream(photoInt.getImageAsStream(p, Size.LARGE));
-				File newFile = new File(setDirectory, filename);
-				
-				FileOutputStream fos = new FileOutputStream(newFile);
-			
-				int read;
-			
-				while ((read = inStream.read()) != -1) {
-					fos.write(read);
-				}
-				fos.flush();
-				fos.close();
-				inStream.close();
+				downloader.download(p, Size.LARGE, new File(setDirectory, filename));
 			}
 		}
+		downloader.awaitCompletion();
+		downloader.shutdown();
+		System.out.println(downloader.getDownloadedCount() + " photos, " + downloader.getFailedCount()
+			+ " failed, " + (long) downloader.getBytesPerSecond() / 1024 + " KB/s");
 		
 	}
 
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.aetrion.flickr.auth.Auth;
+
+/**
+ * Immutable per-call information: the Auth of the user on whose behalf calls
+ * are made and the extra return values requested.<p>
+ *
+ * A CallContext is bound to the interfaces acquired from
+ * {@link Flickr#withContext(CallContext)} or passed to the constructor of an
+ * interface. Unlike the {@link RequestContext} it does not depend on the
+ * current thread, so one set of threads can serve many users at once.
+ * Interfaces without a CallContext fall back to the RequestContext.<p>
+ *
+ * The Auth is used as given and should not be modified once it is part of a
+ * CallContext.
+ *
+ * @author Anthony Eden
+ */
+public class CallContext {
+
+    public static final CallContext EMPTY = new CallContext(null, Collections.EMPTY_LIST);
+
+    private final Auth auth;
+    private final List extras;
+
+    /**
+     * Construct a CallContext.
+     *
+     * @param auth The Auth, null for unauthenticated calls
+     * @param extras The extra return values (Strings), may be null
+     */
+    public CallContext(Auth auth, Collection extras) {
+        this.auth = auth;
+        if (extras == null || extras.isEmpty()) {
+            this.extras = Collections.EMPTY_LIST;
+        } else {
+            this.extras = Collections.unmodifiableList(new ArrayList(extras));
+        }
+    }
+
+    /**
+     * Take a snapshot of the RequestContext of the current thread.
+     *
+     * @return The CallContext
+     */
+    public static CallContext fromRequestContext() {
+        RequestContext requestContext = RequestContext.getRequestContext();
+        return new CallContext(requestContext.getAuth(), requestContext.getExtras());
+    }
+
+    public Auth getAuth() {
+        return auth;
+    }
+
+    /**
+     * Get the auth token of the Auth.
+     *
+     * @return The token, null if there is no Auth or the Auth has no token
+     */
+    public String getAuthToken() {
+        if (auth == null || auth.getToken() == null || auth.getToken().equals("")) {
+            return null;
+        }
+        return auth.getToken();
+    }
+
+    /**
+     * Get the extra return values requested.
+     *
+     * @return The unmodifiable List of extras, never null
+     */
+    public List getExtras() {
+        return extras;
+    }
+
+    /**
+     * @param auth The Auth
+     * @return A copy of this context with the given Auth
+     */
+    public CallContext withAuth(Auth auth) {
+        return new CallContext(auth, extras);
+    }
+
+    /**
+     * @param extras The extra return values
+     * @return A copy of this context with the given extras
+     */
+    public CallContext withExtras(Collection extras) {
+        return new CallContext(auth, extras);
+    }
+
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * What happened during one call of a Transport, as reported to the
+ * {@link TransportListener}s.<p>
+ *
+ * A call goes through three timed phases: connecting, waiting for the first
+ * byte of the response after the request was sent, and reading and parsing
+ * the response. The total time also covers waiting for the rate limiter and
+ * writing the request. A phase which did not happen, like connecting for a
+ * cached response, has a duration of -1. Durations are in nanoseconds.<p>
+ *
+ * The transport records the phases through the methods of this class while
+ * the call is in progress, on the thread making the call.
+ *
+ * @author Anthony Eden
+ * @see Transport#addTransportListener(TransportListener)
+ */
+public class CallEvent {
+
+    private String method;
+    private String httpMethod;
+    private int status = -1;
+    private long bytesSent = 0;
+    private long bytesReceived = 0;
+    private long connectNanos = -1;
+    private long firstByteNanos = -1;
+    private long parseNanos = -1;
+    private long totalNanos = -1;
+    private boolean cached = false;
+    private String errorCode;
+    private Throwable exception;
+
+    private long startTime;
+    private long markTime;
+    private boolean responding = false;
+
+    /**
+     * Start recording a call.
+     *
+     * @param method The API method, or the path for calls without one like uploads
+     * @param httpMethod GET or POST
+     */
+    public CallEvent(String method, String httpMethod) {
+        this.method = method;
+        this.httpMethod = httpMethod;
+        startTime = System.nanoTime();
+        markTime = startTime;
+    }
+
+    /**
+     * Get the API method of a request, the value of its method parameter.
+     *
+     * @param parameters The parameters
+     * @param path The request path, returned if there is no method parameter
+     * @return The method
+     */
+    public static String getMethod(List parameters, String path) {
+        if (parameters instanceof ParameterList) {
+            String method = ((ParameterList) parameters).getMethod();
+            return method != null ? method : path;
+        }
+        for (int i = 0, n = parameters.size(); i < n; i++) {
+            Parameter parameter = (Parameter) parameters.get(i);
+            if ("method".equals(parameter.getName()) && parameter.getValue() instanceof String) {
+                return (String) parameter.getValue();
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Mark the start of connecting.
+     */
+    public void connecting() {
+        markTime = System.nanoTime();
+    }
+
+    /**
+     * Mark the end of connecting.
+     */
+    public void connected() {
+        long now = System.nanoTime();
+        connectNanos = now - markTime;
+        markTime = now;
+    }
+
+    /**
+     * Mark the request as sent. The time to the first byte is counted from here.
+     */
+    public void requestSent() {
+        markTime = System.nanoTime();
+    }
+
+    /**
+     * Mark the arrival of the response headers. Reading and parsing the
+     * response is counted from here.
+     *
+     * @param status The HTTP status
+     */
+    public void responseStarted(int status) {
+        long now = System.nanoTime();
+        firstByteNanos = now - markTime;
+        markTime = now;
+        this.status = status;
+        responding = true;
+    }
+
+    /**
+     * Mark the call as answered from a cache, without a network call.
+     * Parsing is counted from here.
+     */
+    public void cachedResponse() {
+        markTime = System.nanoTime();
+        cached = true;
+        responding = true;
+    }
+
+    /**
+     * Mark the end of the call, once the response is parsed or the call failed.
+     */
+    public void completed() {
+        long now = System.nanoTime();
+        if (responding) {
+            parseNanos = now - markTime;
+        }
+        totalNanos = now - startTime;
+    }
+
+    public void addBytesSent(long count) {
+        bytesSent += count;
+    }
+
+    public void addBytesReceived(long count) {
+        bytesReceived += count;
+    }
+
+    /**
+     * Count the bytes read from a response stream.
+     *
+     * @param in The stream
+     * @return The stream counting into this event
+     */
+    public InputStream countReceived(InputStream in) {
+        return new FilterInputStream(in) {
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    bytesReceived++;
+                }
+                return b;
+            }
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                    bytesReceived += n;
+                }
+                return n;
+            }
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                bytesReceived += skipped;
+                return skipped;
+            }
+        };
+    }
+
+    /**
+     * Count the bytes written to a request stream.
+     *
+     * @param out The stream
+     * @return The stream counting into this event
+     */
+    public OutputStream countSent(OutputStream out) {
+        return new FilterOutputStream(out) {
+            public void write(int b) throws IOException {
+                out.write(b);
+                bytesSent++;
+            }
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                bytesSent += len;
+            }
+        };
+    }
+
+    /**
+     * Take the error code of a response.
+     *
+     * @param response The response
+     * @return The response
+     */
+    public Response responded(Response response) {
+        if (response.isError()) {
+            errorCode = response.getErrorCode();
+        }
+        return response;
+    }
+
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    public void setException(Throwable exception) {
+        this.exception = exception;
+    }
+
+    /**
+     * @return The API method, or the path for calls without one like uploads
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return GET or POST
+     */
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    /**
+     * @return The HTTP status, -1 if no response was received over the network
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return The bytes of the query string of a GET or the body of a POST
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * @return The bytes of the response body read from the network
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    /**
+     * @return The time from sending the request to the response headers
+     */
+    public long getFirstByteNanos() {
+        return firstByteNanos;
+    }
+
+    /**
+     * @return The time from the response headers to the parsed response
+     */
+    public long getParseNanos() {
+        return parseNanos;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return true if the response came from the response cache
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    /**
+     * @return The error code of a Flickr error response, as in the FlickrException, null on success
+     */
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * @return The exception which ended the call, like an IOException, null if there was none
+     */
+    public Throwable getException() {
+        return exception;
+    }
+
+    /**
+     * @return true if the call failed with an exception or an error response
+     */
+    public boolean isError() {
+        return exception != null || errorCode != null;
+    }
+
+    public String toString() {
+        return httpMethod + " " + method + " status=" + status + " sent=" + bytesSent + " received=" + bytesReceived
+            + " connect=" + connectNanos + "ns firstByte=" + firstByteNanos + "ns parse=" + parseNanos
+            + "ns total=" + totalNanos + "ns" + (cached ? " cached" : "")
+            + (errorCode != null ? " error=" + errorCode : "") + (exception != null ? " exception=" + exception : "");
+    }
+
+}
@@ -4,39 +4,72 @@
 package com.aetrion.flickr;
 
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.xml.parsers.ParserConfigurationException;
 
 import com.aetrion.flickr.activity.ActivityInterface;
+import com.aetrion.flickr.activity.AsyncActivityInterface;
+import com.aetrion.flickr.auth.AsyncAuthInterface;
 import com.aetrion.flickr.auth.Auth;
 import com.aetrion.flickr.auth.AuthInterface;
+import com.aetrion.flickr.blogs.AsyncBlogsInterface;
 import com.aetrion.flickr.blogs.BlogsInterface;
+import com.aetrion.flickr.commons.AsyncCommonsInterface;
 import com.aetrion.flickr.commons.CommonsInterface;
+import com.aetrion.flickr.contacts.AsyncContactsInterface;
 import com.aetrion.flickr.contacts.ContactsInterface;
+import com.aetrion.flickr.favorites.AsyncFavoritesInterface;
 import com.aetrion.flickr.favorites.FavoritesInterface;
+import com.aetrion.flickr.groups.AsyncGroupsInterface;
 import com.aetrion.flickr.groups.GroupsInterface;
+import com.aetrion.flickr.groups.members.AsyncMembersInterface;
 import com.aetrion.flickr.groups.members.MembersInterface;
+import com.aetrion.flickr.groups.pools.AsyncPoolsInterface;
 import com.aetrion.flickr.groups.pools.PoolsInterface;
+import com.aetrion.flickr.interestingness.AsyncInterestingnessInterface;
 import com.aetrion.flickr.interestingness.InterestingnessInterface;
+import com.aetrion.flickr.machinetags.AsyncMachinetagsInterface;
 import com.aetrion.flickr.machinetags.MachinetagsInterface;
+import com.aetrion.flickr.panda.AsyncPandaInterface;
 import com.aetrion.flickr.panda.PandaInterface;
+import com.aetrion.flickr.people.AsyncPeopleInterface;
 import com.aetrion.flickr.people.PeopleInterface;
+import com.aetrion.flickr.photos.AsyncPhotosInterface;
 import com.aetrion.flickr.photos.PhotosInterface;
+import com.aetrion.flickr.photos.comments.AsyncCommentsInterface;
 import com.aetrion.flickr.photos.comments.CommentsInterface;
+import com.aetrion.flickr.photos.geo.AsyncGeoInterface;
 import com.aetrion.flickr.photos.geo.GeoInterface;
+import com.aetrion.flickr.photos.licenses.AsyncLicensesInterface;
 import com.aetrion.flickr.photos.licenses.LicensesInterface;
+import com.aetrion.flickr.photos.notes.AsyncNotesInterface;
 import com.aetrion.flickr.photos.notes.NotesInterface;
+import com.aetrion.flickr.photos.transform.AsyncTransformInterface;
 import com.aetrion.flickr.photos.transform.TransformInterface;
+import com.aetrion.flickr.photos.upload.AsyncUploadInterface;
+import com.aetrion.flickr.photos.upload.TicketPoller;
 import com.aetrion.flickr.photos.upload.UploadInterface;
+import com.aetrion.flickr.photosets.AsyncPhotosetsInterface;
 import com.aetrion.flickr.photosets.PhotosetsInterface;
+import com.aetrion.flickr.photosets.comments.AsyncPhotosetsCommentsInterface;
 import com.aetrion.flickr.photosets.comments.PhotosetsCommentsInterface;
+import com.aetrion.flickr.places.AsyncPlacesInterface;
 import com.aetrion.flickr.places.PlacesInterface;
+import com.aetrion.flickr.prefs.AsyncPrefsInterface;
 import com.aetrion.flickr.prefs.PrefsInterface;
+import com.aetrion.flickr.reflection.AsyncReflectionInterface;
 import com.aetrion.flickr.reflection.ReflectionInterface;
+import com.aetrion.flickr.tags.AsyncTagsInterface;
 import com.aetrion.flickr.tags.TagsInterface;
+import com.aetrion.flickr.test.AsyncTestInterface;
 import com.aetrion.flickr.test.TestInterface;
 import com.aetrion.flickr.uploader.Uploader;
+import com.aetrion.flickr.urls.AsyncUrlsInterface;
 import com.aetrion.flickr.urls.UrlsInterface;
+import com.aetrion.flickr.util.DaemonThreadFactory;
 
 /**
  * Main entry point for the Flickrj API.
@@ -59,13 +92,22 @@ public class Flickr {
      */
     public static final String DEFAULT_HOST = "api.flickr.com";
 
+    /**
+     * The number of threads of the default Executor of the Async*Interface classes.
+     */
+    public static final int DEFAULT_ASYNC_THREADS = 16;
+
     /**
      * Set to true to enable response debugging (print the response stream)
+     *
+     * @see com.aetrion.flickr.REST#setWireLog(com.aetrion.flickr.util.WireLog)
      */
     public static boolean debugStream = false;
 
     /**
      * Set to true to enable request debugging (print the request stream, used for "post")
+     *
+     * @see com.aetrion.flickr.REST#setWireLog(com.aetrion.flickr.util.WireLog)
      */
     public static boolean debugRequest = false;
 
@@ -78,6 +120,10 @@ public class Flickr {
     private String sharedSecret;
     private Transport transport;
     private Auth auth;
+    private Executor executor;
+    private CallContext context;
+    /** The instance a view was created from, whose Executor it uses unless one is set. */
+    private Flickr parent;
 
     private AuthInterface authInterface;
     private ActivityInterface activityInterface;
@@ -107,6 +153,7 @@ public class Flickr {
     private TransformInterface transformInterface;
     private UploadInterface uploadInterface;
     private Uploader uploader;
+    private TicketPoller ticketPoller;
     private UrlsInterface urlsInterface;
 
     /**
@@ -332,6 +379,77 @@ public class Flickr {
         this.transport = transport;
     }
 
+    /**
+     * Get the CallContext bound to this instance.
+     *
+     * @return The CallContext, null if the RequestContext of the calling thread is used
+     */
+    public CallContext getCallContext() {
+        return context;
+    }
+
+    /**
+     * Create a view of this instance which is bound to the given CallContext.
+     * The view shares the API key, shared secret, Transport and Executor,
+     * but its interfaces sign their calls with the Auth of the context and
+     * ignore the RequestContext of the calling thread.
+     *
+     * @param context The CallContext which must not be null
+     * @return The Flickr view
+     */
+    public Flickr withContext(CallContext context) {
+        if (context == null) {
+            throw new IllegalArgumentException("CallContext must not be null");
+        }
+        Flickr view = new Flickr(apiKey, transport);
+        view.sharedSecret = sharedSecret;
+        view.auth = context.getAuth();
+        view.parent = this;
+        view.context = context;
+        return view;
+    }
+
+    /**
+     * Get the Executor which runs the calls made through the Async*Interface classes.
+     * Unless an Executor has been set, a pool of {@link #DEFAULT_ASYNC_THREADS}
+     * daemon threads is created on first use; calls beyond that wait in its queue.
+     *
+     * @return The Executor
+     */
+    public synchronized Executor getExecutor() {
+        if (executor == null) {
+            if (parent != null) {
+                return parent.getExecutor();
+            }
+            executor = Executors.newFixedThreadPool(DEFAULT_ASYNC_THREADS, new DaemonThreadFactory("async"));
+        }
+        return executor;
+    }
+
+    /**
+     * Set the Executor which runs the calls made through the Async*Interface classes.
+     * Async interfaces acquired before keep using the previous Executor.
+     *
+     * @param executor The Executor which must not be null
+     */
+    public synchronized void setExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor must not be null");
+        }
+        this.executor = executor;
+    }
+
+    /**
+     * Shut down the Executor, if it is an ExecutorService.
+     * Calls already submitted are completed.
+     */
+    public synchronized void shutdownExecutor() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+        executor = null;
+    }
+
     /**
      * Get the AuthInterface.
      *
@@ -339,7 +457,7 @@ public class Flickr {
      */
     public AuthInterface getAuthInterface() {
         if (authInterface == null) {
-            authInterface = new AuthInterface(apiKey, sharedSecret, transport);
+            authInterface = new AuthInterface(apiKey, sharedSecret, transport, context);
         }
         return authInterface;
     }
@@ -351,56 +469,56 @@ public class Flickr {
      */
     public ActivityInterface getActivityInterface() {
         if (activityInterface == null) {
-            activityInterface = new ActivityInterface(apiKey, sharedSecret, transport);
+            activityInterface = new ActivityInterface(apiKey, sharedSecret, transport, context);
         }
         return activityInterface;
     }
 
     public synchronized BlogsInterface getBlogsInterface() {
         if (blogsInterface == null) {
-            blogsInterface = new BlogsInterface(apiKey, sharedSecret, transport);
+            blogsInterface = new BlogsInterface(apiKey, sharedSecret, transport, context);
         }
         return blogsInterface;
     }
 
     public CommentsInterface getCommentsInterface() {
         if (commentsInterface == null) {
-            commentsInterface = new CommentsInterface(apiKey, sharedSecret, transport);
+            commentsInterface = new CommentsInterface(apiKey, sharedSecret, transport, context);
         }
         return commentsInterface;
     }
 
     public CommonsInterface getCommonsInterface() {
         if (commonsInterface == null) {
-            commonsInterface = new CommonsInterface(apiKey, sharedSecret, transport);
+            commonsInterface = new CommonsInterface(apiKey, sharedSecret, transport, context);
         }
         return commonsInterface;
     }
 
     public ContactsInterface getContactsInterface() {
         if (contactsInterface == null) {
-            contactsInterface = new ContactsInterface(apiKey, sharedSecret, transport);
+            contactsInterface = new ContactsInterface(apiKey, sharedSecret, transport, context);
         }
         return contactsInterface;
     }
 
     public FavoritesInterface getFavoritesInterface() {
         if (favoritesInterface == null) {
-            favoritesInterface = new FavoritesInterface(apiKey, sharedSecret, transport);
+            favoritesInterface = new FavoritesInterface(apiKey, sharedSecret, transport, context);
         }
         return favoritesInterface;
     }
 
     public GeoInterface getGeoInterface() {
         if (geoInterface == null) {
-            geoInterface = new GeoInterface(apiKey, sharedSecret, transport);
+            geoInterface = new GeoInterface(apiKey, sharedSecret, transport, context);
         }
         return geoInterface;
     }
 
     public GroupsInterface getGroupsInterface() {
         if (groupsInterface == null) {
-            groupsInterface = new GroupsInterface(apiKey, sharedSecret, transport);
+            groupsInterface = new GroupsInterface(apiKey, sharedSecret, transport, context);
         }
         return groupsInterface;
     }
@@ -410,98 +528,98 @@ public class Flickr {
      */
     public synchronized InterestingnessInterface getInterestingnessInterface() {
         if (interestingnessInterface == null) {
-            interestingnessInterface = new InterestingnessInterface(apiKey, sharedSecret, transport);
+            interestingnessInterface = new InterestingnessInterface(apiKey, sharedSecret, transport, context);
         }
         return interestingnessInterface;
     }
 
     public LicensesInterface getLicensesInterface() {
         if (licensesInterface == null) {
-            licensesInterface = new LicensesInterface(apiKey, sharedSecret, transport);
+            licensesInterface = new LicensesInterface(apiKey, sharedSecret, transport, context);
         }
         return licensesInterface;
     }
 
     public MachinetagsInterface getMachinetagsInterface() {
         if (machinetagsInterface == null) {
-        	machinetagsInterface = new MachinetagsInterface(apiKey, sharedSecret, transport);
+        	machinetagsInterface = new MachinetagsInterface(apiKey, sharedSecret, transport, context);
         }
         return machinetagsInterface;
     }
 
     public MembersInterface getMembersInterface() {
         if (membersInterface == null) {
-        	membersInterface = new MembersInterface(apiKey, sharedSecret, transport);
+        	membersInterface = new MembersInterface(apiKey, sharedSecret, transport, context);
         }
         return membersInterface;
     }
 
     public NotesInterface getNotesInterface() {
         if (notesInterface == null) {
-            notesInterface = new NotesInterface(apiKey, sharedSecret, transport);
+            notesInterface = new NotesInterface(apiKey, sharedSecret, transport, context);
         }
         return notesInterface;
     }
 
     public PandaInterface getPandaInterface() {
         if (pandaInterface == null) {
-            pandaInterface = new PandaInterface(apiKey, sharedSecret, transport);
+            pandaInterface = new PandaInterface(apiKey, sharedSecret, transport, context);
         }
         return pandaInterface;
     }
 
     public PoolsInterface getPoolsInterface() {
         if (poolsInterface == null) {
-            poolsInterface = new PoolsInterface(apiKey, sharedSecret, transport);
+            poolsInterface = new PoolsInterface(apiKey, sharedSecret, transport, context);
         }
         return poolsInterface;
     }
 
     public PeopleInterface getPeopleInterface() {
         if (peopleInterface == null) {
-            peopleInterface = new PeopleInterface(apiKey, sharedSecret, transport);
+            peopleInterface = new PeopleInterface(apiKey, sharedSecret, transport, context);
         }
         return peopleInterface;
     }
 
     public PhotosInterface getPhotosInterface() {
         if (photosInterface == null) {
-            photosInterface = new PhotosInterface(apiKey, sharedSecret, transport);
+            photosInterface = new PhotosInterface(apiKey, sharedSecret, transport, context);
         }
         return photosInterface;
     }
 
     public PhotosetsCommentsInterface getPhotosetsCommentsInterface() {
         if (photosetsCommentsInterface == null) {
-            photosetsCommentsInterface = new PhotosetsCommentsInterface(apiKey, sharedSecret, transport);
+            photosetsCommentsInterface = new PhotosetsCommentsInterface(apiKey, sharedSecret, transport, context);
         }
         return photosetsCommentsInterface;
     }
 
     public PhotosetsInterface getPhotosetsInterface() {
         if (photosetsInterface == null) {
-            photosetsInterface = new PhotosetsInterface(apiKey, sharedSecret, transport);
+            photosetsInterface = new PhotosetsInterface(apiKey, sharedSecret, transport, context);
         }
         return photosetsInterface;
     }
 
     public PlacesInterface getPlacesInterface() {
         if (placesInterface == null) {
-            placesInterface = new PlacesInterface(apiKey, sharedSecret, transport);
+            placesInterface = new PlacesInterface(apiKey, sharedSecret, transport, context);
         }
         return placesInterface;
     }
 
     public PrefsInterface getPrefsInterface() {
         if (prefsInterface == null) {
-            prefsInterface = new PrefsInterface(apiKey, sharedSecret, transport);
+            prefsInterface = new PrefsInterface(apiKey, sharedSecret, transport, context);
         }
         return prefsInterface;
     }
 
     public ReflectionInterface getReflectionInterface() {
         if (reflectionInterface == null) {
-            reflectionInterface = new ReflectionInterface(apiKey, sharedSecret, transport);
+            reflectionInterface = new ReflectionInterface(apiKey, sharedSecret, transport, context);
         }
         return reflectionInterface;
     }
@@ -513,44 +631,309 @@ public class Flickr {
      */
     public TagsInterface getTagsInterface() {
         if (tagsInterface == null) {
-            tagsInterface = new TagsInterface(apiKey, sharedSecret, transport);
+            tagsInterface = new TagsInterface(apiKey, sharedSecret, transport, context);
         }
         return tagsInterface;
     }
 
     public TestInterface getTestInterface() {
         if (testInterface == null) {
-            testInterface = new TestInterface(apiKey, sharedSecret, transport);
+            testInterface = new TestInterface(apiKey, sharedSecret, transport, context);
         }
         return testInterface;
     }
 
     public TransformInterface getTransformInterface() {
         if (transformInterface == null) {
-            transformInterface = new TransformInterface(apiKey, sharedSecret, transport);
+            transformInterface = new TransformInterface(apiKey, sharedSecret, transport, context);
         }
         return transformInterface;
     }
 
     public UploadInterface getUploadInterface() {
         if (uploadInterface == null) {
-            uploadInterface = new UploadInterface(apiKey, sharedSecret, transport);
+            uploadInterface = new UploadInterface(apiKey, sharedSecret, transport, context);
         }
         return uploadInterface;
     }
 
+    /**
+     * Get the poller which tracks the tickets of asynchronous uploads. It is
+     * created on first use and polls with the UploadInterface of this instance.
+     *
+     * @return The TicketPoller
+     */
+    public synchronized TicketPoller getTicketPoller() {
+        if (ticketPoller == null) {
+            ticketPoller = new TicketPoller(getUploadInterface());
+        }
+        return ticketPoller;
+    }
+
     public Uploader getUploader() {
         if (uploader == null) {
-            uploader = new Uploader(apiKey, sharedSecret);
+            uploader = new Uploader(apiKey, sharedSecret, context);
         }
         return uploader;
     }
 
     public UrlsInterface getUrlsInterface() {
         if (urlsInterface == null) {
-            urlsInterface = new UrlsInterface(apiKey, sharedSecret, transport);
+            urlsInterface = new UrlsInterface(apiKey, sharedSecret, transport, context);
         }
         return urlsInterface;
     }
 
+    /**
+     * Get the asynchronous variant of the ActivityInterface.
+     *
+     * @return The AsyncActivityInterface
+     */
+    public AsyncActivityInterface getAsyncActivityInterface() {
+        return new AsyncActivityInterface(getActivityInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the AuthInterface.
+     *
+     * @return The AsyncAuthInterface
+     */
+    public AsyncAuthInterface getAsyncAuthInterface() {
+        return new AsyncAuthInterface(getAuthInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the BlogsInterface.
+     *
+     * @return The AsyncBlogsInterface
+     */
+    public AsyncBlogsInterface getAsyncBlogsInterface() {
+        return new AsyncBlogsInterface(getBlogsInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the CommentsInterface.
+     *
+     * @return The AsyncCommentsInterface
+     */
+    public AsyncCommentsInterface getAsyncCommentsInterface() {
+        return new AsyncCommentsInterface(getCommentsInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the CommonsInterface.
+     *
+     * @return The AsyncCommonsInterface
+     */
+    public AsyncCommonsInterface getAsyncCommonsInterface() {
+        return new AsyncCommonsInterface(getCommonsInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the ContactsInterface.
+     *
+     * @return The AsyncContactsInterface
+     */
+    public AsyncContactsInterface getAsyncContactsInterface() {
+        return new AsyncContactsInterface(getContactsInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the FavoritesInterface.
+     *
+     * @return The AsyncFavoritesInterface
+     */
+    public AsyncFavoritesInterface getAsyncFavoritesInterface() {
+        return new AsyncFavoritesInterface(getFavoritesInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the GeoInterface.
+     *
+     * @return The AsyncGeoInterface
+     */
+    public AsyncGeoInterface getAsyncGeoInterface() {
+        return new AsyncGeoInterface(getGeoInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the GroupsInterface.
+     *
+     * @return The AsyncGroupsInterface
+     */
+    public AsyncGroupsInterface getAsyncGroupsInterface() {
+        return new AsyncGroupsInterface(getGroupsInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the InterestingnessInterface.
+     *
+     * @return The AsyncInterestingnessInterface
+     */
+    public AsyncInterestingnessInterface getAsyncInterestingnessInterface() {
+        return new AsyncInterestingnessInterface(getInterestingnessInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the LicensesInterface.
+     *
+     * @return The AsyncLicensesInterface
+     */
+    public AsyncLicensesInterface getAsyncLicensesInterface() {
+        return new AsyncLicensesInterface(getLicensesInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the MachinetagsInterface.
+     *
+     * @return The AsyncMachinetagsInterface
+     */
+    public AsyncMachinetagsInterface getAsyncMachinetagsInterface() {
+        return new AsyncMachinetagsInterface(getMachinetagsInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the MembersInterface.
+     *
+     * @return The AsyncMembersInterface
+     */
+    public AsyncMembersInterface getAsyncMembersInterface() {
+        return new AsyncMembersInterface(getMembersInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the NotesInterface.
+     *
+     * @return The AsyncNotesInterface
+     */
+    public AsyncNotesInterface getAsyncNotesInterface() {
+        return new AsyncNotesInterface(getNotesInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the PandaInterface.
+     *
+     * @return The AsyncPandaInterface
+     */
+    public AsyncPandaInterface getAsyncPandaInterface() {
+        return new AsyncPandaInterface(getPandaInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the PeopleInterface.
+     *
+     * @return The AsyncPeopleInterface
+     */
+    public AsyncPeopleInterface getAsyncPeopleInterface() {
+        return new AsyncPeopleInterface(getPeopleInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the PhotosInterface.
+     *
+     * @return The AsyncPhotosInterface
+     */
+    public AsyncPhotosInterface getAsyncPhotosInterface() {
+        return new AsyncPhotosInterface(getPhotosInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the PhotosetsCommentsInterface.
+     *
+     * @return The AsyncPhotosetsCommentsInterface
+     */
+    public AsyncPhotosetsCommentsInterface getAsyncPhotosetsCommentsInterface() {
+        return new AsyncPhotosetsCommentsInterface(getPhotosetsCommentsInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the PhotosetsInterface.
+     *
+     * @return The AsyncPhotosetsInterface
+     */
+    public AsyncPhotosetsInterface getAsyncPhotosetsInterface() {
+        return new AsyncPhotosetsInterface(getPhotosetsInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the PlacesInterface.
+     *
+     * @return The AsyncPlacesInterface
+     */
+    public AsyncPlacesInterface getAsyncPlacesInterface() {
+        return new AsyncPlacesInterface(getPlacesInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the PoolsInterface.
+     *
+     * @return The AsyncPoolsInterface
+     */
+    public AsyncPoolsInterface getAsyncPoolsInterface() {
+        return new AsyncPoolsInterface(getPoolsInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the PrefsInterface.
+     *
+     * @return The AsyncPrefsInterface
+     */
+    public AsyncPrefsInterface getAsyncPrefsInterface() {
+        return new AsyncPrefsInterface(getPrefsInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the ReflectionInterface.
+     *
+     * @return The AsyncReflectionInterface
+     */
+    public AsyncReflectionInterface getAsyncReflectionInterface() {
+        return new AsyncReflectionInterface(getReflectionInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the TagsInterface.
+     *
+     * @return The AsyncTagsInterface
+     */
+    public AsyncTagsInterface getAsyncTagsInterface() {
+        return new AsyncTagsInterface(getTagsInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the TestInterface.
+     *
+     * @return The AsyncTestInterface
+     */
+    public AsyncTestInterface getAsyncTestInterface() {
+        return new AsyncTestInterface(getTestInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the TransformInterface.
+     *
+     * @return The AsyncTransformInterface
+     */
+    public AsyncTransformInterface getAsyncTransformInterface() {
+        return new AsyncTransformInterface(getTransformInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the UploadInterface.
+     *
+     * @return The AsyncUploadInterface
+     */
+    public AsyncUploadInterface getAsyncUploadInterface() {
+        return new AsyncUploadInterface(getUploadInterface(), getExecutor());
+    }
+
+    /**
+     * Get the asynchronous variant of the UrlsInterface.
+     *
+     * @return The AsyncUrlsInterface
+     */
+    public AsyncUrlsInterface getAsyncUrlsInterface() {
+        return new AsyncUrlsInterface(getUrlsInterface(), getExecutor());
+    }
+
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.xml.sax.SAXException;
+
+import com.aetrion.flickr.auth.Auth;
+
+/**
+ * The pending result of a call made through one of the Async*Interface classes.<p>
+ *
+ * The auth and extras of the {@link RequestContext} of the thread which
+ * created the future are copied and installed on the executing thread for
+ * the duration of the call, so authenticated calls behave as if they were
+ * made synchronously.<p>
+ *
+ * {@link #getResult()} waits for the call and rethrows the FlickrException,
+ * IOException or SAXException thrown by the call, instead of wrapping it in an
+ * ExecutionException. Listeners added with {@link #addListener(Runnable)} are
+ * run once the call is complete, which allows many calls to be in flight
+ * without a waiting thread for each.<p>
+ *
+ * Subclasses created with the protected constructor run no call of their
+ * own and are completed with {@link #set(Object)} or
+ * {@link #setException(Throwable)}.
+ *
+ * @author Anthony Eden
+ */
+public class FlickrFuture extends FutureTask {
+
+    /** Never called, a future without a call is completed by its creator. */
+    private static final Callable NO_CALL = new Callable() {
+        public Object call() {
+            return null;
+        }
+    };
+
+    private boolean external = false;
+    private Auth auth;
+    private List extras;
+    private List listeners = new ArrayList();
+
+    public FlickrFuture(Callable callable) {
+        super(callable);
+        RequestContext requestContext = RequestContext.getRequestContext();
+        this.auth = requestContext.getAuth();
+        this.extras = new ArrayList(requestContext.getExtras());
+    }
+
+    /**
+     * Create a future which is completed from outside, like the result of
+     * an upload ticket, instead of by running a call.
+     */
+    protected FlickrFuture() {
+        super(NO_CALL);
+        this.external = true;
+    }
+
+    /**
+     * Create a future for the callable and hand it to the executor.
+     *
+     * @param executor The Executor
+     * @param callable The call
+     * @return The FlickrFuture
+     */
+    public static FlickrFuture submit(Executor executor, Callable callable) {
+        FlickrFuture future = new FlickrFuture(callable);
+        executor.execute(future);
+        return future;
+    }
+
+    public void run() {
+        if (external) {
+            return;
+        }
+        RequestContext requestContext = RequestContext.getRequestContext();
+        Auth previousAuth = requestContext.getAuth();
+        List previousExtras = requestContext.getExtras();
+        requestContext.setAuth(auth);
+        requestContext.setExtras(extras);
+        try {
+            super.run();
+        } finally {
+            requestContext.setAuth(previousAuth);
+            requestContext.setExtras(previousExtras);
+        }
+    }
+
+    /**
+     * Wait for the call to complete and return its result.
+     *
+     * @return The result of the call, null for calls without a result
+     * @throws IOException
+     * @throws SAXException
+     * @throws FlickrException
+     */
+    public Object getResult() throws IOException, SAXException, FlickrException {
+        try {
+            return get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the result");
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Wait at most the given time for the call to complete and return its result.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit The unit of the timeout
+     * @return The result of the call, null for calls without a result
+     * @throws IOException
+     * @throws SAXException
+     * @throws FlickrException
+     * @throws TimeoutException
+     */
+    public Object getResult(long timeout, TimeUnit unit)
+            throws IOException, SAXException, FlickrException, TimeoutException {
+        try {
+            return get(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the result");
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Add a listener which is run once the call is complete, successfully or not.
+     * The listener runs on the thread which completed the call, or immediately
+     * on the calling thread if the call is already complete. An exception
+     * thrown by a listener goes to the uncaught exception handler of the
+     * completing thread and does not keep the other listeners from running.
+     *
+     * @param listener The listener
+     */
+    public void addListener(Runnable listener) {
+        synchronized (listeners) {
+            if (!isDone()) {
+                listeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+
+    protected void done() {
+        List completed;
+        synchronized (listeners) {
+            completed = new ArrayList(listeners);
+            listeners.clear();
+        }
+        Iterator iter = completed.iterator();
+        while (iter.hasNext()) {
+            try {
+                ((Runnable) iter.next()).run();
+            } catch (RuntimeException e) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+
+    private FlickrException unwrap(ExecutionException e) throws IOException, SAXException {
+        Throwable cause = e.getCause();
+        if (cause instanceof FlickrException) {
+            return (FlickrException) cause;
+        } else if (cause instanceof IOException) {
+            throw (IOException) cause;
+        } else if (cause instanceof SAXException) {
+            throw (SAXException) cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new RuntimeException(cause);
+    }
+
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr;
+
+/**
+ * Unchecked wrapper for the FlickrException, IOException or SAXException of a
+ * call made where checked exceptions can not be thrown, for example in
+ * {@link java.util.Iterator#next()}.
+ *
+ * @author Anthony Eden
+ */
+public class FlickrRuntimeException extends RuntimeException {
+
+    private static final long serialVersionUID = 2613837283615316234L;
+
+    public FlickrRuntimeException(Throwable cause) {
+        super(cause.getMessage(), cause);
+    }
+
+}
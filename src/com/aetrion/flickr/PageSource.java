@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr;
+
+import java.io.IOException;
+
+import org.xml.sax.SAXException;
+
+/**
+ * A paged Flickr method, for example
+ * {@link com.aetrion.flickr.photos.PhotosInterface#getNotInSet(int, int)},
+ * with everything but the paging parameters fixed.
+ *
+ * @author Anthony Eden
+ * @see PagedIterator
+ */
+public interface PageSource {
+
+    /**
+     * Get one page of results.
+     *
+     * @param perPage The number of results per page
+     * @param page The page, starting with 1
+     * @return The page
+     * @throws IOException
+     * @throws SAXException
+     * @throws FlickrException
+     */
+    SearchResultList getPage(int perPage, int page) throws IOException, SAXException, FlickrException;
+
+}
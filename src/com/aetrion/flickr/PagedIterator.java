@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import org.xml.sax.SAXException;
+
+/**
+ * Iterates lazily over all results of a paged method.<p>
+ *
+ * Pages are requested only when needed. With an Executor the following pages
+ * are prefetched while the current page is consumed, at most
+ * <code>prefetch</code> pages ahead, so no more than <code>prefetch + 1</code>
+ * pages are held at any time. Paging stops after the last page reported by
+ * {@link SearchResultList#getPages()}, or after the first page which is not
+ * full if the number of pages is not known.<p>
+ *
+ * Use {@link #nextPage()} to consume whole pages with checked exceptions, or
+ * the Iterator methods to consume single results; the latter throw a
+ * FlickrRuntimeException if a page can not be fetched. A failed page ends the
+ * iteration.
+ *
+ * <pre>
+ * PagedIterator photos = new PagedIterator(new PageSource() {
+ *     public SearchResultList getPage(int perPage, int page) throws ... {
+ *         return photosInterface.getNotInSet(perPage, page);
+ *     }
+ * }, 100, flickr.getExecutor(), 1);
+ * while (photos.hasNext()) {
+ *     Photo photo = (Photo) photos.next();
+ * }
+ * </pre>
+ *
+ * @author Anthony Eden
+ */
+public class PagedIterator implements Iterator {
+
+    private PageSource source;
+    private int perPage;
+    private Executor executor;
+    private int prefetch;
+
+    /** Requested pages not yet returned, FlickrFutures in page order. */
+    private LinkedList pending = new LinkedList();
+    private int nextPage = 1;
+    private int pages = 0;
+    private int returnedPages = 0;
+    private boolean lastPageSeen = false;
+    private Iterator current;
+
+    /**
+     * Construct an iterator which fetches every page when it is needed.
+     *
+     * @param source The paged method
+     * @param perPage The number of results per page
+     */
+    public PagedIterator(PageSource source, int perPage) {
+        this(source, perPage, null, 0);
+    }
+
+    /**
+     * Construct an iterator which prefetches pages on the given Executor.
+     *
+     * @param source The paged method
+     * @param perPage The number of results per page
+     * @param executor The Executor for prefetching, null to fetch on the calling thread
+     * @param prefetch The maximum number of pages requested ahead of the current page
+     */
+    public PagedIterator(PageSource source, int perPage, Executor executor, int prefetch) {
+        if (perPage < 1) {
+            throw new IllegalArgumentException("perPage must be at least 1");
+        }
+        this.source = source;
+        this.perPage = perPage;
+        this.executor = executor;
+        this.prefetch = executor == null ? 0 : Math.max(0, prefetch);
+    }
+
+    /**
+     * @return true if there may be another page
+     */
+    public synchronized boolean hasNextPage() {
+        return !pending.isEmpty() || canRequest();
+    }
+
+    /**
+     * Get the next page. The following pages are prefetched before it is returned.
+     *
+     * @return The next page
+     * @throws IOException
+     * @throws SAXException
+     * @throws FlickrException
+     */
+    public synchronized SearchResultList nextPage() throws IOException, SAXException, FlickrException {
+        if (!hasNextPage()) {
+            throw new NoSuchElementException();
+        }
+        SearchResultList page;
+        try {
+            if (pending.isEmpty()) {
+                page = source.getPage(perPage, nextPage);
+                nextPage++;
+            } else {
+                page = (SearchResultList) ((FlickrFuture) pending.removeFirst()).getResult();
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        } catch (SAXException e) {
+            close();
+            throw e;
+        } catch (FlickrException e) {
+            close();
+            throw e;
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        returnedPages++;
+        if (page.getPages() > 0) {
+            pages = page.getPages();
+        } else if (page.size() < perPage) {
+            lastPageSeen = true;
+        }
+        if (page.isEmpty() || (pages > 0 && returnedPages >= pages)) {
+            lastPageSeen = true;
+        }
+        if (lastPageSeen) {
+            cancelPending();
+        } else {
+            requestAhead();
+        }
+        return page;
+    }
+
+    /**
+     * Stop iterating and cancel the prefetched pages.
+     */
+    public synchronized void close() {
+        lastPageSeen = true;
+        cancelPending();
+        current = null;
+    }
+
+    public synchronized boolean hasNext() {
+        while (current == null || !current.hasNext()) {
+            if (!hasNextPage()) {
+                return false;
+            }
+            try {
+                current = nextPage().iterator();
+            } catch (IOException e) {
+                throw new FlickrRuntimeException(e);
+            } catch (SAXException e) {
+                throw new FlickrRuntimeException(e);
+            } catch (FlickrException e) {
+                throw new FlickrRuntimeException(e);
+            }
+        }
+        return true;
+    }
+
+    public synchronized Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    private boolean canRequest() {
+        if (lastPageSeen) {
+            return false;
+        }
+        return pages == 0 || nextPage <= pages;
+    }
+
+    private void requestAhead() {
+        while (pending.size() < prefetch && canRequest()) {
+            final int page = nextPage++;
+            pending.add(FlickrFuture.submit(executor, new Callable() {
+                public Object call() throws Exception {
+                    return source.getPage(perPage, page);
+                }
+            }));
+        }
+    }
+
+    private void cancelPending() {
+        while (!pending.isEmpty()) {
+            ((FlickrFuture) pending.removeFirst()).cancel(true);
+        }
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.xml.sax.SAXException;
+
+import com.aetrion.flickr.photos.Photo;
+
+/**
+ * Fetches all pages of a paged method concurrently and merges them into one list.<p>
+ *
+ * The first page tells how many pages there are, the remaining pages are
+ * requested at the same time, at most <code>concurrency</code> at once. The
+ * pages are merged in page order. Results which appear on more than one page,
+ * because they moved while the pages were fetched, are only kept at their
+ * first position. Photos are compared by id, other results with equals().
+ *
+ * @author Anthony Eden
+ * @see PagedIterator
+ */
+public class ParallelPageFetcher {
+
+    private PageSource source;
+    private int perPage;
+    private Executor executor;
+    private int concurrency;
+    private int maxPages = 0;
+
+    /**
+     * Construct a fetcher.
+     *
+     * @param source The paged method
+     * @param perPage The number of results per page
+     * @param executor The Executor which fetches the pages
+     * @param concurrency The maximum number of pages requested at the same time
+     */
+    public ParallelPageFetcher(PageSource source, int perPage, Executor executor, int concurrency) {
+        if (perPage < 1) {
+            throw new IllegalArgumentException("perPage must be at least 1");
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be at least 1");
+        }
+        this.source = source;
+        this.perPage = perPage;
+        this.executor = executor;
+        this.concurrency = concurrency;
+    }
+
+    public int getMaxPages() {
+        return maxPages;
+    }
+
+    /**
+     * Limit the number of pages fetched, for methods like search which do not
+     * return more than a few thousand results anyway.
+     *
+     * @param maxPages The maximum number of pages, 0 for no limit
+     */
+    public void setMaxPages(int maxPages) {
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * Fetch the first page and then all remaining pages.
+     *
+     * @return All results
+     * @throws IOException
+     * @throws SAXException
+     * @throws FlickrException
+     */
+    public SearchResultList fetchAll() throws IOException, SAXException, FlickrException {
+        return fetchAll(source.getPage(perPage, 1));
+    }
+
+    /**
+     * Fetch the remaining pages after the first page.
+     *
+     * @param firstPage The first page, fetched with the same perPage
+     * @return All results, in a list of the same class as the first page
+     * @throws IOException
+     * @throws SAXException
+     * @throws FlickrException
+     */
+    public SearchResultList fetchAll(SearchResultList firstPage)
+            throws IOException, SAXException, FlickrException {
+        int pages = firstPage.getPages();
+        if (maxPages > 0 && pages > maxPages) {
+            pages = maxPages;
+        }
+        SearchResultList[] results = new SearchResultList[Math.max(1, pages)];
+        results[0] = firstPage;
+
+        BlockingQueue completed = new LinkedBlockingQueue();
+        FlickrFuture[] futures = new FlickrFuture[results.length];
+        int nextPage = 2;
+        int running = 0;
+        try {
+            while (nextPage <= pages || running > 0) {
+                while (nextPage <= pages && running < concurrency) {
+                    futures[nextPage - 1] = submit(nextPage, completed);
+                    nextPage++;
+                    running++;
+                }
+                int page = ((Integer) completed.take()).intValue();
+                running--;
+                results[page - 1] = (SearchResultList) futures[page - 1].getResult();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(futures);
+            throw new InterruptedIOException("Interrupted while fetching pages");
+        } catch (IOException e) {
+            cancel(futures);
+            throw e;
+        } catch (SAXException e) {
+            cancel(futures);
+            throw e;
+        } catch (FlickrException e) {
+            cancel(futures);
+            throw e;
+        } catch (RuntimeException e) {
+            cancel(futures);
+            throw e;
+        }
+        return merge(firstPage, results);
+    }
+
+    private FlickrFuture submit(final int page, final BlockingQueue completed) {
+        FlickrFuture future = FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return source.getPage(perPage, page);
+            }
+        });
+        future.addListener(new Runnable() {
+            public void run() {
+                completed.add(new Integer(page));
+            }
+        });
+        return future;
+    }
+
+    private SearchResultList merge(SearchResultList firstPage, SearchResultList[] results) {
+        SearchResultList merged;
+        try {
+            merged = (SearchResultList) firstPage.getClass().newInstance();
+        } catch (Exception e) {
+            merged = new SearchResultList();
+        }
+        Set keys = new HashSet();
+        for (int i = 0; i < results.length; i++) {
+            Iterator iter = results[i].iterator();
+            while (iter.hasNext()) {
+                Object result = iter.next();
+                if (keys.add(getKey(result))) {
+                    merged.add(result);
+                }
+            }
+        }
+        merged.setPage(1);
+        merged.setPages(1);
+        merged.setPerPage(merged.size());
+        merged.setTotal(firstPage.getTotal());
+        return merged;
+    }
+
+    /**
+     * Get the key which identifies a result when removing duplicates.
+     *
+     * @param result The result
+     * @return The key
+     */
+    protected Object getKey(Object result) {
+        if (result instanceof Photo) {
+            return ((Photo) result).getId();
+        }
+        return result;
+    }
+
+    private void cancel(FlickrFuture[] futures) {
+        for (int i = 0; i < futures.length; i++) {
+            if (futures[i] != null) {
+                futures[i].cancel(true);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+
+package com.aetrion.flickr;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * The parameters of a request.<p>
+ *
+ * Names and values are held in arrays, and numbers are held as longs without
+ * boxing. The method, the auth token and the signature can be read without a
+ * search. The Signer, the QueryEncoder and the transports read the entries
+ * directly, so a request built with this list is signed and encoded without
+ * creating a Parameter.<p>
+ *
+ * Seen as a List, the entries are Parameter objects, created when they are
+ * read, in the order they were added. The Signer puts the entries in the
+ * order of names through {@link #sort()}, as it sorts any other List, which
+ * costs nothing if they were added in that order. A ParameterList is not
+ * safe for use by multiple threads.
+ *
+ * @author Anthony Eden
+ */
+public class ParameterList extends AbstractList {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The value of an entry which holds a number. */
+    private static final Object NUMBER = new Object();
+
+    private String[] names;
+    private Object[] values;
+    private long[] numbers;
+    private int size = 0;
+    private boolean sorted = true;
+
+    private String method;
+    private String authToken;
+    private String apiSig;
+
+    public ParameterList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct a ParameterList with room for the given number of parameters.
+     *
+     * @param capacity The initial capacity
+     */
+    public ParameterList(int capacity) {
+        names = new String[capacity];
+        values = new Object[capacity];
+        numbers = new long[capacity];
+    }
+
+    /**
+     * Add a parameter.
+     *
+     * @param name The name
+     * @param value The value
+     */
+    public void add(String name, Object value) {
+        int index = insert(size, name);
+        values[index] = value;
+        if (value instanceof String) {
+            if (name.equals("method")) {
+                if (method == null) method = (String) value;
+            } else if (name.equals("auth_token")) {
+                if (authToken == null) authToken = (String) value;
+            } else if (name.equals("api_sig")) {
+                if (apiSig == null) apiSig = (String) value;
+            }
+        }
+    }
+
+    /**
+     * Add a parameter with a String value.
+     *
+     * @param name The name
+     * @param value The value
+     */
+    public void add(String name, String value) {
+        add(name, (Object) value);
+    }
+
+    /**
+     * Add a parameter with a number value, which is kept without boxing.
+     *
+     * @param name The name
+     * @param value The value
+     */
+    public void add(String name, long value) {
+        int index = insert(size, name);
+        values[index] = NUMBER;
+        numbers[index] = value;
+    }
+
+    /**
+     * Add a Parameter.
+     *
+     * @param o The Parameter
+     * @return true
+     */
+    public boolean add(Object o) {
+        Parameter parameter = (Parameter) o;
+        add(parameter.getName(), parameter.getValue());
+        return true;
+    }
+
+    /**
+     * Insert a Parameter at an index.
+     *
+     * @param index The index
+     * @param o The Parameter
+     */
+    public void add(int index, Object o) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        Parameter parameter = (Parameter) o;
+        insert(index, parameter.getName());
+        values[index] = parameter.getValue();
+        updateSpecial(parameter.getName());
+    }
+
+    public boolean addAll(Collection c) {
+        if (c instanceof ParameterList) {
+            ParameterList other = (ParameterList) c;
+            for (int i = 0; i < other.size; i++) {
+                if (other.values[i] == NUMBER) {
+                    add(other.names[i], other.numbers[i]);
+                } else {
+                    add(other.names[i], other.values[i]);
+                }
+            }
+        } else {
+            Iterator iter = c.iterator();
+            while (iter.hasNext()) {
+                add(iter.next());
+            }
+        }
+        return !c.isEmpty();
+    }
+
+    /**
+     * Make room for an entry at an index.
+     *
+     * @return The index of the new entry
+     */
+    private int insert(int index, String name) {
+        if (size == names.length) {
+            grow();
+        }
+        if (index < size) {
+            System.arraycopy(names, index, names, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+            System.arraycopy(numbers, index, numbers, index + 1, size - index);
+        }
+        names[index] = name;
+        size++;
+        modCount++;
+        if (sorted && (index > 0 && names[index - 1].compareTo(name) > 0
+            || index < size - 1 && name.compareTo(names[index + 1]) > 0)) {
+            sorted = false;
+        }
+        return index;
+    }
+
+    /**
+     * Put the entries in the order of names. Entries with the same name keep
+     * the order they were added in.
+     */
+    public void sort() {
+        if (sorted) {
+            return;
+        }
+        // an insertion sort, the lists are short and mostly in order
+        for (int i = 1; i < size; i++) {
+            String name = names[i];
+            Object value = values[i];
+            long number = numbers[i];
+            int j = i;
+            while (j > 0 && names[j - 1].compareTo(name) > 0) {
+                names[j] = names[j - 1];
+                values[j] = values[j - 1];
+                numbers[j] = numbers[j - 1];
+                j--;
+            }
+            names[j] = name;
+            values[j] = value;
+            numbers[j] = number;
+        }
+        sorted = true;
+        modCount++;
+    }
+
+    private void grow() {
+        int capacity = Math.max(DEFAULT_CAPACITY, names.length * 2);
+        String[] grownNames = new String[capacity];
+        Object[] grownValues = new Object[capacity];
+        long[] grownNumbers = new long[capacity];
+        System.arraycopy(names, 0, grownNames, 0, size);
+        System.arraycopy(values, 0, grownValues, 0, size);
+        System.arraycopy(numbers, 0, grownNumbers, 0, size);
+        names = grownNames;
+        values = grownValues;
+        numbers = grownNumbers;
+    }
+
+    /**
+     * Get the Parameter at an index, created for the call.
+     *
+     * @param index The index
+     * @return The Parameter
+     */
+    public Object get(int index) {
+        checkIndex(index);
+        if (values[index] == NUMBER) {
+            return new Parameter(names[index], numbers[index]);
+        }
+        return new Parameter(names[index], values[index]);
+    }
+
+    /**
+     * Replace the Parameter at an index.
+     *
+     * @param index The index
+     * @param o The Parameter
+     * @return The replaced Parameter
+     */
+    public Object set(int index, Object o) {
+        Parameter parameter = (Parameter) o;
+        Object previous = get(index);
+        String name = names[index];
+        names[index] = parameter.getName();
+        values[index] = parameter.getValue();
+        if (!name.equals(names[index])) {
+            sorted = false;
+            updateSpecial(name);
+        }
+        updateSpecial(names[index]);
+        return previous;
+    }
+
+    public Object remove(int index) {
+        Object previous = get(index);
+        String name = names[index];
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(names, index + 1, names, index, moved);
+            System.arraycopy(values, index + 1, values, index, moved);
+            System.arraycopy(numbers, index + 1, numbers, index, moved);
+        }
+        size--;
+        names[size] = null;
+        values[size] = null;
+        modCount++;
+        updateSpecial(name);
+        return previous;
+    }
+
+    /**
+     * Read the method, auth token or signature again after the entries
+     * with the name changed.
+     */
+    private void updateSpecial(String name) {
+        if (name.equals("method")) {
+            method = getString(name);
+        } else if (name.equals("auth_token")) {
+            authToken = getString(name);
+        } else if (name.equals("api_sig")) {
+            apiSig = getString(name);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            names[i] = null;
+            values[i] = null;
+        }
+        size = 0;
+        sorted = true;
+        method = null;
+        authToken = null;
+        apiSig = null;
+        modCount++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index The index
+     * @return The name of the parameter at the index
+     */
+    public String getName(int index) {
+        checkIndex(index);
+        return names[index];
+    }
+
+    /**
+     * @param index The index
+     * @return true if the parameter at the index holds a number
+     * @see #getNumber(int)
+     */
+    public boolean isNumber(int index) {
+        checkIndex(index);
+        return values[index] == NUMBER;
+    }
+
+    /**
+     * @param index The index
+     * @return The number of the parameter at the index, 0 if it does not hold a number
+     */
+    public long getNumber(int index) {
+        checkIndex(index);
+        return values[index] == NUMBER ? numbers[index] : 0;
+    }
+
+    /**
+     * Get the value of the parameter at an index. Numbers are boxed; use
+     * {@link #getNumber(int)} to read them without.
+     *
+     * @param index The index
+     * @return The value
+     */
+    public Object getValue(int index) {
+        checkIndex(index);
+        return values[index] == NUMBER ? new Long(numbers[index]) : values[index];
+    }
+
+    /**
+     * Get the index of the first parameter with a name.
+     *
+     * @param name The name
+     * @return The index, -1 if there is no parameter with the name
+     */
+    public int indexOfName(String name) {
+        for (int i = 0; i < size; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the value of the first parameter with a name.
+     *
+     * @param name The name
+     * @return The value, null if there is no parameter with the name
+     */
+    public Object getValue(String name) {
+        int index = indexOfName(name);
+        return index < 0 ? null : getValue(index);
+    }
+
+    private String getString(String name) {
+        int index = indexOfName(name);
+        return index >= 0 && values[index] instanceof String ? (String) values[index] : null;
+    }
+
+    /**
+     * @return The API method, null if it is not set
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return The auth token, null if it is not set
+     */
+    public String getAuthToken() {
+        return authToken;
+    }
+
+    /**
+     * @return The signature, null if the parameters are not signed
+     */
+    public String getApiSig() {
+        return apiSig;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+}
@@ -3,30 +3,45 @@
  */
 package com.aetrion.flickr;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.net.URLEncoder;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
 
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
-import com.aetrion.flickr.auth.Auth;
 import com.aetrion.flickr.auth.AuthUtilities;
+import com.aetrion.flickr.photos.PhotoList;
+import com.aetrion.flickr.photos.PhotoListHandler;
 import com.aetrion.flickr.util.Base64;
 import com.aetrion.flickr.util.DebugInputStream;
 import com.aetrion.flickr.util.DebugOutputStream;
+import com.aetrion.flickr.util.HttpConnectionPool;
 import com.aetrion.flickr.util.IOUtilities;
+import com.aetrion.flickr.util.QueryEncoder;
+import com.aetrion.flickr.util.RateLimiter;
+import com.aetrion.flickr.util.RequestCoalescer;
+import com.aetrion.flickr.util.ResponseCache;
 import com.aetrion.flickr.util.UrlUtilities;
+import com.aetrion.flickr.util.WireCapture;
+import com.aetrion.flickr.util.WireLog;
 
 /**
  * Transport implementation using the REST interface.
@@ -37,12 +52,43 @@ import com.aetrion.flickr.util.UrlUtilities;
 public class REST extends Transport {
 
     private static final String UTF8 = "UTF-8";
+    private static final String BOUNDARY = "---------------------------7d273f7a0d3";
+    private static final int CHUNK_LENGTH = 64 * 1024;
     public static final String PATH = "/services/rest/";
     private boolean proxyAuth = false;
     private String proxyUser = "";
     private String proxyPassword = "";
-    private DocumentBuilder builder;
-    private static Object mutex = new Object();
+    private HttpConnectionPool connectionPool;
+    private ResponseCache responseCache;
+    private RequestCoalescer requestCoalescer;
+    private RateLimiter rateLimiter;
+    private WireLog wireLog;
+
+    /**
+     * DocumentBuilders and SAXParsers are not thread-safe, so every thread
+     * parses with its own instance instead of sharing one behind a lock.
+     */
+    private static final ThreadLocal DOCUMENT_BUILDERS = new ThreadLocal() {
+        protected Object initialValue() {
+            try {
+                return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            } catch (ParserConfigurationException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+    };
+
+    private static final ThreadLocal SAX_PARSERS = new ThreadLocal() {
+        protected Object initialValue() {
+            try {
+                return SAXParserFactory.newInstance().newSAXParser();
+            } catch (ParserConfigurationException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            } catch (SAXException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+    };
 
     /**
      * Construct a new REST transport instance.
@@ -54,8 +100,6 @@ public class REST extends Transport {
         setHost(Flickr.DEFAULT_HOST);
         setPath(PATH);
         setResponseClass(RESTResponse.class);
-        DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
-        builder = builderFactory.newDocumentBuilder();
     }
 
     /**
@@ -122,9 +166,123 @@ public class REST extends Transport {
      * @throws SAXException
      */
     public Response get(String path, List parameters) throws IOException, SAXException {
+        CallEvent event = createCallEvent("GET", path, parameters);
+        if (event == null) {
+            return get(path, parameters, null);
+        }
+        try {
+            return event.responded(get(path, parameters, event));
+        } catch (IOException e) {
+            event.setException(e);
+            throw e;
+        } catch (SAXException e) {
+            event.setException(e);
+            throw e;
+        } catch (RuntimeException e) {
+            event.setException(e);
+            throw e;
+        } finally {
+            fireCallCompleted(event);
+        }
+    }
+
+    private Response get(String path, List parameters, CallEvent event) throws IOException, SAXException {
+        String cacheKey = getCacheKey(parameters);
+        if (cacheKey != null) {
+            byte[] body = responseCache.get(cacheKey);
+            if (body != null) {
+                if (event != null) {
+                    event.cachedResponse();
+                }
+                return parseResponse(new ByteArrayInputStream(body));
+            }
+        }
+        if (requestCoalescer != null) {
+            byte[] body = requestCoalescer.execute(
+                UrlUtilities.buildUrl(getHost(), getPort(), path, parameters).toString(),
+                new BodyCall(path, parameters, event)
+            );
+            return checkThrottled(parseResponse(new ByteArrayInputStream(body), cacheKey));
+        }
+        InputStream in = null;
+        try {
+            in = openGet(path, parameters, event);
+            return checkThrottled(parseResponse(in, cacheKey));
+        } finally {
+            IOUtilities.close(in);
+        }
+    }
+
+    /**
+     * Invoke an HTTP GET request which returns a list of photos.
+     *
+     * If streaming is enabled, the photos are created while the response is
+     * read, without building a document tree.
+     *
+     * @param path The request path
+     * @param parameters The parameters (collection of Parameter objects)
+     * @return The PhotoList
+     * @throws IOException
+     * @throws SAXException
+     * @throws FlickrException
+     * @see Transport#setStreaming(boolean)
+     */
+    public PhotoList getPhotoList(String path, List parameters) throws IOException, SAXException, FlickrException {
+        if (!isStreaming() || requestCoalescer != null || getCacheKey(parameters) != null) {
+            return super.getPhotoList(path, parameters);
+        }
+        CallEvent event = createCallEvent("GET", path, parameters);
+        if (event == null) {
+            return streamPhotoList(path, parameters, null);
+        }
+        try {
+            return streamPhotoList(path, parameters, event);
+        } catch (FlickrException e) {
+            event.setErrorCode(e.getErrorCode());
+            throw e;
+        } catch (IOException e) {
+            event.setException(e);
+            throw e;
+        } catch (SAXException e) {
+            event.setException(e);
+            throw e;
+        } catch (RuntimeException e) {
+            event.setException(e);
+            throw e;
+        } finally {
+            fireCallCompleted(event);
+        }
+    }
+
+    private PhotoList streamPhotoList(String path, List parameters, CallEvent event)
+      throws IOException, SAXException, FlickrException {
+        InputStream in = null;
+        PhotoListHandler handler = new PhotoListHandler();
+        try {
+            in = openGet(path, parameters, event);
+            SAXParser parser = (SAXParser) SAX_PARSERS.get();
+            try {
+                parser.parse(in, handler);
+            } finally {
+                parser.reset();
+            }
+        } finally {
+            IOUtilities.close(in);
+        }
+        if (rateLimiter != null) {
+            checkThrottled(handler.isError() ? handler.getErrorCode() : null);
+        }
+        if (handler.isError()) {
+            throw new FlickrException(handler.getErrorCode(), handler.getErrorMessage());
+        }
+        return handler.getPhotoList();
+    }
+
+    private InputStream openGet(String path, List parameters, CallEvent event) throws IOException {
         URL url = UrlUtilities.buildUrl(getHost(), getPort(), path, parameters);
         if (Flickr.debugRequest) System.out.println("GET: " + url);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+        acquirePermit();
+        HttpURLConnection conn = openConnection(url);
         conn.setRequestMethod("GET");
         if (proxyAuth) {
             conn.setRequestProperty(
@@ -132,29 +290,42 @@ public class REST extends Transport {
                 "Basic " + getProxyCredentials()
             );
         }
-        conn.connect();
-
-        InputStream in = null;
+        WireCapture capture = wireLog == null ? null : wireLog.startCapture("GET", url);
+        InputStream in;
         try {
-            if (Flickr.debugStream) {
-                in = new DebugInputStream(conn.getInputStream(), System.out);
-            } else {
-                in = conn.getInputStream();
+            if (event != null) {
+                String query = url.getQuery();
+                event.addBytesSent(query == null ? 0 : query.length());
+                event.connecting();
             }
-
-            Response response = null;
-            synchronized (mutex) {
-                Document document = builder.parse(in);
-                response = (Response) responseClass.newInstance();
-                response.parse(document);
+            conn.connect();
+            if (event != null) {
+                event.connected();
+                // a GET is sent while waiting for the response
+                event.requestSent();
+                event.responseStarted(conn.getResponseCode());
             }
-            return response;
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e); // TODO: Replace with a better exception
-        } catch (InstantiationException e) {
-            throw new RuntimeException(e); // TODO: Replace with a better exception
-        } finally {
-            IOUtilities.close(in);
+            if (capture != null) {
+                capture.setStatus(conn.getResponseCode());
+            }
+            checkThrottled(conn);
+            in = conn.getInputStream();
+        } catch (IOException e) {
+            if (capture != null) {
+                capture.failed(e);
+            }
+            throw e;
+        }
+        if (event != null) {
+            in = event.countReceived(in);
+        }
+        if (capture != null) {
+            in = capture.captureResponse(in);
+        }
+        if (Flickr.debugStream) {
+            return new DebugInputStream(in, System.out);
+        } else {
+            return in;
         }
     }
 
@@ -169,17 +340,52 @@ public class REST extends Transport {
      * @throws SAXException
      */
     public Response post(String path, List parameters, boolean multipart) throws IOException, SAXException {
+        CallEvent event = createCallEvent("POST", path, parameters);
+        if (event == null) {
+            return post(path, parameters, multipart, null);
+        }
+        try {
+            return event.responded(post(path, parameters, multipart, event));
+        } catch (IOException e) {
+            event.setException(e);
+            throw e;
+        } catch (SAXException e) {
+            event.setException(e);
+            throw e;
+        } catch (RuntimeException e) {
+            event.setException(e);
+            throw e;
+        } finally {
+            fireCallCompleted(event);
+        }
+    }
+
+    private Response post(String path, List parameters, boolean multipart, CallEvent event)
+      throws IOException, SAXException {
         // see: AuthUtilities.getSignature()
         //AuthUtilities.addAuthToken(parameters);
 
-        RequestContext requestContext = RequestContext.getRequestContext();
+        String cacheKey = multipart ? null : getCacheKey(parameters);
+        if (cacheKey != null) {
+            byte[] body = responseCache.get(cacheKey);
+            if (body != null) {
+                if (event != null) {
+                    event.cachedResponse();
+                }
+                return parseResponse(new ByteArrayInputStream(body));
+            }
+        }
         URL url = UrlUtilities.buildPostUrl(getHost(), getPort(), path);
 
         HttpURLConnection conn = null;
+        WireCapture capture = null;
+        boolean completed = false;
         try {
-            String boundary = "---------------------------7d273f7a0d3";
-
-            conn = (HttpURLConnection) url.openConnection();
+            acquirePermit();
+            conn = openConnection(url);
+            if (wireLog != null) {
+                capture = wireLog.startCapture("POST", url);
+            }
 
             if (proxyAuth) {
                 conn.setRequestProperty(
@@ -189,32 +395,58 @@ public class REST extends Transport {
             }
             conn.setDoOutput(true);
             conn.setRequestMethod("POST");
+            QueryEncoder form = null;
             if (multipart) {
-                conn.setRequestProperty("Content-Type", "multipart/form-data; boundary=" + boundary);
+                conn.setRequestProperty("Content-Type", "multipart/form-data; boundary=" + BOUNDARY);
+                // stream the body instead of letting the connection buffer it in memory
+                long contentLength = getMultipartLength(parameters);
+                if (contentLength >= 0 && contentLength <= Integer.MAX_VALUE) {
+                    conn.setFixedLengthStreamingMode((int) contentLength);
+                } else {
+                    conn.setChunkedStreamingMode(CHUNK_LENGTH);
+                }
+            } else {
+                conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+                // a null value is sent empty, as in the query string of a GET
+                form = QueryEncoder.getInstance().append(parameters);
+                conn.setFixedLengthStreamingMode(form.length());
+            }
+            if (event != null) {
+                event.connecting();
             }
             conn.connect();
+            if (event != null) {
+                event.connected();
+            }
 
             DataOutputStream out = null;
             try {
+                OutputStream body = conn.getOutputStream();
+                if (event != null) {
+                    body = event.countSent(body);
+                }
+                if (capture != null) {
+                    body = capture.captureRequest(body);
+                }
                 if (Flickr.debugRequest) {
                     out = new DataOutputStream(
                         new DebugOutputStream(
-                            conn.getOutputStream(),
+                            body,
                             System.out
                         )
                     );
                 } else {
-                    out = new DataOutputStream(conn.getOutputStream());
+                    // streamed bodies go to the socket as written, so collect the small writes
+                    out = new DataOutputStream(new BufferedOutputStream(body));
                 }
 
                 // construct the body
                 if (multipart) {
-                    out.writeBytes("--" + boundary + "\r\n");
+                    out.writeBytes("--" + BOUNDARY + "\r\n");
                     Iterator iter = parameters.iterator();
                     while (iter.hasNext()) {
                         Parameter p = (Parameter) iter.next();
-                        
-                        writeParam(p.getName(), p.getValue(), out, boundary);
+                        writeParam(p.getName(), p.getValue(), out);
                     }
 /*                    Auth auth = requestContext.getAuth();
                     if (auth != null) {
@@ -222,94 +454,340 @@ public class REST extends Transport {
                             "api_sig",
                             AuthUtilities.getMultipartSignature(sharedSecret, parameters),
                             out,
-                            boundary
+                            BOUNDARY
                         );
                     } */
                 } else {
-                    Iterator iter = parameters.iterator();
-                    while (iter.hasNext()) {
-                        Parameter p = (Parameter) iter.next();
-                        out.writeBytes(p.getName());
-                        out.writeBytes("=");
-                        try {
-                            out.writeBytes(
-                                URLEncoder.encode(
-                                    String.valueOf(p.getValue()),
-                                    UTF8
-                                )
-                            );
-                        } catch (UnsupportedEncodingException e) {
-                            // Should never happen, but just in case
-                        }
-                        if (iter.hasNext()) {
-                            out.writeBytes("&");
-                        }
-                    }
-
-                    Auth auth = requestContext.getAuth();
-                    if (auth != null) {
-                        // will be added at AuthUtilities.addAuthToken()
-                        //out.writeBytes("&auth_token=");
-                        //out.writeBytes(auth.getToken());
-                        //out.writeBytes("&api_sig=");
-                        //out.writeBytes(AuthUtilities.getSignature(parameters));
-                    }
+                    form.writeTo(out);
                 }
                 out.flush();
             } finally {
                 IOUtilities.close(out);
             }
 
+            if (event != null) {
+                event.requestSent();
+                event.responseStarted(conn.getResponseCode());
+            }
+            if (capture != null) {
+                capture.setStatus(conn.getResponseCode());
+            }
+            checkThrottled(conn);
             InputStream in = null;
             try {
-                if (Flickr.debugStream) {
-                    in = new DebugInputStream(conn.getInputStream(), System.out);
-                } else {
-                    in = conn.getInputStream();
+                in = conn.getInputStream();
+                if (event != null) {
+                    in = event.countReceived(in);
+                }
+                if (capture != null) {
+                    in = capture.captureResponse(in);
                 }
-                Response response = null;
-                synchronized (mutex) {
-                    Document document = builder.parse(in);
-                    response = (Response) responseClass.newInstance();
-                    response.parse(document);
+                if (Flickr.debugStream) {
+                    in = new DebugInputStream(in, System.out);
                 }
+                Response response = checkThrottled(parseResponse(in, cacheKey));
+                completed = true;
                 return response;
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException(e); // TODO: Replace with a better exception
-            } catch (InstantiationException e) {
-                throw new RuntimeException(e); // TODO: Replace with a better exception
             } finally {
                 IOUtilities.close(in);
             }
+        } catch (IOException e) {
+            if (capture != null) {
+                capture.failed(e);
+            }
+            throw e;
         } finally {
-            if (conn != null) {
+            // a completed exchange leaves the connection open for keep-alive
+            if (conn != null && !completed) {
                 conn.disconnect();
             }
         }
     }
 
-    private void writeParam(String name, Object value, DataOutputStream out, String boundary)
-            throws IOException {
-        if (value instanceof InputStream) {
-            out.writeBytes("Content-Disposition: form-data; name=\"" + name + "\"; filename=\"image.jpg\";\r\n");
-            out.writeBytes("Content-Type: image/jpeg" + "\r\n\r\n");
-            InputStream in = (InputStream) value;
-            byte[] buf = new byte[512];
-            int res = -1;
-            while ((res = in.read(buf)) != -1) {
-                out.write(buf);
+    /**
+     * Open a connection, taken from the connection pool if one is set.
+     *
+     * @param url The URL
+     * @return The HttpURLConnection
+     * @throws IOException
+     */
+    private HttpURLConnection openConnection(URL url) throws IOException {
+        if (connectionPool != null && System.getProperty("http.proxyHost") == null) {
+            return connectionPool.openConnection(url);
+        }
+        return (HttpURLConnection) url.openConnection();
+    }
+
+    /**
+     * Wait for the rate limiter, if one is set.
+     *
+     * @throws InterruptedIOException
+     */
+    private void acquirePermit() throws InterruptedIOException {
+        if (rateLimiter != null) {
+            try {
+                rateLimiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the rate limiter");
+            }
+        }
+    }
+
+    /**
+     * Tell the rate limiter if the server refused the call with HTTP status
+     * 429 (Too Many Requests) or 503 (Service Unavailable).
+     *
+     * @param conn The connection
+     * @throws IOException
+     */
+    private void checkThrottled(HttpURLConnection conn) throws IOException {
+        if (rateLimiter != null) {
+            int status = conn.getResponseCode();
+            if (status == 429 || status == HttpURLConnection.HTTP_UNAVAILABLE) {
+                rateLimiter.throttled();
+            }
+        }
+    }
+
+    /**
+     * Tell the rate limiter if Flickr answered the call with an error that
+     * means calls are throttled.
+     *
+     * @param response The Response
+     * @return The Response
+     */
+    private Response checkThrottled(Response response) {
+        if (rateLimiter != null) {
+            checkThrottled(response.isError() ? response.getErrorCode() : null);
+        }
+        return response;
+    }
+
+    private void checkThrottled(String errorCode) {
+        if (errorCode != null && rateLimiter.isThrottleError(errorCode)) {
+            rateLimiter.throttled();
+        } else {
+            rateLimiter.succeeded();
+        }
+    }
+
+    /**
+     * Parse the response stream into a new instance of the response class.
+     * Parsing uses a DocumentBuilder owned by the calling thread, so concurrent
+     * requests do not wait for each other.
+     *
+     * @param in The response stream
+     * @return The Response
+     * @throws IOException
+     * @throws SAXException
+     */
+    private Response parseResponse(InputStream in) throws IOException, SAXException {
+        DocumentBuilder builder = (DocumentBuilder) DOCUMENT_BUILDERS.get();
+        Document document;
+        try {
+            document = builder.parse(in);
+        } finally {
+            builder.reset();
+        }
+        try {
+            Response response = (Response) responseClass.newInstance();
+            response.parse(document);
+            return response;
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Can not create a " + responseClass.getName(), e);
+        } catch (InstantiationException e) {
+            throw new IllegalStateException("Can not create a " + responseClass.getName(), e);
+        }
+    }
+
+    /**
+     * Parse the response stream and keep the response body in the response
+     * cache, unless the response is an error.
+     *
+     * @param in The response stream
+     * @param cacheKey The key from the response cache, null if the response is not cached
+     * @return The Response
+     * @throws IOException
+     * @throws SAXException
+     */
+    private Response parseResponse(InputStream in, String cacheKey) throws IOException, SAXException {
+        if (cacheKey == null) {
+            return parseResponse(in);
+        }
+        byte[] body = IOUtilities.toByteArray(in);
+        Response response = parseResponse(new ByteArrayInputStream(body));
+        if (!response.isError()) {
+            responseCache.put(cacheKey, body);
+        }
+        return response;
+    }
+
+    private String getCacheKey(List parameters) {
+        return responseCache == null ? null : responseCache.getKey(parameters);
+    }
+
+    /**
+     * Get the length of a multipart body as written by {@link #writeParam}.
+     *
+     * @param parameters The parameters
+     * @return The length in bytes, -1 if a parameter is a stream of unknown length
+     * @throws UnsupportedEncodingException
+     */
+    private long getMultipartLength(List parameters) throws UnsupportedEncodingException {
+        long length = BOUNDARY.length() + 4;
+        Iterator iter = parameters.iterator();
+        while (iter.hasNext()) {
+            Parameter p = (Parameter) iter.next();
+            Object value = p.getValue();
+            long valueLength;
+            if (value instanceof byte[]) {
+                valueLength = ((byte[]) value).length;
+            } else if (value instanceof File) {
+                valueLength = ((File) value).length();
+            } else if (value instanceof InputStream) {
+                return -1;
+            } else {
+                valueLength = String.valueOf(value).getBytes(UTF8).length;
             }
-            out.writeBytes("\r\n" + "--" + boundary + "\r\n");
+            length += getPartHeader(p.getName(), value).length + valueLength + BOUNDARY.length() + 6;
+        }
+        return length;
+    }
+
+    /**
+     * Get the headers of a part. Files are sent with their own name and media
+     * type, streams and byte arrays as image.jpg.
+     */
+    private byte[] getPartHeader(String name, Object value) throws UnsupportedEncodingException {
+        String header;
+        if (value instanceof File) {
+            String fileName = ((File) value).getName();
+            header = "Content-Disposition: form-data; name=\"" + name + "\"; filename=\""
+                + fileName.replace('"', '_').replace('\r', '_').replace('\n', '_') + "\";\r\n"
+                + "Content-Type: " + IOUtilities.getContentType(fileName) + "\r\n\r\n";
+        } else if (value instanceof InputStream || value instanceof byte[]) {
+            header = "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"image.jpg\";\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n";
+        } else {
+            header = "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n";
+        }
+        return header.getBytes(UTF8);
+    }
+
+    private void writeParam(String name, Object value, DataOutputStream out) throws IOException {
+        out.write(getPartHeader(name, value));
+        if (value instanceof File) {
+            IOUtilities.copy((File) value, out);
+        } else if (value instanceof InputStream) {
+            IOUtilities.copy((InputStream) value, out);
         } else if (value instanceof byte[]) {
-            out.writeBytes("Content-Disposition: form-data; name=\"" + name + "\"; filename=\"image.jpg\";\r\n");
-            out.writeBytes("Content-Type: image/jpeg" + "\r\n\r\n");
             out.write((byte[]) value);
-            out.writeBytes("\r\n" + "--" + boundary + "\r\n");
         } else {
-            out.writeBytes("Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n");
-            out.write(((String) value).getBytes("UTF-8"));
-            out.writeBytes("\r\n" + "--" + boundary + "\r\n");
+            out.write(String.valueOf(value).getBytes(UTF8));
         }
+        out.writeBytes("\r\n" + "--" + BOUNDARY + "\r\n");
+    }
+
+    /**
+     * Get the pool of persistent connections used by this transport.
+     *
+     * @return The connection pool or null
+     */
+    public HttpConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * Send all requests over persistent connections taken from the given pool,
+     * instead of opening a new connection for each call. A pool may be shared
+     * by several transports. The pool is bypassed while a proxy is set.
+     *
+     * @param connectionPool The connection pool, null to disable pooling
+     */
+    public void setConnectionPool(HttpConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * Get the cache for the responses of read methods.
+     *
+     * @return The response cache or null
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Answer calls to read methods from the given cache while the cached
+     * response is valid. Only the methods with a time to live in the cache
+     * are affected. A cache may be shared by several transports.
+     *
+     * @param responseCache The response cache, null to disable caching
+     */
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Get the coalescer which lets identical concurrent GET requests share one call.
+     *
+     * @return The request coalescer or null
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * Let identical GET requests which are in flight at the same time share
+     * one network call. Every caller still gets its own parsed Response.
+     *
+     * @param requestCoalescer The request coalescer, null to disable coalescing
+     */
+    public void setRequestCoalescer(RequestCoalescer requestCoalescer) {
+        this.requestCoalescer = requestCoalescer;
+    }
+
+    /**
+     * Get the rate limiter which spaces out the calls of this transport.
+     *
+     * @return The rate limiter or null
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Wait for a permit from the given rate limiter before every network
+     * call. Cached responses and coalesced requests take no permit. Use
+     * {@link RateLimiter#getInstance(String)} to share one limiter between
+     * all transports using the same API key.
+     *
+     * @param rateLimiter The rate limiter, null to disable rate limiting
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Get the log of the requests and responses on the wire.
+     *
+     * @return The wire log or null
+     */
+    public WireLog getWireLog() {
+        return wireLog;
+    }
+
+    /**
+     * Write the requests and responses of sampled or slow calls to the given
+     * log. The calls are captured in memory and written by a background
+     * thread, so logging does not slow them down. A log may be shared by
+     * several transports.
+     *
+     * @param wireLog The wire log, null to disable wire logging
+     */
+    public void setWireLog(WireLog wireLog) {
+        this.wireLog = wireLog;
     }
 
     public boolean isProxyAuth() {
@@ -327,4 +805,32 @@ public class REST extends Transport {
             Base64.encode((proxyUser + ":" + proxyPassword).getBytes())
         );
     }
+
+    /**
+     * Reads the complete body of a GET request.
+     */
+    private class BodyCall implements Callable {
+
+        private String path;
+        private List parameters;
+        private CallEvent event;
+
+        BodyCall(String path, List parameters, CallEvent event) {
+            this.path = path;
+            this.parameters = parameters;
+            this.event = event;
+        }
+
+        public Object call() throws IOException {
+            InputStream in = null;
+            try {
+                in = openGet(path, parameters, event);
+                return IOUtilities.toByteArray(in);
+            } finally {
+                IOUtilities.close(in);
+            }
+        }
+
+    }
+
 }
@@ -12,7 +12,10 @@ import com.aetrion.flickr.auth.Auth;
 /**
  * A thread local variable used to hold contextual information used in requests.  To get an instance of this class use
  * RequestContext.getRequestContext().  The method will return a RequestContext object which is only usable within the
- * current thread.
+ * current thread.<p>
+ *
+ * Interfaces bound to a {@link CallContext} do not read the RequestContext, which
+ * makes them safe to use from thread pools.
  *
  * @author Anthony Eden
  */
@@ -6,7 +6,12 @@ package com.aetrion.flickr;
 import org.xml.sax.SAXException;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.aetrion.flickr.photos.PhotoList;
+import com.aetrion.flickr.photos.PhotoUtils;
 
 /**
  * The abstract Transport class provides a common interface for transporting requests to the Flickr servers. Flickr
@@ -26,6 +31,8 @@ public abstract class Transport {
     private String path;
     private String host;
     private int port = 80;
+    private boolean streaming = false;
+    private List listeners = new CopyOnWriteArrayList();
 
     public String getHost() {
         return host;
@@ -88,6 +95,96 @@ public abstract class Transport {
     public abstract Response post(String path, List parameters, boolean multipart) throws IOException,
             SAXException;
 
+    /**
+     * Invoke an HTTP GET request which returns a list of photos.
+     *
+     * The default implementation parses the complete response and converts it
+     * with {@link PhotoUtils#createPhotoList(org.w3c.dom.Element)}. Transports
+     * which support {@link #isStreaming() streaming} may build the photos
+     * directly from the response stream instead.
+     *
+     * @param path The request path
+     * @param parameters The parameters (collection of Parameter objects)
+     * @return The PhotoList
+     * @throws IOException
+     * @throws SAXException
+     * @throws FlickrException
+     */
+    public PhotoList getPhotoList(String path, List parameters) throws IOException, SAXException, FlickrException {
+        Response response = get(path, parameters);
+        if (response.isError()) {
+            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
+        }
+        return PhotoUtils.createPhotoList(response.getPayload());
+    }
+
+    /**
+     * @return true if photo lists are parsed while reading the response stream
+     * @see #setStreaming(boolean)
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Parse photo lists while reading the response stream, without building a
+     * document tree first. This lowers memory use for large result pages.
+     * Transports which do not support streaming ignore this setting.
+     *
+     * @param streaming true to enable streaming
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Report every call of this transport to a listener, with its method,
+     * status, byte counts, timings and error code. Calls are only timed while
+     * a listener is registered. The REST transport reports its calls.
+     *
+     * @param listener The listener
+     * @see com.aetrion.flickr.util.CallMetrics
+     */
+    public void addTransportListener(TransportListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeTransportListener(TransportListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Start recording a call, if a listener is registered.
+     *
+     * @param httpMethod GET or POST
+     * @param path The request path
+     * @param parameters The parameters
+     * @return The CallEvent, null if there are no listeners
+     */
+    protected CallEvent createCallEvent(String httpMethod, String path, List parameters) {
+        if (listeners.isEmpty()) {
+            return null;
+        }
+        return new CallEvent(CallEvent.getMethod(parameters, path), httpMethod);
+    }
+
+    /**
+     * End recording a call and report it to the listeners.
+     *
+     * @param event The CallEvent
+     */
+    protected void fireCallCompleted(CallEvent event) {
+        event.completed();
+        Iterator iter = listeners.iterator();
+        while (iter.hasNext()) {
+            try {
+                ((TransportListener) iter.next()).callCompleted(event);
+            } catch (RuntimeException e) {
+                // a failing listener must not fail the call
+            }
+        }
+    }
+
     /**
      * @return Returns the path.
      */
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr;
+
+/**
+ * Receives an event for every call a Transport makes.<p>
+ *
+ * Listeners are called on the thread which made the call, after the
+ * response is parsed or the call failed, so they should return quickly.
+ * Exceptions thrown by a listener are ignored.
+ *
+ * @author Anthony Eden
+ * @see Transport#addTransportListener(TransportListener)
+ * @see com.aetrion.flickr.util.CallMetrics
+ */
+public interface TransportListener {
+
+    /**
+     * Called when a call is complete, successfully or not.
+     *
+     * @param event The event
+     */
+    void callCompleted(CallEvent event);
+
+}
@@ -9,8 +9,9 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -30,15 +31,26 @@ public class ActivityInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public ActivityInterface(
         String apiKey,
         String sharedSecret,
         Transport transport
+    ) {
+        this(apiKey, sharedSecret, transport, null);
+    }
+
+    public ActivityInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transport,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transport;
+        this.context = context;
     }
 
     /**
@@ -55,23 +67,18 @@ public class ActivityInterface {
     public ItemList userComments(int perPage, int page)
       throws IOException, SAXException, FlickrException {
         ItemList items = new ItemList();
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_USER_COMMENTS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_USER_COMMENTS);
+        parameters.add("api_key", apiKey);
 
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", "" + perPage));
+            parameters.add("per_page", perPage);
         }
 
         if (page > 0) {
-            parameters.add(new Parameter("page", "" + page));
+            parameters.add("page", page);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -108,31 +115,26 @@ public class ActivityInterface {
     public ItemList userPhotos(int perPage, int page, String timeframe)
       throws IOException, SAXException, FlickrException {
         ItemList items = new ItemList();
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_USER_PHOTOS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_USER_PHOTOS);
+        parameters.add("api_key", apiKey);
 
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", "" + perPage));
+            parameters.add("per_page", perPage);
         }
 
         if (page > 0) {
-            parameters.add(new Parameter("page", "" + page));
+            parameters.add("page", page);
         }
 
         if (timeframe != null) {
             if (checkTimeframeArg(timeframe)) {
-                parameters.add(new Parameter("timeframe", timeframe));
+                parameters.add("timeframe", timeframe);
             } else {
             	throw new FlickrException("0","Timeframe-argument to getUserPhotos() not valid");
             }
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
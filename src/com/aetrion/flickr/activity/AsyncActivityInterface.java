@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.activity;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link ActivityInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncActivityInterface()
+ */
+public class AsyncActivityInterface {
+
+    private ActivityInterface activityInterface;
+    private Executor executor;
+
+    public AsyncActivityInterface(ActivityInterface activityInterface, Executor executor) {
+        this.activityInterface = activityInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see ActivityInterface#userComments(int, int)
+     */
+    public FlickrFuture userComments(final int perPage, final int page) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return activityInterface.userComments(perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see ActivityInterface#userPhotos(int, int, String)
+     */
+    public FlickrFuture userPhotos(final int perPage, final int page, final String timeframe) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return activityInterface.userPhotos(perPage, page, timeframe);
+            }
+        });
+    }
+
+}
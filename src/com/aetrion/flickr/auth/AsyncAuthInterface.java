@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.auth;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link AuthInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncAuthInterface()
+ */
+public class AsyncAuthInterface {
+
+    private AuthInterface authInterface;
+    private Executor executor;
+
+    public AsyncAuthInterface(AuthInterface authInterface, Executor executor) {
+        this.authInterface = authInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see AuthInterface#checkToken(String)
+     */
+    public FlickrFuture checkToken(final String authToken) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return authInterface.checkToken(authToken);
+            }
+        });
+    }
+
+    /**
+     * @see AuthInterface#getFullToken(String)
+     */
+    public FlickrFuture getFullToken(final String miniToken) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return authInterface.getFullToken(miniToken);
+            }
+        });
+    }
+
+    /**
+     * @see AuthInterface#getFrob()
+     */
+    public FlickrFuture getFrob() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return authInterface.getFrob();
+            }
+        });
+    }
+
+    /**
+     * @see AuthInterface#getToken(String)
+     */
+    public FlickrFuture getToken(final String frob) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return authInterface.getToken(frob);
+            }
+        });
+    }
+
+}
@@ -4,8 +4,9 @@
 
 package com.aetrion.flickr.auth;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.people.User;
@@ -17,7 +18,6 @@ import org.xml.sax.SAXException;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -35,6 +35,7 @@ public class AuthInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     /**
      * Construct the AuthInterface.
@@ -46,10 +47,20 @@ public class AuthInterface {
         String apiKey,
         String sharedSecret,
         Transport transport
+    ) {
+        this(apiKey, sharedSecret, transport, null);
+    }
+
+    public AuthInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transport,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transport;
+        this.context = context;
     }
 
     /**
@@ -62,19 +73,14 @@ public class AuthInterface {
      * @throws FlickrException
      */
     public Auth checkToken(String authToken) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_CHECK_TOKEN));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_CHECK_TOKEN);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("auth_token", authToken));
+        parameters.add("auth_token", authToken);
 
         // This method call must be signed.
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -106,14 +112,14 @@ public class AuthInterface {
      * @throws FlickrException
      */
     public Auth getFullToken(String miniToken) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_FULL_TOKEN));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_FULL_TOKEN);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("mini_token", miniToken));
+        parameters.add("mini_token", miniToken);
 
         // This method call must be signed.
-        parameters.add(new Parameter("api_sig", AuthUtilities.getSignature(sharedSecret, parameters)));
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -144,12 +150,12 @@ public class AuthInterface {
      * @throws FlickrException
      */
     public String getFrob() throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_FROB));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_FROB);
+        parameters.add("api_key", apiKey);
 
         // This method call must be signed.
-        parameters.add(new Parameter("api_sig", AuthUtilities.getSignature(sharedSecret, parameters)));
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -168,14 +174,14 @@ public class AuthInterface {
      * @throws FlickrException
      */
     public Auth getToken(String frob) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_TOKEN));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_TOKEN);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("frob", frob));
+        parameters.add("frob", frob);
 
         // This method call must be signed.
-        parameters.add(new Parameter("api_sig", AuthUtilities.getSignature(sharedSecret, parameters)));
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -210,13 +216,13 @@ public class AuthInterface {
      * @throws MalformedURLException
      */
     public URL buildAuthenticationUrl(Permission permission, String frob) throws MalformedURLException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("api_key", apiKey));
-        parameters.add(new Parameter("perms", permission.toString()));
-        parameters.add(new Parameter("frob", frob));
+        ParameterList parameters = new ParameterList();
+        parameters.add("api_key", apiKey);
+        parameters.add("perms", permission.toString());
+        parameters.add("frob", frob);
 
         // The parameters in the url must be signed
-        parameters.add(new Parameter("api_sig", AuthUtilities.getSignature(sharedSecret, parameters)));
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         String host = "www.flickr.com";
         int port = transportAPI.getPort();
@@ -4,18 +4,13 @@
 
 package com.aetrion.flickr.auth;
 
-import java.io.UnsupportedEncodingException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.Parameter;
-import com.aetrion.flickr.ParameterAlphaComparator;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.RequestContext;
-import com.aetrion.flickr.util.ByteUtilities;
 import com.aetrion.flickr.util.UrlUtilities;
 
 /**
@@ -57,54 +52,38 @@ public class AuthUtilities {
      * @return The signature String
      */
     public static String getSignature(String sharedSecret, List params) {
-        addAuthToken(params);
-
-        StringBuffer buffer = new StringBuffer();
-        buffer.append(sharedSecret);
-        Collections.sort(params, new ParameterAlphaComparator());
-        Iterator iter = params.iterator();
-        while (iter.hasNext()) {
-            Parameter param = (Parameter) iter.next();
-            buffer.append(param.getName());
-            buffer.append(param.getValue());
-        }
+        return getSignature(sharedSecret, params, null);
+    }
 
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            return ByteUtilities.toHexString(md.digest(buffer.toString().getBytes("UTF-8")));
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        } catch (UnsupportedEncodingException u) {
-            throw new RuntimeException(u);
-        }
+    /**
+     * Get a signature for a list of parameters using the given shared secret.
+     * The auth token of the context is added to the parameters if necessary.
+     *
+     * @param sharedSecret The shared secret
+     * @param params The parameters
+     * @param context The CallContext, null to use the RequestContext of the current thread
+     * @return The signature String
+     */
+    public static String getSignature(String sharedSecret, List params, CallContext context) {
+        addAuthToken(params, context);
+        return Signer.getInstance(sharedSecret).sign(params);
     }
 
     public static String getMultipartSignature(String sharedSecret, List params) {
-        List ignoreParameters = new ArrayList();
-        ignoreParameters.add("photo");
-
-        addAuthToken(params);
-
-        StringBuffer buffer = new StringBuffer();
-        buffer.append(sharedSecret);
-        Collections.sort(params, new ParameterAlphaComparator());
-        Iterator iter = params.iterator();
-        while (iter.hasNext()) {
-            Parameter param = (Parameter) iter.next();
-            if (!ignoreParameters.contains(param.getName().toLowerCase())) {
-                buffer.append(param.getName());
-                buffer.append(param.getValue());
-            }
-        }
+        return getMultipartSignature(sharedSecret, params, null);
+    }
 
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            return ByteUtilities.toHexString(md.digest(buffer.toString().getBytes("UTF-8")));
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        } catch (UnsupportedEncodingException u) {
-            throw new RuntimeException(u);
-        }
+    /**
+     * Get a signature for the parameters of a multipart request, ignoring the photo.
+     *
+     * @param sharedSecret The shared secret
+     * @param params The parameters
+     * @param context The CallContext, null to use the RequestContext of the current thread
+     * @return The signature String
+     */
+    public static String getMultipartSignature(String sharedSecret, List params, CallContext context) {
+        addAuthToken(params, context);
+        return Signer.getInstance(sharedSecret).sign(params, "photo");
     }
 
     /**
@@ -112,21 +91,27 @@ public class AuthUtilities {
      * @param params
      */
     public static void addAuthToken(List params) {
-        //Checking for the auth_token parameter
-        Iterator it = params.iterator();
-        boolean tokenFlag = false;
-        while (it.hasNext()) {
-            if (((Parameter) it.next()).getName().equals("auth_token")) {
-                tokenFlag = true;
-            }
-        }
+        addAuthToken(params, null);
+    }
 
-        if (!tokenFlag) {
-            if (RequestContext.getRequestContext().getAuth() != null) {
-                String authToken = RequestContext.getRequestContext().getAuth().getToken();
-                if(authToken != null && !authToken.equals(""))
-                    params.add(new Parameter("auth_token", authToken));
-            }
+    /**
+     * Adds the auth_token of the context to the parameter list if it is necessary.
+     *
+     * @param params
+     * @param context The CallContext, null to use the RequestContext of the current thread
+     */
+    public static void addAuthToken(List params, CallContext context) {
+        if (hasAuthToken(params)) {
+            return;
+        }
+        String authToken = getAuthToken(context);
+        if (authToken == null) {
+            return;
+        }
+        if (params instanceof ParameterList) {
+            ((ParameterList) params).add("auth_token", authToken);
+        } else {
+            params.add(new Parameter("auth_token", authToken));
         }
     }
 
@@ -137,22 +122,41 @@ public class AuthUtilities {
      * @return isAuthenticated
      */
     public static boolean isAuthenticated(List params) {
+        return isAuthenticated(params, null);
+    }
+
+    /**
+     * Check, if we are authenticated.
+     *
+     * @param params
+     * @param context The CallContext, null to use the RequestContext of the current thread
+     * @return isAuthenticated
+     */
+    public static boolean isAuthenticated(List params, CallContext context) {
+        return hasAuthToken(params) || getAuthToken(context) != null;
+    }
+
+    private static boolean hasAuthToken(List params) {
+        if (params instanceof ParameterList) {
+            return ((ParameterList) params).getAuthToken() != null;
+        }
         Iterator it = params.iterator();
-        boolean tokenFlag = false;
         while (it.hasNext()) {
             if (((Parameter) it.next()).getName().equals("auth_token")) {
-                tokenFlag = true;
+                return true;
             }
         }
+        return false;
+    }
 
-        if (!tokenFlag) {
-            if (RequestContext.getRequestContext().getAuth() != null) {
-                String authToken = RequestContext.getRequestContext().getAuth().getToken();
-                if (authToken != null && !authToken.equals("")) {
-                    tokenFlag = true;
-                }
-            }
+    private static String getAuthToken(CallContext context) {
+        if (context != null) {
+            return context.getAuthToken();
+        }
+        Auth auth = RequestContext.getRequestContext().getAuth();
+        if (auth != null && auth.getToken() != null && !auth.getToken().equals("")) {
+            return auth.getToken();
         }
-        return tokenFlag;
+        return null;
     }
 }
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+
+package com.aetrion.flickr.auth;
+
+import java.io.UnsupportedEncodingException;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterAlphaComparator;
+import com.aetrion.flickr.ParameterList;
+
+/**
+ * Signs parameter lists with one shared secret.<p>
+ *
+ * The MD5 state after the shared secret is computed once and copied for each
+ * signature. The names and values of the sorted parameters are collected in a
+ * text buffer of the calling thread and encoded as UTF-8 into the digest
+ * through a byte buffer, and the hex digits are written into a buffer as
+ * well, so signing neither builds the concatenated String of the parameters
+ * nor its bytes. A {@link ParameterList} is sorted in place and its numbers
+ * are written without boxing.<p>
+ *
+ * The signature is the same as the one computed by
+ * {@link AuthUtilities#getSignature(String, List)}, which uses this class.
+ * A Signer is safe for use by multiple threads.
+ *
+ * @author Anthony Eden
+ */
+public class Signer {
+
+    /** Applications use one secret or a few, so the shared Signers are simply dropped when there are more. */
+    private static final int MAX_INSTANCES = 16;
+    private static final Map INSTANCES = new ConcurrentHashMap();
+    private static final ParameterAlphaComparator COMPARATOR = new ParameterAlphaComparator();
+    private static final char[] HEX = {
+        '0', '1', '2', '3', '4', '5', '6', '7',
+        '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
+    };
+    private static final int BUFFER_SIZE = 1024;
+    private static final int MAX_RETAINED = 64 * 1024;
+
+    private MessageDigest prototype;
+    private boolean cloneable = true;
+    private byte[] secret;
+
+    private ThreadLocal buffers = new ThreadLocal() {
+        protected Object initialValue() {
+            return new Buffers();
+        }
+    };
+
+    /**
+     * Construct a Signer.
+     *
+     * @param sharedSecret The shared secret
+     */
+    public Signer(String sharedSecret) {
+        try {
+            secret = sharedSecret.getBytes("UTF-8");
+            prototype = MessageDigest.getInstance("MD5");
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        prototype.update(secret);
+    }
+
+    /**
+     * Get the shared Signer for a shared secret.
+     *
+     * @param sharedSecret The shared secret
+     * @return The Signer
+     */
+    public static Signer getInstance(String sharedSecret) {
+        Signer signer = (Signer) INSTANCES.get(sharedSecret);
+        if (signer == null) {
+            if (INSTANCES.size() >= MAX_INSTANCES) {
+                INSTANCES.clear();
+            }
+            // a Signer created twice by a race is only a little more work
+            signer = new Signer(sharedSecret);
+            INSTANCES.put(sharedSecret, signer);
+        }
+        return signer;
+    }
+
+    /**
+     * Sign a list of parameters. The list is sorted by name.
+     *
+     * @param params The parameters
+     * @return The signature
+     */
+    public String sign(List params) {
+        return sign(params, null);
+    }
+
+    /**
+     * Sign a list of parameters, leaving out one parameter. The list is
+     * sorted by name.
+     *
+     * @param params The parameters
+     * @param ignoredName The name of the parameter to leave out, case is ignored, may be null
+     * @return The signature
+     */
+    public String sign(List params, String ignoredName) {
+        Buffers buffers = (Buffers) this.buffers.get();
+        StringBuilder text = buffers.text;
+        text.setLength(0);
+        if (params instanceof ParameterList) {
+            ParameterList list = (ParameterList) params;
+            list.sort();
+            for (int i = 0, n = list.size(); i < n; i++) {
+                String name = list.getName(i);
+                if (ignoredName != null && ignoredName.equalsIgnoreCase(name)) {
+                    continue;
+                }
+                text.append(name);
+                if (list.isNumber(i)) {
+                    text.append(list.getNumber(i));
+                } else {
+                    text.append(list.getValue(i));
+                }
+            }
+        } else {
+            Collections.sort(params, COMPARATOR);
+            for (int i = 0, n = params.size(); i < n; i++) {
+                Parameter param = (Parameter) params.get(i);
+                if (ignoredName != null && ignoredName.equalsIgnoreCase(param.getName())) {
+                    continue;
+                }
+                text.append(param.getName());
+                text.append(param.getValue());
+            }
+        }
+        MessageDigest md = newDigest();
+        update(md, buffers);
+        try {
+            md.digest(buffers.digest, 0, buffers.digest.length);
+        } catch (DigestException e) {
+            throw new RuntimeException(e);
+        }
+        char[] hex = buffers.hex;
+        for (int i = 0; i < buffers.digest.length; i++) {
+            hex[i * 2] = HEX[(buffers.digest[i] & 0xf0) >>> 4];
+            hex[i * 2 + 1] = HEX[buffers.digest[i] & 0x0f];
+        }
+        return new String(hex);
+    }
+
+    private MessageDigest newDigest() {
+        if (cloneable) {
+            try {
+                return (MessageDigest) prototype.clone();
+            } catch (CloneNotSupportedException e) {
+                // the provider cannot copy its state, hash the secret every time
+                cloneable = false;
+            }
+        }
+        try {
+            MessageDigest md = MessageDigest.getInstance("MD5");
+            md.update(secret);
+            return md;
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Encode the text as UTF-8 into the digest, a buffer at a time.
+     */
+    private static void update(MessageDigest md, Buffers buffers) {
+        StringBuilder text = buffers.text;
+        int n = text.length();
+        if (buffers.chars.length < n) {
+            buffers.chars = new char[Math.max(n, buffers.chars.length * 2)];
+        }
+        char[] chars = buffers.chars;
+        text.getChars(0, n, chars, 0);
+        if (text.capacity() > MAX_RETAINED) {
+            // do not keep the memory of an exceptionally large request
+            buffers.text = new StringBuilder(BUFFER_SIZE);
+            buffers.chars = new char[BUFFER_SIZE];
+        }
+        byte[] bytes = buffers.bytes;
+        int length = 0;
+        int i = 0;
+        while (i < n) {
+            if (length >= bytes.length - 4) {
+                md.update(bytes, 0, length);
+                length = 0;
+            }
+            // a run of ASCII, leaving room for one character of four bytes
+            int end = Math.min(n, i + bytes.length - 4 - length);
+            while (i < end && chars[i] < 0x80) {
+                bytes[length++] = (byte) chars[i++];
+            }
+            if (i == end) {
+                continue;
+            }
+            char c = chars[i++];
+            if (c < 0x80) {
+                bytes[length++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[length++] = (byte) (0xc0 | (c >> 6));
+                bytes[length++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i < n && Character.isLowSurrogate(chars[i])) {
+                int cp = Character.toCodePoint(c, chars[i++]);
+                bytes[length++] = (byte) (0xf0 | (cp >> 18));
+                bytes[length++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                bytes[length++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                bytes[length++] = (byte) (0x80 | (cp & 0x3f));
+            } else if (Character.isHighSurrogate(c) || Character.isLowSurrogate(c)) {
+                // unpaired surrogate, replaced like String#getBytes does
+                bytes[length++] = (byte) '?';
+            } else {
+                bytes[length++] = (byte) (0xe0 | (c >> 12));
+                bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                bytes[length++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        md.update(bytes, 0, length);
+    }
+
+    private static class Buffers {
+
+        StringBuilder text = new StringBuilder(BUFFER_SIZE);
+        char[] chars = new char[BUFFER_SIZE];
+        byte[] bytes = new byte[BUFFER_SIZE];
+        byte[] digest = new byte[16];
+        char[] hex = new char[32];
+
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.blogs;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+import com.aetrion.flickr.photos.Photo;
+
+/**
+ * Asynchronous access to the methods of {@link BlogsInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncBlogsInterface()
+ */
+public class AsyncBlogsInterface {
+
+    private BlogsInterface blogsInterface;
+    private Executor executor;
+
+    public AsyncBlogsInterface(BlogsInterface blogsInterface, Executor executor) {
+        this.blogsInterface = blogsInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see BlogsInterface#getServices()
+     */
+    public FlickrFuture getServices() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return blogsInterface.getServices();
+            }
+        });
+    }
+
+    /**
+     * @see BlogsInterface#postPhoto(Photo, String, String)
+     */
+    public FlickrFuture postPhoto(final Photo photo, final String blogId, final String blogPassword) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                blogsInterface.postPhoto(photo, blogId, blogPassword);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see BlogsInterface#postPhoto(Photo, String)
+     */
+    public FlickrFuture postPhoto(final Photo photo, final String blogId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                blogsInterface.postPhoto(photo, blogId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see BlogsInterface#getList()
+     */
+    public FlickrFuture getList() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return blogsInterface.getList();
+            }
+        });
+    }
+
+}
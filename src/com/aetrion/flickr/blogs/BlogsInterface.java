@@ -12,8 +12,9 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -35,11 +36,17 @@ public class BlogsInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public BlogsInterface(String apiKey, String sharedSecret, Transport transport) {
+        this(apiKey, sharedSecret, transport, null);
+    }
+
+    public BlogsInterface(String apiKey, String sharedSecret, Transport transport, CallContext context) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transport;
+        this.context = context;
     }
 
     /**
@@ -55,9 +62,9 @@ public class BlogsInterface {
     public Collection getServices()
       throws IOException, SAXException, FlickrException {
         List list = new ArrayList();
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_SERVICES));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_SERVICES);
+        parameters.add("api_key", apiKey);
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -87,23 +94,18 @@ public class BlogsInterface {
      * @throws FlickrException
      */
     public void postPhoto(Photo photo, String blogId, String blogPassword) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_POST_PHOTO));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("blog_id", blogId));
-        parameters.add(new Parameter("photo_id", photo.getId()));
-        parameters.add(new Parameter("title", photo.getTitle()));
-        parameters.add(new Parameter("description", photo.getDescription()));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_POST_PHOTO);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("blog_id", blogId);
+        parameters.add("photo_id", photo.getId());
+        parameters.add("title", photo.getTitle());
+        parameters.add("description", photo.getDescription());
         if (blogPassword != null) {
-            parameters.add(new Parameter("blog_password", blogPassword));
+            parameters.add("blog_password", blogPassword);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -134,15 +136,10 @@ public class BlogsInterface {
     public Collection getList() throws IOException, SAXException, FlickrException {
         List blogs = new ArrayList();
 
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_LIST));
-        parameters.add(new Parameter("api_key", apiKey));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_LIST);
+        parameters.add("api_key", apiKey);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
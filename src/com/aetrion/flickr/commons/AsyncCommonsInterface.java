@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.commons;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link CommonsInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncCommonsInterface()
+ */
+public class AsyncCommonsInterface {
+
+    private CommonsInterface commonsInterface;
+    private Executor executor;
+
+    public AsyncCommonsInterface(CommonsInterface commonsInterface, Executor executor) {
+        this.commonsInterface = commonsInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see CommonsInterface#getInstitutions()
+     */
+    public FlickrFuture getInstitutions() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return commonsInterface.getInstitutions();
+            }
+        });
+    }
+
+}
@@ -8,8 +8,9 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -26,15 +27,26 @@ public class CommonsInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public CommonsInterface(
         String apiKey,
         String sharedSecret,
         Transport transportAPI
+    ) {
+        this(apiKey, sharedSecret, transportAPI, null);
+    }
+
+    public CommonsInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transportAPI,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transportAPI;
+        this.context = context;
     }
 
     /**
@@ -49,9 +61,9 @@ public class CommonsInterface {
      */
     public ArrayList getInstitutions() throws FlickrException, IOException, SAXException {
         ArrayList institutions = new ArrayList();
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_INSTITUTIONS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_INSTITUTIONS);
+        parameters.add("api_key", apiKey);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.contacts;
+
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link ContactsInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncContactsInterface()
+ */
+public class AsyncContactsInterface {
+
+    private ContactsInterface contactsInterface;
+    private Executor executor;
+
+    public AsyncContactsInterface(ContactsInterface contactsInterface, Executor executor) {
+        this.contactsInterface = contactsInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see ContactsInterface#getList()
+     */
+    public FlickrFuture getList() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return contactsInterface.getList();
+            }
+        });
+    }
+
+    /**
+     * @see ContactsInterface#getListRecentlyUploaded(Date, String)
+     */
+    public FlickrFuture getListRecentlyUploaded(final Date lastUpload, final String filter) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return contactsInterface.getListRecentlyUploaded(lastUpload, filter);
+            }
+        });
+    }
+
+    /**
+     * @see ContactsInterface#getPublicList(String)
+     */
+    public FlickrFuture getPublicList(final String userId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return contactsInterface.getPublicList(userId);
+            }
+        });
+    }
+
+}
@@ -13,8 +13,9 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -35,15 +36,26 @@ public class ContactsInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public ContactsInterface(
         String apiKey,
         String sharedSecret,
         Transport transportAPI
+    ) {
+        this(apiKey, sharedSecret, transportAPI, null);
+    }
+
+    public ContactsInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transportAPI,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transportAPI;
+        this.context = context;
     }
 
     /**
@@ -56,15 +68,10 @@ public class ContactsInterface {
     public Collection getList() throws IOException, SAXException, FlickrException {
         List contacts = new ArrayList();
 
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_LIST));
-        parameters.add(new Parameter("api_key", apiKey));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_LIST);
+        parameters.add("api_key", apiKey);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -110,23 +117,18 @@ public class ContactsInterface {
       throws IOException, SAXException, FlickrException {
         List contacts = new ArrayList();
 
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_LIST_RECENTLY_UPLOADED));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_LIST_RECENTLY_UPLOADED);
+        parameters.add("api_key", apiKey);
 
         if (lastUpload != null) {
-            parameters.add(new Parameter("date_lastupload", lastUpload.getTime() / 1000L));
+            parameters.add("date_lastupload", lastUpload.getTime() / 1000L);
         }
         if (filter != null) {
-            parameters.add(new Parameter("filter", filter));
+            parameters.add("filter", filter);
         }
 
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -170,11 +172,11 @@ public class ContactsInterface {
     public Collection getPublicList(String userId) throws IOException, SAXException, FlickrException {
         List contacts = new ArrayList();
 
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_PUBLIC_LIST));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_PUBLIC_LIST);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("user_id", userId));
+        parameters.add("user_id", userId);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
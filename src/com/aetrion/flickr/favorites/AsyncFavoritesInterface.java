@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.favorites;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link FavoritesInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncFavoritesInterface()
+ */
+public class AsyncFavoritesInterface {
+
+    private FavoritesInterface favoritesInterface;
+    private Executor executor;
+
+    public AsyncFavoritesInterface(FavoritesInterface favoritesInterface, Executor executor) {
+        this.favoritesInterface = favoritesInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see FavoritesInterface#add(String)
+     */
+    public FlickrFuture add(final String photoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                favoritesInterface.add(photoId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see FavoritesInterface#getList(String, int, int, Set)
+     */
+    public FlickrFuture getList(final String userId, final int perPage, final int page, final Set extras) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return favoritesInterface.getList(userId, perPage, page, extras);
+            }
+        });
+    }
+
+    /**
+     * @see FavoritesInterface#getPublicList(String, int, int, Set)
+     */
+    public FlickrFuture getPublicList(
+        final String userId,
+        final int perPage,
+        final int page,
+        final Set extras
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return favoritesInterface.getPublicList(userId, perPage, page, extras);
+            }
+        });
+    }
+
+    /**
+     * @see FavoritesInterface#remove(String)
+     */
+    public FlickrFuture remove(final String photoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                favoritesInterface.remove(photoId);
+                return null;
+            }
+        });
+    }
+
+}
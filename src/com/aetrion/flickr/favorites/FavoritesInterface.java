@@ -4,22 +4,19 @@
 package com.aetrion.flickr.favorites;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.Flickr;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
 import com.aetrion.flickr.photos.PhotoList;
-import com.aetrion.flickr.photos.PhotoUtils;
 import com.aetrion.flickr.util.StringUtilities;
 
 /**
@@ -38,11 +35,17 @@ public class FavoritesInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public FavoritesInterface(String apiKey, String sharedSecret, Transport transportAPI) {
+        this(apiKey, sharedSecret, transportAPI, null);
+    }
+
+    public FavoritesInterface(String apiKey, String sharedSecret, Transport transportAPI, CallContext context) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transportAPI;
+        this.context = context;
     }
 
     /**
@@ -54,17 +57,12 @@ public class FavoritesInterface {
      * @throws FlickrException
      */
     public void add(String photoId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_ADD));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_ADD);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photo_id", photoId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -86,47 +84,25 @@ public class FavoritesInterface {
      */
     public PhotoList getList(String userId, int perPage, int page, Set extras) throws IOException,
             SAXException, FlickrException {
-        PhotoList photos = new PhotoList();
-
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_LIST));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_LIST);
+        parameters.add("api_key", apiKey);
 
         if (userId != null) {
-            parameters.add(new Parameter("user_id", userId));
+            parameters.add("user_id", userId);
         }
         if (extras != null) {
-            parameters.add(new Parameter("extras", StringUtilities.join(extras, ",")));
+            parameters.add("extras", StringUtilities.join(extras, ","));
         }
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", new Integer(perPage)));
+            parameters.add("per_page", new Integer(perPage));
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", new Integer(page)));
-        }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
-
-        Response response = transportAPI.get(transportAPI.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
+            parameters.add("page", new Integer(page));
         }
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
-        Element photosElement = response.getPayload();
-        photos.setPage(photosElement.getAttribute("page"));
-		photos.setPages(photosElement.getAttribute("pages"));
-		photos.setPerPage(photosElement.getAttribute("perpage"));
-		photos.setTotal(photosElement.getAttribute("total"));
-        NodeList photoNodes = photosElement.getElementsByTagName("photo");
-        for (int i = 0; i < photoNodes.getLength(); i++) {
-            Element photoElement = (Element) photoNodes.item(i);
-            photos.add(PhotoUtils.createPhoto(photoElement));
-        }
-        return photos;
+        return transportAPI.getPhotoList(transportAPI.getPath(), parameters);
     }
 
     /**
@@ -146,40 +122,23 @@ public class FavoritesInterface {
      */
     public PhotoList getPublicList(String userId, int perPage, int page, Set extras)
             throws IOException, SAXException, FlickrException {
-        PhotoList photos = new PhotoList();
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_PUBLIC_LIST);
+        parameters.add("api_key", apiKey);
 
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_PUBLIC_LIST));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("user_id", userId));
+        parameters.add("user_id", userId);
 
         if (extras != null) {
-            parameters.add(new Parameter("extras", StringUtilities.join(extras, ",")));
+            parameters.add("extras", StringUtilities.join(extras, ","));
         }
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", new Integer(perPage)));
+            parameters.add("per_page", new Integer(perPage));
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", new Integer(page)));
+            parameters.add("page", new Integer(page));
         }
 
-        Response response = transportAPI.get(transportAPI.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-
-        Element photosElement = response.getPayload();
-        photos.setPage(photosElement.getAttribute("page"));
-		photos.setPages(photosElement.getAttribute("pages"));
-		photos.setPerPage(photosElement.getAttribute("perpage"));
-		photos.setTotal(photosElement.getAttribute("total"));
-        NodeList photoNodes = photosElement.getElementsByTagName("photo");
-        for (int i = 0; i < photoNodes.getLength(); i++) {
-            Element photoElement = (Element) photoNodes.item(i);
-            photos.add(PhotoUtils.createPhoto(photoElement));
-        }
-        return photos;
+        return transportAPI.getPhotoList(transportAPI.getPath(), parameters);
     }
 
     /**
@@ -188,17 +147,12 @@ public class FavoritesInterface {
      * @param photoId The photo id
      */
     public void remove(String photoId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_REMOVE));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_REMOVE);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photo_id", photoId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
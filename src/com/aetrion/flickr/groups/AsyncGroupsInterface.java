@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.groups;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link GroupsInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncGroupsInterface()
+ */
+public class AsyncGroupsInterface {
+
+    private GroupsInterface groupsInterface;
+    private Executor executor;
+
+    public AsyncGroupsInterface(GroupsInterface groupsInterface, Executor executor) {
+        this.groupsInterface = groupsInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see GroupsInterface#browse(String)
+     * @deprecated Flickr returns just empty results
+     */
+    public FlickrFuture browse(final String catId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return groupsInterface.browse(catId);
+            }
+        });
+    }
+
+    /**
+     * @see GroupsInterface#getInfo(String)
+     */
+    public FlickrFuture getInfo(final String groupId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return groupsInterface.getInfo(groupId);
+            }
+        });
+    }
+
+    /**
+     * @see GroupsInterface#search(String, int, int)
+     */
+    public FlickrFuture search(final String text, final int perPage, final int page) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return groupsInterface.search(text, perPage, page);
+            }
+        });
+    }
+
+}
@@ -8,8 +8,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -34,11 +35,17 @@ public class GroupsInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public GroupsInterface(String apiKey, String sharedSecret, Transport transportAPI) {
+        this(apiKey, sharedSecret, transportAPI, null);
+    }
+
+    public GroupsInterface(String apiKey, String sharedSecret, Transport transportAPI, CallContext context) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transportAPI;
+        this.context = context;
     }
 
     /**
@@ -56,19 +63,14 @@ public class GroupsInterface {
         List subcategories = new ArrayList();
         List groups = new ArrayList();
 
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_BROWSE));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_BROWSE);
+        parameters.add("api_key", apiKey);
 
         if (catId != null) {
-            parameters.add(new Parameter("cat_id", catId));
+            parameters.add("cat_id", catId);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -118,11 +120,11 @@ public class GroupsInterface {
      * @return The Group object
      */
     public Group getInfo(String groupId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_INFO));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_INFO);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("group_id", groupId));
+        parameters.add("group_id", groupId);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -176,24 +178,19 @@ public class GroupsInterface {
      */
     public Collection search(String text, int perPage, int page) throws FlickrException, IOException, SAXException {
         GroupList groupList = new GroupList();
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_SEARCH));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_SEARCH);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("text", text));
+        parameters.add("text", text);
 
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", new Integer(perPage)));
+            parameters.add("per_page", new Integer(perPage));
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", new Integer(page)));
+            parameters.add("page", new Integer(page));
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.groups.members;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link MembersInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncMembersInterface()
+ */
+public class AsyncMembersInterface {
+
+    private MembersInterface membersInterface;
+    private Executor executor;
+
+    public AsyncMembersInterface(MembersInterface membersInterface, Executor executor) {
+        this.membersInterface = membersInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see MembersInterface#getList(String, Set, int, int)
+     */
+    public FlickrFuture getList(
+        final String groupId,
+        final Set memberTypes,
+        final int perPage,
+        final int page
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return membersInterface.getList(groupId, memberTypes, perPage, page);
+            }
+        });
+    }
+
+}
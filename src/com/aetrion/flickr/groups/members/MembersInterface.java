@@ -1,7 +1,6 @@
 package com.aetrion.flickr.groups.members;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -9,8 +8,9 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -28,15 +28,26 @@ public class MembersInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public MembersInterface(
         String apiKey,
         String sharedSecret,
         Transport transportAPI
+    ) {
+        this(apiKey, sharedSecret, transportAPI, null);
+    }
+
+    public MembersInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transportAPI,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transportAPI;
+        this.context = context;
     }
 
     /**
@@ -58,32 +69,22 @@ public class MembersInterface {
     public MembersList getList(String groupId, Set memberTypes, int perPage, int page)
       throws FlickrException, IOException, SAXException {
         MembersList members = new MembersList();
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_LIST));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_LIST);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("group_id", groupId));
+        parameters.add("group_id", groupId);
 
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", "" + perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", "" + page));
+            parameters.add("page", page);
         }
         if (memberTypes != null) {
-            parameters.add(
-                new Parameter(
-                    "membertypes",
-                    StringUtilities.join(memberTypes, ",")
-                )
-            );
+            parameters.add("membertypes", StringUtilities.join(memberTypes, ","));
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
             throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.groups.pools;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link PoolsInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncPoolsInterface()
+ */
+public class AsyncPoolsInterface {
+
+    private PoolsInterface poolsInterface;
+    private Executor executor;
+
+    public AsyncPoolsInterface(PoolsInterface poolsInterface, Executor executor) {
+        this.poolsInterface = poolsInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see PoolsInterface#add(String, String)
+     */
+    public FlickrFuture add(final String photoId, final String groupId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                poolsInterface.add(photoId, groupId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PoolsInterface#getContext(String, String)
+     */
+    public FlickrFuture getContext(final String photoId, final String groupId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return poolsInterface.getContext(photoId, groupId);
+            }
+        });
+    }
+
+    /**
+     * @see PoolsInterface#getGroups()
+     */
+    public FlickrFuture getGroups() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return poolsInterface.getGroups();
+            }
+        });
+    }
+
+    /**
+     * @see PoolsInterface#getPhotos(String, String[], Set, int, int)
+     */
+    public FlickrFuture getPhotos(
+        final String groupId,
+        final String[] tags,
+        final Set extras,
+        final int perPage,
+        final int page
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return poolsInterface.getPhotos(groupId, tags, extras, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PoolsInterface#getPhotos(String, String[], int, int)
+     */
+    public FlickrFuture getPhotos(
+        final String groupId,
+        final String[] tags,
+        final int perPage,
+        final int page
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return poolsInterface.getPhotos(groupId, tags, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PoolsInterface#remove(String, String)
+     */
+    public FlickrFuture remove(final String photoId, final String groupId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                poolsInterface.remove(photoId, groupId);
+                return null;
+            }
+        });
+    }
+
+}
@@ -14,8 +14,9 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -24,7 +25,6 @@ import com.aetrion.flickr.photos.Extras;
 import com.aetrion.flickr.photos.Photo;
 import com.aetrion.flickr.photos.PhotoContext;
 import com.aetrion.flickr.photos.PhotoList;
-import com.aetrion.flickr.photos.PhotoUtils;
 import com.aetrion.flickr.util.StringUtilities;
 
 /**
@@ -42,15 +42,26 @@ public class PoolsInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transport;
+    private CallContext context;
 
     public PoolsInterface(
         String apiKey,
         String sharedSecret,
         Transport transport
+    ) {
+        this(apiKey, sharedSecret, transport, null);
+    }
+
+    public PoolsInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transport,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transport = transport;
+        this.context = context;
     }
 
     /**
@@ -61,18 +72,13 @@ public class PoolsInterface {
      */
     public void add(String photoId, String groupId) throws IOException, SAXException,
             FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_ADD));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_ADD);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(new Parameter("group_id", groupId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("photo_id", photoId);
+        parameters.add("group_id", groupId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -93,12 +99,12 @@ public class PoolsInterface {
      * @throws FlickrException
      */
     public PhotoContext getContext(String photoId, String groupId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_CONTEXT));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_CONTEXT);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(new Parameter("group_id", groupId));
+        parameters.add("photo_id", photoId);
+        parameters.add("group_id", groupId);
 
         Response response = transport.get(transport.getPath(), parameters);
         if (response.isError()) {
@@ -136,15 +142,10 @@ public class PoolsInterface {
     public Collection getGroups() throws IOException, SAXException, FlickrException {
         List groups = new ArrayList();
 
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_GROUPS));
-        parameters.add(new Parameter("api_key", apiKey));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_GROUPS);
+        parameters.add("api_key", apiKey);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.get(transport.getPath(), parameters);
         if (response.isError()) {
@@ -182,21 +183,19 @@ public class PoolsInterface {
      */
     public PhotoList getPhotos(String groupId, String[] tags, Set extras, int perPage, int page)
       throws IOException, SAXException, FlickrException {
-        PhotoList photos = new PhotoList();
-
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_PHOTOS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_PHOTOS);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("group_id", groupId));
+        parameters.add("group_id", groupId);
         if (tags != null) {
-            parameters.add(new Parameter("tags", StringUtilities.join(tags, " ")));
+            parameters.add("tags", StringUtilities.join(tags, " "));
         }
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", new Integer(perPage)));
+            parameters.add("per_page", new Integer(perPage));
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", new Integer(page)));
+            parameters.add("page", new Integer(page));
         }
 
         if (extras != null) {
@@ -208,32 +207,11 @@ public class PoolsInterface {
                 }
                 sb.append(it.next());
             }
-            parameters.add(new Parameter(Extras.KEY_EXTRAS, sb.toString()));
-        }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
-
-        Response response = transport.get(transport.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        photos.setPage(photosElement.getAttribute("page"));
-        photos.setPages(photosElement.getAttribute("pages"));
-        photos.setPerPage(photosElement.getAttribute("perpage"));
-        photos.setTotal(photosElement.getAttribute("total"));
-
-        NodeList photoNodes = photosElement.getElementsByTagName("photo");
-        for (int i = 0; i < photoNodes.getLength(); i++) {
-            Element photoElement = (Element) photoNodes.item(i);
-            photos.add(PhotoUtils.createPhoto(photoElement));
+            parameters.add(Extras.KEY_EXTRAS, sb.toString());
         }
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
-        return photos;
+        return transport.getPhotoList(transport.getPath(), parameters);
     }
 
     /**
@@ -264,18 +242,13 @@ public class PoolsInterface {
      */
     public void remove(String photoId, String groupId) throws IOException, SAXException,
             FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_REMOVE));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_REMOVE);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(new Parameter("group_id", groupId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("photo_id", photoId);
+        parameters.add("group_id", groupId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.interestingness;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link InterestingnessInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncInterestingnessInterface()
+ */
+public class AsyncInterestingnessInterface {
+
+    private InterestingnessInterface interestingnessInterface;
+    private Executor executor;
+
+    public AsyncInterestingnessInterface(InterestingnessInterface interestingnessInterface, Executor executor) {
+        this.interestingnessInterface = interestingnessInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see InterestingnessInterface#getList(String, Set, int, int)
+     */
+    public FlickrFuture getList(final String date, final Set extras, final int perPage, final int page) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return interestingnessInterface.getList(date, extras, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see InterestingnessInterface#getList(Date, Set, int, int)
+     */
+    public FlickrFuture getList(final Date date, final Set extras, final int perPage, final int page) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return interestingnessInterface.getList(date, extras, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see InterestingnessInterface#getList()
+     */
+    public FlickrFuture getList() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return interestingnessInterface.getList();
+            }
+        });
+    }
+
+}
@@ -8,24 +8,19 @@ package com.aetrion.flickr.interestingness;
 import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
-import com.aetrion.flickr.Response;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
 import com.aetrion.flickr.photos.Extras;
-import com.aetrion.flickr.photos.Photo;
 import com.aetrion.flickr.photos.PhotoList;
-import com.aetrion.flickr.photos.PhotoUtils;
 import com.aetrion.flickr.util.StringUtilities;
 
 /**
@@ -53,15 +48,26 @@ public class InterestingnessInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public InterestingnessInterface(
         String apiKey,
         String sharedSecret,
         Transport transportAPI
+    ) {
+        this(apiKey, sharedSecret, transportAPI, null);
+    }
+
+    public InterestingnessInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transportAPI,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transportAPI;
+        this.context = context;
     }
 
     /**
@@ -80,44 +86,27 @@ public class InterestingnessInterface {
      * @see com.aetrion.flickr.photos.Extras
      */
     public PhotoList getList(String date, Set extras, int perPage, int page) throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
-        PhotoList photos = new PhotoList();
+        ParameterList parameters = new ParameterList();
 
-        parameters.add(new Parameter(KEY_METHOD, METHOD_GET_LIST));
-        parameters.add(new Parameter(KEY_API_KEY, apiKey));
+        parameters.add(KEY_METHOD, METHOD_GET_LIST);
+        parameters.add(KEY_API_KEY, apiKey);
 
         if (date != null) {
-             parameters.add(new Parameter(KEY_DATE, date));
+             parameters.add(KEY_DATE, date);
         }
 
         if (extras != null) {
-            parameters.add(new Parameter(KEY_EXTRAS, StringUtilities.join(extras, ",")));
+            parameters.add(KEY_EXTRAS, StringUtilities.join(extras, ","));
         }
 
         if (perPage > 0) {
-            parameters.add(new Parameter(KEY_PER_PAGE, String.valueOf(perPage)));
+            parameters.add(KEY_PER_PAGE, String.valueOf(perPage));
         }
         if (page > 0) {
-            parameters.add(new Parameter(KEY_PAGE, String.valueOf(page)));
+            parameters.add(KEY_PAGE, String.valueOf(page));
         }
 
-        Response response = transportAPI.get(transportAPI.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        photos.setPage(photosElement.getAttribute("page"));
-        photos.setPages(photosElement.getAttribute("pages"));
-        photos.setPerPage(photosElement.getAttribute("perpage"));
-        photos.setTotal(photosElement.getAttribute("total"));
-
-        NodeList photoNodes = photosElement.getElementsByTagName("photo");
-        for (int i = 0; i < photoNodes.getLength(); i++) {
-            Element photoElement = (Element) photoNodes.item(i);
-            Photo photo = PhotoUtils.createPhoto(photoElement);
-            photos.add(photo);
-        }
-        return photos;
+        return transportAPI.getPhotoList(transportAPI.getPath(), parameters);
     }
 
     /**
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.machinetags;
+
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link MachinetagsInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncMachinetagsInterface()
+ */
+public class AsyncMachinetagsInterface {
+
+    private MachinetagsInterface machinetagsInterface;
+    private Executor executor;
+
+    public AsyncMachinetagsInterface(MachinetagsInterface machinetagsInterface, Executor executor) {
+        this.machinetagsInterface = machinetagsInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see MachinetagsInterface#getNamespaces(String, int, int)
+     */
+    public FlickrFuture getNamespaces(final String predicate, final int perPage, final int page) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return machinetagsInterface.getNamespaces(predicate, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see MachinetagsInterface#getPairs(String, String, int, int)
+     */
+    public FlickrFuture getPairs(
+        final String namespace,
+        final String predicate,
+        final int perPage,
+        final int page
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return machinetagsInterface.getPairs(namespace, predicate, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see MachinetagsInterface#getPredicates(String, int, int)
+     */
+    public FlickrFuture getPredicates(final String namespace, final int perPage, final int page) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return machinetagsInterface.getPredicates(namespace, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see MachinetagsInterface#getValues(String, String, int, int)
+     */
+    public FlickrFuture getValues(
+        final String namespace,
+        final String predicate,
+        final int perPage,
+        final int page
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return machinetagsInterface.getValues(namespace, predicate, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see MachinetagsInterface#getRecentValues(String, String, Date)
+     */
+    public FlickrFuture getRecentValues(
+        final String namespace,
+        final String predicate,
+        final Date addedSince
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return machinetagsInterface.getRecentValues(namespace, predicate, addedSince);
+            }
+        });
+    }
+
+}
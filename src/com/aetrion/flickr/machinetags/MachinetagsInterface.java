@@ -1,7 +1,6 @@
 package com.aetrion.flickr.machinetags;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -9,8 +8,9 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -221,11 +221,17 @@ public class MachinetagsInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public MachinetagsInterface(String apiKey, String sharedSecret, Transport transportAPI) {
+        this(apiKey, sharedSecret, transportAPI, null);
+    }
+
+    public MachinetagsInterface(String apiKey, String sharedSecret, Transport transportAPI, CallContext context) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transportAPI;
+        this.context = context;
     }
 
     /**
@@ -244,19 +250,19 @@ public class MachinetagsInterface {
      */
     public NamespacesList getNamespaces(String predicate, int perPage, int page)
       throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         NamespacesList nsList = new NamespacesList();
-        parameters.add(new Parameter("method", METHOD_GET_NAMESPACES));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_GET_NAMESPACES);
+        parameters.add("api_key", apiKey);
 
         if (predicate != null) {
-            parameters.add(new Parameter("predicate", predicate));
+            parameters.add("predicate", predicate);
         }
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", "" + perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", "" + page));
+            parameters.add("page", page);
         }
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
@@ -293,22 +299,22 @@ public class MachinetagsInterface {
      */
     public NamespacesList getPairs(String namespace, String predicate, int perPage, int page)
       throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         NamespacesList nsList = new NamespacesList();
-        parameters.add(new Parameter("method", METHOD_GET_PAIRS));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_GET_PAIRS);
+        parameters.add("api_key", apiKey);
 
         if (namespace != null) {
-            parameters.add(new Parameter("namespace", namespace));
+            parameters.add("namespace", namespace);
         }
         if (predicate != null) {
-            parameters.add(new Parameter("predicate", predicate));
+            parameters.add("predicate", predicate);
         }
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", "" + perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", "" + page));
+            parameters.add("page", page);
         }
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
@@ -344,19 +350,19 @@ public class MachinetagsInterface {
      */
     public NamespacesList getPredicates(String namespace, int perPage, int page)
       throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         NamespacesList nsList = new NamespacesList();
-        parameters.add(new Parameter("method", METHOD_GET_PREDICATES));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_GET_PREDICATES);
+        parameters.add("api_key", apiKey);
 
         if (namespace != null) {
-            parameters.add(new Parameter("namespace", namespace));
+            parameters.add("namespace", namespace);
         }
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", "" + perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", "" + page));
+            parameters.add("page", page);
         }
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
@@ -392,22 +398,22 @@ public class MachinetagsInterface {
      */
     public NamespacesList getValues(String namespace, String predicate, int perPage, int page)
       throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         NamespacesList valuesList = new NamespacesList();
-        parameters.add(new Parameter("method", METHOD_GET_VALUES));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_GET_VALUES);
+        parameters.add("api_key", apiKey);
 
         if (namespace != null) {
-            parameters.add(new Parameter("namespace", namespace));
+            parameters.add("namespace", namespace);
         }
         if (predicate != null) {
-            parameters.add(new Parameter("predicate", predicate));
+            parameters.add("predicate", predicate);
         }
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", "" + perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", "" + page));
+            parameters.add("page", page);
         }
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
@@ -442,22 +448,19 @@ public class MachinetagsInterface {
      */
     public NamespacesList getRecentValues(String namespace, String predicate, Date addedSince)
       throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         NamespacesList valuesList = new NamespacesList();
-        parameters.add(new Parameter("method", METHOD_GET_RECENTVALUES));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_GET_RECENTVALUES);
+        parameters.add("api_key", apiKey);
 
         if (namespace != null) {
-            parameters.add(new Parameter("namespace", namespace));
+            parameters.add("namespace", namespace);
         }
         if (predicate != null) {
-            parameters.add(new Parameter("predicate", predicate));
+            parameters.add("predicate", predicate);
         }
         if (addedSince != null) {
-            parameters.add(new Parameter(
-                "added_since",
-                new Long(addedSince.getTime() / 1000L))
-            );
+            parameters.add("added_since", addedSince.getTime() / 1000L);
         }
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.panda;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link PandaInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncPandaInterface()
+ */
+public class AsyncPandaInterface {
+
+    private PandaInterface pandaInterface;
+    private Executor executor;
+
+    public AsyncPandaInterface(PandaInterface pandaInterface, Executor executor) {
+        this.pandaInterface = pandaInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see PandaInterface#getList()
+     */
+    public FlickrFuture getList() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return pandaInterface.getList();
+            }
+        });
+    }
+
+    /**
+     * @see PandaInterface#getPhotos(Panda, Set, int, int)
+     */
+    public FlickrFuture getPhotos(final Panda panda, final Set extras, final int perPage, final int page) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return pandaInterface.getPhotos(panda, extras, perPage, page);
+            }
+        });
+    }
+
+}
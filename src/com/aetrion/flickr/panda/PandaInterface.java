@@ -9,13 +9,13 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
 import com.aetrion.flickr.photos.PhotoList;
-import com.aetrion.flickr.photos.PhotoUtils;
 import com.aetrion.flickr.util.StringUtilities;
 import com.aetrion.flickr.util.XMLUtilities;
 
@@ -33,15 +33,26 @@ public class PandaInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public PandaInterface(
         String apiKey,
         String sharedSecret,
         Transport transportAPI
+    ) {
+        this(apiKey, sharedSecret, transportAPI, null);
+    }
+
+    public PandaInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transportAPI,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transportAPI;
+        this.context = context;
     }
 
     /**
@@ -58,9 +69,9 @@ public class PandaInterface {
      */
     public ArrayList getList() throws FlickrException, IOException, SAXException {
         ArrayList pandas = new ArrayList();
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_LIST));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_LIST);
+        parameters.add("api_key", apiKey);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -94,28 +105,22 @@ public class PandaInterface {
      */
     public PhotoList getPhotos(Panda panda, Set extras, int perPage, int page) throws FlickrException, IOException, SAXException {
         ArrayList pandas = new ArrayList();
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_PHOTOS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_PHOTOS);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("panda_name", panda.getName()));
+        parameters.add("panda_name", panda.getName());
 
         if (extras != null && !extras.isEmpty()) {
-            parameters.add(new Parameter("extras", StringUtilities.join(extras, ",")));
+            parameters.add("extras", StringUtilities.join(extras, ","));
         }
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", page));
+            parameters.add("page", page);
         }
 
-        Response response = transportAPI.get(transportAPI.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        PhotoList photos = PhotoUtils.createPhotoList(photosElement);
-        return photos;
+        return transportAPI.getPhotoList(transportAPI.getPath(), parameters);
     }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.people;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link PeopleInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncPeopleInterface()
+ */
+public class AsyncPeopleInterface {
+
+    private PeopleInterface peopleInterface;
+    private Executor executor;
+
+    public AsyncPeopleInterface(PeopleInterface peopleInterface, Executor executor) {
+        this.peopleInterface = peopleInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see PeopleInterface#findByEmail(String)
+     */
+    public FlickrFuture findByEmail(final String email) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return peopleInterface.findByEmail(email);
+            }
+        });
+    }
+
+    /**
+     * @see PeopleInterface#findByUsername(String)
+     */
+    public FlickrFuture findByUsername(final String username) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return peopleInterface.findByUsername(username);
+            }
+        });
+    }
+
+    /**
+     * @see PeopleInterface#getInfo(String)
+     */
+    public FlickrFuture getInfo(final String userId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return peopleInterface.getInfo(userId);
+            }
+        });
+    }
+
+    /**
+     * @see PeopleInterface#getPublicGroups(String)
+     */
+    public FlickrFuture getPublicGroups(final String userId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return peopleInterface.getPublicGroups(userId);
+            }
+        });
+    }
+
+    /**
+     * @see PeopleInterface#getPublicPhotos(String, int, int)
+     */
+    public FlickrFuture getPublicPhotos(final String userId, final int perPage, final int page) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return peopleInterface.getPublicPhotos(userId, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PeopleInterface#getPublicPhotos(String, Set, int, int)
+     */
+    public FlickrFuture getPublicPhotos(
+        final String userId,
+        final Set extras,
+        final int perPage,
+        final int page
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return peopleInterface.getPublicPhotos(userId, extras, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PeopleInterface#getUploadStatus()
+     */
+    public FlickrFuture getUploadStatus() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return peopleInterface.getUploadStatus();
+            }
+        });
+    }
+
+}
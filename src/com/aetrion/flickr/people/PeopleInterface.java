@@ -13,15 +13,15 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
 import com.aetrion.flickr.groups.Group;
 import com.aetrion.flickr.photos.Extras;
 import com.aetrion.flickr.photos.PhotoList;
-import com.aetrion.flickr.photos.PhotoUtils;
 import com.aetrion.flickr.util.StringUtilities;
 import com.aetrion.flickr.util.XMLUtilities;
 
@@ -44,15 +44,26 @@ public class PeopleInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public PeopleInterface(
         String apiKey,
         String sharedSecret,
         Transport transportAPI
+    ) {
+        this(apiKey, sharedSecret, transportAPI, null);
+    }
+
+    public PeopleInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transportAPI,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transportAPI;
+        this.context = context;
     }
 
     /**
@@ -67,11 +78,11 @@ public class PeopleInterface {
      * @throws FlickrException
      */
     public User findByEmail(String email) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_FIND_BY_EMAIL));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_FIND_BY_EMAIL);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("find_email", email));
+        parameters.add("find_email", email);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -96,11 +107,11 @@ public class PeopleInterface {
      * @throws FlickrException
      */
     public User findByUsername(String username) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_FIND_BY_USERNAME));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_FIND_BY_USERNAME);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("username", username));
+        parameters.add("username", username);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -125,17 +136,12 @@ public class PeopleInterface {
      * @throws FlickrException
      */
     public User getInfo(String userId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_INFO));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("user_id", userId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_INFO);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("user_id", userId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -186,11 +192,11 @@ public class PeopleInterface {
       throws IOException, SAXException, FlickrException {
         List groups = new ArrayList();
 
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_PUBLIC_GROUPS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_PUBLIC_GROUPS);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("user_id", userId));
+        parameters.add("user_id", userId);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -232,41 +238,24 @@ public class PeopleInterface {
      */
     public PhotoList getPublicPhotos(String userId, Set extras, int perPage, int page) throws IOException, SAXException,
             FlickrException {
-        PhotoList photos = new PhotoList();
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_PUBLIC_PHOTOS);
+        parameters.add("api_key", apiKey);
 
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_PUBLIC_PHOTOS));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("user_id", userId));
+        parameters.add("user_id", userId);
 
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", "" + perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", "" + page));
+            parameters.add("page", page);
         }
 
         if (extras != null) {
-            parameters.add(new Parameter(Extras.KEY_EXTRAS, StringUtilities.join(extras, ",")));
+            parameters.add(Extras.KEY_EXTRAS, StringUtilities.join(extras, ","));
         }
 
-        Response response = transportAPI.get(transportAPI.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        photos.setPage(photosElement.getAttribute("page"));
-		photos.setPages(photosElement.getAttribute("pages"));
-		photos.setPerPage(photosElement.getAttribute("perpage"));
-		photos.setTotal(photosElement.getAttribute("total"));
-
-        NodeList photoNodes = photosElement.getElementsByTagName("photo");
-        for (int i = 0; i < photoNodes.getLength(); i++) {
-            Element photoElement = (Element) photoNodes.item(i);
-            photos.add(PhotoUtils.createPhoto(photoElement));
-        }
-        return photos;
+        return transportAPI.getPhotoList(transportAPI.getPath(), parameters);
     }
 
     /**
@@ -280,15 +269,10 @@ public class PeopleInterface {
      * @throws FlickrException
      */
     public User getUploadStatus() throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_UPLOAD_STATUS));
-        parameters.add(new Parameter("api_key", apiKey));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_UPLOAD_STATUS);
+        parameters.add("api_key", apiKey);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
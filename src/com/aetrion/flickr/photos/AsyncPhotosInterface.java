@@ -0,0 +1,468 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photos;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link PhotosInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncPhotosInterface()
+ */
+public class AsyncPhotosInterface {
+
+    private PhotosInterface photosInterface;
+    private Executor executor;
+
+    public AsyncPhotosInterface(PhotosInterface photosInterface, Executor executor) {
+        this.photosInterface = photosInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see PhotosInterface#addTags(String, String[])
+     */
+    public FlickrFuture addTags(final String photoId, final String[] tags) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosInterface.addTags(photoId, tags);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#delete(String)
+     */
+    public FlickrFuture delete(final String photoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosInterface.delete(photoId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getAllContexts(String)
+     */
+    public FlickrFuture getAllContexts(final String photoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getAllContexts(photoId);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getContactsPhotos(int, boolean, boolean, boolean)
+     */
+    public FlickrFuture getContactsPhotos(
+        final int count,
+        final boolean justFriends,
+        final boolean singlePhoto,
+        final boolean includeSelf
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getContactsPhotos(count, justFriends, singlePhoto, includeSelf);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getContactsPublicPhotos(String, int, boolean, boolean, boolean)
+     */
+    public FlickrFuture getContactsPublicPhotos(
+        final String userId,
+        final int count,
+        final boolean justFriends,
+        final boolean singlePhoto,
+        final boolean includeSelf
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getContactsPublicPhotos(userId, count, justFriends, singlePhoto, includeSelf);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getContactsPublicPhotos(String, Set, int, boolean, boolean, boolean)
+     */
+    public FlickrFuture getContactsPublicPhotos(
+        final String userId,
+        final Set extras,
+        final int count,
+        final boolean justFriends,
+        final boolean singlePhoto,
+        final boolean includeSelf
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getContactsPublicPhotos(userId, extras, count, justFriends, singlePhoto, includeSelf);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getContext(String)
+     */
+    public FlickrFuture getContext(final String photoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getContext(photoId);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getCounts(Date[], Date[])
+     */
+    public FlickrFuture getCounts(final Date[] dates, final Date[] takenDates) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getCounts(dates, takenDates);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getExif(String, String)
+     */
+    public FlickrFuture getExif(final String photoId, final String secret) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getExif(photoId, secret);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getFavorites(String, int, int)
+     */
+    public FlickrFuture getFavorites(final String photoId, final int perPage, final int page) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getFavorites(photoId, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getInfo(String, String)
+     */
+    public FlickrFuture getInfo(final String photoId, final String secret) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getInfo(photoId, secret);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getNotInSet(int, int)
+     */
+    public FlickrFuture getNotInSet(final int perPage, final int page) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getNotInSet(perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getPerms(String)
+     */
+    public FlickrFuture getPerms(final String photoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getPerms(photoId);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getRecent(Set, int, int)
+     */
+    public FlickrFuture getRecent(final Set extras, final int perPage, final int page) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getRecent(extras, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getSizes(String)
+     */
+    public FlickrFuture getSizes(final String photoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getSizes(photoId);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getSizes(String, boolean)
+     */
+    public FlickrFuture getSizes(final String photoId, final boolean sign) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getSizes(photoId, sign);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getUntagged(int, int)
+     */
+    public FlickrFuture getUntagged(final int perPage, final int page) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getUntagged(perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getWithGeoData(Date, Date, Date, Date, int, String, Set, int, int)
+     */
+    public FlickrFuture getWithGeoData(
+        final Date minUploadDate,
+        final Date maxUploadDate,
+        final Date minTakenDate,
+        final Date maxTakenDate,
+        final int privacyFilter,
+        final String sort,
+        final Set extras,
+        final int perPage,
+        final int page
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getWithGeoData(minUploadDate, maxUploadDate, minTakenDate, maxTakenDate, privacyFilter, sort, extras, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getWithoutGeoData(Date, Date, Date, Date, int, String, Set, int, int)
+     */
+    public FlickrFuture getWithoutGeoData(
+        final Date minUploadDate,
+        final Date maxUploadDate,
+        final Date minTakenDate,
+        final Date maxTakenDate,
+        final int privacyFilter,
+        final String sort,
+        final Set extras,
+        final int perPage,
+        final int page
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getWithoutGeoData(minUploadDate, maxUploadDate, minTakenDate, maxTakenDate, privacyFilter, sort, extras, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#recentlyUpdated(Date, Set, int, int)
+     */
+    public FlickrFuture recentlyUpdated(
+        final Date minDate,
+        final Set extras,
+        final int perPage,
+        final int page
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.recentlyUpdated(minDate, extras, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#removeTag(String)
+     */
+    public FlickrFuture removeTag(final String tagId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosInterface.removeTag(tagId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#search(SearchParameters, int, int)
+     */
+    public FlickrFuture search(final SearchParameters params, final int perPage, final int page) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.search(params, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#searchInterestingness(SearchParameters, int, int)
+     */
+    public FlickrFuture searchInterestingness(
+        final SearchParameters params,
+        final int perPage,
+        final int page
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.searchInterestingness(params, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#setContentType(String, String)
+     */
+    public FlickrFuture setContentType(final String photoId, final String contentType) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosInterface.setContentType(photoId, contentType);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#setDates(String, Date, Date, String)
+     */
+    public FlickrFuture setDates(
+        final String photoId,
+        final Date datePosted,
+        final Date dateTaken,
+        final String dateTakenGranularity
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosInterface.setDates(photoId, datePosted, dateTaken, dateTakenGranularity);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#setMeta(String, String, String)
+     */
+    public FlickrFuture setMeta(final String photoId, final String title, final String description) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosInterface.setMeta(photoId, title, description);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#setPerms(String, Permissions)
+     */
+    public FlickrFuture setPerms(final String photoId, final Permissions permissions) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosInterface.setPerms(photoId, permissions);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#setSafetyLevel(String, String, Boolean)
+     */
+    public FlickrFuture setSafetyLevel(final String photoId, final String safetyLevel, final Boolean hidden) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosInterface.setSafetyLevel(photoId, safetyLevel, hidden);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#setTags(String, String[])
+     */
+    public FlickrFuture setTags(final String photoId, final String[] tags) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosInterface.setTags(photoId, tags);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getPhoto(String)
+     */
+    public FlickrFuture getPhoto(final String id) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getPhoto(id);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getPhoto(String, String)
+     */
+    public FlickrFuture getPhoto(final String id, final String secret) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getPhoto(id, secret);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getImageAsStream(Photo, int)
+     */
+    public FlickrFuture getImageAsStream(final Photo photo, final int size) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getImageAsStream(photo, size);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getImage(Photo, int)
+     */
+    public FlickrFuture getImage(final Photo photo, final int size) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getImage(photo, size);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosInterface#getImage(String)
+     */
+    public FlickrFuture getImage(final String urlStr) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosInterface.getImage(urlStr);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,891 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photos;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import com.aetrion.flickr.people.User;
+import com.aetrion.flickr.util.AttributeDecoder;
+
+/**
+ * A list of photos stored by column, for keeping very many photos in memory.<p>
+ *
+ * Instead of a Photo object with its Strings, Dates, User and collections,
+ * every photo takes one entry in a set of primitive arrays: numeric IDs,
+ * servers and farms as numbers, secrets packed into longs, dates as epoch
+ * milliseconds, flags as bits, and repeated values such as the owner or the
+ * media type as references into a pool. Values which are rare in photo lists,
+ * like notes, tags or a description, are kept apart for the photos which
+ * have them.<p>
+ *
+ * {@link #get(int)} builds a new Photo from the columns on every call, so
+ * changes to the returned Photo are not written back; use
+ * {@link #set(int, Object)} for that. Code which reads only a few values
+ * should use the accessors taking an index, like {@link #getId(int)}, which
+ * create no Photo. Photos can be added and replaced, but not removed except
+ * by {@link #clear()}. The deprecated view count is not kept.
+ *
+ * <pre>
+ * CompactPhotoList all = new CompactPhotoList();
+ * for (int page = 1; page &lt;= pages; page++) {
+ *     all.addAll(photosInterface.search(parameters, 500, page));
+ * }
+ * </pre>
+ *
+ * @author Anthony Eden
+ */
+public class CompactPhotoList extends AbstractList implements RandomAccess {
+
+    /**
+     * The value of a date which is not set.
+     */
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int size = 0;
+    private int capacity = 0;
+
+    private Pool pool = new Pool();
+
+    private LongColumn ids = new LongColumn();
+    private SecretColumn secrets = new SecretColumn();
+    private IntColumn servers = new IntColumn();
+    private IntColumn farms = new IntColumn();
+    private IntColumn licenses = new IntColumn();
+    private IntColumn iconServers = new IntColumn();
+    private IntColumn iconFarms = new IntColumn();
+    private SecretColumn originalSecrets = new SecretColumn();
+    private PoolColumn originalFormats = new PoolColumn();
+    private PoolColumn media = new PoolColumn();
+    private PoolColumn mediaStatus = new PoolColumn();
+    private PoolColumn placeIds = new PoolColumn();
+    private PoolColumn pathAliases = new PoolColumn();
+    private PoolColumn ownerIds = new PoolColumn();
+    private PoolColumn ownerNames = new PoolColumn();
+    private BitSet owners = new BitSet();
+
+    private long[] datesPosted = new long[0];
+    private long[] datesTaken = new long[0];
+    private long[] datesAdded = new long[0];
+    private long[] lastUpdates = new long[0];
+
+    private int[] rotations = new int[0];
+    private int[] originalWidths = new int[0];
+    private int[] originalHeights = new int[0];
+
+    private BitSet publicFlags = new BitSet();
+    private BitSet friendFlags = new BitSet();
+    private BitSet familyFlags = new BitSet();
+    private BitSet favorites = new BitSet();
+    private BitSet primaries = new BitSet();
+
+    private String[] titles = new String[0];
+    private Details[] details = new Details[0];
+
+    public CompactPhotoList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct a CompactPhotoList with room for the given number of photos.
+     *
+     * @param initialCapacity The number of photos
+     */
+    public CompactPhotoList(int initialCapacity) {
+        ensureCapacity(initialCapacity);
+    }
+
+    /**
+     * Construct a CompactPhotoList holding the given photos.
+     *
+     * @param photos The Photo objects
+     */
+    public CompactPhotoList(Collection photos) {
+        this(Math.max(photos.size(), DEFAULT_CAPACITY));
+        addAll(photos);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get a photo.
+     *
+     * @param index The index
+     * @return A new Photo built from the stored values
+     */
+    public Object get(int index) {
+        return getPhoto(index);
+    }
+
+    /**
+     * Get a photo.
+     *
+     * @param index The index
+     * @return A new Photo built from the stored values
+     */
+    public Photo getPhoto(int index) {
+        checkIndex(index);
+        Photo photo = new Photo();
+        photo.setId(ids.get(index));
+        photo.setSecret(secrets.get(index));
+        photo.setServer(servers.get(index));
+        photo.setFarm(farms.get(index));
+        photo.setLicense(licenses.get(index));
+        photo.setIconServer(iconServers.get(index));
+        photo.setIconFarm(iconFarms.get(index));
+        photo.setOriginalSecret(originalSecrets.get(index));
+        photo.setOriginalFormat(originalFormats.get(index));
+        photo.setMedia(media.get(index));
+        photo.setMediaStatus(mediaStatus.get(index));
+        photo.setPlaceId(placeIds.get(index));
+        photo.setPathAlias(pathAliases.get(index));
+        photo.setTitle(titles[index]);
+        if (datesPosted[index] != NO_DATE) {
+            photo.setDatePosted(datesPosted[index]);
+        }
+        if (datesTaken[index] != NO_DATE) {
+            photo.setDateTaken(new Date(datesTaken[index]));
+        }
+        if (datesAdded[index] != NO_DATE) {
+            photo.setDateAdded(datesAdded[index]);
+        }
+        if (lastUpdates[index] != NO_DATE) {
+            photo.setLastUpdate(new Date(lastUpdates[index]));
+        }
+        photo.setRotation(rotations[index]);
+        photo.setOriginalWidth(originalWidths[index]);
+        photo.setOriginalHeight(originalHeights[index]);
+        photo.setPublicFlag(publicFlags.get(index));
+        photo.setFriendFlag(friendFlags.get(index));
+        photo.setFamilyFlag(familyFlags.get(index));
+        photo.setFavorite(favorites.get(index));
+        photo.setPrimary(primaries.get(index));
+
+        User owner = null;
+        if (owners.get(index)) {
+            owner = new User();
+            owner.setId(ownerIds.get(index));
+            owner.setUsername(ownerNames.get(index));
+            photo.setOwner(owner);
+        }
+        Details d = details[index];
+        if (d == null) {
+            photo.setNotes(new ArrayList());
+            photo.setTags(new ArrayList());
+            photo.setUrls(new ArrayList());
+            if (owner != null) {
+                photo.setUrl(getDefaultUrl(owner.getId(), photo.getId()));
+            }
+        } else {
+            d.copyTo(photo);
+        }
+        return photo;
+    }
+
+    /**
+     * Add a photo at the end of the list.
+     *
+     * @param photo The Photo
+     * @return true
+     */
+    public boolean add(Object photo) {
+        ensureCapacity(size + 1);
+        size++;
+        modCount++;
+        store(size - 1, (Photo) photo);
+        return true;
+    }
+
+    public boolean addAll(Collection photos) {
+        ensureCapacity(size + photos.size());
+        Iterator iter = photos.iterator();
+        while (iter.hasNext()) {
+            add(iter.next());
+        }
+        return !photos.isEmpty();
+    }
+
+    /**
+     * Replace a photo.
+     *
+     * @param index The index
+     * @param photo The new Photo
+     * @return The replaced photo, built from the stored values
+     */
+    public Object set(int index, Object photo) {
+        Photo previous = getPhoto(index);
+        store(index, (Photo) photo);
+        return previous;
+    }
+
+    public void clear() {
+        modCount++;
+        size = 0;
+        capacity = 0;
+        pool = new Pool();
+        ids = new LongColumn();
+        secrets = new SecretColumn();
+        servers = new IntColumn();
+        farms = new IntColumn();
+        licenses = new IntColumn();
+        iconServers = new IntColumn();
+        iconFarms = new IntColumn();
+        originalSecrets = new SecretColumn();
+        originalFormats = new PoolColumn();
+        media = new PoolColumn();
+        mediaStatus = new PoolColumn();
+        placeIds = new PoolColumn();
+        pathAliases = new PoolColumn();
+        ownerIds = new PoolColumn();
+        ownerNames = new PoolColumn();
+        owners.clear();
+        publicFlags.clear();
+        friendFlags.clear();
+        familyFlags.clear();
+        favorites.clear();
+        primaries.clear();
+        datesPosted = new long[0];
+        datesTaken = new long[0];
+        datesAdded = new long[0];
+        lastUpdates = new long[0];
+        rotations = new int[0];
+        originalWidths = new int[0];
+        originalHeights = new int[0];
+        titles = new String[0];
+        details = new Details[0];
+        ensureCapacity(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Shrink the columns to the number of photos held.
+     */
+    public void trimToSize() {
+        if (capacity > size) {
+            resize(size);
+        }
+    }
+
+    public String getId(int index) {
+        checkIndex(index);
+        return ids.get(index);
+    }
+
+    public String getSecret(int index) {
+        checkIndex(index);
+        return secrets.get(index);
+    }
+
+    public String getServer(int index) {
+        checkIndex(index);
+        return servers.get(index);
+    }
+
+    public String getFarm(int index) {
+        checkIndex(index);
+        return farms.get(index);
+    }
+
+    public String getLicense(int index) {
+        checkIndex(index);
+        return licenses.get(index);
+    }
+
+    public String getMedia(int index) {
+        checkIndex(index);
+        return media.get(index);
+    }
+
+    public String getTitle(int index) {
+        checkIndex(index);
+        return titles[index];
+    }
+
+    /**
+     * @param index The index
+     * @return The NSID of the owner, null if the photo has no owner
+     */
+    public String getOwnerId(int index) {
+        checkIndex(index);
+        return owners.get(index) ? ownerIds.get(index) : null;
+    }
+
+    /**
+     * @param index The index
+     * @return The username of the owner, null if the photo has no owner
+     */
+    public String getOwnerName(int index) {
+        checkIndex(index);
+        return owners.get(index) ? ownerNames.get(index) : null;
+    }
+
+    /**
+     * @param index The index
+     * @return The upload time in milliseconds, {@link #NO_DATE} if not set
+     */
+    public long getDatePosted(int index) {
+        checkIndex(index);
+        return datesPosted[index];
+    }
+
+    /**
+     * @param index The index
+     * @return The time taken in milliseconds, {@link #NO_DATE} if not set
+     */
+    public long getDateTaken(int index) {
+        checkIndex(index);
+        return datesTaken[index];
+    }
+
+    /**
+     * @param index The index
+     * @return The time added to a group in milliseconds, {@link #NO_DATE} if not set
+     */
+    public long getDateAdded(int index) {
+        checkIndex(index);
+        return datesAdded[index];
+    }
+
+    /**
+     * @param index The index
+     * @return The time of the last update in milliseconds, {@link #NO_DATE} if not set
+     */
+    public long getLastUpdate(int index) {
+        checkIndex(index);
+        return lastUpdates[index];
+    }
+
+    public int getOriginalWidth(int index) {
+        checkIndex(index);
+        return originalWidths[index];
+    }
+
+    public int getOriginalHeight(int index) {
+        checkIndex(index);
+        return originalHeights[index];
+    }
+
+    public boolean isPublicFlag(int index) {
+        checkIndex(index);
+        return publicFlags.get(index);
+    }
+
+    public boolean isFriendFlag(int index) {
+        checkIndex(index);
+        return friendFlags.get(index);
+    }
+
+    public boolean isFamilyFlag(int index) {
+        checkIndex(index);
+        return familyFlags.get(index);
+    }
+
+    public boolean isFavorite(int index) {
+        checkIndex(index);
+        return favorites.get(index);
+    }
+
+    public boolean isPrimary(int index) {
+        checkIndex(index);
+        return primaries.get(index);
+    }
+
+    private void store(int index, Photo photo) {
+        ids.set(index, photo.getId());
+        secrets.set(index, photo.getSecret());
+        servers.set(index, photo.getServer());
+        farms.set(index, photo.getFarm());
+        licenses.set(index, photo.getLicense());
+        iconServers.set(index, photo.getIconServer());
+        iconFarms.set(index, photo.getIconFarm());
+        originalSecrets.set(index, photo.getOriginalSecret());
+        originalFormats.set(index, photo.getOriginalFormat());
+        media.set(index, photo.getMedia());
+        mediaStatus.set(index, photo.getMediaStatus());
+        placeIds.set(index, photo.getPlaceId());
+        pathAliases.set(index, photo.getPathAlias());
+        titles[index] = photo.getTitle();
+        datesPosted[index] = getTime(photo.getDatePosted());
+        datesTaken[index] = getTime(photo.getDateTaken());
+        datesAdded[index] = getTime(photo.getDateAdded());
+        lastUpdates[index] = getTime(photo.getLastUpdate());
+        rotations[index] = photo.getRotation();
+        originalWidths[index] = photo.getOriginalWidth();
+        originalHeights[index] = photo.getOriginalHeight();
+        publicFlags.set(index, photo.isPublicFlag());
+        friendFlags.set(index, photo.isFriendFlag());
+        familyFlags.set(index, photo.isFamilyFlag());
+        favorites.set(index, photo.isFavorite());
+        primaries.set(index, photo.isPrimary());
+
+        User owner = photo.getOwner();
+        owners.set(index, owner != null);
+        ownerIds.set(index, owner == null ? null : owner.getId());
+        ownerNames.set(index, owner == null ? null : owner.getUsername());
+        details[index] = Details.create(photo);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity) {
+            resize(Math.max(minCapacity, capacity + (capacity >> 1)));
+        }
+    }
+
+    private void resize(int newCapacity) {
+        ids.resize(newCapacity);
+        secrets.resize(newCapacity);
+        servers.resize(newCapacity);
+        farms.resize(newCapacity);
+        licenses.resize(newCapacity);
+        iconServers.resize(newCapacity);
+        iconFarms.resize(newCapacity);
+        originalSecrets.resize(newCapacity);
+        originalFormats.resize(newCapacity);
+        media.resize(newCapacity);
+        mediaStatus.resize(newCapacity);
+        placeIds.resize(newCapacity);
+        pathAliases.resize(newCapacity);
+        ownerIds.resize(newCapacity);
+        ownerNames.resize(newCapacity);
+        datesPosted = resize(datesPosted, newCapacity);
+        datesTaken = resize(datesTaken, newCapacity);
+        datesAdded = resize(datesAdded, newCapacity);
+        lastUpdates = resize(lastUpdates, newCapacity);
+        rotations = resize(rotations, newCapacity);
+        originalWidths = resize(originalWidths, newCapacity);
+        originalHeights = resize(originalHeights, newCapacity);
+        String[] newTitles = new String[newCapacity];
+        System.arraycopy(titles, 0, newTitles, 0, size);
+        titles = newTitles;
+        Details[] newDetails = new Details[newCapacity];
+        System.arraycopy(details, 0, newDetails, 0, size);
+        details = newDetails;
+        capacity = newCapacity;
+    }
+
+    private long[] resize(long[] values, int newCapacity) {
+        long[] resized = new long[newCapacity];
+        System.arraycopy(values, 0, resized, 0, size);
+        return resized;
+    }
+
+    private int[] resize(int[] values, int newCapacity) {
+        int[] resized = new int[newCapacity];
+        System.arraycopy(values, 0, resized, 0, size);
+        return resized;
+    }
+
+    private static long getTime(Date date) {
+        return date == null ? NO_DATE : date.getTime();
+    }
+
+    private static String getDefaultUrl(String ownerId, String id) {
+        return "http://flickr.com/photos/" + ownerId + "/" + id;
+    }
+
+    /**
+     * Parse a number written in its shortest decimal form, without a sign
+     * or leading zeros, so that it is written back exactly.
+     *
+     * @return The number, -1 if the text is not such a number or has more than the given digits
+     */
+    private static long parseNumber(String text, int maxDigits) {
+        int length = text.length();
+        char first = text.charAt(0);
+        if (length > maxDigits || first < '0' || first > '9' || (length > 1 && first == '0')) {
+            return -1;
+        }
+        return AttributeDecoder.parseLong(text, -1);
+    }
+
+    /**
+     * Text which is usually a number up to 2^31, like a farm or server.
+     * Other text is kept by index in a map.
+     */
+    private class IntColumn {
+
+        private static final int NULL = -1;
+        private static final int EMPTY = -2;
+        private static final int OTHER = -3;
+
+        private int[] values = new int[0];
+        private Map others;
+
+        void set(int index, String text) {
+            if (values[index] == OTHER) {
+                others.remove(new Integer(index));
+            }
+            if (text == null) {
+                values[index] = NULL;
+            } else if (text.length() == 0) {
+                values[index] = EMPTY;
+            } else {
+                long value = parseNumber(text, 9);
+                if (value >= 0) {
+                    values[index] = (int) value;
+                } else {
+                    if (others == null) {
+                        others = new HashMap();
+                    }
+                    others.put(new Integer(index), text);
+                    values[index] = OTHER;
+                }
+            }
+        }
+
+        String get(int index) {
+            int value = values[index];
+            switch (value) {
+            case NULL:
+                return null;
+            case EMPTY:
+                return "";
+            case OTHER:
+                return (String) others.get(new Integer(index));
+            default:
+                return String.valueOf(value);
+            }
+        }
+
+        void resize(int newCapacity) {
+            values = CompactPhotoList.this.resize(values, newCapacity);
+        }
+
+    }
+
+    /**
+     * Text which is usually a number up to 10^18, like a photo ID.
+     */
+    private class LongColumn {
+
+        private static final long NULL = -1;
+        private static final long EMPTY = -2;
+        private static final long OTHER = -3;
+
+        private long[] values = new long[0];
+        private Map others;
+
+        void set(int index, String text) {
+            if (values[index] == OTHER) {
+                others.remove(new Integer(index));
+            }
+            if (text == null) {
+                values[index] = NULL;
+            } else if (text.length() == 0) {
+                values[index] = EMPTY;
+            } else {
+                long value = parseNumber(text, 18);
+                if (value >= 0) {
+                    values[index] = value;
+                } else {
+                    if (others == null) {
+                        others = new HashMap();
+                    }
+                    others.put(new Integer(index), text);
+                    values[index] = OTHER;
+                }
+            }
+        }
+
+        String get(int index) {
+            long value = values[index];
+            if (value == NULL) {
+                return null;
+            } else if (value == EMPTY) {
+                return "";
+            } else if (value == OTHER) {
+                return (String) others.get(new Integer(index));
+            }
+            return String.valueOf(value);
+        }
+
+        void resize(int newCapacity) {
+            values = CompactPhotoList.this.resize(values, newCapacity);
+        }
+
+    }
+
+    /**
+     * Text which is usually up to 15 lower case hex digits, like a secret.
+     * The digits are packed with their count in the top four bits.
+     */
+    private class SecretColumn {
+
+        private static final long NULL = 0;
+        private static final long EMPTY = 1;
+        private static final long OTHER = 2;
+
+        private long[] values = new long[0];
+        private Map others;
+
+        void set(int index, String text) {
+            if (values[index] == OTHER) {
+                others.remove(new Integer(index));
+            }
+            if (text == null) {
+                values[index] = NULL;
+            } else if (text.length() == 0) {
+                values[index] = EMPTY;
+            } else {
+                long value = pack(text);
+                if (value != OTHER) {
+                    values[index] = value;
+                } else {
+                    if (others == null) {
+                        others = new HashMap();
+                    }
+                    others.put(new Integer(index), text);
+                    values[index] = OTHER;
+                }
+            }
+        }
+
+        String get(int index) {
+            long value = values[index];
+            if (value == NULL) {
+                return null;
+            } else if (value == EMPTY) {
+                return "";
+            } else if (value == OTHER) {
+                return (String) others.get(new Integer(index));
+            }
+            char[] digits = new char[(int) (value >>> 60)];
+            for (int i = digits.length - 1; i >= 0; i--) {
+                digits[i] = Character.forDigit((int) (value & 0xf), 16);
+                value >>>= 4;
+            }
+            return new String(digits);
+        }
+
+        private long pack(String text) {
+            int length = text.length();
+            if (length > 15) {
+                return OTHER;
+            }
+            long value = 0;
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                int digit;
+                if (c >= '0' && c <= '9') {
+                    digit = c - '0';
+                } else if (c >= 'a' && c <= 'f') {
+                    digit = c - 'a' + 10;
+                } else {
+                    return OTHER;
+                }
+                value = value << 4 | digit;
+            }
+            return (long) length << 60 | value;
+        }
+
+        void resize(int newCapacity) {
+            values = CompactPhotoList.this.resize(values, newCapacity);
+        }
+
+    }
+
+    /**
+     * Text with few distinct values, like an owner or a media type, stored
+     * as a reference into the pool of the list.
+     */
+    private class PoolColumn {
+
+        // the code plus one, so that 0 is null as well as a slot never set
+        private int[] codes = new int[0];
+
+        void set(int index, String text) {
+            int code = pool.acquire(text) + 1;
+            pool.release(codes[index] - 1);
+            codes[index] = code;
+        }
+
+        String get(int index) {
+            return pool.getValue(codes[index] - 1);
+        }
+
+        void resize(int newCapacity) {
+            codes = CompactPhotoList.this.resize(codes, newCapacity);
+        }
+
+    }
+
+    /**
+     * The distinct values of the pooled columns, with the number of
+     * references to each. A value is dropped when its last reference is
+     * replaced, and its code is given to the next new value.
+     */
+    private static class Pool {
+
+        private Map codes = new HashMap();
+        private List values = new ArrayList();
+        private int[] counts = new int[0];
+        private List freeCodes = new ArrayList();
+
+        /**
+         * Add a reference to a value.
+         *
+         * @return The code of the value, -1 for null
+         */
+        int acquire(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer code = (Integer) codes.get(value);
+            if (code == null) {
+                if (freeCodes.isEmpty()) {
+                    code = new Integer(values.size());
+                    values.add(value);
+                    if (counts.length < values.size()) {
+                        int[] newCounts = new int[Math.max(DEFAULT_CAPACITY, counts.length * 2)];
+                        System.arraycopy(counts, 0, newCounts, 0, counts.length);
+                        counts = newCounts;
+                    }
+                } else {
+                    code = (Integer) freeCodes.remove(freeCodes.size() - 1);
+                    values.set(code.intValue(), value);
+                }
+                codes.put(value, code);
+            }
+            counts[code.intValue()]++;
+            return code.intValue();
+        }
+
+        /**
+         * Remove a reference to a value, dropping the value with the last one.
+         *
+         * @param code The code of the value, -1 for null
+         */
+        void release(int code) {
+            if (code < 0 || --counts[code] > 0) {
+                return;
+            }
+            codes.remove(values.get(code));
+            values.set(code, null);
+            freeCodes.add(new Integer(code));
+        }
+
+        String getValue(int code) {
+            return code < 0 ? null : (String) values.get(code);
+        }
+
+    }
+
+    /**
+     * The values of a photo which are rare in photo lists, kept only for
+     * the photos which have any of them.
+     */
+    private static class Details {
+
+        private String description;
+        private String takenGranularity;
+        private int comments;
+        private Permissions permissions;
+        private Editability editability;
+        private Collection notes;
+        private Collection tags;
+        private Collection urls;
+        private String url;
+        private GeoData geoData;
+        private List sizes;
+        private String ownerRealName;
+        private String ownerLocation;
+
+        static Details create(Photo photo) {
+            List sizes = new ArrayList();
+            addSize(sizes, photo.getSquareSize());
+            addSize(sizes, photo.getSmallSize());
+            addSize(sizes, photo.getThumbnailSize());
+            addSize(sizes, photo.getMediumSize());
+            addSize(sizes, photo.getLargeSize());
+            addSize(sizes, photo.getOriginalSize());
+            User owner = photo.getOwner();
+            String defaultUrl = owner == null ? null : getDefaultUrl(owner.getId(), photo.getId());
+            boolean plain = photo.getDescription() == null
+                && photo.getTakenGranularity() == null
+                && photo.getComments() == 0
+                && photo.getPermissions() == null
+                && photo.getEditability() == null
+                && isEmpty(photo.getNotes())
+                && isEmpty(photo.getTags())
+                && isEmpty(photo.getUrls())
+                && (defaultUrl == null ? photo.getUrl() == null : defaultUrl.equals(photo.getUrl()))
+                && photo.getGeoData() == null
+                && sizes.isEmpty()
+                && (owner == null || owner.getRealName() == null && owner.getLocation() == null);
+            if (plain) {
+                return null;
+            }
+            Details details = new Details();
+            details.description = photo.getDescription();
+            details.takenGranularity = photo.getTakenGranularity();
+            details.comments = photo.getComments();
+            details.permissions = photo.getPermissions();
+            details.editability = photo.getEditability();
+            details.notes = photo.getNotes();
+            details.tags = photo.getTags();
+            details.urls = photo.getUrls();
+            details.url = photo.getUrl();
+            details.geoData = photo.getGeoData();
+            details.sizes = sizes.isEmpty() ? null : sizes;
+            if (owner != null) {
+                details.ownerRealName = owner.getRealName();
+                details.ownerLocation = owner.getLocation();
+            }
+            return details;
+        }
+
+        void copyTo(Photo photo) {
+            photo.setDescription(description);
+            photo.setTakenGranularity(takenGranularity);
+            photo.setComments(comments);
+            photo.setPermissions(permissions);
+            photo.setEditability(editability);
+            photo.setNotes(copy(notes));
+            photo.setTags(copy(tags));
+            photo.setUrls(copy(urls));
+            photo.setUrl(url);
+            photo.setGeoData(geoData);
+            if (sizes != null) {
+                photo.setSizes(sizes);
+            }
+            if (photo.getOwner() != null) {
+                photo.getOwner().setRealName(ownerRealName);
+                photo.getOwner().setLocation(ownerLocation);
+            }
+        }
+
+        private static void addSize(List sizes, Size size) {
+            if (size != null) {
+                sizes.add(size);
+            }
+        }
+
+        private static boolean isEmpty(Collection collection) {
+            return collection != null && collection.isEmpty();
+        }
+
+        private static Collection copy(Collection collection) {
+            return collection == null ? null : new ArrayList(collection);
+        }
+
+    }
+
+}
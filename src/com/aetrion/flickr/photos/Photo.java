@@ -10,9 +10,6 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
@@ -25,6 +22,7 @@ import javax.imageio.ImageIO;
 import com.aetrion.flickr.FlickrException;
 import com.aetrion.flickr.people.User;
 import com.aetrion.flickr.tags.Tag;
+import com.aetrion.flickr.util.AttributeDecoder;
 import com.aetrion.flickr.util.IOUtilities;
 import com.aetrion.flickr.util.StringUtilities;
 
@@ -40,12 +38,6 @@ import com.aetrion.flickr.util.StringUtilities;
 public class Photo {
     private static final long serialVersionUID = 12L;
 
-    private static final ThreadLocal DATE_FORMATS = new ThreadLocal() {
-        protected synchronized Object initialValue() {
-            return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        }
-    };
-
     private static final String DEFAULT_ORIGINAL_IMAGE_SUFFIX = "_o.jpg";
     private static final String SMALL_SQUARE_IMAGE_SUFFIX = "_s.jpg";
     private static final String SMALL_IMAGE_SUFFIX = "_m.jpg";
@@ -167,7 +159,7 @@ public class Photo {
     }
 
     public void setPrimary(String primary) {
-        setPrimary("1".equals(primary));
+        setPrimary(AttributeDecoder.parseFlag(primary));
     }
 
     public String getTitle() {
@@ -224,7 +216,7 @@ public class Photo {
 
     public void setDateAdded(String dateAdded) {
         if (dateAdded == null || "".equals(dateAdded)) return;
-        setDateAdded(Long.parseLong(dateAdded) * (long) 1000);
+        setDateAdded(parseEpochSeconds(dateAdded));
     }
 
     public Date getDatePosted() {
@@ -241,7 +233,7 @@ public class Photo {
 
     public void setDatePosted(String datePosted) {
         if (datePosted == null || "".equals(datePosted)) return;
-        setDatePosted(Long.parseLong(datePosted) * (long) 1000);
+        setDatePosted(parseEpochSeconds(datePosted));
     }
 
     public Date getDateTaken() {
@@ -254,11 +246,9 @@ public class Photo {
 
     public void setDateTaken(String dateTaken) {
         if (dateTaken == null || "".equals(dateTaken)) return;
-        try {
-            setDateTaken(((DateFormat)DATE_FORMATS.get()).parse(dateTaken));
-        } catch (ParseException e) {
-            // TODO: figure out what to do with this error
-            e.printStackTrace();
+        long time = AttributeDecoder.parseDateTime(dateTaken);
+        if (time != AttributeDecoder.NO_DATE) {
+            setDateTaken(new Date(time));
         }
     }
 
@@ -272,8 +262,15 @@ public class Photo {
 
     public void setLastUpdate(String lastUpdateStr) {
         if (lastUpdateStr == null || "".equals(lastUpdateStr)) return;
-        long unixTime = Long.parseLong(lastUpdateStr);
-        setLastUpdate(new Date(unixTime * 1000L));
+        setLastUpdate(new Date(parseEpochSeconds(lastUpdateStr)));
+    }
+
+    /**
+     * Text which is not a number fails with a NumberFormatException.
+     */
+    private static long parseEpochSeconds(String seconds) {
+        long time = AttributeDecoder.parseEpochSeconds(seconds);
+        return time != AttributeDecoder.NO_DATE ? time : Long.parseLong(seconds) * 1000L;
     }
 
 	public String getTakenGranularity() {
@@ -354,11 +351,7 @@ public class Photo {
      */
     public void setViews(String views) {
         if (views != null) {
-            try {
-                setViews(Integer.parseInt(views));
-            } catch (NumberFormatException e) {
-                setViews(-1);
-            }
+            setViews(AttributeDecoder.parseInt(views, -1));
         }
     }
 
@@ -389,11 +382,7 @@ public class Photo {
      */
     public void setRotation(String rotation) {
         if (rotation != null) {
-            try {
-                setRotation(Integer.parseInt(rotation));
-            } catch(NumberFormatException e) {
-                setRotation(-1);
-            }
+            setRotation(AttributeDecoder.parseInt(rotation, -1));
         }
     }
 
@@ -486,6 +475,30 @@ public class Photo {
         return getOriginalImageAsStream(DEFAULT_ORIGINAL_IMAGE_SUFFIX);
     }
 
+    /**
+     * Get the URL of the image in the given size.
+     *
+     * @param size One of the constants in {@link Size}
+     * @return The image URL
+     * @throws FlickrException if the size is unknown or the original is not available
+     */
+    public String getUrl(int size) throws FlickrException {
+        if (size == Size.SQUARE) {
+            return getSmallSquareUrl();
+        } else if (size == Size.THUMB) {
+            return getThumbnailUrl();
+        } else if (size == Size.SMALL) {
+            return getSmallUrl();
+        } else if (size == Size.MEDIUM) {
+            return getMediumUrl();
+        } else if (size == Size.LARGE) {
+            return getLargeUrl();
+        } else if (size == Size.ORIGINAL) {
+            return getOriginalUrl();
+        }
+        throw new FlickrException("0", "Unknown Photo-size");
+    }
+
     /**
      * Get the original image URL.
      *
@@ -799,9 +812,7 @@ public class Photo {
     }
 
     public void setOriginalWidth(String originalWidth) {
-        try {
-            setOriginalWidth(Integer.parseInt(originalWidth));
-        } catch(NumberFormatException ex) {}
+        setOriginalWidth(AttributeDecoder.parseInt(originalWidth, this.originalWidth));
     }
 
     public void setOriginalWidth(int originalWidth) {
@@ -813,9 +824,7 @@ public class Photo {
     }
 
     public void setOriginalHeight(String originalHeight) {
-        try {
-            setOriginalHeight(Integer.parseInt(originalHeight));
-        } catch (NumberFormatException ex) {}
+        setOriginalHeight(AttributeDecoder.parseInt(originalHeight, this.originalHeight));
     }
 
     public void setOriginalHeight(int originalHeight) {
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photos;
+
+import java.io.File;
+
+/**
+ * The outcome of one download by the {@link PhotoDownloader}.
+ *
+ * @author Anthony Eden
+ */
+public class PhotoDownload {
+
+    private Photo photo;
+    private int size;
+    private File file;
+    private long bytes;
+    private long time;
+    private Exception error;
+
+    PhotoDownload(Photo photo, int size, File file) {
+        this.photo = photo;
+        this.size = size;
+        this.file = file;
+    }
+
+    public Photo getPhoto() {
+        return photo;
+    }
+
+    /**
+     * @return One of the constants in {@link Size}
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return The number of bytes written
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * @return The time from connecting to the last byte written, in milliseconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    void setTime(long time) {
+        this.time = time;
+    }
+
+    public double getBytesPerSecond() {
+        return time == 0 ? 0 : bytes * 1000.0 / time;
+    }
+
+    /**
+     * @return The reason the download failed, null if it succeeded
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    void setError(Exception error) {
+        this.error = error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photos;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.aetrion.flickr.FlickrException;
+import com.aetrion.flickr.FlickrFuture;
+import com.aetrion.flickr.util.DaemonThreadFactory;
+import com.aetrion.flickr.util.IOUtilities;
+
+/**
+ * Downloads many photos concurrently, straight into files.<p>
+ *
+ * Downloads run on a fixed number of threads, and each image host
+ * (farmN.static.flickr.com) gets no more than its own limit of concurrent
+ * connections. Downloads for a host at its limit wait in a queue of that
+ * host and do not hold a thread, so the other hosts are kept busy.<p>
+ *
+ * The response is moved into the file through a FileChannel. Each file is
+ * written under a temporary name and renamed when complete, so an
+ * interrupted download never leaves a truncated photo behind.
+ *
+ * <pre>
+ * PhotoDownloader downloader = new PhotoDownloader(8, 2);
+ * List downloads = downloader.downloadAll(photos, Size.LARGE, directory);
+ * System.out.println(downloader.getBytesPerSecond() + " bytes/s");
+ * downloader.shutdown();
+ * </pre>
+ *
+ * @author Anthony Eden
+ */
+public class PhotoDownloader {
+
+    public static final int DEFAULT_CONCURRENCY = 8;
+    public static final int DEFAULT_CONNECTIONS_PER_HOST = 2;
+    public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+    public static final int DEFAULT_READ_TIMEOUT = 30000;
+
+    private static final long TRANSFER_SIZE = 1024 * 1024;
+
+    private ExecutorService executor;
+    private int connectionsPerHost;
+    private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private int readTimeout = DEFAULT_READ_TIMEOUT;
+    private boolean shutdown = false;
+    /** Hosts by name. */
+    private Map hosts = new HashMap();
+
+    private int activeCount = 0;
+    private int downloadedCount = 0;
+    private int failedCount = 0;
+    private long downloadedBytes = 0;
+    private long startTime = 0;
+    private long busyTime = 0;
+
+    public PhotoDownloader() {
+        this(DEFAULT_CONCURRENCY, DEFAULT_CONNECTIONS_PER_HOST);
+    }
+
+    /**
+     * @param concurrency The maximum number of concurrent downloads
+     * @param connectionsPerHost The maximum number of concurrent downloads from one host
+     */
+    public PhotoDownloader(int concurrency, int connectionsPerHost) {
+        if (concurrency < 1 || connectionsPerHost < 1) {
+            throw new IllegalArgumentException("concurrency and connectionsPerHost must be at least 1");
+        }
+        this.connectionsPerHost = connectionsPerHost;
+        this.executor = Executors.newFixedThreadPool(concurrency, new DaemonThreadFactory("download"));
+    }
+
+    /**
+     * Download a photo into a file.<p>
+     *
+     * The FlickrFuture yields a {@link PhotoDownload}, also if the download
+     * failed; see {@link PhotoDownload#getError()}.
+     *
+     * @param photo The photo
+     * @param size One of the constants in {@link Size}
+     * @param file The file to write
+     * @return The FlickrFuture
+     * @throws FlickrException if the photo has no URL for the size
+     */
+    public FlickrFuture download(Photo photo, int size, File file) throws FlickrException {
+        URL url;
+        try {
+            url = new URL(getUrl(photo, size));
+        } catch (IOException e) {
+            throw new FlickrException("0", e.getMessage());
+        }
+        PhotoDownload download = new PhotoDownload(photo, size, file);
+        FlickrFuture future = new FlickrFuture(new DownloadCall(url, download));
+        schedule(url.getHost(), future);
+        return future;
+    }
+
+    /**
+     * Download photos into a directory and wait until all are done. The files
+     * are named like the images on the server, for example 2995_a2c3b4d5e6_b.jpg.
+     *
+     * @param photos The photos
+     * @param size One of the constants in {@link Size}
+     * @param directory The directory
+     * @return The {@link PhotoDownload}s, in the order of the photos
+     * @throws FlickrException if a photo has no URL for the size
+     * @throws InterruptedException
+     */
+    public List downloadAll(Collection photos, int size, File directory)
+      throws FlickrException, InterruptedException {
+        List futures = new ArrayList(photos.size());
+        Iterator iter = photos.iterator();
+        while (iter.hasNext()) {
+            Photo photo = (Photo) iter.next();
+            String url = getUrl(photo, size);
+            futures.add(download(photo, size, new File(directory, url.substring(url.lastIndexOf('/') + 1))));
+        }
+        List downloads = new ArrayList(futures.size());
+        iter = futures.iterator();
+        while (iter.hasNext()) {
+            try {
+                downloads.add(((FlickrFuture) iter.next()).get());
+            } catch (ExecutionException e) {
+                // DownloadCall never throws
+                throw new RuntimeException(e.getCause());
+            }
+        }
+        return downloads;
+    }
+
+    /**
+     * Wait until all downloads are done.
+     *
+     * @throws InterruptedException
+     */
+    public synchronized void awaitCompletion() throws InterruptedException {
+        while (activeCount > 0) {
+            wait();
+        }
+    }
+
+    /**
+     * Stop the download threads once the scheduled downloads are done,
+     * including those still queued for their host. No downloads can be
+     * scheduled afterwards.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (activeCount == 0) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Set the timeout for opening a connection to an image host.
+     *
+     * @param connectTimeout The timeout in milliseconds, 0 for none
+     */
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * Set the timeout for reading from an image host.
+     *
+     * @param readTimeout The timeout in milliseconds, 0 for none
+     */
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public synchronized int getDownloadedCount() {
+        return downloadedCount;
+    }
+
+    public synchronized int getFailedCount() {
+        return failedCount;
+    }
+
+    public synchronized long getDownloadedBytes() {
+        return downloadedBytes;
+    }
+
+    /**
+     * @return Bytes downloaded per second while downloads were scheduled
+     */
+    public synchronized double getBytesPerSecond() {
+        long elapsed = busyTime + (activeCount > 0 ? System.currentTimeMillis() - startTime : 0);
+        return elapsed == 0 ? 0 : downloadedBytes * 1000.0 / elapsed;
+    }
+
+    /**
+     * Get the URL to download. Subclasses may point downloads elsewhere, for
+     * example to a mirror.
+     *
+     * @param photo The photo
+     * @param size One of the constants in {@link Size}
+     * @return The URL
+     * @throws FlickrException
+     */
+    protected String getUrl(Photo photo, int size) throws FlickrException {
+        return photo.getUrl(size);
+    }
+
+    /**
+     * Run the download now if the host is below its limit, otherwise queue it for the host.
+     */
+    private synchronized void schedule(String hostName, FlickrFuture future) {
+        if (shutdown) {
+            throw new RejectedExecutionException("PhotoDownloader is shut down");
+        }
+        if (activeCount++ == 0) {
+            startTime = System.currentTimeMillis();
+        }
+        Host host = (Host) hosts.get(hostName);
+        if (host == null) {
+            host = new Host();
+            hosts.put(hostName, host);
+        }
+        if (host.active < connectionsPerHost) {
+            host.active++;
+            executor.execute(future);
+        } else {
+            host.queue.add(future);
+        }
+    }
+
+    /**
+     * Account for a finished download and start the next one queued for its host.
+     */
+    private synchronized void completed(String hostName, PhotoDownload download) {
+        if (download.isSuccessful()) {
+            downloadedCount++;
+        } else {
+            failedCount++;
+        }
+        downloadedBytes += download.getBytes();
+        Host host = (Host) hosts.get(hostName);
+        try {
+            if (host.queue.isEmpty()) {
+                host.active--;
+                if (host.active == 0) {
+                    hosts.remove(hostName);
+                }
+            } else {
+                executor.execute((Runnable) host.queue.getFirst());
+                host.queue.removeFirst();
+            }
+        } catch (RejectedExecutionException e) {
+            // the queued downloads of the host can never run now
+            while (!host.queue.isEmpty()) {
+                ((FlickrFuture) host.queue.removeFirst()).cancel(false);
+                activeCount--;
+            }
+            hosts.remove(hostName);
+        } finally {
+            if (--activeCount == 0) {
+                busyTime += System.currentTimeMillis() - startTime;
+                notifyAll();
+                if (shutdown) {
+                    executor.shutdown();
+                }
+            }
+        }
+    }
+
+    private void transfer(URL url, PhotoDownload download) throws IOException {
+        File file = download.getFile();
+        File part = new File(file.getPath() + ".part");
+        long start = System.currentTimeMillis();
+        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+        conn.setConnectTimeout(connectTimeout);
+        conn.setReadTimeout(readTimeout);
+        InputStream in = null;
+        FileOutputStream out = null;
+        boolean complete = false;
+        try {
+            in = conn.getInputStream();
+            out = new FileOutputStream(part);
+            FileChannel channel = out.getChannel();
+            ReadableByteChannel source = Channels.newChannel(in);
+            long position = 0;
+            long count;
+            while ((count = channel.transferFrom(source, position, TRANSFER_SIZE)) > 0) {
+                position += count;
+                download.setBytes(position);
+            }
+            out.close();
+            out = null;
+            if (file.exists() && !file.delete() || !part.renameTo(file)) {
+                throw new IOException("Cannot rename " + part + " to " + file);
+            }
+            complete = true;
+        } finally {
+            IOUtilities.close(in);
+            IOUtilities.close(out);
+            if (!complete) {
+                part.delete();
+            }
+            download.setTime(System.currentTimeMillis() - start);
+        }
+    }
+
+    private class DownloadCall implements Callable {
+
+        private URL url;
+        private PhotoDownload download;
+
+        DownloadCall(URL url, PhotoDownload download) {
+            this.url = url;
+            this.download = download;
+        }
+
+        public Object call() {
+            try {
+                transfer(url, download);
+            } catch (Exception e) {
+                download.setError(e);
+            } finally {
+                completed(url.getHost(), download);
+            }
+            return download;
+        }
+
+    }
+
+    private static class Host {
+
+        int active = 0;
+        LinkedList queue = new LinkedList();
+
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photos;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * SAX handler which builds a {@link PhotoList} directly from a REST
+ * response stream, without creating a document tree.<p>
+ *
+ * The first child of the rsp-element is taken as the list element
+ * (photos, photoset, ...), every photo-element below it becomes a Photo.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Transport#setStreaming(boolean)
+ */
+public class PhotoListHandler extends DefaultHandler {
+
+    private PhotoList photos;
+    private Attributes listAttributes;
+    private Photo photo;
+    private StringBuffer description;
+    private int depth = 0;
+
+    private String stat;
+    private String errorCode;
+    private String errorMessage;
+
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        if (depth == 0) {
+            stat = attributes.getValue("stat");
+        } else if ("err".equals(qName)) {
+            errorCode = attributes.getValue("code");
+            errorMessage = attributes.getValue("msg");
+        } else if (depth == 1 && photos == null) {
+            listAttributes = new AttributesImpl(attributes);
+            photos = new PhotoList();
+            photos.setPage(attributes.getValue("page"));
+            photos.setPages(attributes.getValue("pages"));
+            String perPage = attributes.getValue("perpage");
+            if (perPage == null || perPage.length() == 0) {
+                // flickr.photosets.getPhotos returns per_page instead of perpage
+                perPage = attributes.getValue("per_page");
+            }
+            photos.setPerPage(perPage);
+            photos.setTotal(attributes.getValue("total"));
+        } else if ("photo".equals(qName) && photos != null) {
+            photo = PhotoUtils.createPhoto(attributes, listAttributes);
+            photos.add(photo);
+        } else if ("description".equals(qName) && photo != null) {
+            description = new StringBuffer();
+        }
+        depth++;
+    }
+
+    public void characters(char[] ch, int start, int length) {
+        if (description != null) {
+            description.append(ch, start, length);
+        }
+    }
+
+    public void endElement(String uri, String localName, String qName) {
+        depth--;
+        if ("description".equals(qName) && description != null) {
+            photo.setDescription(description.length() > 0 ? description.toString() : null);
+            description = null;
+        } else if ("photo".equals(qName)) {
+            photo = null;
+        }
+    }
+
+    public String getStat() {
+        return stat;
+    }
+
+    public boolean isError() {
+        return errorCode != null;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * @return The parsed photos, an empty list if the response contained none
+     */
+    public PhotoList getPhotoList() {
+        if (photos == null) {
+            photos = new PhotoList();
+        }
+        return photos;
+    }
+
+}
@@ -6,8 +6,10 @@ import java.util.ArrayList;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.w3c.dom.Text;
+import org.xml.sax.Attributes;
 
 import com.aetrion.flickr.people.User;
+import com.aetrion.flickr.util.AttributeDecoder;
 import com.aetrion.flickr.util.XMLUtilities;
 import com.aetrion.flickr.tags.Tag;
 
@@ -67,7 +69,7 @@ public final class PhotoUtils {
         photo.setServer(photoElement.getAttribute("server"));
         photo.setFarm(photoElement.getAttribute("farm"));
         photo.setRotation(photoElement.getAttribute("rotation"));
-        photo.setFavorite("1".equals(photoElement.getAttribute("isfavorite")));
+        photo.setFavorite(AttributeDecoder.parseFlag(photoElement.getAttribute("isfavorite")));
         photo.setLicense(photoElement.getAttribute("license"));
         photo.setOriginalFormat(photoElement.getAttribute("originalformat"));
         photo.setOriginalSecret(photoElement.getAttribute("originalsecret"));
@@ -197,15 +199,15 @@ public final class PhotoUtils {
         try {
             // here the flags are set, if the photo is read by getInfo().
             Element visibilityElement = (Element) photoElement.getElementsByTagName("visibility").item(0);
-            photo.setPublicFlag("1".equals(visibilityElement.getAttribute("ispublic")));
-            photo.setFriendFlag("1".equals(visibilityElement.getAttribute("isfriend")));
-            photo.setFamilyFlag("1".equals(visibilityElement.getAttribute("isfamily")));
+            photo.setPublicFlag(AttributeDecoder.parseFlag(visibilityElement.getAttribute("ispublic")));
+            photo.setFriendFlag(AttributeDecoder.parseFlag(visibilityElement.getAttribute("isfriend")));
+            photo.setFamilyFlag(AttributeDecoder.parseFlag(visibilityElement.getAttribute("isfamily")));
         } catch (IndexOutOfBoundsException e) {
         } catch (NullPointerException e) {
             // these flags are set here, if photos read from a list.
-            photo.setPublicFlag("1".equals(photoElement.getAttribute("ispublic")));
-            photo.setFriendFlag("1".equals(photoElement.getAttribute("isfriend")));
-            photo.setFamilyFlag("1".equals(photoElement.getAttribute("isfamily")));
+            photo.setPublicFlag(AttributeDecoder.parseFlag(photoElement.getAttribute("ispublic")));
+            photo.setFriendFlag(AttributeDecoder.parseFlag(photoElement.getAttribute("isfriend")));
+            photo.setFamilyFlag(AttributeDecoder.parseFlag(photoElement.getAttribute("isfamily")));
         }
 
         // Parse either photo by getInfo, or from list
@@ -232,8 +234,8 @@ public final class PhotoUtils {
         try {
             Element editabilityElement = (Element) photoElement.getElementsByTagName("editability").item(0);
             Editability editability = new Editability();
-            editability.setComment("1".equals(editabilityElement.getAttribute("cancomment")));
-            editability.setAddmeta("1".equals(editabilityElement.getAttribute("canaddmeta")));
+            editability.setComment(AttributeDecoder.parseFlag(editabilityElement.getAttribute("cancomment")));
+            editability.setAddmeta(AttributeDecoder.parseFlag(editabilityElement.getAttribute("canaddmeta")));
             photo.setEditability(editability);
         } catch (IndexOutOfBoundsException e) {
         } catch (NullPointerException e) {
@@ -354,7 +356,125 @@ public final class PhotoUtils {
     }
 
     /**
-     * Parse a list of Photos from given Element.
+     * Try to get an attribute value from two SAX attribute lists.
+     * Missing attributes are returned as empty String, like in the DOM.
+     *
+     * @param name
+     * @param firstAttributes
+     * @param secondAttributes
+     * @return attribute value
+     */
+    private static String getAttribute(String name, Attributes firstAttributes,
+            Attributes secondAttributes) {
+        String val = firstAttributes.getValue(name);
+        if ((val == null || val.length() == 0) && secondAttributes != null) {
+            val = secondAttributes.getValue(name);
+        }
+        return val == null ? "" : val;
+    }
+
+    /**
+     * Transfer the Information of a photo from the attributes of a
+     * photo-element, as found in photo lists, to a Photo-object.<p>
+     *
+     * Used when parsing a response stream with SAX. Photos in lists carry
+     * all their data as attributes; only the description is a child element
+     * and has to be set by the caller.
+     *
+     * @param photoAttributes
+     * @param defaultAttributes attributes of the enclosing list element, may be null
+     * @return Photo
+     */
+    public static final Photo createPhoto(Attributes photoAttributes,
+        Attributes defaultAttributes) {
+        Photo photo = new Photo();
+        photo.setId(getAttribute("id", photoAttributes, null));
+        photo.setPlaceId(getAttribute("place_id", photoAttributes, null));
+        photo.setSecret(getAttribute("secret", photoAttributes, null));
+        photo.setServer(getAttribute("server", photoAttributes, null));
+        photo.setFarm(getAttribute("farm", photoAttributes, null));
+        photo.setRotation(getAttribute("rotation", photoAttributes, null));
+        photo.setFavorite(AttributeDecoder.parseFlag(photoAttributes.getValue("isfavorite")));
+        photo.setLicense(getAttribute("license", photoAttributes, null));
+        photo.setOriginalFormat(getAttribute("originalformat", photoAttributes, null));
+        photo.setOriginalSecret(getAttribute("originalsecret", photoAttributes, null));
+        photo.setIconServer(getAttribute("iconserver", photoAttributes, null));
+        photo.setIconFarm(getAttribute("iconfarm", photoAttributes, null));
+        photo.setDateTaken(getAttribute("datetaken", photoAttributes, null));
+        photo.setDatePosted(getAttribute("dateupload", photoAttributes, null));
+        photo.setLastUpdate(getAttribute("lastupdate", photoAttributes, null));
+        photo.setDateAdded(getAttribute("dateadded", photoAttributes, null));
+        photo.setOriginalWidth(getAttribute("o_width", photoAttributes, null));
+        photo.setOriginalHeight(getAttribute("o_height", photoAttributes, null));
+        photo.setMedia(getAttribute("media", photoAttributes, null));
+        photo.setMediaStatus(getAttribute("media_status", photoAttributes, null));
+        photo.setPathAlias(getAttribute("pathalias", photoAttributes, null));
+
+        List sizes = new ArrayList();
+        addSize(sizes, Size.THUMB, photoAttributes.getValue("url_t"));
+        addSize(sizes, Size.SMALL, photoAttributes.getValue("url_s"));
+        addSize(sizes, Size.SQUARE, photoAttributes.getValue("url_sq"));
+        addSize(sizes, Size.MEDIUM, photoAttributes.getValue("url_m"));
+        addSize(sizes, Size.LARGE, photoAttributes.getValue("url_l"));
+        addSize(sizes, Size.ORIGINAL, photoAttributes.getValue("url_o"));
+        if (sizes.size() > 0) {
+            photo.setSizes(sizes);
+        }
+
+        if (photo.getOriginalFormat() == null || photo.getOriginalFormat().equals("")) {
+            photo.setOriginalFormat("jpg");
+        }
+
+        User owner = new User();
+        owner.setId(getAttribute("owner", photoAttributes, defaultAttributes));
+        owner.setUsername(getAttribute("ownername", photoAttributes, defaultAttributes));
+        photo.setOwner(owner);
+        photo.setUrl("http://flickr.com/photos/" + owner.getId() + "/" + photo.getId());
+
+        photo.setTitle(getAttribute("title", photoAttributes, null));
+        photo.setPublicFlag(AttributeDecoder.parseFlag(photoAttributes.getValue("ispublic")));
+        photo.setFriendFlag(AttributeDecoder.parseFlag(photoAttributes.getValue("isfriend")));
+        photo.setFamilyFlag(AttributeDecoder.parseFlag(photoAttributes.getValue("isfamily")));
+        photo.setNotes(new ArrayList());
+        photo.setUrls(new ArrayList());
+
+        List tags = new ArrayList();
+        String tagsAttr = getAttribute("tags", photoAttributes, null);
+        if (!tagsAttr.equals("")) {
+            String[] values = tagsAttr.split("\\s+");
+            for (int i = 0; i < values.length; i++) {
+                Tag tag = new Tag();
+                tag.setValue(values[i]);
+                tags.add(tag);
+            }
+        }
+        photo.setTags(tags);
+
+        String longitude = getAttribute("longitude", photoAttributes, null);
+        String latitude = getAttribute("latitude", photoAttributes, null);
+        String accuracy = getAttribute("accuracy", photoAttributes, null);
+        if (longitude.length() > 0 && latitude.length() > 0
+            && !("0".equals(longitude) && "0".equals(latitude))) {
+            photo.setGeoData(new GeoData(longitude, latitude, accuracy));
+        }
+
+        return photo;
+    }
+
+    private static void addSize(List sizes, int label, String url) {
+        if (url != null && url.startsWith("http")) {
+            Size size = new Size();
+            size.setLabel(label);
+            size.setSource(url);
+            sizes.add(size);
+        }
+    }
+
+    /**
+     * Parse a list of Photos from given Element.<p>
+     *
+     * Attributes missing on a photo, like the owner of the photos
+     * in a photoset, are taken from the list element.
      *
      * @param photosElement
      * @return PhotoList
@@ -363,13 +483,18 @@ public final class PhotoUtils {
         PhotoList photos = new PhotoList();
         photos.setPage(photosElement.getAttribute("page"));
         photos.setPages(photosElement.getAttribute("pages"));
-        photos.setPerPage(photosElement.getAttribute("perpage"));
+        String perPage = photosElement.getAttribute("perpage");
+        if (perPage.length() == 0) {
+            // flickr.photosets.getPhotos returns per_page instead of perpage
+            perPage = photosElement.getAttribute("per_page");
+        }
+        photos.setPerPage(perPage);
         photos.setTotal(photosElement.getAttribute("total"));
 
         NodeList photoNodes = photosElement.getElementsByTagName("photo");
         for (int i = 0; i < photoNodes.getLength(); i++) {
             Element photoElement = (Element) photoNodes.item(i);
-            photos.add(PhotoUtils.createPhoto(photoElement));
+            photos.add(PhotoUtils.createPhoto(photoElement, photosElement));
         }
         return photos;
     }
@@ -23,8 +23,9 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.REST;
 import com.aetrion.flickr.RequestContext;
 import com.aetrion.flickr.Response;
@@ -33,6 +34,8 @@ import com.aetrion.flickr.auth.AuthUtilities;
 import com.aetrion.flickr.people.User;
 import com.aetrion.flickr.photos.geo.GeoInterface;
 import com.aetrion.flickr.util.IOUtilities;
+import com.aetrion.flickr.util.ImageCache;
+import com.aetrion.flickr.util.ImageUtilities;
 import com.aetrion.flickr.util.StringUtilities;
 import com.aetrion.flickr.util.XMLUtilities;
 
@@ -84,11 +87,19 @@ public class PhotosInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transport;
+    private CallContext context;
+    private ImageCache imageCache;
+    private ImageUtilities imageUtilities = new ImageUtilities();
 
     public PhotosInterface(String apiKey, String sharedSecret, Transport transport) {
+        this(apiKey, sharedSecret, transport, null);
+    }
+
+    public PhotosInterface(String apiKey, String sharedSecret, Transport transport, CallContext context) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transport = transport;
+        this.context = context;
     }
 
     /**
@@ -97,7 +108,7 @@ public class PhotosInterface {
      */
     public synchronized GeoInterface getGeoInterface() {
         if (geoInterface == null) {
-            geoInterface = new GeoInterface(apiKey, sharedSecret, transport);
+            geoInterface = new GeoInterface(apiKey, sharedSecret, transport, context);
         }
         return geoInterface;
     }
@@ -114,18 +125,13 @@ public class PhotosInterface {
      * @throws FlickrException
      */
     public void addTags(String photoId, String[] tags) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_ADD_TAGS));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(new Parameter("tags", StringUtilities.join(tags, " ", true)));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_ADD_TAGS);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photo_id", photoId);
+        parameters.add("tags", StringUtilities.join(tags, " ", true));
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -145,17 +151,12 @@ public class PhotosInterface {
      */
     public void delete(String photoId)
         throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_DELETE));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_DELETE);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photo_id", photoId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         // Note: This method requires an HTTP POST request.
         Response response = transport.post(transport.getPath(), parameters);
@@ -179,17 +180,12 @@ public class PhotosInterface {
      */
     public List getAllContexts(String photoId) throws IOException, SAXException, FlickrException {
         List list = new ArrayList();
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_ALL_CONTEXTS));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_ALL_CONTEXTS);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photo_id", photoId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.get(transport.getPath(), parameters);
         if (response.isError()) {
@@ -225,45 +221,29 @@ public class PhotosInterface {
      */
     public PhotoList getContactsPhotos(int count, boolean justFriends, boolean singlePhoto, boolean includeSelf)
             throws IOException, SAXException, FlickrException {
-        PhotoList photos = new PhotoList();
-
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_CONTACTS_PHOTOS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_CONTACTS_PHOTOS);
+        parameters.add("api_key", apiKey);
 
         if (count > 0) {
-            parameters.add(new Parameter("count", count));
+            parameters.add("count", count);
         }
         if (justFriends) {
-            parameters.add(new Parameter("just_friends", "1"));
+            parameters.add("just_friends", "1");
         }
         if (singlePhoto) {
-            parameters.add(new Parameter("single_photo", "1"));
+            parameters.add("single_photo", "1");
         }
         if (includeSelf) {
-            parameters.add(new Parameter("include_self", "1"));
+            parameters.add("include_self", "1");
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
-        Response response = transport.get(transport.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        NodeList photoNodes = photosElement.getElementsByTagName("photo");
-        photos.setPage("1");
-		photos.setPages("1");
-		photos.setPerPage("" + photoNodes.getLength());
-		photos.setTotal("" + photoNodes.getLength());
-        for (int i = 0; i < photoNodes.getLength(); i++) {
-            Element photoElement = (Element) photoNodes.item(i);
-            photos.add(PhotoUtils.createPhoto(photoElement));
-        }
+        PhotoList photos = transport.getPhotoList(transport.getPath(), parameters);
+        photos.setPage(1);
+        photos.setPages(1);
+        photos.setPerPage(photos.size());
+        photos.setTotal(photos.size());
         return photos;
     }
 
@@ -290,25 +270,23 @@ public class PhotosInterface {
 
     public PhotoList getContactsPublicPhotos(String userId, Set extras, int count, boolean justFriends, boolean singlePhoto, boolean includeSelf)
       throws IOException, SAXException, FlickrException {
-        PhotoList photos = new PhotoList();
-
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_CONTACTS_PUBLIC_PHOTOS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_CONTACTS_PUBLIC_PHOTOS);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("user_id", userId));
+        parameters.add("user_id", userId);
 
         if (count > 0) {
-            parameters.add(new Parameter("count", count));
+            parameters.add("count", count);
         }
         if (justFriends) {
-            parameters.add(new Parameter("just_friends", "1"));
+            parameters.add("just_friends", "1");
         }
         if (singlePhoto) {
-            parameters.add(new Parameter("single_photo", "1"));
+            parameters.add("single_photo", "1");
         }
         if (includeSelf) {
-            parameters.add(new Parameter("include_self", "1"));
+            parameters.add("include_self", "1");
         }
 
         if (extras != null) {
@@ -320,23 +298,14 @@ public class PhotosInterface {
                 }
                 sb.append(it.next());
             }
-            parameters.add(new Parameter(Extras.KEY_EXTRAS, sb.toString()));
+            parameters.add(Extras.KEY_EXTRAS, sb.toString());
         }
 
-        Response response = transport.get(transport.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        NodeList photoNodes = photosElement.getElementsByTagName("photo");
-        photos.setPage("1");
-		photos.setPages("1");
-		photos.setPerPage("" + photoNodes.getLength());
-		photos.setTotal("" + photoNodes.getLength());
-        for (int i = 0; i < photoNodes.getLength(); i++) {
-            Element photoElement = (Element) photoNodes.item(i);
-            photos.add(PhotoUtils.createPhoto(photoElement));
-        }
+        PhotoList photos = transport.getPhotoList(transport.getPath(), parameters);
+        photos.setPage(1);
+        photos.setPages(1);
+        photos.setPerPage(photos.size());
+        photos.setTotal(photos.size());
         return photos;
     }
 
@@ -353,11 +322,11 @@ public class PhotosInterface {
      */
     public PhotoContext getContext(String photoId)
       throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_CONTEXT));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_CONTEXT);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
+        parameters.add("photo_id", photoId);
 
         Response response = transport.get(transport.getPath(), parameters);
         if (response.isError()) {
@@ -405,9 +374,9 @@ public class PhotosInterface {
         throws IOException, SAXException, FlickrException {
         List photocounts = new ArrayList();
 
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_COUNTS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_COUNTS);
+        parameters.add("api_key", apiKey);
 
         if (dates == null && takenDates == null) {
             throw new IllegalArgumentException("You must provide a value for either dates or takenDates");
@@ -418,7 +387,7 @@ public class PhotosInterface {
             for (int i = 0; i < dates.length; i++) {
                 dateList.add(String.valueOf(dates[i].getTime() / 1000L));
             }
-            parameters.add(new Parameter("dates", StringUtilities.join(dateList, ",")));
+            parameters.add("dates", StringUtilities.join(dateList, ","));
         }
 
         if (takenDates != null) {
@@ -426,14 +395,9 @@ public class PhotosInterface {
             for (int i = 0; i < takenDates.length; i++) {
                 takenDateList.add(String.valueOf(takenDates[i].getTime() / 1000L));
             }
-            parameters.add(new Parameter("taken_dates", StringUtilities.join(takenDateList, ",")));
+            parameters.add("taken_dates", StringUtilities.join(takenDateList, ","));
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.get(transport.getPath(), parameters);
         if (response.isError()) {
@@ -468,13 +432,13 @@ public class PhotosInterface {
      */
     public Collection getExif(String photoId, String secret)
         throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_EXIF));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_EXIF);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
+        parameters.add("photo_id", photoId);
         if (secret != null) {
-            parameters.add(new Parameter("secret", secret));
+            parameters.add("secret", secret);
         }
 
         Response response = transport.get(transport.getPath(), parameters);
@@ -510,19 +474,19 @@ public class PhotosInterface {
      */
     public Collection getFavorites(String photoId, int perPage, int page)
         throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
 
-        parameters.add(new Parameter("method", METHOD_GET_FAVORITES));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_GET_FAVORITES);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
+        parameters.add("photo_id", photoId);
 
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", perPage));
+            parameters.add("per_page", perPage);
         }
 
         if (page > 0) {
-            parameters.add(new Parameter("page", page));
+            parameters.add("page", page);
         }
 
         Response response = transport.get(transport.getPath(), parameters);
@@ -559,13 +523,13 @@ public class PhotosInterface {
      * @throws FlickrException
      */
     public Photo getInfo(String photoId, String secret) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_INFO));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_INFO);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
+        parameters.add("photo_id", photoId);
         if (secret != null) {
-            parameters.add(new Parameter("secret", secret));
+            parameters.add("secret", secret);
         }
 
         Response response = transport.get(transport.getPath(), parameters);
@@ -590,48 +554,29 @@ public class PhotosInterface {
      * @throws FlickrException
      */
     public PhotoList getNotInSet(int perPage, int page) throws IOException, SAXException, FlickrException {
-        PhotoList photos = new PhotoList();
-
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", PhotosInterface.METHOD_GET_NOT_IN_SET));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        RequestContext requestContext = RequestContext.getRequestContext();
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", PhotosInterface.METHOD_GET_NOT_IN_SET);
+        parameters.add("api_key", apiKey);
 
-        List extras = requestContext.getExtras();
+        List extras;
+        if (context != null) {
+            extras = context.getExtras();
+        } else {
+            extras = RequestContext.getRequestContext().getExtras();
+        }
         if (extras.size() > 0) {
-            parameters.add(new Parameter("extras", StringUtilities.join(extras, ",")));
+            parameters.add("extras", StringUtilities.join(extras, ","));
         }
 
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", page));
-        }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
-
-        Response response = transport.get(transport.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
+            parameters.add("page", page);
         }
-        Element photosElement = response.getPayload();
-        photos.setPage(photosElement.getAttribute("page"));
-        photos.setPages(photosElement.getAttribute("pages"));
-        photos.setPerPage(photosElement.getAttribute("perpage"));
-        photos.setTotal(photosElement.getAttribute("total"));
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
-        NodeList photoElements = photosElement.getElementsByTagName("photo");
-        for (int i = 0; i < photoElements.getLength(); i++) {
-            Element photoElement = (Element) photoElements.item(i);
-            photos.add(PhotoUtils.createPhoto(photoElement));
-        }
-        return photos;
+        return transport.getPhotoList(transport.getPath(), parameters);
     }
 
 
@@ -647,17 +592,12 @@ public class PhotosInterface {
      * @throws FlickrException
      */
     public Permissions getPerms(String photoId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_PERMS));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_PERMS);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photo_id", photoId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.get(transport.getPath(), parameters);
         if (response.isError()) {
@@ -689,27 +629,21 @@ public class PhotosInterface {
      * @throws FlickrException
      */
     public PhotoList getRecent(Set extras, int perPage, int page) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_RECENT));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_RECENT);
+        parameters.add("api_key", apiKey);
 
         if (extras != null && !extras.isEmpty()) {
-            parameters.add(new Parameter(Extras.KEY_EXTRAS, StringUtilities.join(extras, ",")));
+            parameters.add(Extras.KEY_EXTRAS, StringUtilities.join(extras, ","));
         }
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", page));
+            parameters.add("page", page);
         }
 
-        Response response = transport.get(transport.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        PhotoList photos = PhotoUtils.createPhotoList(photosElement);
-        return photos;
+        return transport.getPhotoList(transport.getPath(), parameters);
     }
 
     /**
@@ -746,19 +680,14 @@ public class PhotosInterface {
     public Collection getSizes(String photoId, boolean sign) throws IOException, SAXException, FlickrException {
         List sizes = new ArrayList();
 
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_SIZES));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_SIZES);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
+        parameters.add("photo_id", photoId);
 
         if (sign) {
-            parameters.add(
-                new Parameter(
-                    "api_sig",
-                    AuthUtilities.getSignature(sharedSecret, parameters)
-                )
-            );
+            parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
         }
         Response response = transport.get(transport.getPath(), parameters);
         if (response.isError()) {
@@ -794,30 +723,19 @@ public class PhotosInterface {
      */
     public PhotoList getUntagged(int perPage, int page)
         throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_UNTAGGED));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_UNTAGGED);
+        parameters.add("api_key", apiKey);
 
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", page));
+            parameters.add("page", page);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
-        Response response = transport.get(transport.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        PhotoList photos = PhotoUtils.createPhotoList(photosElement);
-        return photos;
+        return transport.getPhotoList(transport.getPath(), parameters);
     }
 
 
@@ -855,51 +773,40 @@ public class PhotosInterface {
         Date minTakenDate, Date maxTakenDate,
         int privacyFilter, String sort, Set extras, int perPage, int page) 
         throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_WITH_GEO_DATA));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_WITH_GEO_DATA);
+        parameters.add("api_key", apiKey);
 
         if (minUploadDate != null) {
-            parameters.add(new Parameter("min_upload_date", minUploadDate.getTime() / 1000L));
+            parameters.add("min_upload_date", minUploadDate.getTime() / 1000L);
         }
         if (maxUploadDate != null) {
-            parameters.add(new Parameter("max_upload_date", maxUploadDate.getTime() / 1000L));
+            parameters.add("max_upload_date", maxUploadDate.getTime() / 1000L);
         }
         if (minTakenDate != null) {
-            parameters.add(new Parameter("min_taken_date", minTakenDate.getTime() / 1000L));
+            parameters.add("min_taken_date", minTakenDate.getTime() / 1000L);
         }
         if (maxTakenDate != null) {
-            parameters.add(new Parameter("max_taken_date", maxTakenDate.getTime() / 1000L));
+            parameters.add("max_taken_date", maxTakenDate.getTime() / 1000L);
         }
         if (privacyFilter > 0) {
-            parameters.add(new Parameter("privacy_filter", privacyFilter));        	
+            parameters.add("privacy_filter", privacyFilter);
         }
         if (sort != null) {
-            parameters.add(new Parameter("sort", sort));
+            parameters.add("sort", sort);
         }
         if (extras != null && !extras.isEmpty()) {
-            parameters.add(new Parameter("extras", StringUtilities.join(extras, ",")));
+            parameters.add("extras", StringUtilities.join(extras, ","));
         }
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", page));
+            parameters.add("page", page);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
-        Response response = transport.get(transport.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        PhotoList photos = PhotoUtils.createPhotoList(photosElement);
-        return photos;
+        return transport.getPhotoList(transport.getPath(), parameters);
     }
 
 
@@ -933,51 +840,40 @@ public class PhotosInterface {
      * @throws SAXException
      */
     public PhotoList getWithoutGeoData(Date minUploadDate, Date maxUploadDate, Date minTakenDate, Date maxTakenDate, int privacyFilter, String sort, Set extras, int perPage, int page) throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_WITHOUT_GEO_DATA));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_WITHOUT_GEO_DATA);
+        parameters.add("api_key", apiKey);
 
         if (minUploadDate != null) {
-            parameters.add(new Parameter("min_upload_date", minUploadDate.getTime() / 1000L));
+            parameters.add("min_upload_date", minUploadDate.getTime() / 1000L);
         }
         if (maxUploadDate != null) {
-            parameters.add(new Parameter("max_upload_date", maxUploadDate.getTime() / 1000L));
+            parameters.add("max_upload_date", maxUploadDate.getTime() / 1000L);
         }
         if (minTakenDate != null) {
-            parameters.add(new Parameter("min_taken_date", minTakenDate.getTime() / 1000L));
+            parameters.add("min_taken_date", minTakenDate.getTime() / 1000L);
         }
         if (maxTakenDate != null) {
-            parameters.add(new Parameter("max_taken_date", maxTakenDate.getTime() / 1000L));
+            parameters.add("max_taken_date", maxTakenDate.getTime() / 1000L);
         }
         if (privacyFilter > 0) {
-            parameters.add(new Parameter("privacy_filter", privacyFilter));        	
+            parameters.add("privacy_filter", privacyFilter);
         }
         if (sort != null) {
-            parameters.add(new Parameter("sort", sort));
+            parameters.add("sort", sort);
         }
         if (extras != null && !extras.isEmpty()) {
-            parameters.add(new Parameter("extras", StringUtilities.join(extras, ",")));
+            parameters.add("extras", StringUtilities.join(extras, ","));
         }
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", page));
+            parameters.add("page", page);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
-        Response response = transport.get(transport.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        PhotoList photos = PhotoUtils.createPhotoList(photosElement);
-        return photos;
+        return transport.getPhotoList(transport.getPath(), parameters);
     }
 
 
@@ -998,35 +894,24 @@ public class PhotosInterface {
      * @throws FlickrException
      */
     public PhotoList recentlyUpdated(Date minDate, Set extras, int perPage, int page) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_RECENTLY_UPDATED));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_RECENTLY_UPDATED);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("min_date", minDate.getTime() / 1000L));
+        parameters.add("min_date", minDate.getTime() / 1000L);
 
         if (extras != null && !extras.isEmpty()) {
-            parameters.add(new Parameter("extras", StringUtilities.join(extras, ",")));
+            parameters.add("extras", StringUtilities.join(extras, ","));
         }
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", page));
+            parameters.add("page", page);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
-        Response response = transport.get(transport.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        PhotoList photos = PhotoUtils.createPhotoList(photosElement);
-        return photos;
+        return transport.getPhotoList(transport.getPath(), parameters);
     }
 
     /**
@@ -1040,17 +925,12 @@ public class PhotosInterface {
      * @throws FlickrException
      */
     public void removeTag(String tagId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_REMOVE_TAG));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("tag_id", tagId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_REMOVE_TAG);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("tag_id", tagId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -1071,43 +951,21 @@ public class PhotosInterface {
      */
     public PhotoList search(SearchParameters params, int perPage, int page)
         throws IOException, SAXException, FlickrException {
-        PhotoList photos = new PhotoList();
-
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_SEARCH));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_SEARCH);
+        parameters.add("api_key", apiKey);
 
         parameters.addAll(params.getAsParameters());
 
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", "" + perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", "" + page));
+            parameters.add("page", page);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
-        Response response = transport.get(transport.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        photos.setPage(photosElement.getAttribute("page"));
-        photos.setPages(photosElement.getAttribute("pages"));
-        photos.setPerPage(photosElement.getAttribute("perpage"));
-        photos.setTotal(photosElement.getAttribute("total"));
-
-        NodeList photoNodes = photosElement.getElementsByTagName("photo");
-        for (int i = 0; i < photoNodes.getLength(); i++) {
-            Element photoElement = (Element) photoNodes.item(i);
-            photos.add(PhotoUtils.createPhoto(photoElement));
-        }
-        return photos;
+        return transport.getPhotoList(transport.getPath(), parameters);
     }
 
     /**
@@ -1123,61 +981,21 @@ public class PhotosInterface {
      */
     public PhotoList searchInterestingness(SearchParameters params, int perPage, int page)
         throws IOException, SAXException, FlickrException {
-        PhotoList photos = new PhotoList();
-
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_INTERESTINGNESS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_INTERESTINGNESS);
+        parameters.add("api_key", apiKey);
 
         parameters.addAll(params.getAsParameters());
 
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", page));
+            parameters.add("page", page);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
-        Response response = transport.get(transport.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response
-                .getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        photos.setPage(photosElement.getAttribute("page"));
-        photos.setPages(photosElement.getAttribute("pages"));
-        photos.setPerPage(photosElement.getAttribute("perpage"));
-        photos.setTotal(photosElement.getAttribute("total"));
-
-        NodeList photoNodes = photosElement.getElementsByTagName("photo");
-        for (int i = 0; i < photoNodes.getLength(); i++) {
-            Element photoElement = (Element) photoNodes.item(i);
-            Photo photo = new Photo();
-            photo.setId(photoElement.getAttribute("id"));
-
-            User owner = new User();
-            owner.setId(photoElement.getAttribute("owner"));
-            photo.setOwner(owner);
-
-            photo.setSecret(photoElement.getAttribute("secret"));
-            photo.setServer(photoElement.getAttribute("server"));
-            photo.setFarm(photoElement.getAttribute("farm"));
-            photo.setTitle(photoElement.getAttribute("title"));
-            photo.setPublicFlag("1".equals(photoElement
-                .getAttribute("ispublic")));
-            photo.setFriendFlag("1".equals(photoElement
-                .getAttribute("isfriend")));
-            photo.setFamilyFlag("1".equals(photoElement
-                .getAttribute("isfamily")));
-            photos.add(photo);
-        }
-        return photos;
+        return transport.getPhotoList(transport.getPath(), parameters);
     }
 
     /**
@@ -1196,18 +1014,13 @@ public class PhotosInterface {
      */
     public void setContentType(String photoId, String contentType) throws IOException,
             SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_SET_CONTENTTYPE));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(new Parameter("content_type", contentType));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_SET_CONTENTTYPE);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photo_id", photoId);
+        parameters.add("content_type", contentType);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -1230,29 +1043,24 @@ public class PhotosInterface {
      */
     public void setDates(String photoId, Date datePosted, Date dateTaken, String dateTakenGranularity)
             throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_SET_DATES));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_SET_DATES);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
+        parameters.add("photo_id", photoId);
 
         if (datePosted != null) {
-            parameters.add(new Parameter("date_posted", new Long(datePosted.getTime() / 1000)));
+            parameters.add("date_posted", datePosted.getTime() / 1000);
         }
 
         if (dateTaken != null) {
-            parameters.add(new Parameter("date_taken", ((DateFormat)DATE_FORMATS.get()).format(dateTaken)));
+            parameters.add("date_taken", ((DateFormat)DATE_FORMATS.get()).format(dateTaken));
         }
 
         if (dateTakenGranularity != null) {
-            parameters.add(new Parameter("date_taken_granularity", dateTakenGranularity));
+            parameters.add("date_taken_granularity", dateTakenGranularity);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -1274,19 +1082,14 @@ public class PhotosInterface {
      */
     public void setMeta(String photoId, String title, String description)
         throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_SET_META));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(new Parameter("title", title));
-        parameters.add(new Parameter("description", description));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_SET_META);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photo_id", photoId);
+        parameters.add("title", title);
+        parameters.add("description", description);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -1307,22 +1110,17 @@ public class PhotosInterface {
      */
     public void setPerms(String photoId, Permissions permissions) throws IOException,
             SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_SET_PERMS));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(new Parameter("is_public", permissions.isPublicFlag() ? "1" : "0"));
-        parameters.add(new Parameter("is_friend", permissions.isFriendFlag() ? "1" : "0"));
-        parameters.add(new Parameter("is_family", permissions.isFamilyFlag() ? "1" : "0"));
-        parameters.add(new Parameter("perm_comment", permissions.getComment()));
-        parameters.add(new Parameter("perm_addmeta", permissions.getAddmeta()));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_SET_PERMS);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photo_id", photoId);
+        parameters.add("is_public", permissions.isPublicFlag() ? "1" : "0");
+        parameters.add("is_friend", permissions.isFriendFlag() ? "1" : "0");
+        parameters.add("is_family", permissions.isFamilyFlag() ? "1" : "0");
+        parameters.add("perm_comment", permissions.getComment());
+        parameters.add("perm_addmeta", permissions.getAddmeta());
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -1347,25 +1145,20 @@ public class PhotosInterface {
      */
     public void setSafetyLevel(String photoId, String safetyLevel, Boolean hidden)
             throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_SET_SAFETYLEVEL));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_SET_SAFETYLEVEL);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
+        parameters.add("photo_id", photoId);
 
         if (safetyLevel != null) {
-            parameters.add(new Parameter("safety_level", safetyLevel));
+            parameters.add("safety_level", safetyLevel);
         }
 
         if (hidden != null) {
-            parameters.add(new Parameter("hidden", hidden.booleanValue() ? "1" : "0"));
+            parameters.add("hidden", hidden.booleanValue() ? "1" : "0");
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -1386,18 +1179,13 @@ public class PhotosInterface {
      */
     public void setTags(String photoId, String[] tags)
         throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_SET_TAGS));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(new Parameter("tags", StringUtilities.join(tags, " ", true)));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_SET_TAGS);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photo_id", photoId);
+        parameters.add("tags", StringUtilities.join(tags, " ", true));
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -1451,34 +1239,7 @@ public class PhotosInterface {
      */
     public InputStream getImageAsStream(Photo photo, int size)
       throws IOException, FlickrException {
-        String urlStr = "";
-        if (size == Size.SQUARE) {
-            urlStr = photo.getSmallSquareUrl();
-        } else if (size == Size.THUMB) {
-            urlStr = photo.getThumbnailUrl();
-        } else if (size == Size.SMALL) {
-            urlStr = photo.getSmallUrl();
-        } else if (size == Size.MEDIUM) {
-            urlStr = photo.getMediumUrl();
-        } else if (size == Size.LARGE) {
-            urlStr = photo.getLargeUrl();
-        } else if (size == Size.ORIGINAL) {
-            urlStr = photo.getOriginalUrl();
-        } else {
-            throw new FlickrException("0", "Unknown Photo-size");
-        }
-        URL url = new URL(urlStr);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        if (transport instanceof REST) {
-            if (((REST) transport).isProxyAuth()) {
-                conn.setRequestProperty(
-                    "Proxy-Authorization",
-                    "Basic " + ((REST) transport).getProxyCredentials()
-                );
-            }
-        }
-        conn.connect();
-        return conn.getInputStream();
+        return getImageAsStream(photo.getUrl(size));
     }
 
     /**
@@ -1494,7 +1255,38 @@ public class PhotosInterface {
      */
     public BufferedImage getImage(Photo photo, int size)
       throws IOException, FlickrException {
-        return ImageIO.read(getImageAsStream(photo, size));
+        InputStream in = null;
+        try {
+            in = getImageAsStream(photo, size);
+            return ImageIO.read(in);
+        } finally {
+            IOUtilities.close(in);
+        }
+    }
+
+    /**
+     * Request an image from the Flickr-servers, decoded straight to fit into
+     * the given size. Large images are subsampled while decoding, so they
+     * never take up memory at full size.
+     *
+     * @param photo A photo-object
+     * @param size The size to download
+     * @param maxWidth The maximum width of the image
+     * @param maxHeight The maximum height of the image
+     * @return An Image
+     * @throws IOException
+     * @throws FlickrException
+     * @see ImageUtilities#read(InputStream, int, int)
+     */
+    public BufferedImage getImage(Photo photo, int size, int maxWidth, int maxHeight)
+      throws IOException, FlickrException {
+        InputStream in = null;
+        try {
+            in = getImageAsStream(photo, size);
+            return imageUtilities.read(in, maxWidth, maxHeight);
+        } finally {
+            IOUtilities.close(in);
+        }
     }
 
     /**
@@ -1506,6 +1298,75 @@ public class PhotosInterface {
      */
     public BufferedImage getImage(String urlStr)
       throws IOException {
+        InputStream in = null;
+        try {
+            in = getImageAsStream(urlStr);
+            return ImageIO.read(in);
+        } finally {
+            IOUtilities.close(in);
+        }
+    }
+
+    /**
+     * Download of an image by URL, decoded straight to fit into the given size.
+     *
+     * @param urlStr The URL of a Photo
+     * @param maxWidth The maximum width of the image
+     * @param maxHeight The maximum height of the image
+     * @return BufferedImage The Image
+     * @throws IOException
+     */
+    public BufferedImage getImage(String urlStr, int maxWidth, int maxHeight)
+      throws IOException {
+        InputStream in = null;
+        try {
+            in = getImageAsStream(urlStr);
+            return imageUtilities.read(in, maxWidth, maxHeight);
+        } finally {
+            IOUtilities.close(in);
+        }
+    }
+
+    /**
+     * Get the cache for downloaded images.
+     *
+     * @return The image cache or null
+     */
+    public ImageCache getImageCache() {
+        return imageCache;
+    }
+
+    /**
+     * Keep downloaded images in the given cache on disk, so repeated
+     * requests for the same image do not go to the network.
+     *
+     * @param imageCache The image cache, null to disable caching
+     */
+    public void setImageCache(ImageCache imageCache) {
+        this.imageCache = imageCache;
+    }
+
+    /**
+     * Open an image, from the image cache if it is there.
+     */
+    private InputStream getImageAsStream(String urlStr) throws IOException {
+        String key = imageCache == null ? null : ImageCache.getKey(urlStr);
+        if (key == null) {
+            return openImage(urlStr);
+        }
+        InputStream in = imageCache.getInputStream(key);
+        if (in == null) {
+            InputStream download = openImage(urlStr);
+            try {
+                in = ImageCache.newInputStream(imageCache.put(key, download));
+            } finally {
+                IOUtilities.close(download);
+            }
+        }
+        return in;
+    }
+
+    private InputStream openImage(String urlStr) throws IOException {
         URL url = new URL(urlStr);
         HttpURLConnection conn = (HttpURLConnection) url.openConnection();
         if (transport instanceof REST) {
@@ -1517,12 +1378,6 @@ public class PhotosInterface {
             }
         }
         conn.connect();
-        InputStream in = null;
-        try {
-            in = conn.getInputStream();
-            return ImageIO.read(in);
-        } finally {
-            IOUtilities.close(in);
-        }
+        return conn.getInputStream();
     }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photos;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.aetrion.flickr.FlickrFuture;
+import com.aetrion.flickr.util.DaemonThreadFactory;
+
+/**
+ * Downloads and decodes images of many photos concurrently, each fitted
+ * into a maximum size.<p>
+ *
+ * Decoding runs on a fixed number of threads, which bounds the number of
+ * images in memory at the same time. Each image is decoded straight from the
+ * download to its target size, see
+ * {@link PhotosInterface#getImage(Photo, int, int, int)}.
+ *
+ * <pre>
+ * PreviewLoader loader = new PreviewLoader(flickr.getPhotosInterface(), 4);
+ * List previews = loader.loadAll(photos, Size.MEDIUM, 160, 160);
+ * loader.shutdown();
+ * </pre>
+ *
+ * @author Anthony Eden
+ */
+public class PreviewLoader {
+
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    private PhotosInterface photosInterface;
+    private ExecutorService executor;
+
+    private int loadedCount = 0;
+    private int failedCount = 0;
+
+    public PreviewLoader(PhotosInterface photosInterface) {
+        this(photosInterface, DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * @param photosInterface The PhotosInterface which downloads the images
+     * @param concurrency The maximum number of images decoded at the same time
+     */
+    public PreviewLoader(PhotosInterface photosInterface, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be at least 1");
+        }
+        this.photosInterface = photosInterface;
+        this.executor = Executors.newFixedThreadPool(concurrency, new DaemonThreadFactory("decode"));
+    }
+
+    /**
+     * Load the image of a photo, fitted into the given size.<p>
+     *
+     * The FlickrFuture yields a BufferedImage, or null if the image format
+     * is not supported.
+     *
+     * @param photo The photo
+     * @param size One of the constants in {@link Size}
+     * @param maxWidth The maximum width
+     * @param maxHeight The maximum height
+     * @return The FlickrFuture
+     */
+    public FlickrFuture load(Photo photo, int size, int maxWidth, int maxHeight) {
+        FlickrFuture future = new FlickrFuture(new LoadCall(photo, size, maxWidth, maxHeight));
+        executor.execute(future);
+        return future;
+    }
+
+    /**
+     * Load the images of photos and wait until all are decoded. An image
+     * which cannot be loaded is null in the result.
+     *
+     * @param photos The photos
+     * @param size One of the constants in {@link Size}
+     * @param maxWidth The maximum width
+     * @param maxHeight The maximum height
+     * @return The BufferedImages, in the order of the photos
+     * @throws InterruptedException
+     */
+    public List loadAll(Collection photos, int size, int maxWidth, int maxHeight)
+      throws InterruptedException {
+        List futures = new ArrayList(photos.size());
+        Iterator iter = photos.iterator();
+        while (iter.hasNext()) {
+            futures.add(load((Photo) iter.next(), size, maxWidth, maxHeight));
+        }
+        List images = new ArrayList(futures.size());
+        iter = futures.iterator();
+        while (iter.hasNext()) {
+            try {
+                images.add(((FlickrFuture) iter.next()).get());
+            } catch (ExecutionException e) {
+                images.add(null);
+            }
+        }
+        return images;
+    }
+
+    /**
+     * Stop the decode threads once the scheduled images are done.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public synchronized int getLoadedCount() {
+        return loadedCount;
+    }
+
+    public synchronized int getFailedCount() {
+        return failedCount;
+    }
+
+    private synchronized void completed(boolean loaded) {
+        if (loaded) {
+            loadedCount++;
+        } else {
+            failedCount++;
+        }
+    }
+
+    private class LoadCall implements Callable {
+
+        private Photo photo;
+        private int size;
+        private int maxWidth;
+        private int maxHeight;
+
+        LoadCall(Photo photo, int size, int maxWidth, int maxHeight) {
+            this.photo = photo;
+            this.size = size;
+            this.maxWidth = maxWidth;
+            this.maxHeight = maxHeight;
+        }
+
+        public Object call() throws Exception {
+            boolean loaded = false;
+            try {
+                Object image = photosInterface.getImage(photo, size, maxWidth, maxHeight);
+                loaded = image != null;
+                return image;
+            } finally {
+                completed(loaded);
+            }
+        }
+
+    }
+
+}
@@ -5,7 +5,6 @@ package com.aetrion.flickr.photos;
 
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -13,7 +12,7 @@ import java.util.Set;
 import java.util.Vector;
 
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.util.StringUtilities;
 
 /**
@@ -437,127 +436,127 @@ public class SearchParameters {
     }
 
     public Collection getAsParameters() {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
 
         String lat = getLatitude();
         if (lat != null) {
-            parameters.add(new Parameter("lat", lat));
+            parameters.add("lat", lat);
         }
 
         String lon = getLongitude();
         if (lon != null) {
-            parameters.add(new Parameter("lon", lon));
+            parameters.add("lon", lon);
         }
 
         int radius = getRadius();
         if (radius > 0) {
-            parameters.add(new Parameter("radius", radius));
+            parameters.add("radius", radius);
         }
 
         String radiusUnits = getRadiusUnits();
         if (radiusUnits != null) {
-            parameters.add(new Parameter("radius_units", radiusUnits));
+            parameters.add("radius_units", radiusUnits);
         }
 
         String media = getMedia();
         if (media != null) {
-            parameters.add(new Parameter("media", media));
+            parameters.add("media", media);
         }
 
         String userId = getUserId();
         if (userId != null) {
-            parameters.add(new Parameter("user_id", userId));
+            parameters.add("user_id", userId);
             String contacts = getContacts();
             if (contacts != null) {
-                parameters.add(new Parameter("contacts", contacts));
+                parameters.add("contacts", contacts);
             }
         }
 
         String groupId = getGroupId();
         if (groupId != null) {
-            parameters.add(new Parameter("group_id", groupId));
+            parameters.add("group_id", groupId);
         }
 
         String[] tags = getTags();
         if (tags != null) {
-            parameters.add(new Parameter("tags", StringUtilities.join(tags, ",")));
+            parameters.add("tags", StringUtilities.join(tags, ","));
         }
 
         String tagMode = getTagMode();
         if (tagMode != null) {
-            parameters.add(new Parameter("tag_mode", tagMode));
+            parameters.add("tag_mode", tagMode);
         }
 
         String[] mtags = getMachineTags();
         if (mtags != null) {
-        	parameters.add(new Parameter("machine_tags", StringUtilities.join(mtags, ",")));
+        	parameters.add("machine_tags", StringUtilities.join(mtags, ","));
         }
 
         String mtagMode = getMachineTagMode();
         if (mtagMode != null) {
-            parameters.add(new Parameter("machine_tag_mode", mtagMode));
+            parameters.add("machine_tag_mode", mtagMode);
         }
 
         String text = getText();
         if (text != null) {
-            parameters.add(new Parameter("text", text));
+            parameters.add("text", text);
         }
 
         Date minUploadDate = getMinUploadDate();
         if (minUploadDate != null) {
-            parameters.add(new Parameter("min_upload_date", new Long(minUploadDate.getTime() / 1000L)));
+            parameters.add("min_upload_date", minUploadDate.getTime() / 1000L);
         }
 
         Date maxUploadDate = getMaxUploadDate();
         if (maxUploadDate != null) {
-            parameters.add(new Parameter("max_upload_date", new Long(maxUploadDate.getTime() / 1000L)));
+            parameters.add("max_upload_date", maxUploadDate.getTime() / 1000L);
         }
 
         Date minTakenDate = getMinTakenDate();
         if (minTakenDate != null) {
-            parameters.add(new Parameter("min_taken_date", ((DateFormat)MYSQL_DATE_FORMATS.get()).format(minTakenDate)));
+            parameters.add("min_taken_date", ((DateFormat)MYSQL_DATE_FORMATS.get()).format(minTakenDate));
         }
 
         Date maxTakenDate = getMaxTakenDate();
         if (maxTakenDate != null) {
-            parameters.add(new Parameter("max_taken_date", ((DateFormat)MYSQL_DATE_FORMATS.get()).format(maxTakenDate)));
+            parameters.add("max_taken_date", ((DateFormat)MYSQL_DATE_FORMATS.get()).format(maxTakenDate));
         }
 
         String license = getLicense();
         if (license != null) {
-            parameters.add(new Parameter("license", license));
+            parameters.add("license", license);
         }
 
         Date intrestingnessDate = getInterestingnessDate();
         if (intrestingnessDate != null) {
-            parameters.add(new Parameter("date", ((DateFormat)DATE_FORMATS.get()).format(intrestingnessDate)));
+            parameters.add("date", ((DateFormat)DATE_FORMATS.get()).format(intrestingnessDate));
         }
 
         String[] bbox = getBBox();
         if (bbox != null) {
-            parameters.add(new Parameter("bbox", StringUtilities.join(bbox, ",")));
+            parameters.add("bbox", StringUtilities.join(bbox, ","));
             if (accuracy > 0) {
-                parameters.add(new Parameter("accuracy", accuracy));
+                parameters.add("accuracy", accuracy);
             }
         } else {
             String woeId = getWoeId();
             if (woeId != null) {
-                parameters.add(new Parameter("woe_id", woeId));
+                parameters.add("woe_id", woeId);
             }
         }
 
         String safeSearch = getSafeSearch();
         if (safeSearch != null) {
-            parameters.add(new Parameter("safe_search", safeSearch));
+            parameters.add("safe_search", safeSearch);
         }
 
         boolean hasGeo = getHasGeo();
         if (hasGeo) {
-            parameters.add(new Parameter("has_geo", "true"));
+            parameters.add("has_geo", "true");
         }
 
         if (extras != null && !extras.isEmpty()) {
-            parameters.add(new Parameter("extras", StringUtilities.join(extras, ",")));
+            parameters.add("extras", StringUtilities.join(extras, ","));
         }
 
         if (sort != DATE_POSTED_DESC) {
@@ -568,7 +567,7 @@ public class SearchParameters {
             if(sort == INTERESTINGNESS_DESC) sortArg = "interestingness-desc";
             if(sort == INTERESTINGNESS_ASC) sortArg = "interestingness-asc";
             if(sort == RELEVANCE) sortArg = "relevance";
-            if(sortArg != null) parameters.add(new Parameter("sort", sortArg));
+            if(sortArg != null) parameters.add("sort", sortArg);
         }
 
         return parameters;
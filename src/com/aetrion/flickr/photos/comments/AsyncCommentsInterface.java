@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photos.comments;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link CommentsInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncCommentsInterface()
+ */
+public class AsyncCommentsInterface {
+
+    private CommentsInterface commentsInterface;
+    private Executor executor;
+
+    public AsyncCommentsInterface(CommentsInterface commentsInterface, Executor executor) {
+        this.commentsInterface = commentsInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see CommentsInterface#addComment(String, String)
+     */
+    public FlickrFuture addComment(final String photoId, final String commentText) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return commentsInterface.addComment(photoId, commentText);
+            }
+        });
+    }
+
+    /**
+     * @see CommentsInterface#deleteComment(String)
+     */
+    public FlickrFuture deleteComment(final String commentId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                commentsInterface.deleteComment(commentId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see CommentsInterface#editComment(String, String)
+     */
+    public FlickrFuture editComment(final String commentId, final String commentText) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                commentsInterface.editComment(commentId, commentText);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see CommentsInterface#getList(String)
+     */
+    public FlickrFuture getList(final String photoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return commentsInterface.getList(photoId);
+            }
+        });
+    }
+
+    /**
+     * @see CommentsInterface#getRecentForContacts(Date, ArrayList, Set, int, int)
+     */
+    public FlickrFuture getRecentForContacts(
+        final Date lastComment,
+        final ArrayList contactsFilter,
+        final Set extras,
+        final int perPage,
+        final int page
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return commentsInterface.getRecentForContacts(lastComment, contactsFilter, extras, perPage, page);
+            }
+        });
+    }
+
+}
@@ -10,14 +10,13 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
-import com.aetrion.flickr.RequestContext;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
 import com.aetrion.flickr.photos.PhotoList;
-import com.aetrion.flickr.photos.PhotoUtils;
 import com.aetrion.flickr.photos.PhotosInterface;
 import com.aetrion.flickr.util.StringUtilities;
 import com.aetrion.flickr.util.XMLUtilities;
@@ -38,15 +37,26 @@ public class CommentsInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public CommentsInterface(
         String apiKey,
         String sharedSecret,
         Transport transport
+    ) {
+        this(apiKey, sharedSecret, transport, null);
+    }
+
+    public CommentsInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transport,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transport;
+        this.context = context;
     }
 
     /**
@@ -62,18 +72,13 @@ public class CommentsInterface {
      * @throws FlickrException
      */
     public String addComment(String photoId, String commentText) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_ADD_COMMENT));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_ADD_COMMENT);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(new Parameter("comment_text", commentText));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("photo_id", photoId);
+        parameters.add("comment_text", commentText);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         //Note: This method requires an HTTP POST request.
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
@@ -95,17 +100,12 @@ public class CommentsInterface {
      * @throws FlickrException
      */
     public void deleteComment(String commentId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_DELETE_COMMENT));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_DELETE_COMMENT);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("comment_id", commentId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("comment_id", commentId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         //Note: This method requires an HTTP POST request.
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
@@ -128,18 +128,13 @@ public class CommentsInterface {
      * @throws FlickrException
      */
     public void editComment(String commentId, String commentText) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_EDIT_COMMENT));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_EDIT_COMMENT);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("comment_id", commentId));
-        parameters.add(new Parameter("comment_text", commentText));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("comment_id", commentId);
+        parameters.add("comment_text", commentText);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         //Note: This method requires an HTTP POST request.
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
@@ -163,10 +158,10 @@ public class CommentsInterface {
      */
     public List getList(String photoId)
       throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_LIST));
-        parameters.add(new Parameter("api_key", apiKey));
-        parameters.add(new Parameter("photo_id", photoId));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_LIST);
+        parameters.add("api_key", apiKey);
+        parameters.add("photo_id", photoId);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -225,51 +220,30 @@ public class CommentsInterface {
      * @throws SAXException
      */
     public PhotoList getRecentForContacts(Date lastComment, ArrayList contactsFilter, Set extras, int perPage, int page) throws FlickrException, IOException, SAXException {
-        PhotoList photos = new PhotoList();
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", PhotosInterface.METHOD_GET_NOT_IN_SET));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", PhotosInterface.METHOD_GET_NOT_IN_SET);
+        parameters.add("api_key", apiKey);
 
         if (lastComment != null) {
-            parameters.add(new Parameter("last_comment", String.valueOf(lastComment.getTime() / 1000L)));
+            parameters.add("last_comment", String.valueOf(lastComment.getTime() / 1000L));
         }
 
         if (extras != null && !extras.isEmpty()) {
-            parameters.add(new Parameter("extras", StringUtilities.join(extras, ",")));
+            parameters.add("extras", StringUtilities.join(extras, ","));
         }
 
         if (contactsFilter != null && !contactsFilter.isEmpty()) {
-            parameters.add(new Parameter("contacts_filter", StringUtilities.join(contactsFilter, ",")));
+            parameters.add("contacts_filter", StringUtilities.join(contactsFilter, ","));
         }
 
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", page));
+            parameters.add("page", page);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
-        Response response = transportAPI.get(transportAPI.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        photos.setPage(photosElement.getAttribute("page"));
-        photos.setPages(photosElement.getAttribute("pages"));
-        photos.setPerPage(photosElement.getAttribute("perpage"));
-        photos.setTotal(photosElement.getAttribute("total"));
-
-        NodeList photoElements = photosElement.getElementsByTagName("photo");
-        for (int i = 0; i < photoElements.getLength(); i++) {
-            Element photoElement = (Element) photoElements.item(i);
-            photos.add(PhotoUtils.createPhoto(photoElement));
-        }
-        return photos;
+        return transportAPI.getPhotoList(transportAPI.getPath(), parameters);
     }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photos.geo;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+import com.aetrion.flickr.photos.GeoData;
+
+/**
+ * Asynchronous access to the methods of {@link GeoInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncGeoInterface()
+ */
+public class AsyncGeoInterface {
+
+    private GeoInterface geoInterface;
+    private Executor executor;
+
+    public AsyncGeoInterface(GeoInterface geoInterface, Executor executor) {
+        this.geoInterface = geoInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see GeoInterface#getLocation(String)
+     */
+    public FlickrFuture getLocation(final String photoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return geoInterface.getLocation(photoId);
+            }
+        });
+    }
+
+    /**
+     * @see GeoInterface#getPerms(String)
+     */
+    public FlickrFuture getPerms(final String photoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return geoInterface.getPerms(photoId);
+            }
+        });
+    }
+
+    /**
+     * @see GeoInterface#removeLocation(String)
+     */
+    public FlickrFuture removeLocation(final String photoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                geoInterface.removeLocation(photoId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see GeoInterface#setLocation(String, GeoData)
+     */
+    public FlickrFuture setLocation(final String photoId, final GeoData location) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                geoInterface.setLocation(photoId, location);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see GeoInterface#setPerms(String, GeoPermissions)
+     */
+    public FlickrFuture setPerms(final String photoId, final GeoPermissions perms) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                geoInterface.setPerms(photoId, perms);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see GeoInterface#batchCorrectLocation(GeoData, String, String)
+     */
+    public FlickrFuture batchCorrectLocation(
+        final GeoData location,
+        final String placeId,
+        final String woeId
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                geoInterface.batchCorrectLocation(location, placeId, woeId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see GeoInterface#correctLocation(String, String, String)
+     */
+    public FlickrFuture correctLocation(final String photoId, final String placeId, final String woeId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                geoInterface.correctLocation(photoId, placeId, woeId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see GeoInterface#photosForLocation(GeoData, Set, int, int)
+     */
+    public FlickrFuture photosForLocation(
+        final GeoData location,
+        final Set extras,
+        final int perPage,
+        final int page
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return geoInterface.photosForLocation(location, extras, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see GeoInterface#setContext(String, int)
+     */
+    public FlickrFuture setContext(final String photoId, final int context) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                geoInterface.setContext(photoId, context);
+                return null;
+            }
+        });
+    }
+
+}
@@ -1,22 +1,20 @@
 package com.aetrion.flickr.photos.geo;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
 import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
 import com.aetrion.flickr.photos.GeoData;
 import com.aetrion.flickr.photos.PhotoList;
-import com.aetrion.flickr.photos.PhotoUtils;
 import com.aetrion.flickr.util.StringUtilities;
 import com.aetrion.flickr.util.XMLUtilities;
 
@@ -40,15 +38,26 @@ public class GeoInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transport;
+    private CallContext context;
 
     public GeoInterface(
         String apiKey,
         String sharedSecret,
         Transport transport
+    ) {
+        this(apiKey, sharedSecret, transport, null);
+    }
+
+    public GeoInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transport,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transport = transport;
+        this.context = context;
     }
 
     /**
@@ -64,10 +73,10 @@ public class GeoInterface {
      * or if any other error has been reported in the response.
      */
     public GeoData getLocation(String photoId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_LOCATION));
-        parameters.add(new Parameter("api_key", apiKey));
-        parameters.add(new Parameter("photo_id", photoId));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_LOCATION);
+        parameters.add("api_key", apiKey);
+        parameters.add("photo_id", photoId);
 
         Response response = transport.get(transport.getPath(), parameters);
         if (response.isError()) {
@@ -106,16 +115,11 @@ public class GeoInterface {
      * or if any other error has been reported in the response.
      */
     public GeoPermissions getPerms(String photoId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_PERMS));
-        parameters.add(new Parameter("api_key", apiKey));
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_PERMS);
+        parameters.add("api_key", apiKey);
+        parameters.add("photo_id", photoId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.get(transport.getPath(), parameters);
         if (response.isError()) {
@@ -144,16 +148,11 @@ public class GeoInterface {
      * @throws FlickrException
      */
     public void removeLocation(String photoId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_REMOVE_LOCATION));
-        parameters.add(new Parameter("api_key", apiKey));
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_REMOVE_LOCATION);
+        parameters.add("api_key", apiKey);
+        parameters.add("photo_id", photoId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         // Note: This method requires an HTTP POST request.
         Response response = transport.post(transport.getPath(), parameters);
@@ -180,23 +179,18 @@ public class GeoInterface {
      * @throws FlickrException 
      */
     public void setLocation(String photoId, GeoData location) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_SET_LOCATION));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_SET_LOCATION);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(new Parameter("lat", String.valueOf(location.getLatitude())));
-        parameters.add(new Parameter("lon", String.valueOf(location.getLongitude())));
+        parameters.add("photo_id", photoId);
+        parameters.add("lat", String.valueOf(location.getLatitude()));
+        parameters.add("lon", String.valueOf(location.getLongitude()));
         int accuracy = location.getAccuracy();
         if (accuracy > 0) {
-            parameters.add(new Parameter("accuracy", String.valueOf(location.getAccuracy())));
+            parameters.add("accuracy", String.valueOf(location.getAccuracy()));
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         // Note: This method requires an HTTP POST request.
         Response response = transport.post(transport.getPath(), parameters);
@@ -219,20 +213,15 @@ public class GeoInterface {
      * @throws FlickrException 
      */
     public void setPerms(String photoId, GeoPermissions perms) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_SET_PERMS));
-        parameters.add(new Parameter("api_key", apiKey));
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(new Parameter("is_public", perms.isPublic() ? "1" : "0"));
-        parameters.add(new Parameter("is_contact", perms.isContact() ? "1" : "0"));
-        parameters.add(new Parameter("is_friend", perms.isFriend() ? "1" : "0"));
-        parameters.add(new Parameter("is_family", perms.isFamily() ? "1" : "0"));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_SET_PERMS);
+        parameters.add("api_key", apiKey);
+        parameters.add("photo_id", photoId);
+        parameters.add("is_public", perms.isPublic() ? "1" : "0");
+        parameters.add("is_contact", perms.isContact() ? "1" : "0");
+        parameters.add("is_friend", perms.isFriend() ? "1" : "0");
+        parameters.add("is_family", perms.isFamily() ? "1" : "0");
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         // Note: This method requires an HTTP POST request.
         Response response = transport.post(transport.getPath(), parameters);
@@ -262,25 +251,20 @@ public class GeoInterface {
         String placeId,
         String woeId
     ) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_BATCH_CORRECT_LOCATION));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_BATCH_CORRECT_LOCATION);
+        parameters.add("api_key", apiKey);
 
         if (placeId != null) {
-            parameters.add(new Parameter("place_id", placeId));
+            parameters.add("place_id", placeId);
         }
         if (woeId != null) {
-            parameters.add(new Parameter("woe_id", woeId));
+            parameters.add("woe_id", woeId);
         }
-        parameters.add(new Parameter("lat", location.getLatitude()));
-        parameters.add(new Parameter("lon", location.getLongitude()));
-        parameters.add(new Parameter("accuracy", location.getAccuracy()));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("lat", location.getLatitude());
+        parameters.add("lon", location.getLongitude());
+        parameters.add("accuracy", location.getAccuracy());
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         // Note: This method requires an HTTP POST request.
         Response response = transport.post(transport.getPath(), parameters);
@@ -305,23 +289,18 @@ public class GeoInterface {
         String placeId,
         String woeId
     ) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_CORRECT_LOCATION));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_CORRECT_LOCATION);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
+        parameters.add("photo_id", photoId);
         if (placeId != null) {
-            parameters.add(new Parameter("place_id", placeId));
+            parameters.add("place_id", placeId);
         }
         if (woeId != null) {
-            parameters.add(new Parameter("woe_id", woeId));
+            parameters.add("woe_id", woeId);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         // Note: This method requires an HTTP POST request.
         Response response = transport.post(transport.getPath(), parameters);
@@ -351,39 +330,23 @@ public class GeoInterface {
         Set extras,
         int perPage, int page
     ) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        PhotoList photos = new PhotoList();
-        parameters.add(new Parameter("method", METHOD_PHOTOS_FOR_LOCATION));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_PHOTOS_FOR_LOCATION);
+        parameters.add("api_key", apiKey);
 
         if (extras.size() > 0) {
-            parameters.add(new Parameter("extras", StringUtilities.join(extras, ",")));
+            parameters.add("extras", StringUtilities.join(extras, ","));
         }
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", perPage));
+            parameters.add("per_page", perPage);
         }
         if (page > 0) {
-            parameters.add(new Parameter("page", page));
+            parameters.add("page", page);
         }
-        parameters.add(new Parameter("lat", location.getLatitude()));
-        parameters.add(new Parameter("lon", location.getLongitude()));
-        parameters.add(new Parameter("accuracy", location.getAccuracy()));
-        Response response = transport.get(transport.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        Element photosElement = response.getPayload();
-        photos.setPage(photosElement.getAttribute("page"));
-        photos.setPages(photosElement.getAttribute("pages"));
-        photos.setPerPage(photosElement.getAttribute("perpage"));
-        photos.setTotal(photosElement.getAttribute("total"));
-
-        NodeList photoElements = photosElement.getElementsByTagName("photo");
-        for (int i = 0; i < photoElements.getLength(); i++) {
-            Element photoElement = (Element) photoElements.item(i);
-            photos.add(PhotoUtils.createPhoto(photoElement));
-        }
-        return photos;
+        parameters.add("lat", location.getLatitude());
+        parameters.add("lon", location.getLongitude());
+        parameters.add("accuracy", location.getAccuracy());
+        return transport.getPhotoList(transport.getPath(), parameters);
     }
 
     /**
@@ -402,18 +365,13 @@ public class GeoInterface {
         String photoId,
         int context
     ) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_SET_CONTEXT));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(new Parameter("context", "" + context));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_SET_CONTEXT);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photo_id", photoId);
+        parameters.add("context", context);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, this.context));
 
         // Note: This method requires an HTTP POST request.
         Response response = transport.post(transport.getPath(), parameters);
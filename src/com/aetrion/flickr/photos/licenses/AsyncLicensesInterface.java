@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photos.licenses;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link LicensesInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncLicensesInterface()
+ */
+public class AsyncLicensesInterface {
+
+    private LicensesInterface licensesInterface;
+    private Executor executor;
+
+    public AsyncLicensesInterface(LicensesInterface licensesInterface, Executor executor) {
+        this.licensesInterface = licensesInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see LicensesInterface#getInfo()
+     */
+    public FlickrFuture getInfo() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return licensesInterface.getInfo();
+            }
+        });
+    }
+
+    /**
+     * @see LicensesInterface#setLicense(String, int)
+     */
+    public FlickrFuture setLicense(final String photoId, final int licenseId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                licensesInterface.setLicense(photoId, licenseId);
+                return null;
+            }
+        });
+    }
+
+}
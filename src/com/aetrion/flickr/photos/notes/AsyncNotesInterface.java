@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photos.notes;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+import com.aetrion.flickr.photos.Note;
+
+/**
+ * Asynchronous access to the methods of {@link NotesInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncNotesInterface()
+ */
+public class AsyncNotesInterface {
+
+    private NotesInterface notesInterface;
+    private Executor executor;
+
+    public AsyncNotesInterface(NotesInterface notesInterface, Executor executor) {
+        this.notesInterface = notesInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see NotesInterface#add(String, Note)
+     */
+    public FlickrFuture add(final String photoId, final Note note) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return notesInterface.add(photoId, note);
+            }
+        });
+    }
+
+    /**
+     * @see NotesInterface#delete(String)
+     */
+    public FlickrFuture delete(final String noteId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                notesInterface.delete(noteId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see NotesInterface#edit(Note)
+     */
+    public FlickrFuture edit(final Note note) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                notesInterface.edit(note);
+                return null;
+            }
+        });
+    }
+
+}
@@ -6,11 +6,11 @@ package com.aetrion.flickr.photos.notes;
 
 import java.awt.Rectangle;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -30,15 +30,26 @@ public class NotesInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public NotesInterface(
         String apiKey,
         String sharedSecret,
         Transport transportAPI
+    ) {
+        this(apiKey, sharedSecret, transportAPI, null);
+    }
+
+    public NotesInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transportAPI,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transportAPI;
+        this.context = context;
     }
 
     /**
@@ -49,28 +60,23 @@ public class NotesInterface {
      * @return The updated Note object
      */
     public Note add(String photoId, Note note) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_ADD));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_ADD);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
+        parameters.add("photo_id", photoId);
         Rectangle bounds = note.getBounds();
         if (bounds != null) {
-            parameters.add(new Parameter("note_x", String.valueOf(bounds.x)));
-            parameters.add(new Parameter("note_y", String.valueOf(bounds.y)));
-            parameters.add(new Parameter("note_w", String.valueOf(bounds.width)));
-            parameters.add(new Parameter("note_h", String.valueOf(bounds.height)));
+            parameters.add("note_x", String.valueOf(bounds.x));
+            parameters.add("note_y", String.valueOf(bounds.y));
+            parameters.add("note_w", String.valueOf(bounds.width));
+            parameters.add("note_h", String.valueOf(bounds.height));
         }
         String text = note.getText();
         if (text != null) {
-            parameters.add(new Parameter("note_text", text));
+            parameters.add("note_text", text);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -91,17 +97,12 @@ public class NotesInterface {
      * @throws FlickrException
      */
     public void delete(String noteId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_DELETE));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("note_id", noteId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_DELETE);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("note_id", noteId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -118,28 +119,23 @@ public class NotesInterface {
      * @throws FlickrException
      */
     public void edit(Note note) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_EDIT));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_EDIT);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("note_id", note.getId()));
+        parameters.add("note_id", note.getId());
         Rectangle bounds = note.getBounds();
         if (bounds != null) {
-            parameters.add(new Parameter("note_x", String.valueOf(bounds.x)));
-            parameters.add(new Parameter("note_y", String.valueOf(bounds.y)));
-            parameters.add(new Parameter("note_w", String.valueOf(bounds.width)));
-            parameters.add(new Parameter("note_h", String.valueOf(bounds.height)));
+            parameters.add("note_x", String.valueOf(bounds.x));
+            parameters.add("note_y", String.valueOf(bounds.y));
+            parameters.add("note_w", String.valueOf(bounds.width));
+            parameters.add("note_h", String.valueOf(bounds.height));
         }
         String text = note.getText();
         if (text != null) {
-            parameters.add(new Parameter("note_text", text));
+            parameters.add("note_text", text);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
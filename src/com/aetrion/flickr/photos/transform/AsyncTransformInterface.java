@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photos.transform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link TransformInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncTransformInterface()
+ */
+public class AsyncTransformInterface {
+
+    private TransformInterface transformInterface;
+    private Executor executor;
+
+    public AsyncTransformInterface(TransformInterface transformInterface, Executor executor) {
+        this.transformInterface = transformInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see TransformInterface#rotate(String, int)
+     */
+    public FlickrFuture rotate(final String photoId, final int degrees) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                transformInterface.rotate(photoId, degrees);
+                return null;
+            }
+        });
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photos.upload;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link UploadInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncUploadInterface()
+ */
+public class AsyncUploadInterface {
+
+    private UploadInterface uploadInterface;
+    private Executor executor;
+
+    public AsyncUploadInterface(UploadInterface uploadInterface, Executor executor) {
+        this.uploadInterface = uploadInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see UploadInterface#checkTickets(Set)
+     */
+    public FlickrFuture checkTickets(final Set tickets) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return uploadInterface.checkTickets(tickets);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photos.upload;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.aetrion.flickr.FlickrException;
+import com.aetrion.flickr.FlickrFuture;
+import com.aetrion.flickr.util.DaemonThreadFactory;
+
+/**
+ * Tracks the tickets of asynchronous uploads and polls them in batches.<p>
+ *
+ * Tickets from any number of uploads are collected and checked together,
+ * up to the batch size per call to
+ * {@link UploadInterface#checkTickets(Set)}. The interval between polls
+ * doubles, up to the maximum interval, while no ticket completes, and is
+ * halved again, down to the minimum interval, when tickets complete.
+ * Polling stops while no ticket is outstanding. A ticket which Flickr
+ * leaves out of its answer to {@link #setMaxMissedChecks(int) a number of}
+ * successful checks is no longer known and fails as expired.<p>
+ *
+ * The FlickrFuture returned by {@link #track(String)} yields the photo id
+ * once the upload is processed, or throws a FlickrException if the upload
+ * failed or the ticket is invalid.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getTicketPoller()
+ */
+public class TicketPoller {
+
+    public static final long DEFAULT_MIN_INTERVAL = 2000;
+    public static final long DEFAULT_MAX_INTERVAL = 60000;
+    public static final int DEFAULT_BATCH_SIZE = 200;
+    public static final int DEFAULT_MAX_MISSED_CHECKS = 3;
+
+    private UploadInterface uploadInterface;
+    private ScheduledExecutorService scheduler;
+    /** TicketFutures by ticket id, in order of arrival. */
+    private Map tickets = new LinkedHashMap();
+
+    private long minInterval = DEFAULT_MIN_INTERVAL;
+    private long maxInterval = DEFAULT_MAX_INTERVAL;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int maxMissedChecks = DEFAULT_MAX_MISSED_CHECKS;
+    private long interval;
+    private boolean scheduled = false;
+    private boolean shutdown = false;
+
+    private long pollCount = 0;
+    private long callCount = 0;
+    private long failedCallCount = 0;
+
+    public TicketPoller(UploadInterface uploadInterface) {
+        this.uploadInterface = uploadInterface;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("ticket-poller"));
+    }
+
+    /**
+     * Track a ticket returned by an asynchronous upload.
+     *
+     * @param ticketId The ticket id
+     * @return A FlickrFuture yielding the photo id
+     */
+    public synchronized FlickrFuture track(String ticketId) {
+        if (shutdown) {
+            throw new IllegalStateException("TicketPoller is shut down");
+        }
+        TicketFuture future = (TicketFuture) tickets.get(ticketId);
+        if (future == null) {
+            future = new TicketFuture();
+            tickets.put(ticketId, future);
+        }
+        if (!scheduled) {
+            interval = minInterval;
+            schedule();
+        }
+        return future;
+    }
+
+    /**
+     * Stop polling. Outstanding futures are cancelled.
+     */
+    public void shutdown() {
+        List outstanding;
+        synchronized (this) {
+            shutdown = true;
+            outstanding = new ArrayList(tickets.values());
+            tickets.clear();
+        }
+        scheduler.shutdownNow();
+        Iterator iter = outstanding.iterator();
+        while (iter.hasNext()) {
+            ((TicketFuture) iter.next()).cancel(false);
+        }
+    }
+
+    public synchronized void setMinInterval(long minInterval) {
+        this.minInterval = minInterval;
+    }
+
+    public synchronized void setMaxInterval(long maxInterval) {
+        this.maxInterval = maxInterval;
+    }
+
+    /**
+     * @param batchSize The maximum number of tickets checked with one call
+     */
+    public synchronized void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param maxMissedChecks The number of checks a ticket may be missing
+     *     from the answer before it fails as expired
+     */
+    public synchronized void setMaxMissedChecks(int maxMissedChecks) {
+        if (maxMissedChecks < 1) {
+            throw new IllegalArgumentException("maxMissedChecks must be at least 1");
+        }
+        this.maxMissedChecks = maxMissedChecks;
+    }
+
+    /**
+     * @return The number of tickets which are not processed yet
+     */
+    public synchronized int getPendingCount() {
+        return tickets.size();
+    }
+
+    /**
+     * @return The number of polls, each checking all outstanding tickets
+     */
+    public synchronized long getPollCount() {
+        return pollCount;
+    }
+
+    /**
+     * @return The number of calls to checkTickets
+     */
+    public synchronized long getCallCount() {
+        return callCount;
+    }
+
+    /**
+     * @return The number of calls to checkTickets which failed and are retried with the next poll
+     */
+    public synchronized long getFailedCallCount() {
+        return failedCallCount;
+    }
+
+    /**
+     * @return The interval until the next poll in milliseconds
+     */
+    public synchronized long getInterval() {
+        return interval;
+    }
+
+    private void schedule() {
+        scheduled = true;
+        scheduler.schedule(new Poll(), interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Check all outstanding tickets and complete the processed ones.
+     */
+    private void poll() {
+        boolean progress = false;
+        try {
+            progress = checkTickets();
+        } finally {
+            synchronized (this) {
+                scheduled = false;
+                if (progress) {
+                    interval = Math.max(minInterval, interval / 2);
+                } else {
+                    interval = Math.min(maxInterval, interval * 2);
+                }
+                if (!shutdown && !tickets.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if a ticket was completed
+     */
+    private boolean checkTickets() {
+        List ids;
+        int size;
+        int maxMissed;
+        synchronized (this) {
+            pollCount++;
+            ids = new ArrayList(tickets.keySet());
+            size = batchSize;
+            maxMissed = maxMissedChecks;
+        }
+        boolean progress = false;
+        for (int i = 0; i < ids.size(); i += size) {
+            Set batch = new LinkedHashSet(ids.subList(i, Math.min(ids.size(), i + size)));
+            List results;
+            try {
+                results = uploadInterface.checkTickets(batch);
+                synchronized (this) {
+                    callCount++;
+                }
+            } catch (Exception e) {
+                synchronized (this) {
+                    callCount++;
+                    failedCallCount++;
+                }
+                // keep the tickets for the next poll
+                break;
+            }
+            Iterator iter = results.iterator();
+            while (iter.hasNext()) {
+                Ticket ticket = (Ticket) iter.next();
+                batch.remove(ticket.getTicketId());
+                if (ticket.isBusy() && !ticket.isInvalid()) {
+                    continue;
+                }
+                TicketFuture future;
+                synchronized (this) {
+                    future = (TicketFuture) tickets.remove(ticket.getTicketId());
+                }
+                if (future != null) {
+                    future.complete(ticket);
+                    progress = true;
+                }
+            }
+            // tickets Flickr did not answer for
+            iter = batch.iterator();
+            while (iter.hasNext()) {
+                String ticketId = (String) iter.next();
+                TicketFuture future;
+                synchronized (this) {
+                    future = (TicketFuture) tickets.get(ticketId);
+                    if (future == null || ++future.missedChecks < maxMissed) {
+                        continue;
+                    }
+                    tickets.remove(ticketId);
+                }
+                future.expire(ticketId);
+                progress = true;
+            }
+        }
+        return progress;
+    }
+
+    private class Poll implements Runnable {
+
+        public void run() {
+            poll();
+        }
+
+    }
+
+    /**
+     * A future completed by the poller instead of running a call.
+     */
+    private static class TicketFuture extends FlickrFuture {
+
+        /** Successful checks which left the ticket out, guarded by the poller. */
+        int missedChecks = 0;
+
+        void expire(String ticketId) {
+            setException(new FlickrException("expired", "Ticket " + ticketId + " is no longer known"));
+        }
+
+        void complete(Ticket ticket) {
+            if (ticket.isInvalid()) {
+                setException(new FlickrException("invalid", "Invalid ticket " + ticket.getTicketId()));
+            } else if (ticket.hasFailed()) {
+                setException(new FlickrException(String.valueOf(Ticket.FAILED), "Upload failed for ticket " + ticket.getTicketId()));
+            } else {
+                set(ticket.getPhotoId());
+            }
+        }
+
+    }
+
+}
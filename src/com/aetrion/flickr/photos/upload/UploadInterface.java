@@ -10,8 +10,9 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -28,16 +29,27 @@ public class UploadInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public UploadInterface(
         String apiKey,
         String sharedSecret,
         Transport transport
      ) {
+        this(apiKey, sharedSecret, transport, null);
+     }
+
+    public UploadInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transport,
+        CallContext context
+    ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transport;
-     }
+        this.context = context;
+    }
 
     /**
      * Checks the status of one or more asynchronous photo upload tickets.
@@ -50,9 +62,9 @@ public class UploadInterface {
      * @throws FlickrException
      */
     public List checkTickets(Set tickets) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_CHECK_TICKETS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_CHECK_TICKETS);
+        parameters.add("api_key", apiKey);
 
         StringBuffer sb = new StringBuffer();
         Iterator it = tickets.iterator();
@@ -67,13 +79,8 @@ public class UploadInterface {
                 sb.append(obj);
             }
         }
-        parameters.add(new Parameter("tickets", sb.toString()));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("tickets", sb.toString());
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -100,7 +107,8 @@ public class UploadInterface {
             Ticket info = new Ticket();
             info.setTicketId(id);
             info.setInvalid(invalid);
-            info.setStatus(Integer.parseInt(complete));
+            // invalid tickets come without a status
+            info.setStatus(complete.length() > 0 ? Integer.parseInt(complete) : Ticket.UNCOMPLETED);
             info.setPhotoId(photoId);
             list.add(info);
         }
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photosets;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link PhotosetsInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncPhotosetsInterface()
+ */
+public class AsyncPhotosetsInterface {
+
+    private PhotosetsInterface photosetsInterface;
+    private Executor executor;
+
+    public AsyncPhotosetsInterface(PhotosetsInterface photosetsInterface, Executor executor) {
+        this.photosetsInterface = photosetsInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see PhotosetsInterface#addPhoto(String, String)
+     */
+    public FlickrFuture addPhoto(final String photosetId, final String photoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosetsInterface.addPhoto(photosetId, photoId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosetsInterface#create(String, String, String)
+     */
+    public FlickrFuture create(final String title, final String description, final String primaryPhotoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosetsInterface.create(title, description, primaryPhotoId);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosetsInterface#delete(String)
+     */
+    public FlickrFuture delete(final String photosetId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosetsInterface.delete(photosetId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosetsInterface#editMeta(String, String, String)
+     */
+    public FlickrFuture editMeta(final String photosetId, final String title, final String description) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosetsInterface.editMeta(photosetId, title, description);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosetsInterface#editPhotos(String, String, String[])
+     */
+    public FlickrFuture editPhotos(
+        final String photosetId,
+        final String primaryPhotoId,
+        final String[] photoIds
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosetsInterface.editPhotos(photosetId, primaryPhotoId, photoIds);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosetsInterface#getContext(String, String)
+     */
+    public FlickrFuture getContext(final String photoId, final String photosetId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosetsInterface.getContext(photoId, photosetId);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosetsInterface#getInfo(String)
+     */
+    public FlickrFuture getInfo(final String photosetId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosetsInterface.getInfo(photosetId);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosetsInterface#getList(String)
+     */
+    public FlickrFuture getList(final String userId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosetsInterface.getList(userId);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosetsInterface#getPhotos(String, Set, int, int, int)
+     */
+    public FlickrFuture getPhotos(
+        final String photosetId,
+        final Set extras,
+        final int privacy_filter,
+        final int perPage,
+        final int page
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosetsInterface.getPhotos(photosetId, extras, privacy_filter, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosetsInterface#getPhotos(String, int, int)
+     */
+    public FlickrFuture getPhotos(final String photosetId, final int perPage, final int page) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosetsInterface.getPhotos(photosetId, perPage, page);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosetsInterface#orderSets(String[])
+     */
+    public FlickrFuture orderSets(final String[] photosetIds) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosetsInterface.orderSets(photosetIds);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosetsInterface#removePhoto(String, String)
+     */
+    public FlickrFuture removePhoto(final String photosetId, final String photoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosetsInterface.removePhoto(photosetId, photoId);
+                return null;
+            }
+        });
+    }
+
+}
@@ -14,9 +14,10 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.Flickr;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -25,7 +26,6 @@ import com.aetrion.flickr.photos.Extras;
 import com.aetrion.flickr.photos.Photo;
 import com.aetrion.flickr.photos.PhotoContext;
 import com.aetrion.flickr.photos.PhotoList;
-import com.aetrion.flickr.photos.PhotoUtils;
 import com.aetrion.flickr.util.StringUtilities;
 import com.aetrion.flickr.util.XMLUtilities;
 
@@ -52,15 +52,26 @@ public class PhotosetsInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public PhotosetsInterface(
         String apiKey,
         String sharedSecret,
         Transport transportAPI
+    ) {
+        this(apiKey, sharedSecret, transportAPI, null);
+    }
+
+    public PhotosetsInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transportAPI,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transportAPI;
+        this.context = context;
     }
 
     /**
@@ -72,18 +83,13 @@ public class PhotosetsInterface {
      * @param photoId The photo ID
      */
     public void addPhoto(String photosetId, String photoId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_ADD_PHOTO));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photoset_id", photosetId));
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_ADD_PHOTO);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photoset_id", photosetId);
+        parameters.add("photo_id", photoId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -104,19 +110,14 @@ public class PhotosetsInterface {
      */
     public Photoset create(String title, String description, String primaryPhotoId)
             throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_CREATE));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("title", title));
-        parameters.add(new Parameter("description", description));
-        parameters.add(new Parameter("primary_photo_id", primaryPhotoId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_CREATE);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("title", title);
+        parameters.add("description", description);
+        parameters.add("primary_photo_id", primaryPhotoId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -138,17 +139,12 @@ public class PhotosetsInterface {
      * @throws FlickrException
      */
     public void delete(String photosetId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_DELETE));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photoset_id", photosetId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_DELETE);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photoset_id", photosetId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -168,21 +164,16 @@ public class PhotosetsInterface {
      */
     public void editMeta(String photosetId, String title, String description)
             throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_EDIT_META));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_EDIT_META);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photoset_id", photosetId));
-        parameters.add(new Parameter("title", title));
+        parameters.add("photoset_id", photosetId);
+        parameters.add("title", title);
         if (description != null) {
-            parameters.add(new Parameter("description", description));
+            parameters.add("description", description);
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -202,19 +193,14 @@ public class PhotosetsInterface {
      */
     public void editPhotos(String photosetId, String primaryPhotoId, String[] photoIds)
             throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_EDIT_PHOTOS));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photoset_id", photosetId));
-        parameters.add(new Parameter("primary_photo_id", primaryPhotoId));
-        parameters.add(new Parameter("photo_ids", StringUtilities.join(photoIds, ",")));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_EDIT_PHOTOS);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photoset_id", photosetId);
+        parameters.add("primary_photo_id", primaryPhotoId);
+        parameters.add("photo_ids", StringUtilities.join(photoIds, ","));
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -236,20 +222,15 @@ public class PhotosetsInterface {
      */
     public PhotoContext getContext(String photoId, String photosetId)
             throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_CONTEXT));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(new Parameter("photoset_id", photosetId));
-
-        if (AuthUtilities.isAuthenticated(parameters)) {
-            parameters.add(
-                new Parameter(
-                    "api_sig",
-                    AuthUtilities.getSignature(sharedSecret, parameters)
-                )
-            );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_CONTEXT);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photo_id", photoId);
+        parameters.add("photoset_id", photosetId);
+
+        if (AuthUtilities.isAuthenticated(parameters, context)) {
+            parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
         }
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
@@ -291,19 +272,14 @@ public class PhotosetsInterface {
      * @throws SAXException
      */
     public Photoset getInfo(String photosetId) throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_INFO));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photoset_id", photosetId));
-
-        if (AuthUtilities.isAuthenticated(parameters)) {
-            parameters.add(
-                new Parameter(
-                    "api_sig",
-                    AuthUtilities.getSignature(sharedSecret, parameters)
-                )
-            );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_INFO);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photoset_id", photosetId);
+
+        if (AuthUtilities.isAuthenticated(parameters, context)) {
+            parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
         }
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
@@ -353,20 +329,15 @@ public class PhotosetsInterface {
      * @throws FlickrException
      */
     public Photosets getList(String userId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_LIST));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_LIST);
+        parameters.add("api_key", apiKey);
 
         if (userId != null) {
-            parameters.add(new Parameter("user_id", userId));
+            parameters.add("user_id", userId);
         }
-        if (AuthUtilities.isAuthenticated(parameters)) {
-            parameters.add(
-                new Parameter(
-                    "api_sig",
-                    AuthUtilities.getSignature(sharedSecret, parameters)
-                )
-            );
+        if (AuthUtilities.isAuthenticated(parameters, context)) {
+            parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
         }
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
@@ -433,55 +404,32 @@ public class PhotosetsInterface {
     public PhotoList getPhotos(String photosetId, Set extras,
       int privacy_filter, int perPage, int page)
       throws IOException, SAXException, FlickrException {
-        PhotoList photos = new PhotoList();
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_PHOTOS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_PHOTOS);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photoset_id", photosetId));
+        parameters.add("photoset_id", photosetId);
 
         if (perPage > 0) {
-            parameters.add(new Parameter("per_page", new Integer(perPage)));
+            parameters.add("per_page", new Integer(perPage));
         }
 
         if (page > 0) {
-            parameters.add(new Parameter("page", new Integer(page)));
+            parameters.add("page", new Integer(page));
         }
 
         if (privacy_filter > 0) {
-            parameters.add(new Parameter("privacy_filter", "" + privacy_filter));
+            parameters.add("privacy_filter", privacy_filter);
         }
 
         if (extras != null && !extras.isEmpty()) {
-            parameters.add(new Parameter(Extras.KEY_EXTRAS, StringUtilities.join(extras, ",")));
+            parameters.add(Extras.KEY_EXTRAS, StringUtilities.join(extras, ","));
         }
-        if (AuthUtilities.isAuthenticated(parameters)) {
-            parameters.add(
-                new Parameter(
-                    "api_sig",
-                    AuthUtilities.getSignature(sharedSecret, parameters)
-                )
-            );
+        if (AuthUtilities.isAuthenticated(parameters, context)) {
+            parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
         }
 
-        Response response = transportAPI.get(transportAPI.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-
-        Element photoset = response.getPayload();
-        NodeList photoElements = photoset.getElementsByTagName("photo");
-        photos.setPage(photoset.getAttribute("page"));
-        photos.setPages(photoset.getAttribute("pages"));
-        photos.setPerPage(photoset.getAttribute("per_page"));
-        photos.setTotal(photoset.getAttribute("total"));
-
-        for (int i = 0; i < photoElements.getLength(); i++) {
-            Element photoElement = (Element) photoElements.item(i);
-            photos.add(PhotoUtils.createPhoto(photoElement, photoset));
-        }
-
-        return photos;
+        return transportAPI.getPhotoList(transportAPI.getPath(), parameters);
     }
 
     /**
@@ -522,18 +470,13 @@ public class PhotosetsInterface {
      * @throws FlickrException
      */
     public void orderSets(String[] photosetIds) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_ORDER_SETS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_ORDER_SETS);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photoset_ids", StringUtilities.join(photosetIds, ",")));
+        parameters.add("photoset_ids", StringUtilities.join(photosetIds, ","));
 
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -551,18 +494,13 @@ public class PhotosetsInterface {
      * @throws FlickrException
      */
     public void removePhoto(String photosetId, String photoId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_REMOVE_PHOTO));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("photoset_id", photosetId));
-        parameters.add(new Parameter("photo_id", photoId));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_REMOVE_PHOTO);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("photoset_id", photosetId);
+        parameters.add("photo_id", photoId);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.post(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.photosets.comments;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link PhotosetsCommentsInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncPhotosetsCommentsInterface()
+ */
+public class AsyncPhotosetsCommentsInterface {
+
+    private PhotosetsCommentsInterface photosetsCommentsInterface;
+    private Executor executor;
+
+    public AsyncPhotosetsCommentsInterface(PhotosetsCommentsInterface photosetsCommentsInterface, Executor executor) {
+        this.photosetsCommentsInterface = photosetsCommentsInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see PhotosetsCommentsInterface#addComment(String, String)
+     */
+    public FlickrFuture addComment(final String photosetId, final String commentText) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosetsCommentsInterface.addComment(photosetId, commentText);
+            }
+        });
+    }
+
+    /**
+     * @see PhotosetsCommentsInterface#deleteComment(String)
+     */
+    public FlickrFuture deleteComment(final String commentId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosetsCommentsInterface.deleteComment(commentId);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosetsCommentsInterface#editComment(String, String)
+     */
+    public FlickrFuture editComment(final String commentId, final String commentText) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                photosetsCommentsInterface.editComment(commentId, commentText);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @see PhotosetsCommentsInterface#getList(String)
+     */
+    public FlickrFuture getList(final String photosetId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return photosetsCommentsInterface.getList(photosetId);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.places;
+
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link PlacesInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncPlacesInterface()
+ */
+public class AsyncPlacesInterface {
+
+    private PlacesInterface placesInterface;
+    private Executor executor;
+
+    public AsyncPlacesInterface(PlacesInterface placesInterface, Executor executor) {
+        this.placesInterface = placesInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see PlacesInterface#find(String)
+     */
+    public FlickrFuture find(final String query) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.find(query);
+            }
+        });
+    }
+
+    /**
+     * @see PlacesInterface#findByLatLon(double, double, int)
+     */
+    public FlickrFuture findByLatLon(final double latitude, final double longitude, final int accuracy) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.findByLatLon(latitude, longitude, accuracy);
+            }
+        });
+    }
+
+    /**
+     * @see PlacesInterface#getChildrenWithPhotosPublic(String, String)
+     */
+    public FlickrFuture getChildrenWithPhotosPublic(final String placeId, final String woeId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.getChildrenWithPhotosPublic(placeId, woeId);
+            }
+        });
+    }
+
+    /**
+     * @see PlacesInterface#getInfo(String, String)
+     */
+    public FlickrFuture getInfo(final String placeId, final String woeId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.getInfo(placeId, woeId);
+            }
+        });
+    }
+
+    /**
+     * @see PlacesInterface#getInfoByUrl(String)
+     */
+    public FlickrFuture getInfoByUrl(final String url) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.getInfoByUrl(url);
+            }
+        });
+    }
+
+    /**
+     * @see PlacesInterface#getPlaceTypes()
+     */
+    public FlickrFuture getPlaceTypes() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.getPlaceTypes();
+            }
+        });
+    }
+
+    /**
+     * @see PlacesInterface#getShapeHistory(String, String)
+     */
+    public FlickrFuture getShapeHistory(final String placeId, final String woeId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.getShapeHistory(placeId, woeId);
+            }
+        });
+    }
+
+    /**
+     * @see PlacesInterface#getTopPlacesList(int, Date, String, String)
+     */
+    public FlickrFuture getTopPlacesList(
+        final int placeType,
+        final Date date,
+        final String placeId,
+        final String woeId
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.getTopPlacesList(placeType, date, placeId, woeId);
+            }
+        });
+    }
+
+    /**
+     * @see PlacesInterface#placesForBoundingBox(int, String)
+     */
+    public FlickrFuture placesForBoundingBox(final int placeType, final String bbox) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.placesForBoundingBox(placeType, bbox);
+            }
+        });
+    }
+
+    /**
+     * @see PlacesInterface#placesForContacts(int, String, String, String, String)
+     */
+    public FlickrFuture placesForContacts(
+        final int placeType,
+        final String placeId,
+        final String woeId,
+        final String threshold,
+        final String contacts
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.placesForContacts(placeType, placeId, woeId, threshold, contacts);
+            }
+        });
+    }
+
+    /**
+     * @see PlacesInterface#placesForTags(int, String, String, String, String[], String, String, String, Date, Date, Date, Date)
+     */
+    public FlickrFuture placesForTags(
+        final int placeTypeId,
+        final String woeId,
+        final String placeId,
+        final String threshold,
+        final String[] tags,
+        final String tagMode,
+        final String machineTags,
+        final String machineTagMode,
+        final Date minUploadDate,
+        final Date maxUploadDate,
+        final Date minTakenDate,
+        final Date maxTakenDate
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.placesForTags(placeTypeId, woeId, placeId, threshold, tags, tagMode, machineTags, machineTagMode, minUploadDate, maxUploadDate, minTakenDate, maxTakenDate);
+            }
+        });
+    }
+
+    /**
+     * @see PlacesInterface#placesForUser(int, String, String, String, Date, Date, Date, Date)
+     */
+    public FlickrFuture placesForUser(
+        final int placeType,
+        final String woeId,
+        final String placeId,
+        final String threshold,
+        final Date minUploadDate,
+        final Date maxUploadDate,
+        final Date minTakenDate,
+        final Date maxTakenDate
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.placesForUser(placeType, woeId, placeId, threshold, minUploadDate, maxUploadDate, minTakenDate, maxTakenDate);
+            }
+        });
+    }
+
+    /**
+     * @see PlacesInterface#resolvePlaceId(String)
+     * @deprecated Use {@link #getInfo(String, String)} instead.
+     */
+    public FlickrFuture resolvePlaceId(final String placeId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.resolvePlaceId(placeId);
+            }
+        });
+    }
+
+    /**
+     * @see PlacesInterface#resolvePlaceURL(String)
+     * @deprecated Use {@link #getInfoByUrl(String)} instead.
+     */
+    public FlickrFuture resolvePlaceURL(final String flickrPlacesUrl) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.resolvePlaceURL(flickrPlacesUrl);
+            }
+        });
+    }
+
+    /**
+     * @see PlacesInterface#tagsForPlace(String, String, Date, Date, Date, Date)
+     */
+    public FlickrFuture tagsForPlace(
+        final String woeId,
+        final String placeId,
+        final Date minUploadDate,
+        final Date maxUploadDate,
+        final Date minTakenDate,
+        final Date maxTakenDate
+    ) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return placesInterface.tagsForPlace(woeId, placeId, minUploadDate, maxUploadDate, minTakenDate, maxTakenDate);
+            }
+        });
+    }
+
+}
@@ -10,8 +10,9 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -116,11 +117,17 @@ public class PlacesInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     public PlacesInterface(String apiKey, String sharedSecret, Transport transportAPI) {
+        this(apiKey, sharedSecret, transportAPI, null);
+    }
+
+    public PlacesInterface(String apiKey, String sharedSecret, Transport transportAPI, CallContext context) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transportAPI;
+        this.context = context;
     }
 
     /**
@@ -143,12 +150,12 @@ public class PlacesInterface {
      */
     public PlacesList find(String query)
       throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         PlacesList placesList = new PlacesList();
-        parameters.add(new Parameter("method", METHOD_FIND));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_FIND);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("query", query));
+        parameters.add("query", query);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -228,21 +235,16 @@ public class PlacesInterface {
         double longitude,
         int accuracy
     ) throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         PlacesList placesList = new PlacesList();
-        parameters.add(new Parameter("method", METHOD_FIND_BY_LATLON));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("lat", "" + latitude));
-        parameters.add(new Parameter("lon", "" + longitude));
-        parameters.add(new Parameter("accuracy", "" + accuracy));
-
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("method", METHOD_FIND_BY_LATLON);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("lat", "" + latitude);
+        parameters.add("lon", "" + longitude);
+        parameters.add("accuracy", accuracy);
+
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -276,16 +278,16 @@ public class PlacesInterface {
      */
     public PlacesList getChildrenWithPhotosPublic(String placeId, String woeId)
       throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         PlacesList placesList = new PlacesList();
-        parameters.add(new Parameter("method", METHOD_GET_CHILDREN_WITH_PHOTOS_PUBLIC));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_GET_CHILDREN_WITH_PHOTOS_PUBLIC);
+        parameters.add("api_key", apiKey);
 
         if (placeId != null) {
-            parameters.add(new Parameter("place_id", placeId));
+            parameters.add("place_id", placeId);
         }
         if (woeId != null) {
-            parameters.add(new Parameter("woe_id", woeId));
+            parameters.add("woe_id", woeId);
         }
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
@@ -319,16 +321,16 @@ public class PlacesInterface {
      */
     public Location getInfo(String placeId, String woeId)
       throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         Location loc = new Location();
-        parameters.add(new Parameter("method", METHOD_GET_INFO));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_GET_INFO);
+        parameters.add("api_key", apiKey);
 
         if (placeId != null) {
-            parameters.add(new Parameter("place_id", placeId));
+            parameters.add("place_id", placeId);
         }
         if (woeId != null) {
-            parameters.add(new Parameter("woe_id", woeId));
+            parameters.add("woe_id", woeId);
         }
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
@@ -352,12 +354,12 @@ public class PlacesInterface {
      */
     public Location getInfoByUrl(String url)
       throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         Location loc = new Location();
-        parameters.add(new Parameter("method", METHOD_GET_INFO_BY_URL));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_GET_INFO_BY_URL);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("url", url));
+        parameters.add("url", url);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -379,10 +381,10 @@ public class PlacesInterface {
      */
     public ArrayList getPlaceTypes()
       throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         PlacesList placesList = new PlacesList();
-        parameters.add(new Parameter("method", METHOD_GET_PLACETYPES));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_GET_PLACETYPES);
+        parameters.add("api_key", apiKey);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -419,16 +421,16 @@ public class PlacesInterface {
      */
     public ArrayList getShapeHistory(String placeId, String woeId) throws FlickrException, IOException, SAXException {
         ArrayList shapeList = new ArrayList();
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         Location loc = new Location();
-        parameters.add(new Parameter("method", METHOD_GET_SHAPEHISTORY));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_GET_SHAPEHISTORY);
+        parameters.add("api_key", apiKey);
 
         if (placeId != null) {
-            parameters.add(new Parameter("place_id", placeId));
+            parameters.add("place_id", placeId);
         }
         if (woeId != null) {
-            parameters.add(new Parameter("woe_id", woeId));
+            parameters.add("woe_id", woeId);
         }
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
@@ -459,20 +461,20 @@ public class PlacesInterface {
         String placeId,
         String woeId
     ) throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         PlacesList placesList = new PlacesList();
-        parameters.add(new Parameter("method", METHOD_GET_TOP_PLACES_LIST));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_GET_TOP_PLACES_LIST);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("place_type", intPlaceTypeToString(placeType)));
+        parameters.add("place_type", intPlaceTypeToString(placeType));
         if (placeId != null) {
-            parameters.add(new Parameter("place_id", placeId));
+            parameters.add("place_id", placeId);
         }
         if (woeId != null) {
-            parameters.add(new Parameter("woe_id", woeId));
+            parameters.add("woe_id", woeId);
         }
         if (date != null) {
-            parameters.add(new Parameter("date", ((DateFormat) SearchParameters.DATE_FORMATS.get()).format(date)));
+            parameters.add("date", ((DateFormat) SearchParameters.DATE_FORMATS.get()).format(date));
         }
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
@@ -518,13 +520,13 @@ public class PlacesInterface {
         int placeType,
         String bbox
     ) throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         PlacesList placesList = new PlacesList();
-        parameters.add(new Parameter("method", METHOD_PLACES_FOR_BOUNDINGBOX));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_PLACES_FOR_BOUNDINGBOX);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("place_type", intPlaceTypeToString(placeType)));
-        parameters.add(new Parameter("bbox", bbox));
+        parameters.add("place_type", intPlaceTypeToString(placeType));
+        parameters.add("bbox", bbox);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -563,31 +565,26 @@ public class PlacesInterface {
         String threshold,
         String contacts
     ) throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         PlacesList placesList = new PlacesList();
-        parameters.add(new Parameter("method", METHOD_PLACES_FOR_CONTACTS));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_PLACES_FOR_CONTACTS);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("place_type", intPlaceTypeToString(placeType)));
+        parameters.add("place_type", intPlaceTypeToString(placeType));
         if (placeId != null) {
-            parameters.add(new Parameter("place_id", placeId));
+            parameters.add("place_id", placeId);
         }
         if (woeId != null) {
-            parameters.add(new Parameter("woe_id", woeId));
+            parameters.add("woe_id", woeId);
         }
         if (threshold != null) {
-            parameters.add(new Parameter("threshold", threshold));
+            parameters.add("threshold", threshold);
         }
         if (contacts != null) {
-            parameters.add(new Parameter("contacts", contacts));
+            parameters.add("contacts", contacts);
         }
 
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
             throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
@@ -640,44 +637,44 @@ public class PlacesInterface {
         Date minUploadDate, Date maxUploadDate,
         Date minTakenDate, Date maxTakenDate
     ) throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         PlacesList placesList = new PlacesList();
-        parameters.add(new Parameter("method", METHOD_PLACES_FOR_TAGS));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_PLACES_FOR_TAGS);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("place_type_id", placeTypeId));
+        parameters.add("place_type_id", placeTypeId);
         if (woeId != null) {
-            parameters.add(new Parameter("woe_id", woeId));
+            parameters.add("woe_id", woeId);
         }
         if (placeId != null) {
-            parameters.add(new Parameter("place_id", placeId));
+            parameters.add("place_id", placeId);
         }
         if (threshold != null) {
-            parameters.add(new Parameter("threshold", threshold));
+            parameters.add("threshold", threshold);
         }
         if (tags != null) {
-            parameters.add(new Parameter("tags", StringUtilities.join(tags, ",")));
+            parameters.add("tags", StringUtilities.join(tags, ","));
         }
         if (tagMode != null) {
-            parameters.add(new Parameter("tag_mode", tagMode));
+            parameters.add("tag_mode", tagMode);
         }
         if (machineTags != null) {
-            parameters.add(new Parameter("machine_tags", machineTags));
+            parameters.add("machine_tags", machineTags);
         }
         if (machineTagMode != null) {
-            parameters.add(new Parameter("machine_tag_mode", machineTagMode));
+            parameters.add("machine_tag_mode", machineTagMode);
         }
         if (minUploadDate != null) {
-            parameters.add(new Parameter("min_upload_date", new Long(minUploadDate.getTime() / 1000L)));
+            parameters.add("min_upload_date", minUploadDate.getTime() / 1000L);
         }
         if (maxUploadDate != null) {
-            parameters.add(new Parameter("max_upload_date", new Long(maxUploadDate.getTime() / 1000L)));
+            parameters.add("max_upload_date", maxUploadDate.getTime() / 1000L);
         }
         if (minTakenDate != null) {
-            parameters.add(new Parameter("min_taken_date", ((DateFormat) SearchParameters.MYSQL_DATE_FORMATS.get()).format(minTakenDate)));
+            parameters.add("min_taken_date", ((DateFormat) SearchParameters.MYSQL_DATE_FORMATS.get()).format(minTakenDate));
         }
         if (maxTakenDate != null) {
-            parameters.add(new Parameter("max_taken_date", ((DateFormat) SearchParameters.MYSQL_DATE_FORMATS.get()).format(maxTakenDate)));
+            parameters.add("max_taken_date", ((DateFormat) SearchParameters.MYSQL_DATE_FORMATS.get()).format(maxTakenDate));
         }
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
@@ -721,40 +718,35 @@ public class PlacesInterface {
         Date minUploadDate, Date maxUploadDate,
         Date minTakenDate, Date maxTakenDate
     ) throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         PlacesList placesList = new PlacesList();
-        parameters.add(new Parameter("method", METHOD_PLACES_FOR_USER));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_PLACES_FOR_USER);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("place_type", intPlaceTypeToString(placeType)));
+        parameters.add("place_type", intPlaceTypeToString(placeType));
         if (placeId != null) {
-            parameters.add(new Parameter("place_id", placeId));
+            parameters.add("place_id", placeId);
         }
         if (woeId != null) {
-            parameters.add(new Parameter("woe_id", woeId));
+            parameters.add("woe_id", woeId);
         }
         if (threshold != null) {
-            parameters.add(new Parameter("threshold", threshold));
+            parameters.add("threshold", threshold);
         }
         if (minUploadDate != null) {
-            parameters.add(new Parameter("min_upload_date", new Long(minUploadDate.getTime() / 1000L)));
+            parameters.add("min_upload_date", minUploadDate.getTime() / 1000L);
         }
         if (maxUploadDate != null) {
-            parameters.add(new Parameter("max_upload_date", new Long(maxUploadDate.getTime() / 1000L)));
+            parameters.add("max_upload_date", maxUploadDate.getTime() / 1000L);
         }
         if (minTakenDate != null) {
-            parameters.add(new Parameter("min_taken_date", ((DateFormat) SearchParameters.MYSQL_DATE_FORMATS.get()).format(minTakenDate)));
+            parameters.add("min_taken_date", ((DateFormat) SearchParameters.MYSQL_DATE_FORMATS.get()).format(minTakenDate));
         }
         if (maxTakenDate != null) {
-            parameters.add(new Parameter("max_taken_date", ((DateFormat) SearchParameters.MYSQL_DATE_FORMATS.get()).format(maxTakenDate)));
+            parameters.add("max_taken_date", ((DateFormat) SearchParameters.MYSQL_DATE_FORMATS.get()).format(maxTakenDate));
         }
 
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
             throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
@@ -784,18 +776,13 @@ public class PlacesInterface {
      */
     public Location resolvePlaceId(String placeId)
       throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_RESOLVE_PLACE_ID));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_RESOLVE_PLACE_ID);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("place_id", placeId));
+        parameters.add("place_id", placeId);
 
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -820,18 +807,13 @@ public class PlacesInterface {
      */
     public Location resolvePlaceURL(String flickrPlacesUrl)
       throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_RESOLVE_PLACE_URL));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_RESOLVE_PLACE_URL);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("url", flickrPlacesUrl));
+        parameters.add("url", flickrPlacesUrl);
 
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -864,28 +846,28 @@ public class PlacesInterface {
         Date minUploadDate, Date maxUploadDate,
         Date minTakenDate, Date maxTakenDate
     ) throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        ParameterList parameters = new ParameterList();
         ArrayList tagsList = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_TAGS_FOR_PLACE));
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("method", METHOD_TAGS_FOR_PLACE);
+        parameters.add("api_key", apiKey);
 
         if (woeId != null) {
-            parameters.add(new Parameter("woe_id", woeId));
+            parameters.add("woe_id", woeId);
         }
         if (placeId != null) {
-            parameters.add(new Parameter("place_id", placeId));
+            parameters.add("place_id", placeId);
         }
         if (minUploadDate != null) {
-            parameters.add(new Parameter("min_upload_date", new Long(minUploadDate.getTime() / 1000L)));
+            parameters.add("min_upload_date", minUploadDate.getTime() / 1000L);
         }
         if (maxUploadDate != null) {
-            parameters.add(new Parameter("max_upload_date", new Long(maxUploadDate.getTime() / 1000L)));
+            parameters.add("max_upload_date", maxUploadDate.getTime() / 1000L);
         }
         if (minTakenDate != null) {
-            parameters.add(new Parameter("min_taken_date", ((DateFormat) SearchParameters.MYSQL_DATE_FORMATS.get()).format(minTakenDate)));
+            parameters.add("min_taken_date", ((DateFormat) SearchParameters.MYSQL_DATE_FORMATS.get()).format(minTakenDate));
         }
         if (maxTakenDate != null) {
-            parameters.add(new Parameter("max_taken_date", ((DateFormat) SearchParameters.MYSQL_DATE_FORMATS.get()).format(maxTakenDate)));
+            parameters.add("max_taken_date", ((DateFormat) SearchParameters.MYSQL_DATE_FORMATS.get()).format(maxTakenDate));
         }
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.prefs;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link PrefsInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncPrefsInterface()
+ */
+public class AsyncPrefsInterface {
+
+    private PrefsInterface prefsInterface;
+    private Executor executor;
+
+    public AsyncPrefsInterface(PrefsInterface prefsInterface, Executor executor) {
+        this.prefsInterface = prefsInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see PrefsInterface#getContentType()
+     */
+    public FlickrFuture getContentType() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return prefsInterface.getContentType();
+            }
+        });
+    }
+
+    /**
+     * @see PrefsInterface#getGeoPerms()
+     */
+    public FlickrFuture getGeoPerms() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return new Integer(prefsInterface.getGeoPerms());
+            }
+        });
+    }
+
+    /**
+     * @see PrefsInterface#getHidden()
+     */
+    public FlickrFuture getHidden() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return prefsInterface.getHidden() ? Boolean.TRUE : Boolean.FALSE;
+            }
+        });
+    }
+
+    /**
+     * @see PrefsInterface#getSafetyLevel()
+     */
+    public FlickrFuture getSafetyLevel() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return prefsInterface.getSafetyLevel();
+            }
+        });
+    }
+
+    /**
+     * @see PrefsInterface#getPrivacy()
+     */
+    public FlickrFuture getPrivacy() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return new Integer(prefsInterface.getPrivacy());
+            }
+        });
+    }
+
+}
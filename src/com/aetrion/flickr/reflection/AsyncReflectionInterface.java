@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.reflection;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link ReflectionInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncReflectionInterface()
+ */
+public class AsyncReflectionInterface {
+
+    private ReflectionInterface reflectionInterface;
+    private Executor executor;
+
+    public AsyncReflectionInterface(ReflectionInterface reflectionInterface, Executor executor) {
+        this.reflectionInterface = reflectionInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see ReflectionInterface#getMethodInfo(String)
+     */
+    public FlickrFuture getMethodInfo(final String methodName) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return reflectionInterface.getMethodInfo(methodName);
+            }
+        });
+    }
+
+    /**
+     * @see ReflectionInterface#getMethods()
+     */
+    public FlickrFuture getMethods() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return reflectionInterface.getMethods();
+            }
+        });
+    }
+
+}
@@ -8,8 +8,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -32,6 +33,7 @@ public class ReflectionInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transport;
+    private CallContext context;
 
     /**
      * Construct a ReflectionInterface.
@@ -44,10 +46,20 @@ public class ReflectionInterface {
         String apiKey,
         String sharedSecret,
         Transport transport
+    ) {
+        this(apiKey, sharedSecret, transport, null);
+    }
+
+    public ReflectionInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transport,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transport = transport;
+        this.context = context;
     }
 
     /**
@@ -60,17 +72,12 @@ public class ReflectionInterface {
      * @throws FlickrException
      */
     public Method getMethodInfo(String methodName) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_METHOD_INFO));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("method_name", methodName));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_METHOD_INFO);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("method_name", methodName);
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.get(transport.getPath(), parameters);
         if (response.isError()) {
@@ -187,16 +194,11 @@ public class ReflectionInterface {
      * @throws FlickrException
      */
     public Collection getMethods() throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_METHODS));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getSignature(sharedSecret, parameters)
-            )
-        );
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_METHODS);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("api_sig", AuthUtilities.getSignature(sharedSecret, parameters, context));
 
         Response response = transport.get(transport.getPath(), parameters);
         if (response.isError()) {
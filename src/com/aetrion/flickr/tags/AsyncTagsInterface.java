@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.tags;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link TagsInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncTagsInterface()
+ */
+public class AsyncTagsInterface {
+
+    private TagsInterface tagsInterface;
+    private Executor executor;
+
+    public AsyncTagsInterface(TagsInterface tagsInterface, Executor executor) {
+        this.tagsInterface = tagsInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see TagsInterface#getClusters(String)
+     */
+    public FlickrFuture getClusters(final String searchTag) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return tagsInterface.getClusters(searchTag);
+            }
+        });
+    }
+
+    /**
+     * @see TagsInterface#getClusterPhotos(String, String)
+     */
+    public FlickrFuture getClusterPhotos(final String tag, final String clusterId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return tagsInterface.getClusterPhotos(tag, clusterId);
+            }
+        });
+    }
+
+    /**
+     * @see TagsInterface#getHotList(String, int)
+     */
+    public FlickrFuture getHotList(final String period, final int count) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return tagsInterface.getHotList(period, count);
+            }
+        });
+    }
+
+    /**
+     * @see TagsInterface#getListPhoto(String)
+     */
+    public FlickrFuture getListPhoto(final String photoId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return tagsInterface.getListPhoto(photoId);
+            }
+        });
+    }
+
+    /**
+     * @see TagsInterface#getListUser(String)
+     */
+    public FlickrFuture getListUser(final String userId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return tagsInterface.getListUser(userId);
+            }
+        });
+    }
+
+    /**
+     * @see TagsInterface#getListUserPopular(String)
+     */
+    public FlickrFuture getListUserPopular(final String userId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return tagsInterface.getListUserPopular(userId);
+            }
+        });
+    }
+
+    /**
+     * @see TagsInterface#getListUserRaw(String)
+     */
+    public FlickrFuture getListUserRaw(final String tagVal) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return tagsInterface.getListUserRaw(tagVal);
+            }
+        });
+    }
+
+    /**
+     * @see TagsInterface#getRelated(String)
+     */
+    public FlickrFuture getRelated(final String tag) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return tagsInterface.getRelated(tag);
+            }
+        });
+    }
+
+}
@@ -13,14 +13,14 @@ import org.w3c.dom.NodeList;
 import org.w3c.dom.Text;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
 import com.aetrion.flickr.photos.Photo;
 import com.aetrion.flickr.photos.PhotoList;
-import com.aetrion.flickr.photos.PhotoUtils;
 import com.aetrion.flickr.util.XMLUtilities;
 
 /**
@@ -46,6 +46,7 @@ public class TagsInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transportAPI;
+    private CallContext context;
 
     /**
      * Construct a TagsInterface.
@@ -57,10 +58,20 @@ public class TagsInterface {
         String apiKey,
         String sharedSecret,
         Transport transportAPI
+    ) {
+        this(apiKey, sharedSecret, transportAPI, null);
+    }
+
+    public TagsInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transportAPI,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transportAPI = transportAPI;
+        this.context = context;
     }
 
     /**
@@ -74,11 +85,11 @@ public class TagsInterface {
      */
     public ClusterList getClusters(String searchTag)
       throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_CLUSTERS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_CLUSTERS);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("tag", searchTag));
+        parameters.add("tag", searchTag);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -117,29 +128,18 @@ public class TagsInterface {
      */
     public PhotoList getClusterPhotos(String tag, String clusterId)
       throws IOException, SAXException, FlickrException {
-        PhotoList photos = new PhotoList();
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_CLUSTER_PHOTOS));
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("tag", tag));
-        parameters.add(new Parameter("cluster_id", clusterId));
-
-        Response response = transportAPI.get(transportAPI.getPath(), parameters);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-
-        Element photosElement = response.getPayload();
-        NodeList photoNodes = photosElement.getElementsByTagName("photo");
-        photos.setPage("1");
-		photos.setPages("1");
-		photos.setPerPage("" + photoNodes.getLength());
-		photos.setTotal("" + photoNodes.getLength());
-        for (int i = 0; i < photoNodes.getLength(); i++) {
-            Element photoElement = (Element) photoNodes.item(i);
-            photos.add(PhotoUtils.createPhoto(photoElement));
-        }
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_CLUSTER_PHOTOS);
+        parameters.add("api_key", apiKey);
+
+        parameters.add("tag", tag);
+        parameters.add("cluster_id", clusterId);
+
+        PhotoList photos = transportAPI.getPhotoList(transportAPI.getPath(), parameters);
+        photos.setPage(1);
+        photos.setPages(1);
+        photos.setPerPage(photos.size());
+        photos.setTotal(photos.size());
         return photos;
     }
 
@@ -153,12 +153,12 @@ public class TagsInterface {
      * @return The collection of HotlistTag objects
      */
     public Collection getHotList(String period, int count) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_HOT_LIST));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_HOT_LIST);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("period", period));
-        parameters.add(new Parameter("count", "" + count));
+        parameters.add("period", period);
+        parameters.add("count", count);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -188,11 +188,11 @@ public class TagsInterface {
      * @return The collection of Tag objects
      */
     public Photo getListPhoto(String photoId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_LIST_PHOTO));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_LIST_PHOTO);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("photo_id", photoId));
+        parameters.add("photo_id", photoId);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -232,11 +232,11 @@ public class TagsInterface {
      * @throws FlickrException
      */
     public Collection getListUser(String userId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_LIST_USER));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_LIST_USER);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("user_id", userId));
+        parameters.add("user_id", userId);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -269,11 +269,11 @@ public class TagsInterface {
      * @throws FlickrException
      */
     public Collection getListUserPopular(String userId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_LIST_USER_POPULAR));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_LIST_USER_POPULAR);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("user_id", userId));
+        parameters.add("user_id", userId);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -307,12 +307,12 @@ public class TagsInterface {
      * @throws FlickrException
      */
     public Collection getListUserRaw(String tagVal) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_LIST_USER_RAW));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_LIST_USER_RAW);
+        parameters.add("api_key", apiKey);
 
         if (tagVal != null) {
-            parameters.add(new Parameter("tag", tagVal));
+            parameters.add("tag", tagVal);
         }
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
@@ -351,11 +351,11 @@ public class TagsInterface {
      * @throws FlickrException
      */
     public RelatedTagsList getRelated(String tag) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_RELATED));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_RELATED);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("tag", tag));
+        parameters.add("tag", tag);
 
         Response response = transportAPI.get(transportAPI.getPath(), parameters);
         if (response.isError()) {
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.test;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link TestInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncTestInterface()
+ */
+public class AsyncTestInterface {
+
+    private TestInterface testInterface;
+    private Executor executor;
+
+    public AsyncTestInterface(TestInterface testInterface, Executor executor) {
+        this.testInterface = testInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see TestInterface#echo(Collection)
+     */
+    public FlickrFuture echo(final Collection params) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return testInterface.echo(params);
+            }
+        });
+    }
+
+    /**
+     * @see TestInterface#login()
+     */
+    public FlickrFuture login() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return testInterface.login();
+            }
+        });
+    }
+
+    /**
+     * @see TestInterface#null_()
+     */
+    public FlickrFuture null_() {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                testInterface.null_();
+                return null;
+            }
+        });
+    }
+
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+
+package com.aetrion.flickr.uploader;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.aetrion.flickr.util.IOUtilities;
+
+/**
+ * An append-only log of the state of each file handed to the
+ * {@link UploadManager}.<p>
+ *
+ * Every change of state is appended as one line:
+ *
+ * <pre>
+ * time TAB state TAB id TAB length TAB lastModified TAB path
+ * </pre>
+ *
+ * where id is the photo id for {@link #DONE}, the ticket id for
+ * {@link #TICKET}, the error for {@link #FAILED} and - otherwise. On opening,
+ * the journal is read back and the last state of each file wins, so uploads
+ * interrupted by a crash are known as {@link #UPLOADING} and finished ones are
+ * not uploaded again. A torn last line is cut off. A file whose length or
+ * modification time differs from the recorded one counts as a new file.<p>
+ *
+ * The states which decide whether a file is uploaded again are synced to
+ * the disk before {@link #record(File, String, String)} returns. Lines
+ * superseded by a later state of the same file are dropped when the
+ * journal is opened, or with {@link #compact()}.
+ *
+ * @author Anthony Eden
+ */
+public class UploadJournal {
+
+    public static final String PENDING = "pending";
+    public static final String UPLOADING = "uploading";
+    public static final String TICKET = "ticket";
+    public static final String DONE = "done";
+    public static final String FAILED = "failed";
+
+    private static final String UTF8 = "UTF-8";
+
+    private File file;
+    private FileOutputStream out;
+    /** The last Entry by absolute path. */
+    private Map entries = new LinkedHashMap();
+    private int lineCount = 0;
+
+    /**
+     * Open a journal, reading back the entries already in the file.
+     *
+     * @param file The journal file, created if it does not exist
+     * @throws IOException
+     */
+    public UploadJournal(File file) throws IOException {
+        this.file = file;
+        if (file.exists()) {
+            truncateTornLine();
+            read();
+        }
+        out = new FileOutputStream(file, true);
+        if (lineCount > entries.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * @return The journal file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Record the state of a file.
+     *
+     * @param upload The uploaded file
+     * @param state One of the state constants
+     * @param id The photo id, ticket id or error, may be null
+     * @throws IOException
+     */
+    public synchronized void record(File upload, String state, String id) throws IOException {
+        if (out == null) {
+            throw new IOException("Journal is closed");
+        }
+        String path = upload.getAbsolutePath();
+        Entry entry = new Entry(
+            System.currentTimeMillis(), state, id == null ? null : clean(id),
+            upload.length(), upload.lastModified(), path
+        );
+        // known for the rest of the run, even if it can not be written
+        entries.put(path, entry);
+        out.write(entry.toLine().getBytes(UTF8));
+        out.flush();
+        if (!PENDING.equals(state) && !UPLOADING.equals(state)) {
+            out.getFD().sync();
+        }
+        lineCount++;
+    }
+
+    /**
+     * Get the last recorded state of a file.
+     *
+     * @param upload The file
+     * @return The state, null if the file was never recorded
+     */
+    public synchronized String getState(File upload) {
+        Entry entry = getEntry(upload);
+        return entry == null ? null : entry.state;
+    }
+
+    /**
+     * Get the id recorded with the last state of a file.
+     *
+     * @param upload The file
+     * @return The photo id, ticket id or error, null if there is none
+     */
+    public synchronized String getId(File upload) {
+        Entry entry = getEntry(upload);
+        return entry == null ? null : entry.id;
+    }
+
+    /**
+     * @param state One of the state constants
+     * @return The number of files whose last state is the given state
+     */
+    public synchronized int getCount(String state) {
+        int count = 0;
+        Iterator iter = entries.values().iterator();
+        while (iter.hasNext()) {
+            if (state.equals(((Entry) iter.next()).state)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Rewrite the journal with only the last line of each file. The new
+     * journal is written next to the old one and then renamed over it.
+     *
+     * @throws IOException
+     */
+    public synchronized void compact() throws IOException {
+        if (out == null) {
+            throw new IOException("Journal is closed");
+        }
+        File compacted = new File(file.getPath() + ".tmp");
+        FileOutputStream compactedOut = new FileOutputStream(compacted);
+        try {
+            StringBuffer lines = new StringBuffer();
+            Iterator iter = entries.values().iterator();
+            while (iter.hasNext()) {
+                lines.append(((Entry) iter.next()).toLine());
+            }
+            compactedOut.write(lines.toString().getBytes(UTF8));
+            compactedOut.getFD().sync();
+        } finally {
+            compactedOut.close();
+        }
+        out.close();
+        if (!compacted.renameTo(file) && !(file.delete() && compacted.renameTo(file))) {
+            out = new FileOutputStream(file, true);
+            throw new IOException("Cannot rename " + compacted + " to " + file);
+        }
+        out = new FileOutputStream(file, true);
+        lineCount = entries.size();
+    }
+
+    public synchronized void close() {
+        IOUtilities.close(out);
+        out = null;
+    }
+
+    /**
+     * The last entry of the file, unless the file has changed since.
+     */
+    private Entry getEntry(File upload) {
+        Entry entry = (Entry) entries.get(upload.getAbsolutePath());
+        if (entry == null || entry.length != upload.length() || entry.lastModified != upload.lastModified()) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Cut off a last line which was not completely written, so it does not
+     * run into the next record.
+     */
+    private void truncateTornLine() throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            long length = raf.length();
+            while (length > 0) {
+                raf.seek(length - 1);
+                if (raf.read() == '\n') {
+                    break;
+                }
+                length--;
+            }
+            if (length < raf.length()) {
+                raf.setLength(length);
+            }
+        } finally {
+            raf.close();
+        }
+    }
+
+    private void read() throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineCount++;
+                String[] fields = line.split("\t", 6);
+                if (fields.length < 6 || fields[5].length() == 0) {
+                    continue;
+                }
+                try {
+                    Entry entry = new Entry(
+                        Long.parseLong(fields[0]), fields[1], "-".equals(fields[2]) ? null : fields[2],
+                        Long.parseLong(fields[3]), Long.parseLong(fields[4]), fields[5]
+                    );
+                    entries.put(entry.path, entry);
+                } catch (NumberFormatException e) {
+                    // not a line of this journal
+                }
+            }
+        } finally {
+            IOUtilities.close(reader);
+        }
+    }
+
+    private String clean(String id) {
+        return id.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static class Entry {
+
+        final long time;
+        final String state;
+        final String id;
+        final long length;
+        final long lastModified;
+        final String path;
+
+        Entry(long time, String state, String id, long length, long lastModified, String path) {
+            this.time = time;
+            this.state = state;
+            this.id = id;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.path = path;
+        }
+
+        String toLine() {
+            StringBuffer line = new StringBuffer();
+            line.append(time).append('\t');
+            line.append(state).append('\t');
+            line.append(id == null ? "-" : id).append('\t');
+            line.append(length).append('\t');
+            line.append(lastModified).append('\t');
+            line.append(path).append('\n');
+            return line.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+
+package com.aetrion.flickr.uploader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.aetrion.flickr.FlickrException;
+import com.aetrion.flickr.FlickrFuture;
+import com.aetrion.flickr.photos.upload.TicketPoller;
+import com.aetrion.flickr.util.DaemonThreadFactory;
+
+/**
+ * Uploads many files with a bounded number of concurrent uploads.<p>
+ *
+ * Files are queued with {@link #add(File, UploadMetaData)} or
+ * {@link #addDirectory(File, UploadMetaData)} and uploaded in order of
+ * arrival. The state of each file is kept in an {@link UploadJournal}, so
+ * after a crash the same files can simply be added again: files already
+ * uploaded, or accepted with a ticket, are skipped. With a
+ * {@link TicketPoller} set, the tickets of asynchronous uploads are tracked
+ * and the photo id is recorded once Flickr has processed the upload, also
+ * for tickets left over from an earlier run.
+ *
+ * <pre>
+ * UploadManager manager = new UploadManager(
+ *     flickr.getUploader(), new UploadJournal(new File("upload.journal")), 4
+ * );
+ * manager.addDirectory(new File("photos"), metaData);
+ * manager.awaitCompletion();
+ * manager.shutdown();
+ * </pre>
+ *
+ * @author Anthony Eden
+ */
+public class UploadManager {
+
+    private static final double MEGABYTE = 1024 * 1024;
+
+    private Uploader uploader;
+    private UploadJournal journal;
+    private ExecutorService executor;
+    private TicketPoller ticketPoller;
+
+    /** Absolute paths of files queued or uploading. */
+    private Set active = new HashSet();
+
+    private int uploadedCount = 0;
+    private int failedCount = 0;
+    private int skippedCount = 0;
+    private int journalErrorCount = 0;
+    private long uploadedBytes = 0;
+    private long startTime = 0;
+    private long endTime = 0;
+
+    /**
+     * Construct an UploadManager.
+     *
+     * @param uploader The Uploader
+     * @param journal The journal recording the state of each file
+     * @param concurrency The maximum number of concurrent uploads
+     */
+    public UploadManager(Uploader uploader, UploadJournal journal, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be at least 1");
+        }
+        this.uploader = uploader;
+        this.journal = journal;
+        this.executor = new ThreadPoolExecutor(
+            concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue(), new DaemonThreadFactory("upload")
+        );
+    }
+
+    /**
+     * Queue a file for upload.
+     *
+     * @param file The file
+     * @param metaData The meta data, not changed while the upload is queued
+     * @return false if the file was skipped because it is done or already queued
+     * @throws IOException if the journal cannot be written
+     */
+    public boolean add(File file, UploadMetaData metaData) throws IOException {
+        String state = journal.getState(file);
+        long previousStartTime;
+        long previousEndTime;
+        synchronized (this) {
+            if (UploadJournal.DONE.equals(state) || UploadJournal.TICKET.equals(state)) {
+                skippedCount++;
+                if (UploadJournal.TICKET.equals(state) && ticketPoller != null) {
+                    // a ticket left over from an earlier run
+                    track(file, journal.getId(file));
+                }
+                return false;
+            }
+            if (!active.add(file.getAbsolutePath())) {
+                return false;
+            }
+            previousStartTime = startTime;
+            previousEndTime = endTime;
+            if (active.size() == 1 && endTime != 0) {
+                // idle time between batches does not count
+                startTime += System.currentTimeMillis() - endTime;
+                endTime = 0;
+            } else if (startTime == 0) {
+                startTime = System.currentTimeMillis();
+            }
+        }
+        try {
+            journal.record(file, UploadJournal.PENDING, null);
+            executor.execute(new Upload(file, metaData));
+        } catch (IOException e) {
+            abandon(file, previousStartTime, previousEndTime);
+            throw e;
+        } catch (RuntimeException e) {
+            // a RejectedExecutionException after shutdown
+            abandon(file, previousStartTime, previousEndTime);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Queue all files in a directory, in order of name. Subdirectories and
+     * hidden files are left out.
+     *
+     * @param directory The directory
+     * @param metaData The meta data for all files
+     * @return The number of files queued
+     * @throws IOException if the directory cannot be listed or the journal cannot be written
+     */
+    public int addDirectory(File directory, UploadMetaData metaData) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            throw new IOException("Cannot list " + directory);
+        }
+        Arrays.sort(files);
+        int count = 0;
+        for (int i = 0; i < files.length; i++) {
+            if (files[i].isFile() && !files[i].isHidden() && add(files[i], metaData)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Wait until all queued files are uploaded or failed.
+     *
+     * @throws InterruptedException
+     */
+    public synchronized void awaitCompletion() throws InterruptedException {
+        while (!active.isEmpty()) {
+            wait();
+        }
+    }
+
+    /**
+     * Stop the upload threads once the queued files are done and close the journal.
+     *
+     * @throws InterruptedException
+     */
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        journal.close();
+    }
+
+    public synchronized TicketPoller getTicketPoller() {
+        return ticketPoller;
+    }
+
+    /**
+     * Track the tickets of asynchronous uploads with the given poller and
+     * record the files as done, or failed, once they are processed.
+     *
+     * @param ticketPoller The TicketPoller, null to leave files at the ticket state
+     */
+    public synchronized void setTicketPoller(TicketPoller ticketPoller) {
+        this.ticketPoller = ticketPoller;
+    }
+
+    public UploadJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * @return The number of files queued or uploading
+     */
+    public synchronized int getPendingCount() {
+        return active.size();
+    }
+
+    public synchronized int getUploadedCount() {
+        return uploadedCount;
+    }
+
+    public synchronized int getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * @return The number of files skipped because the journal shows them as done
+     */
+    public synchronized int getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * @return The number of uploaded files whose new state could not be
+     *     written to the journal, which would be uploaded again by a later run
+     */
+    public synchronized int getJournalErrorCount() {
+        return journalErrorCount;
+    }
+
+    public synchronized long getUploadedBytes() {
+        return uploadedBytes;
+    }
+
+    /**
+     * @return Files uploaded per second while files were queued
+     */
+    public synchronized double getFilesPerSecond() {
+        long elapsed = getElapsedTime();
+        return elapsed == 0 ? 0 : uploadedCount * 1000.0 / elapsed;
+    }
+
+    /**
+     * @return Megabytes uploaded per second while files were queued
+     */
+    public synchronized double getMegabytesPerSecond() {
+        long elapsed = getElapsedTime();
+        return elapsed == 0 ? 0 : uploadedBytes / MEGABYTE * 1000.0 / elapsed;
+    }
+
+    private long getElapsedTime() {
+        if (startTime == 0) {
+            return 0;
+        }
+        return (endTime != 0 ? endTime : System.currentTimeMillis()) - startTime;
+    }
+
+    private void track(File file, String ticketId) {
+        FlickrFuture future = ticketPoller.track(ticketId);
+        future.addListener(new TicketListener(file, future));
+    }
+
+    /**
+     * Take back a file which could not be queued.
+     */
+    private synchronized void abandon(File file, long previousStartTime, long previousEndTime) {
+        active.remove(file.getAbsolutePath());
+        if (active.isEmpty()) {
+            startTime = previousStartTime;
+            endTime = previousEndTime;
+            notifyAll();
+        }
+    }
+
+    private synchronized void completed(File file, boolean uploaded, long length) {
+        if (uploaded) {
+            uploadedCount++;
+            uploadedBytes += length;
+        } else {
+            failedCount++;
+        }
+        active.remove(file.getAbsolutePath());
+        if (active.isEmpty()) {
+            endTime = System.currentTimeMillis();
+            notifyAll();
+        }
+    }
+
+    private class Upload implements Runnable {
+
+        private File file;
+        private UploadMetaData metaData;
+
+        Upload(File file, UploadMetaData metaData) {
+            this.file = file;
+            this.metaData = metaData;
+        }
+
+        public void run() {
+            boolean uploaded = false;
+            long length = file.length();
+            try {
+                String id;
+                try {
+                    journal.record(file, UploadJournal.UPLOADING, null);
+                    id = uploader.upload(file, metaData);
+                } catch (FlickrException e) {
+                    fail(e.getErrorCode() + " " + e.getErrorMessage());
+                    return;
+                } catch (Exception e) {
+                    fail(e.toString());
+                    return;
+                }
+                uploaded = true;
+                try {
+                    journal.record(file, metaData.isAsync() ? UploadJournal.TICKET : UploadJournal.DONE, id);
+                } catch (IOException e) {
+                    // the photo is on Flickr, recording a failure would upload it again
+                    synchronized (UploadManager.this) {
+                        journalErrorCount++;
+                    }
+                }
+                if (metaData.isAsync()) {
+                    synchronized (UploadManager.this) {
+                        if (ticketPoller != null) {
+                            track(file, id);
+                        }
+                    }
+                }
+            } finally {
+                completed(file, uploaded, length);
+            }
+        }
+
+        private void fail(String error) {
+            try {
+                journal.record(file, UploadJournal.FAILED, error);
+            } catch (IOException e) {
+                // the file stays uploading in the journal and is retried on the next run
+            }
+        }
+
+    }
+
+    private class TicketListener implements Runnable {
+
+        private File file;
+        private FlickrFuture future;
+
+        TicketListener(File file, FlickrFuture future) {
+            this.file = file;
+            this.future = future;
+        }
+
+        public void run() {
+            if (future.isCancelled()) {
+                return;
+            }
+            try {
+                String state = UploadJournal.DONE;
+                String id;
+                try {
+                    id = (String) future.getResult();
+                } catch (FlickrException e) {
+                    state = UploadJournal.FAILED;
+                    id = e.getErrorCode() + " " + e.getErrorMessage();
+                }
+                journal.record(file, state, id);
+            } catch (Exception e) {
+                // the file stays at the ticket state in the journal
+            }
+        }
+
+    }
+
+}
@@ -4,9 +4,9 @@
 
 package com.aetrion.flickr.uploader;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -14,8 +14,9 @@ import javax.xml.parsers.ParserConfigurationException;
 
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.REST;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -41,6 +42,7 @@ public class Uploader {
     private String apiKey;
     private String sharedSecret;
     private Transport transport;
+    private CallContext context;
 
     /**
      * Construct an Uploader.
@@ -48,9 +50,22 @@ public class Uploader {
      * @param apiKey The API key
      */
     public Uploader(String apiKey, String sharedSecret) {
+        this(apiKey, sharedSecret, null);
+    }
+
+    /**
+     * Construct an Uploader with a CallContext which is used instead of the
+     * RequestContext of the calling thread.
+     *
+     * @param apiKey The API key
+     * @param sharedSecret The shared secret
+     * @param context The CallContext, null for the RequestContext
+     */
+    public Uploader(String apiKey, String sharedSecret, CallContext context) {
         try {
             this.apiKey = apiKey;
             this.sharedSecret = sharedSecret;
+            this.context = context;
             this.transport = new REST();
             this.transport.setResponseClass(UploaderResponse.class);
         } catch (ParserConfigurationException e) {
@@ -69,47 +84,77 @@ public class Uploader {
      * @throws SAXException
      */
     public String upload(byte[] data, UploadMetaData metaData) throws FlickrException, IOException, SAXException {
-        List parameters = new ArrayList();
+        return upload((Object) data, metaData);
+    }
 
-        parameters.add(new Parameter("api_key", apiKey));
+    /**
+     * Upload a photo from an InputStream.
+     *
+     * @param in
+     * @param metaData
+     * @return photoId or ticketId
+     * @throws IOException
+     * @throws FlickrException
+     * @throws SAXException
+     */
+    public String upload(InputStream in, UploadMetaData metaData) throws IOException, FlickrException, SAXException {
+        return upload((Object) in, metaData);
+    }
+
+    /**
+     * Upload a photo or video from a file.<p>
+     *
+     * The file is streamed to the connection, so its size does not matter,
+     * and is sent with its own name and the media type of its extension.
+     *
+     * @param file The file
+     * @param metaData The meta data
+     * @return photoId or ticketId
+     * @throws IOException
+     * @throws FlickrException
+     * @throws SAXException
+     */
+    public String upload(File file, UploadMetaData metaData) throws IOException, FlickrException, SAXException {
+        return upload((Object) file, metaData);
+    }
+
+    private String upload(Object photo, UploadMetaData metaData) throws IOException, FlickrException, SAXException {
+        ParameterList parameters = new ParameterList();
+
+        parameters.add("api_key", apiKey);
 
         String title = metaData.getTitle();
         if (title != null)
-            parameters.add(new Parameter("title", title));
+            parameters.add("title", title);
 
         String description = metaData.getDescription();
         if (description != null)
-            parameters.add(new Parameter("description", description));
+            parameters.add("description", description);
 
         Collection tags = metaData.getTags();
         if (tags != null)
-            parameters.add(new Parameter("tags", StringUtilities.join(tags, " ")));
+            parameters.add("tags", StringUtilities.join(tags, " "));
 
-        parameters.add(new Parameter("is_public", metaData.isPublicFlag() ? "1" : "0"));
-        parameters.add(new Parameter("is_family", metaData.isFamilyFlag() ? "1" : "0"));
-        parameters.add(new Parameter("is_friend", metaData.isFriendFlag() ? "1" : "0"));
+        parameters.add("is_public", metaData.isPublicFlag() ? "1" : "0");
+        parameters.add("is_family", metaData.isFamilyFlag() ? "1" : "0");
+        parameters.add("is_friend", metaData.isFriendFlag() ? "1" : "0");
 
-        parameters.add(new Parameter("photo", data));
+        parameters.add("photo", photo);
 
         if (metaData.isHidden() != null) {
-            parameters.add(new Parameter("hidden", metaData.isHidden().booleanValue() ? "1" : "0"));
+            parameters.add("hidden", metaData.isHidden().booleanValue() ? "1" : "0");
         }
 
         if (metaData.getSafetyLevel() != null) {
-            parameters.add(new Parameter("safety_level", metaData.getSafetyLevel()));
+            parameters.add("safety_level", metaData.getSafetyLevel());
         }
 
-        parameters.add(new Parameter("async", metaData.isAsync() ? "1" : "0"));
+        parameters.add("async", metaData.isAsync() ? "1" : "0");
 
         if (metaData.getContentType() != null) {
-            parameters.add(new Parameter("content_type", metaData.getContentType()));
+            parameters.add("content_type", metaData.getContentType());
         }
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getMultipartSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("api_sig", AuthUtilities.getMultipartSignature(sharedSecret, parameters, context));
 
         UploaderResponse response = (UploaderResponse) transport.post("/services/upload/", parameters, true);
         if (response.isError()) {
@@ -125,123 +170,60 @@ public class Uploader {
     }
 
     /**
-     * Upload a photo from an InputStream.
+     * Replace a photo from an InputStream.
      *
      * @param in
-     * @param metaData
+     * @param flickrId
+     * @param async
      * @return photoId or ticketId
      * @throws IOException
      * @throws FlickrException
      * @throws SAXException
      */
-    public String upload(InputStream in, UploadMetaData metaData) throws IOException, FlickrException, SAXException {
-        List parameters = new ArrayList();
-
-        parameters.add(new Parameter("api_key", apiKey));
-
-        String title = metaData.getTitle();
-        if (title != null)
-            parameters.add(new Parameter("title", title));
-
-        String description = metaData.getDescription();
-        if (description != null)
-            parameters.add(new Parameter("description", description));
-
-        Collection tags = metaData.getTags();
-        if (tags != null) {
-            parameters.add(new Parameter("tags", StringUtilities.join(tags, " ")));
-        }
-
-        parameters.add(new Parameter("is_public", metaData.isPublicFlag() ? "1" : "0"));
-        parameters.add(new Parameter("is_family", metaData.isFamilyFlag() ? "1" : "0"));
-        parameters.add(new Parameter("is_friend", metaData.isFriendFlag() ? "1" : "0"));
-        parameters.add(new Parameter("async", metaData.isAsync() ? "1" : "0"));
-
-        parameters.add(new Parameter("photo", in));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getMultipartSignature(sharedSecret, parameters)
-            )
-        );
-
-        UploaderResponse response = (UploaderResponse) transport.post("/services/upload/", parameters, true);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        String id = "";
-        if (metaData.isAsync()) {
-            id = response.getTicketId();
-        } else {
-            id = response.getPhotoId();
-        }
-        return id;
+    public String replace(InputStream in, String flickrId, boolean async) throws IOException, FlickrException, SAXException {
+        return replace((Object) in, flickrId, async);
     }
 
     /**
-     * Upload a photo from an InputStream.
+     * Replace a photo from a byte-array.
      *
-     * @param in
-     * @param metaData
+     * @param data
+     * @param flickrId
+     * @param async
      * @return photoId or ticketId
      * @throws IOException
      * @throws FlickrException
      * @throws SAXException
      */
-    public String replace(InputStream in, String flickrId, boolean async) throws IOException, FlickrException, SAXException {
-        List parameters = new ArrayList();
-
-        parameters.add(new Parameter("api_key", apiKey));
-
-        parameters.add(new Parameter("async", async ? "1" : "0"));
-        parameters.add(new Parameter("photo_id", flickrId));
-
-        parameters.add(new Parameter("photo", in));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getMultipartSignature(sharedSecret, parameters)
-            )
-        );
-
-        UploaderResponse response = (UploaderResponse) transport.post("/services/replace/", parameters, true);
-        if (response.isError()) {
-            throw new FlickrException(response.getErrorCode(), response.getErrorMessage());
-        }
-        String id = "";
-        if (async) {
-            id = response.getTicketId();
-        } else {
-            id = response.getPhotoId();
-        }
-        return id;
+    public String replace(byte[] data, String flickrId, boolean async) throws IOException, FlickrException, SAXException {
+        return replace((Object) data, flickrId, async);
     }
 
     /**
-     * Upload a photo from an InputStream.
+     * Replace a photo from a file, streamed like {@link #upload(File, UploadMetaData)}.
      *
-     * @param in
-     * @param metaData
+     * @param file The file
+     * @param flickrId The id of the photo to replace
+     * @param async
      * @return photoId or ticketId
      * @throws IOException
      * @throws FlickrException
      * @throws SAXException
      */
-    public String replace(byte[] data, String flickrId, boolean async) throws IOException, FlickrException, SAXException {
-        List parameters = new ArrayList();
+    public String replace(File file, String flickrId, boolean async) throws IOException, FlickrException, SAXException {
+        return replace((Object) file, flickrId, async);
+    }
+
+    private String replace(Object photo, String flickrId, boolean async) throws IOException, FlickrException, SAXException {
+        ParameterList parameters = new ParameterList();
 
-        parameters.add(new Parameter("api_key", apiKey));
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("async", async ? "1" : "0"));
-        parameters.add(new Parameter("photo_id", flickrId));
+        parameters.add("async", async ? "1" : "0");
+        parameters.add("photo_id", flickrId);
 
-        parameters.add(new Parameter("photo", data));
-        parameters.add(
-            new Parameter(
-                "api_sig",
-                AuthUtilities.getMultipartSignature(sharedSecret, parameters)
-            )
-        );
+        parameters.add("photo", photo);
+        parameters.add("api_sig", AuthUtilities.getMultipartSignature(sharedSecret, parameters, context));
 
         UploaderResponse response = (UploaderResponse) transport.post("/services/replace/", parameters, true);
         if (response.isError()) {
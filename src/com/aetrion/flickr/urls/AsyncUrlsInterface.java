@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.urls;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import com.aetrion.flickr.FlickrFuture;
+
+/**
+ * Asynchronous access to the methods of {@link UrlsInterface}.<p>
+ *
+ * Every method submits the corresponding call to the executor and returns
+ * immediately. The FlickrFuture yields the result of the call, or null for
+ * calls without a result.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.Flickr#getAsyncUrlsInterface()
+ */
+public class AsyncUrlsInterface {
+
+    private UrlsInterface urlsInterface;
+    private Executor executor;
+
+    public AsyncUrlsInterface(UrlsInterface urlsInterface, Executor executor) {
+        this.urlsInterface = urlsInterface;
+        this.executor = executor;
+    }
+
+    /**
+     * @see UrlsInterface#getGroup(String)
+     */
+    public FlickrFuture getGroup(final String groupId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return urlsInterface.getGroup(groupId);
+            }
+        });
+    }
+
+    /**
+     * @see UrlsInterface#getUserPhotos(String)
+     */
+    public FlickrFuture getUserPhotos(final String userId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return urlsInterface.getUserPhotos(userId);
+            }
+        });
+    }
+
+    /**
+     * @see UrlsInterface#getUserProfile(String)
+     */
+    public FlickrFuture getUserProfile(final String userId) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return urlsInterface.getUserProfile(userId);
+            }
+        });
+    }
+
+    /**
+     * @see UrlsInterface#lookupGroup(String)
+     */
+    public FlickrFuture lookupGroup(final String url) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return urlsInterface.lookupGroup(url);
+            }
+        });
+    }
+
+    /**
+     * @see UrlsInterface#lookupUser(String)
+     */
+    public FlickrFuture lookupUser(final String url) {
+        return FlickrFuture.submit(executor, new Callable() {
+            public Object call() throws Exception {
+                return urlsInterface.lookupUser(url);
+            }
+        });
+    }
+
+}
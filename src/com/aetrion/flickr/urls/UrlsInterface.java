@@ -4,15 +4,15 @@
 package com.aetrion.flickr.urls;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 import org.w3c.dom.Element;
 import org.w3c.dom.Text;
 import org.xml.sax.SAXException;
 
+import com.aetrion.flickr.CallContext;
 import com.aetrion.flickr.FlickrException;
-import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
 import com.aetrion.flickr.Response;
 import com.aetrion.flickr.Transport;
 import com.aetrion.flickr.auth.AuthUtilities;
@@ -34,6 +34,7 @@ public class UrlsInterface {
     private String apiKey;
     private String sharedSecret;
     private Transport transport;
+    private CallContext context;
 
     /**
      * Construct a UrlsInterface.
@@ -45,10 +46,20 @@ public class UrlsInterface {
         String apiKey,
         String sharedSecret,
         Transport transportAPI
+    ) {
+        this(apiKey, sharedSecret, transportAPI, null);
+    }
+
+    public UrlsInterface(
+        String apiKey,
+        String sharedSecret,
+        Transport transportAPI,
+        CallContext context
     ) {
         this.apiKey = apiKey;
         this.sharedSecret = sharedSecret;
         this.transport = transportAPI;
+        this.context = context;
     }
 
     /**
@@ -61,11 +72,11 @@ public class UrlsInterface {
      * @throws FlickrException
      */
     public String getGroup(String groupId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_GROUP));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_GROUP);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("group_id", groupId));
+        parameters.add("group_id", groupId);
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -86,11 +97,11 @@ public class UrlsInterface {
      * @throws FlickrException
      */
     public String getUserPhotos(String userId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_USER_PHOTOS));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_USER_PHOTOS);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("user_id", userId));
+        parameters.add("user_id", userId);
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -111,11 +122,11 @@ public class UrlsInterface {
      * @throws FlickrException
      */
     public String getUserProfile(String userId) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_GET_USER_PROFILE));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_GET_USER_PROFILE);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("user_id", userId));
+        parameters.add("user_id", userId);
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -136,11 +147,11 @@ public class UrlsInterface {
      * @throws FlickrException
      */
     public Group lookupGroup(String url) throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_LOOKUP_GROUP));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_LOOKUP_GROUP);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("url", url));
+        parameters.add("url", url);
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -166,11 +177,11 @@ public class UrlsInterface {
      */
     public String lookupUser(String url)
       throws IOException, SAXException, FlickrException {
-        List parameters = new ArrayList();
-        parameters.add(new Parameter("method", METHOD_LOOKUP_USER));
-        parameters.add(new Parameter("api_key", apiKey));
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", METHOD_LOOKUP_USER);
+        parameters.add("api_key", apiKey);
 
-        parameters.add(new Parameter("url", url));
+        parameters.add("url", url);
 
         Response response = transport.post(transport.getPath(), parameters);
         if (response.isError()) {
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.util;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+
+/**
+ * Decodes the values of XML attributes as Flickr writes them: dates like
+ * 2009-07-01 12:34:56, times in seconds since the epoch, integers and flags.<p>
+ *
+ * The common forms are read character by character, without creating a
+ * Date, Calendar or any other object, and without throwing an exception
+ * for an empty or missing value. Dates which are not in the exact form, or
+ * which fall within a day of a change of the time zone offset, are passed
+ * to a SimpleDateFormat, so the results are always the same as those of
+ * the format.
+ *
+ * @author Anthony Eden
+ */
+public final class AttributeDecoder {
+
+    /**
+     * The value returned for a date which is missing or can not be parsed.
+     */
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final String DATE_TIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
+    private static final long SECOND = 1000L;
+    private static final long DAY = 24 * 60 * 60 * SECOND;
+
+    private static final ThreadLocal DATE_FORMATS = new ThreadLocal() {
+        protected Object initialValue() {
+            return new SimpleDateFormat(DATE_TIME_PATTERN);
+        }
+    };
+
+    private AttributeDecoder() {
+    }
+
+    /**
+     * Parse a date in the form yyyy-MM-dd HH:mm:ss in the default time zone.
+     *
+     * @param value The attribute value, may be null
+     * @return The time in milliseconds, {@link #NO_DATE} if the value is empty or not a date
+     */
+    public static long parseDateTime(String value) {
+        DateFormat format = (DateFormat) DATE_FORMATS.get();
+        return parseDateTime(value, format.getTimeZone(), format);
+    }
+
+    /**
+     * Parse a date in the form yyyy-MM-dd HH:mm:ss.
+     *
+     * @param value The attribute value, may be null
+     * @param zone The time zone of the date
+     * @return The time in milliseconds, {@link #NO_DATE} if the value is empty or not a date
+     */
+    public static long parseDateTime(String value, TimeZone zone) {
+        return parseDateTime(value, zone, null);
+    }
+
+    private static long parseDateTime(String value, TimeZone zone, DateFormat format) {
+        if (value == null || value.length() == 0) {
+            return NO_DATE;
+        }
+        long local = parseLocalDateTime(value);
+        if (local != NO_DATE) {
+            // a constant offset around the date can not have skipped or repeated it
+            int offset = zone.getOffset(local - DAY);
+            if (offset == zone.getOffset(local + DAY)) {
+                return local - offset;
+            }
+        }
+        if (format == null) {
+            format = new SimpleDateFormat(DATE_TIME_PATTERN);
+            format.setTimeZone(zone);
+        }
+        try {
+            return format.parse(value).getTime();
+        } catch (ParseException e) {
+            return NO_DATE;
+        }
+    }
+
+    /**
+     * Read exactly yyyy-MM-dd HH:mm:ss with fields in their ranges, from the
+     * year 1600, as milliseconds since the epoch in UTC.
+     *
+     * @return The time, {@link #NO_DATE} if the value is in another form
+     */
+    private static long parseLocalDateTime(String value) {
+        if (value.length() != 19 || value.charAt(4) != '-' || value.charAt(7) != '-'
+            || value.charAt(10) != ' ' || value.charAt(13) != ':' || value.charAt(16) != ':') {
+            return NO_DATE;
+        }
+        int year = parseDigits(value, 0, 4);
+        int month = parseDigits(value, 5, 2);
+        int day = parseDigits(value, 8, 2);
+        int hour = parseDigits(value, 11, 2);
+        int minute = parseDigits(value, 14, 2);
+        int second = parseDigits(value, 17, 2);
+        // before 1600 the Julian calendar of the format may apply
+        if (year < 1600 || month < 1 || month > 12 || day < 1 || day > getDaysInMonth(year, month)
+            || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return NO_DATE;
+        }
+        return ((getEpochDay(year, month, day) * 24 + hour) * 60 + minute) * 60 * SECOND + second * SECOND;
+    }
+
+    /**
+     * Parse a time in seconds since the epoch, like dateupload and lastupdate.
+     *
+     * @param value The attribute value, may be null
+     * @return The time in milliseconds, {@link #NO_DATE} if the value is empty or not a number
+     */
+    public static long parseEpochSeconds(String value) {
+        if (value == null || value.length() == 0 || value.length() > 15) {
+            return NO_DATE;
+        }
+        long seconds = parseLong(value, Long.MIN_VALUE);
+        return seconds == Long.MIN_VALUE ? NO_DATE : seconds * SECOND;
+    }
+
+    /**
+     * Parse a decimal integer, with an optional sign.
+     *
+     * @param value The attribute value, may be null
+     * @param defaultValue The value returned if the value is empty or not an int
+     * @return The integer
+     */
+    public static int parseInt(String value, int defaultValue) {
+        if (value == null || value.length() > 11) {
+            return defaultValue;
+        }
+        long result = parseLong(value, Long.MIN_VALUE);
+        if (result < Integer.MIN_VALUE || result > Integer.MAX_VALUE) {
+            return defaultValue;
+        }
+        return (int) result;
+    }
+
+    /**
+     * Parse a decimal long, with an optional sign.
+     *
+     * @param value The attribute value, may be null
+     * @param defaultValue The value returned if the value is empty or not a long
+     * @return The long
+     */
+    public static long parseLong(String value, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        int length = value.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            i++;
+        }
+        if (i == length) {
+            return defaultValue;
+        }
+        // accumulate negatively, which reaches Long.MIN_VALUE
+        long result = 0;
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        for (; i < length; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                return defaultValue;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return defaultValue;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parse a flag, which Flickr writes as 1 or 0.
+     *
+     * @param value The attribute value, may be null
+     * @return true if the value is 1
+     */
+    public static boolean parseFlag(String value) {
+        return value != null && value.length() == 1 && value.charAt(0) == '1';
+    }
+
+    private static int parseDigits(String value, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+
+    private static int getDaysInMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            return isLeapYear(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    /**
+     * The days from 1970-01-01 to a date of the Gregorian calendar.
+     */
+    private static long getEpochDay(int year, int month, int day) {
+        // count from March, so the leap day is the last of the year
+        long y = month <= 2 ? year - 1 : year;
+        long era = y / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+}
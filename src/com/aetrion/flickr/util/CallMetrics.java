@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.aetrion.flickr.CallEvent;
+import com.aetrion.flickr.TransportListener;
+
+/**
+ * Collects the calls of transports by API method, to find the methods
+ * which cost the most time.<p>
+ *
+ * Every method keeps a histogram of the durations of its calls and the
+ * mean durations of connecting, waiting for the first byte and parsing.
+ * Counting takes no lock, so a CallMetrics may be shared by all transports
+ * of an application:
+ *
+ * <pre>
+ * CallMetrics metrics = new CallMetrics();
+ * flickr.getTransport().addTransportListener(metrics);
+ * ...
+ * System.out.println(metrics);
+ * </pre>
+ *
+ * @author Anthony Eden
+ */
+public class CallMetrics implements TransportListener {
+
+    private static final Comparator BY_TOTAL_TIME = new Comparator() {
+        public int compare(Object o1, Object o2) {
+            long t1 = ((MethodMetrics) o1).getTotalNanos();
+            long t2 = ((MethodMetrics) o2).getTotalNanos();
+            return t1 > t2 ? -1 : t1 < t2 ? 1 : 0;
+        }
+    };
+
+    private ConcurrentHashMap methods = new ConcurrentHashMap();
+
+    public void callCompleted(CallEvent event) {
+        MethodMetrics metrics = (MethodMetrics) methods.get(event.getMethod());
+        if (metrics == null) {
+            metrics = new MethodMetrics(event.getMethod());
+            MethodMetrics existing = (MethodMetrics) methods.putIfAbsent(event.getMethod(), metrics);
+            if (existing != null) {
+                metrics = existing;
+            }
+        }
+        metrics.record(event);
+    }
+
+    /**
+     * Get the metrics of a method.
+     *
+     * @param method The method name, for example flickr.photos.search
+     * @return The MethodMetrics, null if the method was not called
+     */
+    public MethodMetrics getMetrics(String method) {
+        return (MethodMetrics) methods.get(method);
+    }
+
+    /**
+     * Get the metrics of all methods called, the method which took the most
+     * time in all its calls first.
+     *
+     * @return The List of MethodMetrics
+     */
+    public List getMetrics() {
+        List metrics = new ArrayList(methods.values());
+        Collections.sort(metrics, BY_TOTAL_TIME);
+        return metrics;
+    }
+
+    /**
+     * Forget all calls counted so far.
+     */
+    public void reset() {
+        methods.clear();
+    }
+
+    /**
+     * @return A table of the methods, the most expensive first, with times in milliseconds
+     */
+    public String toString() {
+        StringBuffer buffer = new StringBuffer();
+        buffer.append("method calls errors total mean p50 p90 p99 max connect firstbyte parse sent received\n");
+        Iterator iter = getMetrics().iterator();
+        while (iter.hasNext()) {
+            MethodMetrics metrics = (MethodMetrics) iter.next();
+            LatencyHistogram latency = metrics.getLatency();
+            buffer.append(metrics.getMethod());
+            buffer.append(' ').append(metrics.getCount());
+            buffer.append(' ').append(metrics.getErrorCount());
+            buffer.append(' ').append(toMillis(latency.getTotalNanos()));
+            buffer.append(' ').append(toMillis(latency.getMeanNanos()));
+            buffer.append(' ').append(toMillis(latency.getPercentile(0.5)));
+            buffer.append(' ').append(toMillis(latency.getPercentile(0.9)));
+            buffer.append(' ').append(toMillis(latency.getPercentile(0.99)));
+            buffer.append(' ').append(toMillis(latency.getMaxNanos()));
+            buffer.append(' ').append(toMillis(metrics.getMeanConnectNanos()));
+            buffer.append(' ').append(toMillis(metrics.getMeanFirstByteNanos()));
+            buffer.append(' ').append(toMillis(metrics.getMeanParseNanos()));
+            buffer.append(' ').append(metrics.getBytesSent());
+            buffer.append(' ').append(metrics.getBytesReceived());
+            buffer.append('\n');
+        }
+        return buffer.toString();
+    }
+
+    private static String toMillis(long nanos) {
+        return String.valueOf(Math.round(nanos / 10000.0) / 100.0);
+    }
+
+}
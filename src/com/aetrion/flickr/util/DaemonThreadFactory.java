@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the daemon threads of the executors of flickrj, named
+ * flickrj-&lt;name&gt;-1, flickrj-&lt;name&gt;-2 and so on, so a running
+ * application does not wait for them to exit.
+ *
+ * @author Anthony Eden
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+
+    private String prefix;
+    private AtomicInteger count = new AtomicInteger();
+
+    /**
+     * @param name The name of the threads, like download or upload
+     */
+    public DaemonThreadFactory(String name) {
+        this.prefix = "flickrj-" + name + "-";
+    }
+
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+}
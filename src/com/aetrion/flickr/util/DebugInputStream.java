@@ -13,6 +13,7 @@ import java.io.OutputStream;
  * A FilterInputStream which will print all read data to the specified PrintWriter.
  *
  * @author Anthony Eden
+ * @see WireLog
  */
 public class DebugInputStream extends FilterInputStream {
 
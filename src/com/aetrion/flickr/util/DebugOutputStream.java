@@ -12,6 +12,7 @@ import java.io.OutputStream;
  * A FilterInputStream which will print all read data to the specified PrintWriter.
  *
  * @author Anthony Eden
+ * @see WireLog
  */
 public class DebugOutputStream extends FilterOutputStream {
 
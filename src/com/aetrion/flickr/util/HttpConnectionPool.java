@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * A pool of persistent HTTP/1.1 connections, grouped by host and port.<p>
+ *
+ * Connections handed out by {@link #openConnection(URL)} return their socket
+ * to the pool once the response has been read completely, so subsequent
+ * requests to the same host skip the TCP handshake. The number of connections
+ * per host is limited; callers wait for a free connection when the limit is
+ * reached, for at most the connect timeout of the connection, or the wait
+ * timeout of the pool if it has none, and then fail with an IOException.
+ * Connections idle for longer than the idle timeout are closed.<p>
+ *
+ * Only plain HTTP without a proxy is supported.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.REST#setConnectionPool(HttpConnectionPool)
+ */
+public class HttpConnectionPool {
+
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 8;
+    /** Below the five seconds for which many servers keep an idle connection open. */
+    public static final long DEFAULT_IDLE_TIMEOUT = 4000;
+    public static final long DEFAULT_WAIT_TIMEOUT = 30000;
+
+    private int maxConnectionsPerHost;
+    private long idleTimeout;
+    private long waitTimeout = DEFAULT_WAIT_TIMEOUT;
+
+    /** Idle connections per host, the most recently used first. */
+    private Map idleConnections = new HashMap();
+    /** Number of open connections per host, leased and idle. */
+    private Map openCounts = new HashMap();
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+    private boolean shutdown = false;
+
+    /**
+     * Construct a pool with the default limits.
+     */
+    public HttpConnectionPool() {
+        this(DEFAULT_MAX_CONNECTIONS_PER_HOST, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    /**
+     * Construct a pool.
+     *
+     * @param maxConnectionsPerHost The maximum number of open connections per host
+     * @param idleTimeout Milliseconds after which an unused connection is closed
+     */
+    public HttpConnectionPool(int maxConnectionsPerHost, long idleTimeout) {
+        if (maxConnectionsPerHost < 1) {
+            throw new IllegalArgumentException("maxConnectionsPerHost must be at least 1");
+        }
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Create a connection for the URL which uses this pool.
+     * No network connection is made until the connection is connected.
+     *
+     * @param url A http URL
+     * @return The HttpURLConnection
+     */
+    public HttpURLConnection openConnection(URL url) {
+        if (!"http".equals(url.getProtocol())) {
+            throw new IllegalArgumentException("Only http URLs can be pooled: " + url);
+        }
+        return new PooledHttpURLConnection(url, this);
+    }
+
+    public synchronized int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    public synchronized void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+        if (maxConnectionsPerHost < 1) {
+            throw new IllegalArgumentException("maxConnectionsPerHost must be at least 1");
+        }
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        notifyAll();
+    }
+
+    public synchronized long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public synchronized void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public synchronized long getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    /**
+     * Set the longest time to wait for a free connection to a host at its
+     * limit, for connections without a connect timeout.
+     *
+     * @param waitTimeout The timeout in milliseconds, at least 1
+     */
+    public synchronized void setWaitTimeout(long waitTimeout) {
+        if (waitTimeout < 1) {
+            throw new IllegalArgumentException("waitTimeout must be at least 1");
+        }
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * @return The number of requests which reused a pooled connection
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return The number of requests which had to open a new connection
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The number of idle connections closed because of the idle timeout
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return The number of idle connections over all hosts
+     */
+    public synchronized int getIdleCount() {
+        int count = 0;
+        Iterator iter = idleConnections.values().iterator();
+        while (iter.hasNext()) {
+            count += ((LinkedList) iter.next()).size();
+        }
+        return count;
+    }
+
+    /**
+     * Close all connections which have been idle for longer than the idle timeout.
+     */
+    public void closeExpiredConnections() {
+        LinkedList expired = new LinkedList();
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            Iterator iter = idleConnections.values().iterator();
+            while (iter.hasNext()) {
+                LinkedList idle = (LinkedList) iter.next();
+                Iterator connections = idle.iterator();
+                while (connections.hasNext()) {
+                    Connection connection = (Connection) connections.next();
+                    if (now - connection.lastUsed > idleTimeout) {
+                        connections.remove();
+                        expired.add(connection);
+                        decrementOpenCount(connection.key);
+                        evictionCount++;
+                    }
+                }
+            }
+            if (!expired.isEmpty()) {
+                notifyAll();
+            }
+        }
+        closeAll(expired);
+    }
+
+    /**
+     * Close all idle connections and refuse to pool connections from now on.
+     */
+    public void shutdown() {
+        LinkedList idle = new LinkedList();
+        synchronized (this) {
+            shutdown = true;
+            Iterator iter = idleConnections.values().iterator();
+            while (iter.hasNext()) {
+                LinkedList connections = (LinkedList) iter.next();
+                while (!connections.isEmpty()) {
+                    Connection connection = (Connection) connections.removeFirst();
+                    decrementOpenCount(connection.key);
+                    idle.add(connection);
+                }
+            }
+            notifyAll();
+        }
+        closeAll(idle);
+    }
+
+    /**
+     * Lease a connection to the given host, waiting while the host is at its
+     * limit, for at most the connect timeout or else the wait timeout.
+     *
+     * @param host The host
+     * @param port The port
+     * @param connectTimeout The connect timeout in milliseconds, 0 for none
+     * @param readTimeout The read timeout in milliseconds, 0 for none
+     * @param reuse false to always open a new connection
+     * @return The connection
+     * @throws IOException if no connection is free in time or the connection fails
+     */
+    Connection acquire(String host, int port, int connectTimeout, int readTimeout, boolean reuse)
+            throws IOException {
+        closeExpiredConnections();
+        String key = host + ":" + port;
+        Connection pooled = null;
+        Connection surplus = null;
+        synchronized (this) {
+            long deadline = 0;
+            while (true) {
+                LinkedList idle = (LinkedList) idleConnections.get(key);
+                if (reuse && idle != null && !idle.isEmpty()) {
+                    pooled = (Connection) idle.removeFirst();
+                    pooled.reused = true;
+                    hitCount++;
+                    break;
+                }
+                if (getOpenCount(key) < maxConnectionsPerHost) {
+                    openCounts.put(key, new Integer(getOpenCount(key) + 1));
+                    missCount++;
+                    break;
+                }
+                if (idle != null && !idle.isEmpty()) {
+                    // a new connection is required, make room by closing an idle one
+                    surplus = (Connection) idle.removeLast();
+                    decrementOpenCount(key);
+                    continue;
+                }
+                long now = System.currentTimeMillis();
+                if (deadline == 0) {
+                    deadline = now + (connectTimeout > 0 ? connectTimeout : waitTimeout);
+                } else if (now >= deadline) {
+                    throw new IOException("No connection to " + key + " available");
+                }
+                try {
+                    wait(Math.max(1, deadline - now));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for a connection to " + key);
+                }
+            }
+        }
+        if (surplus != null) {
+            surplus.close();
+        }
+        if (pooled != null) {
+            try {
+                pooled.socket.setSoTimeout(readTimeout);
+            } catch (IOException e) {
+                release(pooled, false);
+                throw e;
+            }
+            return pooled;
+        }
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), connectTimeout);
+            socket.setSoTimeout(readTimeout);
+            socket.setTcpNoDelay(true);
+            return new Connection(key, socket);
+        } catch (IOException e) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+            synchronized (this) {
+                decrementOpenCount(key);
+                notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Return a leased connection. Connections which can not be reused are closed.
+     *
+     * @param connection The connection
+     * @param reusable true if the connection can carry another request
+     */
+    void release(Connection connection, boolean reusable) {
+        synchronized (this) {
+            if (reusable && !shutdown) {
+                connection.lastUsed = System.currentTimeMillis();
+                LinkedList idle = (LinkedList) idleConnections.get(connection.key);
+                if (idle == null) {
+                    idle = new LinkedList();
+                    idleConnections.put(connection.key, idle);
+                }
+                idle.addFirst(connection);
+                notifyAll();
+                return;
+            }
+            decrementOpenCount(connection.key);
+            notifyAll();
+        }
+        connection.close();
+    }
+
+    private int getOpenCount(String key) {
+        Integer count = (Integer) openCounts.get(key);
+        return count == null ? 0 : count.intValue();
+    }
+
+    private void decrementOpenCount(String key) {
+        int count = getOpenCount(key) - 1;
+        if (count > 0) {
+            openCounts.put(key, new Integer(count));
+        } else {
+            openCounts.remove(key);
+        }
+    }
+
+    private void closeAll(LinkedList connections) {
+        Iterator iter = connections.iterator();
+        while (iter.hasNext()) {
+            ((Connection) iter.next()).close();
+        }
+    }
+
+    /**
+     * A socket with buffered streams which may carry several requests.
+     */
+    static class Connection {
+
+        final String key;
+        final Socket socket;
+        final InputStream in;
+        final OutputStream out;
+        long lastUsed;
+        boolean reused = false;
+
+        Connection(String key, Socket socket) throws IOException {
+            this.key = key;
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream(), 8192);
+            this.out = new BufferedOutputStream(socket.getOutputStream(), 8192);
+        }
+
+        /**
+         * Check whether the server has closed the connection while it was
+         * idle, by reading with a timeout of a millisecond. Data arriving
+         * before a request has been sent makes the connection unusable too.
+         *
+         * @return true if the connection can not carry another request
+         */
+        boolean isStale() {
+            try {
+                if (in.available() > 0) {
+                    return true;
+                }
+                int timeout = socket.getSoTimeout();
+                socket.setSoTimeout(1);
+                try {
+                    in.read();
+                    return true;
+                } catch (SocketTimeoutException e) {
+                    return false;
+                } finally {
+                    socket.setSoTimeout(timeout);
+                }
+            } catch (IOException e) {
+                return true;
+            }
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+            }
+        }
+
+    }
+
+}
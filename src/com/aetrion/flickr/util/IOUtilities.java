@@ -3,11 +3,17 @@
  */
 package com.aetrion.flickr.util;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.net.URLConnection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Common IO utilities.
@@ -16,6 +22,31 @@ import java.io.Writer;
  */
 public class IOUtilities {
 
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    /** Media types of the photo and video formats Flickr accepts, by file extension. */
+    private static final Map CONTENT_TYPES = new HashMap();
+
+    static {
+        CONTENT_TYPES.put("jpg", "image/jpeg");
+        CONTENT_TYPES.put("jpeg", "image/jpeg");
+        CONTENT_TYPES.put("gif", "image/gif");
+        CONTENT_TYPES.put("png", "image/png");
+        CONTENT_TYPES.put("tif", "image/tiff");
+        CONTENT_TYPES.put("tiff", "image/tiff");
+        CONTENT_TYPES.put("bmp", "image/bmp");
+        CONTENT_TYPES.put("avi", "video/x-msvideo");
+        CONTENT_TYPES.put("wmv", "video/x-ms-wmv");
+        CONTENT_TYPES.put("mov", "video/quicktime");
+        CONTENT_TYPES.put("mpg", "video/mpeg");
+        CONTENT_TYPES.put("mpeg", "video/mpeg");
+        CONTENT_TYPES.put("mp4", "video/mp4");
+        CONTENT_TYPES.put("m4v", "video/x-m4v");
+        CONTENT_TYPES.put("3gp", "video/3gpp");
+        CONTENT_TYPES.put("ogg", "video/ogg");
+        CONTENT_TYPES.put("ogv", "video/ogg");
+    }
+
     private IOUtilities() {
 
     }
@@ -60,4 +91,75 @@ public class IOUtilities {
         }
     }
 
+    /**
+     * Read the stream to its end.
+     *
+     * @param in The InputStream, which is not closed
+     * @return The bytes read
+     * @throws IOException
+     */
+    public static byte[] toByteArray(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        byte[] buffer = new byte[4096];
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            out.write(buffer, 0, count);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Copy the stream to its end, with a buffer large enough for big uploads.
+     *
+     * @param in The InputStream, which is not closed
+     * @param out The OutputStream, which is neither flushed nor closed
+     * @return The number of bytes copied
+     * @throws IOException
+     */
+    public static long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long total = 0;
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            out.write(buffer, 0, count);
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Copy a file through the copy buffer, so large files are not held in memory.
+     *
+     * @param file The file
+     * @param out The OutputStream, which is neither flushed nor closed
+     * @return The number of bytes copied
+     * @throws IOException
+     */
+    public static long copy(File file, OutputStream out) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            return copy(in, out);
+        } finally {
+            close(in);
+        }
+    }
+
+    /**
+     * Get the media type of a file from its extension.
+     *
+     * @param fileName The file name
+     * @return The media type, application/octet-stream if it is not known
+     */
+    public static String getContentType(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot != -1) {
+            String contentType = (String) CONTENT_TYPES.get(fileName.substring(dot + 1).toLowerCase());
+            if (contentType != null) {
+                return contentType;
+            }
+        }
+        String contentType = URLConnection.guessContentTypeFromName(fileName);
+        return contentType == null ? "application/octet-stream" : contentType;
+    }
+
 }
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A size-bounded cache of downloaded images on disk.<p>
+ *
+ * Images are keyed on the file name of their URL, which is made of the
+ * photo id, the secret and the size suffix, for example
+ * 2995_a2c3b4d5e6_m.jpg, and are stored in one directory under that name.
+ * A new image is written to a temporary file and renamed, so readers never
+ * see a partial image, also after a crash. Cached images are read through a
+ * memory-mapped file. When the cache grows beyond its size, the least
+ * recently used images are deleted. The order of use survives restarts
+ * through the modification time of the files.
+ *
+ * <pre>
+ * photosInterface.setImageCache(new ImageCache(new File("cache"), 500 * 1024 * 1024));
+ * </pre>
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.photos.PhotosInterface#setImageCache(ImageCache)
+ */
+public class ImageCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private File directory;
+    private long maxBytes;
+    private long bytes = 0;
+    /** File lengths (Long) by key, least recently used first. */
+    private LinkedHashMap entries = new LinkedHashMap(16, 0.75f, true);
+    private int tempCount = 0;
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     * Open a cache directory, taking over the images already in it.
+     *
+     * @param directory The directory, created if it does not exist
+     * @param maxBytes The maximum size of all cached images
+     * @throws IOException
+     */
+    public ImageCache(File directory, long maxBytes) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        File[] files = directory.listFiles();
+        Arrays.sort(files, new Comparator() {
+            public int compare(Object o1, Object o2) {
+                long m1 = ((File) o1).lastModified();
+                long m2 = ((File) o2).lastModified();
+                return m1 < m2 ? -1 : (m1 == m2 ? 0 : 1);
+            }
+        });
+        for (int i = 0; i < files.length; i++) {
+            if (files[i].getName().endsWith(TEMP_SUFFIX)) {
+                // left over from an interrupted write
+                files[i].delete();
+            } else if (files[i].isFile()) {
+                entries.put(files[i].getName(), new Long(files[i].length()));
+                bytes += files[i].length();
+            }
+        }
+        evict();
+    }
+
+    /**
+     * Get the cache key of an image URL.
+     *
+     * @param url The image URL
+     * @return The key, null if the URL cannot be cached
+     */
+    public static String getKey(String url) {
+        String key = url.substring(url.lastIndexOf('/') + 1);
+        if (key.length() == 0 || key.endsWith(TEMP_SUFFIX)) {
+            return null;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return null;
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Get a cached image.
+     *
+     * @param key The key
+     * @return The image mapped read-only into memory, null if it is not cached
+     */
+    public ByteBuffer get(String key) {
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                missCount++;
+                return null;
+            }
+            hitCount++;
+        }
+        return map(key);
+    }
+
+    /**
+     * Get a cached image as a stream.
+     *
+     * @param key The key
+     * @return The stream, null if the image is not cached
+     */
+    public InputStream getInputStream(String key) {
+        return newInputStream(get(key));
+    }
+
+    /**
+     * Get a stream reading a buffer from {@link #get(String)} or {@link #put(String, InputStream)}.
+     *
+     * @param buffer The buffer, may be null
+     * @return The stream, null if the buffer is null
+     */
+    public static InputStream newInputStream(ByteBuffer buffer) {
+        return buffer == null ? null : new ByteBufferInputStream(buffer);
+    }
+
+    private ByteBuffer map(String key) {
+        File file = new File(directory, key);
+        try {
+            ByteBuffer buffer = map(file);
+            file.setLastModified(System.currentTimeMillis());
+            return buffer;
+        } catch (IOException e) {
+            // deleted behind our back
+            remove(key);
+            return null;
+        }
+    }
+
+    private static ByteBuffer map(File file) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            FileChannel channel = in.getChannel();
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            IOUtilities.close(in);
+        }
+    }
+
+    /**
+     * Cache an image, read from the stream to its end. An image larger than
+     * the whole cache is not kept, so it does not push out all others, but
+     * is still returned.
+     *
+     * @param key The key
+     * @param in The image, which is not closed
+     * @return The image mapped into memory
+     * @throws IOException
+     */
+    public ByteBuffer put(String key, InputStream in) throws IOException {
+        File temp;
+        synchronized (this) {
+            temp = new File(directory, key + "." + (++tempCount) + TEMP_SUFFIX);
+        }
+        long length;
+        FileOutputStream out = new FileOutputStream(temp);
+        try {
+            length = IOUtilities.copy(in, out);
+            out.close();
+            out = null;
+            if (length > maxBytes) {
+                // the mapping stays valid after the temporary file is deleted
+                return map(temp);
+            }
+            File file = new File(directory, key);
+            synchronized (this) {
+                // renameTo replaces the file in one step where the platform allows it
+                if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))) {
+                    throw new IOException("Cannot rename " + temp + " to " + file);
+                }
+                Long previous = (Long) entries.put(key, new Long(length));
+                bytes += length - (previous == null ? 0 : previous.longValue());
+                // the new image is the most recently used, so it fits and stays
+                evict();
+                return map(file);
+            }
+        } finally {
+            IOUtilities.close(out);
+            temp.delete();
+        }
+    }
+
+    public synchronized void clear() {
+        Iterator iter = entries.keySet().iterator();
+        while (iter.hasNext()) {
+            new File(directory, (String) iter.next()).delete();
+            iter.remove();
+        }
+        bytes = 0;
+    }
+
+    /**
+     * @return The size of all cached images in bytes
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The number of images deleted to keep the cache within its size
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    private synchronized void remove(String key) {
+        Long length = (Long) entries.remove(key);
+        if (length != null) {
+            bytes -= length.longValue();
+        }
+    }
+
+    /**
+     * Delete the least recently used images until the cache is within its size.
+     */
+    private void evict() {
+        Iterator iter = entries.entrySet().iterator();
+        while (bytes > maxBytes && iter.hasNext()) {
+            Map.Entry entry = (Map.Entry) iter.next();
+            new File(directory, (String) entry.getKey()).delete();
+            bytes -= ((Long) entry.getValue()).longValue();
+            iter.remove();
+            evictionCount++;
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            len = Math.min(len, buffer.remaining());
+            buffer.get(b, off, len);
+            return len;
+        }
+
+        public int available() {
+            return buffer.remaining();
+        }
+
+        public long skip(long n) {
+            if (n <= 0) {
+                return 0;
+            }
+            int skipped = (int) Math.min(n, buffer.remaining());
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+    }
+
+}
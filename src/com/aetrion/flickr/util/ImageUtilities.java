@@ -6,8 +6,19 @@ package com.aetrion.flickr.util;
 
 import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.awt.image.ImageObserver;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 
 /**
  * @author Anthony Eden
@@ -21,46 +32,166 @@ public class ImageUtilities {
     }
 
     public BufferedImage bufferImage(Image image, int type) {
-        BufferedImage bufferedImage = new BufferedImage(image.getWidth(null), image.getHeight(null), type);
+        ImageLoadStatus status = new ImageLoadStatus();
+        int width = status.getWidth(image);
+        int height = status.getHeight(image);
+        BufferedImage bufferedImage = new BufferedImage(width, height, type);
         Graphics2D g = bufferedImage.createGraphics();
-        g.drawImage(image, null, null);
-        waitForImage(bufferedImage);
+        try {
+            if (!g.drawImage(image, 0, 0, status)) {
+                status.waitForAllBits();
+                g.drawImage(image, 0, 0, null);
+            }
+        } finally {
+            g.dispose();
+        }
         return bufferedImage;
     }
 
-    private void waitForImage(BufferedImage bufferedImage) {
-        final ImageLoadStatus imageLoadStatus = new ImageLoadStatus();
-        bufferedImage.getHeight(new ImageObserver() {
-            public boolean imageUpdate(Image img, int infoflags, int x, int y, int width, int height) {
-                if (infoflags == ALLBITS) {
-                    imageLoadStatus.heightDone = true;
-                    return true;
-                }
-                return false;
+    /**
+     * Decode an image so that it fits into the given size. The decoder skips
+     * source pixels while reading (subsampling), so a large original is never
+     * decoded in full; the rest is scaled smoothly. Images smaller than the
+     * given size are returned as they are.
+     *
+     * @param in The encoded image, which is not closed
+     * @param maxWidth The maximum width
+     * @param maxHeight The maximum height
+     * @return The image, null if the format is not supported
+     * @throws IOException
+     */
+    public BufferedImage read(InputStream in, int maxWidth, int maxHeight) throws IOException {
+        return read(in, null, maxWidth, maxHeight);
+    }
+
+    /**
+     * Decode a region of an image so that it fits into the given size. Only
+     * the region is decoded, with subsampling as in
+     * {@link #read(InputStream, int, int)}.
+     *
+     * @param in The encoded image, which is not closed
+     * @param region The region in source pixels, null for the whole image
+     * @param maxWidth The maximum width
+     * @param maxHeight The maximum height
+     * @return The image, null if the format is not supported
+     * @throws IOException
+     */
+    public BufferedImage read(InputStream in, Rectangle region, int maxWidth, int maxHeight)
+      throws IOException {
+        if (maxWidth < 1 || maxHeight < 1) {
+            throw new IllegalArgumentException("maxWidth and maxHeight must be at least 1");
+        }
+        // cached in memory, not in a temporary file as ImageIO would by default
+        ImageInputStream input = new MemoryCacheImageInputStream(in);
+        try {
+            Iterator readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
             }
-        });
-        bufferedImage.getWidth(new ImageObserver() {
-            public boolean imageUpdate(Image img, int infoflags, int x, int y, int width, int height) {
-                if (infoflags == ALLBITS) {
-                    imageLoadStatus.widthDone = true;
-                    return true;
+            ImageReader reader = (ImageReader) readers.next();
+            try {
+                reader.setInput(input, true, true);
+                Rectangle source = new Rectangle(0, 0, reader.getWidth(0), reader.getHeight(0));
+                if (region != null) {
+                    source = source.intersection(region);
+                    if (source.isEmpty()) {
+                        throw new IllegalArgumentException("Region " + region + " is outside of the image");
+                    }
+                }
+                double scale = Math.min(
+                    1.0,
+                    Math.min((double) maxWidth / source.width, (double) maxHeight / source.height)
+                );
+                // skip whole pixels while decoding, never below the target size
+                int subsampling = Math.max(1, (int) Math.floor(1 / scale));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(source);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage image = reader.read(0, param);
+                int width = Math.max(1, (int) Math.round(source.width * scale));
+                int height = Math.max(1, (int) Math.round(source.height * scale));
+                if (image.getWidth() == width && image.getHeight() == height) {
+                    return image;
                 }
-                return false;
+                return scale(image, width, height);
+            } finally {
+                reader.dispose();
             }
-        });
-        while (!imageLoadStatus.widthDone && !imageLoadStatus.heightDone) {
-            try {
-                Thread.sleep(300);
-            } catch (InterruptedException e) {
+        } finally {
+            input.close();
+        }
+    }
 
-            }
+    private BufferedImage scale(BufferedImage image, int width, int height) {
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : DEFAULT_IMAGE_TYPE;
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
         }
+        return scaled;
     }
 
-    class ImageLoadStatus {
+    /**
+     * Waits for an image which is still being produced, without polling.
+     */
+    class ImageLoadStatus implements ImageObserver {
+
+        private int width = -1;
+        private int height = -1;
+        private boolean done = false;
+
+        public synchronized boolean imageUpdate(Image img, int infoflags, int x, int y, int w, int h) {
+            if ((infoflags & WIDTH) != 0) {
+                width = w;
+            }
+            if ((infoflags & HEIGHT) != 0) {
+                height = h;
+            }
+            if ((infoflags & (ALLBITS | FRAMEBITS | ERROR | ABORT)) != 0) {
+                done = true;
+            }
+            notifyAll();
+            return !done;
+        }
+
+        synchronized int getWidth(Image image) {
+            int w = image.getWidth(this);
+            while (w < 0 && width < 0 && !done) {
+                waitForUpdate();
+                w = image.getWidth(this);
+            }
+            return w < 0 ? Math.max(width, 1) : w;
+        }
+
+        synchronized int getHeight(Image image) {
+            int h = image.getHeight(this);
+            while (h < 0 && height < 0 && !done) {
+                waitForUpdate();
+                h = image.getHeight(this);
+            }
+            return h < 0 ? Math.max(height, 1) : h;
+        }
+
+        synchronized void waitForAllBits() {
+            while (!done) {
+                waitForUpdate();
+            }
+        }
+
+        private void waitForUpdate() {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                done = true;
+            }
+        }
 
-        public boolean widthDone = false;
-        public boolean heightDone = false;
     }
 
 }
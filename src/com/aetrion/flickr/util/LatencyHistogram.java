@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts durations in buckets, to tell their percentiles.<p>
+ *
+ * Durations are counted in microseconds. Below 16 microseconds every value
+ * has its own bucket; above, every power of two is split into eight buckets,
+ * so a percentile is off by at most an eighth of its value. Recording takes
+ * no lock, and a histogram is safe for use by multiple threads. Percentiles
+ * read while values are recorded may miss the latest values.
+ *
+ * @author Anthony Eden
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 16;
+    private static final int SUB_BUCKETS = 8;
+    /** The highest power of two with buckets, about 12 days in microseconds. */
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + (MAX_EXPONENT - 3) * SUB_BUCKETS;
+
+    private AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private AtomicLong count = new AtomicLong();
+    private AtomicLong totalNanos = new AtomicLong();
+    private AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Count a duration.
+     *
+     * @param nanos The duration in nanoseconds, negative values are ignored
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        buckets.incrementAndGet(getBucket(nanos / 1000));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    static int getBucket(long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int sub = (int) (micros >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @return The highest value of a bucket in microseconds
+     */
+    static long getUpperBound(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 4;
+        int sub = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+    }
+
+    /**
+     * Get the duration which the given fraction of the durations does not exceed.
+     *
+     * @param fraction The fraction, 0.5 for the median, 0.99 for the 99th percentile
+     * @return The duration in nanoseconds, 0 if nothing was recorded
+     */
+    public long getPercentile(double fraction) {
+        long total = 0;
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // the end of the bucket, but never more than was seen
+                return Math.min(getUpperBound(i) * 1000 + 999, getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return The sum of all durations in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    /**
+     * @return The mean duration in nanoseconds, 0 if nothing was recorded
+     */
+    public long getMeanNanos() {
+        long n = count.get();
+        return n == 0 ? 0 : totalNanos.get() / n;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+}
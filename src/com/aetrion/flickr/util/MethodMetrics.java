@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.aetrion.flickr.CallEvent;
+
+/**
+ * The calls of one API method counted by {@link CallMetrics}: how many,
+ * how many failed, the bytes sent and received, the histogram of their
+ * durations and the mean duration of their phases.
+ *
+ * @author Anthony Eden
+ */
+public class MethodMetrics {
+
+    private String method;
+    private LatencyHistogram latency = new LatencyHistogram();
+    private AtomicLong errorCount = new AtomicLong();
+    private AtomicLong cachedCount = new AtomicLong();
+    private AtomicLong bytesSent = new AtomicLong();
+    private AtomicLong bytesReceived = new AtomicLong();
+    private Phase connect = new Phase();
+    private Phase firstByte = new Phase();
+    private Phase parse = new Phase();
+
+    MethodMetrics(String method) {
+        this.method = method;
+    }
+
+    void record(CallEvent event) {
+        latency.record(event.getTotalNanos());
+        if (event.isError()) {
+            errorCount.incrementAndGet();
+        }
+        if (event.isCached()) {
+            cachedCount.incrementAndGet();
+        }
+        bytesSent.addAndGet(event.getBytesSent());
+        bytesReceived.addAndGet(event.getBytesReceived());
+        connect.record(event.getConnectNanos());
+        firstByte.record(event.getFirstByteNanos());
+        parse.record(event.getParseNanos());
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    /**
+     * @return The number of calls which failed with an exception or an error response
+     */
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    /**
+     * @return The number of calls answered from the response cache
+     */
+    public long getCachedCount() {
+        return cachedCount.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    /**
+     * @return The histogram of the total durations of the calls
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return The sum of the durations of all calls in nanoseconds
+     */
+    public long getTotalNanos() {
+        return latency.getTotalNanos();
+    }
+
+    /**
+     * @return The mean time to connect in nanoseconds, over the calls which connected
+     */
+    public long getMeanConnectNanos() {
+        return connect.getMean();
+    }
+
+    /**
+     * @return The mean time from the request to the first byte of the response in nanoseconds
+     */
+    public long getMeanFirstByteNanos() {
+        return firstByte.getMean();
+    }
+
+    /**
+     * @return The mean time to read and parse the response in nanoseconds
+     */
+    public long getMeanParseNanos() {
+        return parse.getMean();
+    }
+
+    /**
+     * The durations of one phase, which not every call goes through.
+     */
+    private static class Phase {
+
+        private AtomicLong count = new AtomicLong();
+        private AtomicLong nanos = new AtomicLong();
+
+        void record(long duration) {
+            if (duration >= 0) {
+                count.incrementAndGet();
+                nanos.addAndGet(duration);
+            }
+        }
+
+        long getMean() {
+            long n = count.get();
+            return n == 0 ? 0 : nanos.get() / n;
+        }
+
+    }
+
+}
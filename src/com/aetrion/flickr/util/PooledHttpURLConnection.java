@@ -0,0 +1,591 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ProtocolException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HttpURLConnection speaking HTTP/1.1 over a socket leased from a
+ * {@link HttpConnectionPool}. The socket goes back to the pool when the
+ * response body has been read and closed.<p>
+ *
+ * Request bodies are buffered unless fixed-length or chunked streaming
+ * mode has been set, like the JDK implementation does. A buffered request
+ * is sent again on a new socket if the pooled one turns out to be closed;
+ * a streamed body can not be sent twice, so the pooled socket is checked
+ * before the body is written.
+ *
+ * @author Anthony Eden
+ */
+class PooledHttpURLConnection extends HttpURLConnection {
+
+    private static final int DRAIN_LIMIT = 65536;
+
+    private HttpConnectionPool pool;
+    private HttpConnectionPool.Connection connection;
+    private Map requestHeaders;
+
+    private ByteArrayOutputStream bufferedBody;
+    private OutputStream streamingBody;
+    private boolean requestSent = false;
+
+    private boolean responseRead = false;
+    private String statusLine;
+    private List headerKeys = new ArrayList();
+    private List headerValues = new ArrayList();
+    private InputStream responseBody;
+
+    PooledHttpURLConnection(URL url, HttpConnectionPool pool) {
+        super(url);
+        this.pool = pool;
+    }
+
+    public void connect() throws IOException {
+        if (connected) {
+            return;
+        }
+        // request properties can not be read once connected
+        requestHeaders = new LinkedHashMap(getRequestProperties());
+        connection = pool.acquire(getHost(), getPort(), getConnectTimeout(), getReadTimeout(), true);
+        connected = true;
+    }
+
+    public OutputStream getOutputStream() throws IOException {
+        if (!doOutput) {
+            throw new ProtocolException("cannot write to a URLConnection if doOutput=false");
+        }
+        if (responseRead) {
+            throw new ProtocolException("Cannot write output after reading input.");
+        }
+        if (bufferedBody != null) {
+            return bufferedBody;
+        }
+        if (streamingBody != null) {
+            return streamingBody;
+        }
+        if ("GET".equals(method)) {
+            method = "POST";
+        }
+        connect();
+        if ((fixedContentLength != -1 || chunkLength > 0) && connection.reused && connection.isStale()) {
+            pool.release(connection, false);
+            connection = pool.acquire(getHost(), getPort(), getConnectTimeout(), getReadTimeout(), false);
+        }
+        if (fixedContentLength != -1) {
+            writeHead(fixedContentLength, false);
+            streamingBody = new FixedLengthOutputStream(connection.out, fixedContentLength);
+            return streamingBody;
+        } else if (chunkLength > 0) {
+            writeHead(-1, true);
+            streamingBody = new ChunkedOutputStream(connection.out, chunkLength);
+            return streamingBody;
+        }
+        bufferedBody = new ByteArrayOutputStream();
+        return bufferedBody;
+    }
+
+    public InputStream getInputStream() throws IOException {
+        readResponse();
+        if (responseCode >= 400) {
+            closeResponseBody();
+            if (responseCode == HTTP_NOT_FOUND || responseCode == HTTP_GONE) {
+                throw new FileNotFoundException(url.toString());
+            }
+            throw new IOException("Server returned HTTP response code: " + responseCode + " for URL: " + url);
+        }
+        return responseBody;
+    }
+
+    public InputStream getErrorStream() {
+        if (responseRead && responseCode >= 400) {
+            return responseBody;
+        }
+        return null;
+    }
+
+    public int getResponseCode() throws IOException {
+        readResponse();
+        return responseCode;
+    }
+
+    public String getResponseMessage() throws IOException {
+        readResponse();
+        return responseMessage;
+    }
+
+    public String getHeaderField(String name) {
+        if (!ensureResponse()) {
+            return null;
+        }
+        for (int i = headerKeys.size() - 1; i >= 0; i--) {
+            if (name.equalsIgnoreCase((String) headerKeys.get(i))) {
+                return (String) headerValues.get(i);
+            }
+        }
+        return null;
+    }
+
+    public String getHeaderFieldKey(int n) {
+        if (!ensureResponse() || n < 1 || n > headerKeys.size()) {
+            return null;
+        }
+        return (String) headerKeys.get(n - 1);
+    }
+
+    public String getHeaderField(int n) {
+        if (!ensureResponse()) {
+            return null;
+        }
+        if (n == 0) {
+            return statusLine;
+        }
+        if (n > headerValues.size()) {
+            return null;
+        }
+        return (String) headerValues.get(n - 1);
+    }
+
+    public Map getHeaderFields() {
+        if (!ensureResponse()) {
+            return Collections.EMPTY_MAP;
+        }
+        Map fields = new LinkedHashMap();
+        fields.put(null, Collections.singletonList(statusLine));
+        for (int i = 0; i < headerKeys.size(); i++) {
+            List values = (List) fields.get(headerKeys.get(i));
+            if (values == null) {
+                values = new ArrayList();
+                fields.put(headerKeys.get(i), values);
+            }
+            values.add(headerValues.get(i));
+        }
+        return Collections.unmodifiableMap(fields);
+    }
+
+    public void disconnect() {
+        if (connection != null) {
+            HttpConnectionPool.Connection c = connection;
+            connection = null;
+            pool.release(c, false);
+        }
+    }
+
+    public boolean usingProxy() {
+        return false;
+    }
+
+    private boolean ensureResponse() {
+        try {
+            readResponse();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Send the request, if not already done, and read status line and headers.
+     * A pooled connection which turns out to be closed by the server is
+     * replaced once, as long as the request can be sent again.
+     */
+    private void readResponse() throws IOException {
+        if (responseRead) {
+            return;
+        }
+        connect();
+        if (connection == null) {
+            throw new IOException("Connection already closed");
+        }
+        boolean retry = connection.reused && streamingBody == null;
+        while (true) {
+            try {
+                if (streamingBody != null) {
+                    streamingBody.close();
+                } else if (!requestSent) {
+                    byte[] body = bufferedBody == null ? null : bufferedBody.toByteArray();
+                    writeHead(body != null ? body.length : (doOutput ? 0 : -1), false);
+                    if (body != null) {
+                        connection.out.write(body);
+                    }
+                    connection.out.flush();
+                }
+                readHead();
+                break;
+            } catch (IOException e) {
+                if (!retry) {
+                    disconnect();
+                    throw e;
+                }
+                retry = false;
+                pool.release(connection, false);
+                connection = pool.acquire(getHost(), getPort(), getConnectTimeout(), getReadTimeout(), false);
+                requestSent = false;
+            }
+        }
+        responseRead = true;
+    }
+
+    private void writeHead(long contentLength, boolean chunked) throws IOException {
+        StringBuffer head = new StringBuffer();
+        String file = url.getFile();
+        head.append(method).append(' ').append(file.length() == 0 ? "/" : file).append(" HTTP/1.1\r\n");
+        head.append("Host: ").append(getHost());
+        if (url.getPort() != -1 && url.getPort() != 80) {
+            head.append(':').append(url.getPort());
+        }
+        head.append("\r\n");
+        boolean hasContentType = false;
+        boolean hasUserAgent = false;
+        Iterator iter = requestHeaders.entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry entry = (Map.Entry) iter.next();
+            String name = (String) entry.getKey();
+            if (name == null) {
+                continue;
+            }
+            hasContentType |= "Content-Type".equalsIgnoreCase(name);
+            hasUserAgent |= "User-Agent".equalsIgnoreCase(name);
+            Iterator values = ((List) entry.getValue()).iterator();
+            while (values.hasNext()) {
+                head.append(name).append(": ").append(values.next()).append("\r\n");
+            }
+        }
+        if (!hasUserAgent) {
+            head.append("User-Agent: ").append(System.getProperty("http.agent", "Java/" + System.getProperty("java.version"))).append("\r\n");
+        }
+        if (doOutput && !hasContentType) {
+            head.append("Content-Type: application/x-www-form-urlencoded\r\n");
+        }
+        if (chunked) {
+            head.append("Transfer-Encoding: chunked\r\n");
+        } else if (contentLength >= 0) {
+            head.append("Content-Length: ").append(contentLength).append("\r\n");
+        }
+        head.append("\r\n");
+        connection.out.write(head.toString().getBytes("ISO-8859-1"));
+        requestSent = true;
+    }
+
+    private void readHead() throws IOException {
+        InputStream in = connection.in;
+        do {
+            statusLine = readLine(in);
+            if (statusLine == null) {
+                throw new IOException("Connection closed by server");
+            }
+            headerKeys.clear();
+            headerValues.clear();
+            int first = statusLine.indexOf(' ');
+            if (!statusLine.startsWith("HTTP/") || first < 0) {
+                throw new IOException("Invalid HTTP status line: " + statusLine);
+            }
+            int second = statusLine.indexOf(' ', first + 1);
+            String code = second < 0 ? statusLine.substring(first + 1) : statusLine.substring(first + 1, second);
+            responseCode = Integer.parseInt(code.trim());
+            responseMessage = second < 0 ? "" : statusLine.substring(second + 1);
+            String line;
+            while ((line = readLine(in)) != null && line.length() > 0) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    headerKeys.add(line.substring(0, colon).trim());
+                    headerValues.add(line.substring(colon + 1).trim());
+                }
+            }
+        } while (responseCode == 100);
+
+        String connectionHeader = getHeaderValue("Connection");
+        boolean keepAlive = statusLine.startsWith("HTTP/1.1")
+            ? !"close".equalsIgnoreCase(connectionHeader)
+            : "keep-alive".equalsIgnoreCase(connectionHeader);
+
+        String transferEncoding = getHeaderValue("Transfer-Encoding");
+        String contentLength = getHeaderValue("Content-Length");
+        if ("HEAD".equals(method) || responseCode == HTTP_NO_CONTENT
+                || responseCode == HTTP_NOT_MODIFIED) {
+            responseBody = new ResponseInputStream(0, false, keepAlive);
+        } else if (transferEncoding != null && transferEncoding.equalsIgnoreCase("chunked")) {
+            responseBody = new ResponseInputStream(-1, true, keepAlive);
+        } else if (contentLength != null) {
+            responseBody = new ResponseInputStream(Long.parseLong(contentLength.trim()), false, keepAlive);
+        } else {
+            responseBody = new ResponseInputStream(-1, false, false);
+        }
+    }
+
+    private String getHeaderValue(String name) {
+        for (int i = headerKeys.size() - 1; i >= 0; i--) {
+            if (name.equalsIgnoreCase((String) headerKeys.get(i))) {
+                return (String) headerValues.get(i);
+            }
+        }
+        return null;
+    }
+
+    private void closeResponseBody() {
+        try {
+            responseBody.close();
+        } catch (IOException e) {
+        }
+    }
+
+    private String getHost() {
+        return url.getHost();
+    }
+
+    private int getPort() {
+        return url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+    }
+
+    static String readLine(InputStream in) throws IOException {
+        StringBuffer buffer = new StringBuffer();
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\n') {
+                int length = buffer.length();
+                if (length > 0 && buffer.charAt(length - 1) == '\r') {
+                    buffer.setLength(length - 1);
+                }
+                return buffer.toString();
+            }
+            buffer.append((char) c);
+        }
+        return buffer.length() == 0 ? null : buffer.toString();
+    }
+
+    /**
+     * Response body, delimited by Content-Length, chunked encoding or the end
+     * of the connection. Closing it returns the socket to the pool if the body
+     * has been consumed; a small unread rest is skipped first.
+     */
+    private class ResponseInputStream extends InputStream {
+
+        private long remaining;
+        private boolean chunked;
+        private boolean keepAlive;
+        private boolean eof = false;
+        private boolean closed = false;
+
+        ResponseInputStream(long length, boolean chunked, boolean keepAlive) {
+            this.remaining = chunked ? 0 : length;
+            this.chunked = chunked;
+            this.keepAlive = keepAlive;
+            this.eof = length == 0 && !chunked;
+        }
+
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int read = read(b, 0, 1);
+            return read == -1 ? -1 : b[0] & 0xff;
+        }
+
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (eof) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            if (chunked && remaining == 0) {
+                remaining = readChunkSize();
+                if (remaining == 0) {
+                    // skip trailers
+                    String line;
+                    while ((line = readLine(connection.in)) != null && line.length() > 0) {
+                    }
+                    eof = true;
+                    return -1;
+                }
+            }
+            int toRead = remaining < 0 ? len : (int) Math.min(len, remaining);
+            int read = connection.in.read(b, off, toRead);
+            if (read == -1) {
+                if (remaining < 0) {
+                    eof = true;
+                    return -1;
+                }
+                throw new IOException("Premature end of response body");
+            }
+            if (remaining > 0) {
+                remaining -= read;
+                if (remaining == 0) {
+                    if (chunked) {
+                        readLine(connection.in);
+                    } else {
+                        eof = true;
+                    }
+                }
+            }
+            return read;
+        }
+
+        public int available() throws IOException {
+            if (closed || eof) {
+                return 0;
+            }
+            int available = connection.in.available();
+            return remaining > 0 ? (int) Math.min(available, remaining) : available;
+        }
+
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            if (!eof && keepAlive && (chunked || remaining <= DRAIN_LIMIT)) {
+                try {
+                    byte[] skip = new byte[4096];
+                    long drained = 0;
+                    int read;
+                    while (drained <= DRAIN_LIMIT && (read = read(skip, 0, skip.length)) != -1) {
+                        drained += read;
+                    }
+                } catch (IOException e) {
+                    keepAlive = false;
+                }
+            }
+            closed = true;
+            if (connection != null) {
+                HttpConnectionPool.Connection c = connection;
+                connection = null;
+                pool.release(c, eof && keepAlive);
+            }
+        }
+
+        private long readChunkSize() throws IOException {
+            String line = readLine(connection.in);
+            if (line == null) {
+                throw new IOException("Premature end of chunked response body");
+            }
+            int semicolon = line.indexOf(';');
+            if (semicolon >= 0) {
+                line = line.substring(0, semicolon);
+            }
+            return Long.parseLong(line.trim(), 16);
+        }
+
+    }
+
+    /**
+     * Request body with a length announced in the Content-Length header.
+     */
+    private class FixedLengthOutputStream extends OutputStream {
+
+        private OutputStream out;
+        private long remaining;
+        private boolean closed = false;
+
+        FixedLengthOutputStream(OutputStream out, long length) {
+            this.out = out;
+            this.remaining = length;
+        }
+
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (len > remaining) {
+                throw new IOException("too many bytes written");
+            }
+            out.write(b, off, len);
+            remaining -= len;
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (remaining > 0) {
+                throw new IOException("insufficient data written");
+            }
+            out.flush();
+        }
+
+    }
+
+    /**
+     * Request body sent with chunked transfer encoding.
+     */
+    private class ChunkedOutputStream extends OutputStream {
+
+        private OutputStream out;
+        private byte[] buffer;
+        private int count = 0;
+        private boolean closed = false;
+
+        ChunkedOutputStream(OutputStream out, int chunkLength) {
+            this.out = out;
+            this.buffer = new byte[chunkLength];
+        }
+
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            while (len > 0) {
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+                if (count == buffer.length) {
+                    writeChunk();
+                }
+            }
+        }
+
+        public void flush() throws IOException {
+            writeChunk();
+            out.flush();
+        }
+
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            writeChunk();
+            out.write("0\r\n\r\n".getBytes("ISO-8859-1"));
+            out.flush();
+            closed = true;
+        }
+
+        private void writeChunk() throws IOException {
+            if (count > 0) {
+                out.write((Integer.toHexString(count) + "\r\n").getBytes("ISO-8859-1"));
+                out.write(buffer, 0, count);
+                out.write("\r\n".getBytes("ISO-8859-1"));
+                count = 0;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+
+package com.aetrion.flickr.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+
+import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterList;
+
+/**
+ * Encodes parameters as a query string or form body
+ * (application/x-www-form-urlencoded).<p>
+ *
+ * Values are encoded as UTF-8 and percent-encoded in one pass into a byte
+ * buffer, with the same result as URLEncoder. The buffer is reused, so an
+ * encoder should be taken from {@link #getInstance()}, which keeps one per
+ * thread, and its content used before the thread encodes the next request.
+ * Parameter names are written as they are. The numbers of a
+ * {@link ParameterList} are written without boxing.
+ *
+ * @author Anthony Eden
+ */
+public class QueryEncoder {
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final int MAX_RETAINED = 64 * 1024;
+
+    private static final byte[] HEX = {
+        '0', '1', '2', '3', '4', '5', '6', '7',
+        '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'
+    };
+
+    /** Characters written as they are, as by URLEncoder. */
+    private static final boolean[] UNRESERVED = new boolean[128];
+
+    static {
+        for (int c = 'a'; c <= 'z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (int c = 'A'; c <= 'Z'; c++) {
+            UNRESERVED[c] = true;
+        }
+        for (int c = '0'; c <= '9'; c++) {
+            UNRESERVED[c] = true;
+        }
+        UNRESERVED['.'] = true;
+        UNRESERVED['-'] = true;
+        UNRESERVED['*'] = true;
+        UNRESERVED['_'] = true;
+    }
+
+    private static final ThreadLocal INSTANCES = new ThreadLocal() {
+        protected Object initialValue() {
+            return new QueryEncoder();
+        }
+    };
+
+    private byte[] bytes = new byte[BUFFER_SIZE];
+    private int length = 0;
+    private int count = 0;
+
+    /**
+     * Get the encoder of the calling thread, emptied.
+     *
+     * @return The QueryEncoder
+     */
+    public static QueryEncoder getInstance() {
+        QueryEncoder encoder = (QueryEncoder) INSTANCES.get();
+        encoder.reset();
+        return encoder;
+    }
+
+    /**
+     * Empty the buffer, giving up its memory if an exceptionally large
+     * request made it grow.
+     */
+    public void reset() {
+        if (bytes.length > MAX_RETAINED) {
+            bytes = new byte[BUFFER_SIZE];
+        }
+        length = 0;
+        count = 0;
+    }
+
+    /**
+     * Append parameters.
+     *
+     * @param parameters The parameters
+     * @return This encoder
+     */
+    public QueryEncoder append(List parameters) {
+        if (parameters instanceof ParameterList) {
+            ParameterList list = (ParameterList) parameters;
+            for (int i = 0, n = list.size(); i < n; i++) {
+                if (list.isNumber(i)) {
+                    append(list.getName(i), list.getNumber(i));
+                } else {
+                    append(list.getName(i), list.getValue(i));
+                }
+            }
+            return this;
+        }
+        for (int i = 0, n = parameters.size(); i < n; i++) {
+            Parameter parameter = (Parameter) parameters.get(i);
+            append(parameter.getName(), parameter.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * Append one parameter, separated from the previous one by an ampersand.
+     *
+     * @param name The name, written as it is
+     * @param value The value, encoded through its String value; null for an empty value
+     * @return This encoder
+     */
+    public QueryEncoder append(String name, Object value) {
+        appendName(name);
+        if (value != null) {
+            encode(value instanceof String ? (String) value : value.toString());
+        }
+        return this;
+    }
+
+    /**
+     * Append one parameter with a number value.
+     *
+     * @param name The name, written as it is
+     * @param value The value
+     * @return This encoder
+     */
+    public QueryEncoder append(String name, long value) {
+        appendName(name);
+        // 20 bytes hold every long, digits written from the end
+        ensureCapacity(20);
+        int end = length + 20;
+        int pos = end;
+        // digits of the value made negative, which holds Long.MIN_VALUE as well
+        long rest = value < 0 ? value : -value;
+        while (rest < Integer.MIN_VALUE) {
+            long quotient = rest / 10;
+            bytes[--pos] = (byte) ('0' + (quotient * 10 - rest));
+            rest = quotient;
+        }
+        // the rest in int arithmetic, which is cheaper, as in Long.toString
+        int small = (int) rest;
+        do {
+            int quotient = small / 10;
+            bytes[--pos] = (byte) ('0' + (quotient * 10 - small));
+            small = quotient;
+        } while (small != 0);
+        if (value < 0) {
+            bytes[--pos] = '-';
+        }
+        int n = end - pos;
+        System.arraycopy(bytes, pos, bytes, length, n);
+        length += n;
+        return this;
+    }
+
+    private void appendName(String name) {
+        if (count++ > 0) {
+            ensureCapacity(1);
+            bytes[length++] = '&';
+        }
+        int n = name.length();
+        ensureCapacity(n + 1);
+        for (int i = 0; i < n; i++) {
+            bytes[length++] = (byte) name.charAt(i);
+        }
+        bytes[length++] = '=';
+    }
+
+    private void encode(String s) {
+        int n = s.length();
+        // room for every character escaped as one byte; more only for non-ASCII
+        ensureCapacity(n * 3);
+        byte[] bytes = this.bytes;
+        int length = this.length;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (UNRESERVED[c]) {
+                    bytes[length++] = (byte) c;
+                } else if (c == ' ') {
+                    bytes[length++] = '+';
+                } else {
+                    length = escape(bytes, length, c);
+                }
+                continue;
+            }
+            if (length + 12 + (n - i) * 3 > bytes.length) {
+                this.length = length;
+                ensureCapacity(12 + (n - i) * 3);
+                bytes = this.bytes;
+            }
+            if (c < 0x800) {
+                length = escape(bytes, length, 0xc0 | (c >> 6));
+                length = escape(bytes, length, 0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                length = escape(bytes, length, 0xf0 | (cp >> 18));
+                length = escape(bytes, length, 0x80 | ((cp >> 12) & 0x3f));
+                length = escape(bytes, length, 0x80 | ((cp >> 6) & 0x3f));
+                length = escape(bytes, length, 0x80 | (cp & 0x3f));
+            } else if (Character.isHighSurrogate(c) || Character.isLowSurrogate(c)) {
+                // unpaired surrogate, replaced like URLEncoder does
+                length = escape(bytes, length, '?');
+            } else {
+                length = escape(bytes, length, 0xe0 | (c >> 12));
+                length = escape(bytes, length, 0x80 | ((c >> 6) & 0x3f));
+                length = escape(bytes, length, 0x80 | (c & 0x3f));
+            }
+        }
+        this.length = length;
+    }
+
+    private static int escape(byte[] bytes, int length, int b) {
+        bytes[length++] = '%';
+        bytes[length++] = HEX[(b >> 4) & 0x0f];
+        bytes[length++] = HEX[b & 0x0f];
+        return length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > bytes.length) {
+            byte[] grown = new byte[Math.max(length + extra, bytes.length * 2)];
+            System.arraycopy(bytes, 0, grown, 0, length);
+            bytes = grown;
+        }
+    }
+
+    /**
+     * @return The number of bytes encoded
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Write the encoded parameters.
+     *
+     * @param out The OutputStream
+     * @throws IOException
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, length);
+    }
+
+    /**
+     * @return The encoded parameters, which are plain ASCII
+     */
+    public String toString() {
+        try {
+            return new String(bytes, 0, length, "ISO-8859-1");
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
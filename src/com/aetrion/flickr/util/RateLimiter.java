@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.util;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket which limits the rate of calls made with an API key.<p>
+ *
+ * Permits are handed out at a steady rate. Unused permits are saved up to the
+ * burst size, so an idle client may make a few calls at once. Callers which
+ * have to wait are served in order of arrival.<p>
+ *
+ * When Flickr signals that calls are throttled, the rate is halved, down to a
+ * tenth of the configured rate, at most once a second so that a burst of
+ * concurrent throttled calls counts once. Each successful call then raises it
+ * again by a twentieth of the configured rate.<p>
+ *
+ * Limiters returned by {@link #getInstance(String)} are shared by all
+ * transports using the same API key. Blocking callers wait in
+ * {@link #acquire()}; callers which must not block, for example code
+ * scheduling asynchronous calls, use {@link #tryAcquire()} or
+ * {@link #getDelay()}.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.REST#setRateLimiter(RateLimiter)
+ */
+public class RateLimiter {
+
+    /** Flickr allows 3600 calls per hour and API key. */
+    public static final double DEFAULT_PERMITS_PER_SECOND = 1.0;
+    public static final int DEFAULT_BURST = 10;
+
+    private static final Map INSTANCES = new HashMap();
+
+    private double permitsPerSecond;
+    private double currentRate;
+    private int burst;
+    private double storedPermits;
+    private long nextFreeNanos;
+    private long lastThrottledNanos;
+    private Set throttleErrorCodes = new HashSet();
+
+    private int waitingCount = 0;
+    private long acquiredCount = 0;
+    private long throttledCount = 0;
+    private long totalWaitNanos = 0;
+    private long maxWaitNanos = 0;
+
+    /**
+     * Construct a limiter with the default rate.
+     */
+    public RateLimiter() {
+        this(DEFAULT_PERMITS_PER_SECOND, DEFAULT_BURST);
+    }
+
+    /**
+     * Construct a limiter.
+     *
+     * @param permitsPerSecond The number of calls per second
+     * @param burst The number of calls which may be saved up while idle
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.currentRate = permitsPerSecond;
+        this.burst = Math.max(0, burst);
+        this.storedPermits = this.burst;
+        this.nextFreeNanos = System.nanoTime();
+        this.lastThrottledNanos = nextFreeNanos - 1000000000L;
+        // 105: Service currently unavailable
+        throttleErrorCodes.add("105");
+    }
+
+    /**
+     * Get the limiter shared by everybody using the API key,
+     * created with the default rate on first use.
+     *
+     * @param apiKey The API key
+     * @return The RateLimiter
+     */
+    public static RateLimiter getInstance(String apiKey) {
+        synchronized (INSTANCES) {
+            RateLimiter rateLimiter = (RateLimiter) INSTANCES.get(apiKey);
+            if (rateLimiter == null) {
+                rateLimiter = new RateLimiter();
+                INSTANCES.put(apiKey, rateLimiter);
+            }
+            return rateLimiter;
+        }
+    }
+
+    /**
+     * Wait until a call may be made.
+     *
+     * @throws InterruptedException
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            waitNanos = reserve(System.nanoTime());
+            acquiredCount++;
+            if (waitNanos <= 0) {
+                return;
+            }
+            waitingCount++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } finally {
+            synchronized (this) {
+                waitingCount--;
+            }
+        }
+    }
+
+    /**
+     * Take a permit if one is available right now.
+     *
+     * @return true if a call may be made
+     */
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        resync(now);
+        if (nextFreeNanos > now) {
+            return false;
+        }
+        reserve(now);
+        acquiredCount++;
+        return true;
+    }
+
+    /**
+     * @return Milliseconds until the next permit is available, 0 if one is available now
+     */
+    public synchronized long getDelay() {
+        long now = System.nanoTime();
+        resync(now);
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(nextFreeNanos - now));
+    }
+
+    /**
+     * Report that Flickr throttled a call. Halves the rate and drops the saved permits.
+     */
+    public synchronized void throttled() {
+        throttledCount++;
+        long now = System.nanoTime();
+        resync(now);
+        storedPermits = 0;
+        if (now - lastThrottledNanos >= 1000000000L) {
+            lastThrottledNanos = now;
+            currentRate = Math.max(permitsPerSecond / 10, currentRate / 2);
+        }
+    }
+
+    /**
+     * Report a successful call. Raises a lowered rate towards the configured rate.
+     */
+    public synchronized void succeeded() {
+        if (currentRate < permitsPerSecond) {
+            resync(System.nanoTime());
+            currentRate = Math.min(permitsPerSecond, currentRate + permitsPerSecond / 20);
+        }
+    }
+
+    /**
+     * @param errorCode A Flickr error code
+     * @return true if the error code means that calls are throttled
+     */
+    public synchronized boolean isThrottleError(String errorCode) {
+        return throttleErrorCodes.contains(errorCode);
+    }
+
+    /**
+     * Set the Flickr error codes which mean that calls are throttled.
+     * HTTP status 429 and 503 always count as throttling.
+     *
+     * @param errorCodes The error codes (Strings)
+     */
+    public synchronized void setThrottleErrorCodes(Set errorCodes) {
+        throttleErrorCodes = new HashSet(errorCodes);
+    }
+
+    public synchronized double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public synchronized void setPermitsPerSecond(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        resync(System.nanoTime());
+        this.permitsPerSecond = permitsPerSecond;
+        this.currentRate = permitsPerSecond;
+    }
+
+    /**
+     * @return The rate in use, lower than the configured rate after throttling
+     */
+    public synchronized double getCurrentRate() {
+        return currentRate;
+    }
+
+    /**
+     * @return The number of callers waiting for a permit
+     */
+    public synchronized int getWaitingCount() {
+        return waitingCount;
+    }
+
+    public synchronized long getAcquiredCount() {
+        return acquiredCount;
+    }
+
+    public synchronized long getThrottledCount() {
+        return throttledCount;
+    }
+
+    /**
+     * @return The total time callers waited for permits, in milliseconds
+     */
+    public synchronized long getTotalWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos);
+    }
+
+    /**
+     * @return The longest time a caller waited for a permit, in milliseconds
+     */
+    public synchronized long getMaxWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos);
+    }
+
+    /**
+     * Reserve the next permit.
+     *
+     * @param now The current time
+     * @return Nanoseconds to wait before the permit may be used
+     */
+    private long reserve(long now) {
+        resync(now);
+        long waitNanos = nextFreeNanos - now;
+        if (storedPermits >= 1) {
+            storedPermits -= 1;
+        } else {
+            nextFreeNanos += (long) (1000000000L / currentRate);
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Save up the permits which became available since the last call.
+     */
+    private void resync(long now) {
+        if (now > nextFreeNanos) {
+            double newPermits = (now - nextFreeNanos) * currentRate / 1000000000L;
+            storedPermits = Math.min(burst, storedPermits + newPermits);
+            nextFreeNanos = now;
+        }
+    }
+
+}
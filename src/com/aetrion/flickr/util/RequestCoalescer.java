@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Lets identical concurrent requests share one network call.<p>
+ *
+ * The first caller for a key makes the call. Callers arriving with the same
+ * key while it is in flight wait for it and receive the same response body,
+ * or the same exception. Each caller parses the body on its own, so no
+ * parsed response is shared between threads. Once the call completes the
+ * next caller for the key makes a new call.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.REST#setRequestCoalescer(RequestCoalescer)
+ */
+public class RequestCoalescer {
+
+    /** Calls in flight by key. */
+    private Map calls = new HashMap();
+
+    private long callCount = 0;
+    private long coalescedCount = 0;
+
+    /**
+     * Make the call, or wait for the identical call in flight.
+     *
+     * @param key The key identifying the request
+     * @param call The call, returning the response body as byte[]
+     * @return The response body
+     * @throws IOException
+     */
+    public byte[] execute(String key, Callable call) throws IOException {
+        Flight flight;
+        boolean leader = false;
+        synchronized (this) {
+            flight = (Flight) calls.get(key);
+            if (flight == null) {
+                flight = new Flight();
+                calls.put(key, flight);
+                leader = true;
+                callCount++;
+            } else {
+                coalescedCount++;
+            }
+        }
+        if (leader) {
+            try {
+                flight.complete((byte[]) call.call(), null);
+            } catch (Throwable t) {
+                flight.complete(null, t);
+            } finally {
+                synchronized (this) {
+                    calls.remove(key);
+                }
+            }
+        }
+        return flight.getBody();
+    }
+
+    /**
+     * @return The number of calls made
+     */
+    public synchronized long getCallCount() {
+        return callCount;
+    }
+
+    /**
+     * @return The number of requests which shared a call made for another request
+     */
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * @return The number of calls in flight
+     */
+    public synchronized int getInFlightCount() {
+        return calls.size();
+    }
+
+    private static class Flight {
+
+        private boolean done = false;
+        private byte[] body;
+        private Throwable error;
+
+        synchronized void complete(byte[] body, Throwable error) {
+            this.body = body;
+            this.error = error;
+            this.done = true;
+            notifyAll();
+        }
+
+        synchronized byte[] getBody() throws IOException {
+            while (!done) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for a coalesced request");
+                }
+            }
+            if (error instanceof IOException) {
+                throw (IOException) error;
+            } else if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            } else if (error instanceof Error) {
+                throw (Error) error;
+            } else if (error != null) {
+                IOException e = new IOException(error.getMessage());
+                e.initCause(error);
+                throw e;
+            }
+            return body;
+        }
+
+    }
+
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.aetrion.flickr.Parameter;
+import com.aetrion.flickr.ParameterAlphaComparator;
+import com.aetrion.flickr.ParameterList;
+
+/**
+ * A size-bounded cache for the responses of read methods.<p>
+ *
+ * Only methods with a time to live are cached, for example:
+ *
+ * <pre>
+ * ResponseCache cache = new ResponseCache(5000);
+ * cache.setTimeToLive(PeopleInterface.METHOD_GET_INFO, 10 * 60 * 1000);
+ * cache.setTimeToLive(LicensesInterface.METHOD_GET_INFO, 24 * 60 * 60 * 1000);
+ * rest.setResponseCache(cache);
+ * </pre>
+ *
+ * Entries are keyed on the method and all other parameters except the
+ * signature, so responses for different users (auth_token) are kept apart.
+ * The raw response bodies are cached, every hit is parsed again and callers
+ * never share a document. The least recently used entry is evicted when the
+ * cache is full. Error responses are not cached.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.REST#setResponseCache(ResponseCache)
+ */
+public class ResponseCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private int maxEntries;
+    private Map timesToLive = new HashMap();
+    private LinkedHashMap entries = new LinkedHashMap(16, 0.75f, true) {
+        private static final long serialVersionUID = 2206425623416377186L;
+
+        protected boolean removeEldestEntry(Map.Entry eldest) {
+            if (size() > maxEntries) {
+                evictionCount++;
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+    private long expiredCount = 0;
+
+    public ResponseCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries The maximum number of cached responses
+     */
+    public ResponseCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Cache the responses of a method.
+     *
+     * @param method The method name, for example flickr.people.getInfo
+     * @param timeToLive Milliseconds a response stays valid, 0 to stop caching the method
+     */
+    public synchronized void setTimeToLive(String method, long timeToLive) {
+        if (timeToLive > 0) {
+            timesToLive.put(method, new Long(timeToLive));
+        } else {
+            timesToLive.remove(method);
+            invalidate(method);
+        }
+    }
+
+    /**
+     * @param method The method name
+     * @return The time to live in milliseconds, 0 if the method is not cached
+     */
+    public synchronized long getTimeToLive(String method) {
+        Long timeToLive = (Long) timesToLive.get(method);
+        return timeToLive == null ? 0 : timeToLive.longValue();
+    }
+
+    /**
+     * Get the cache key for a request.
+     *
+     * @param parameters The parameters of the request
+     * @return The key, null if the request is not cached
+     */
+    public String getKey(List parameters) {
+        if (parameters instanceof ParameterList) {
+            return getKey((ParameterList) parameters);
+        }
+        String method = null;
+        List sorted = new ArrayList(parameters.size());
+        Iterator iter = parameters.iterator();
+        while (iter.hasNext()) {
+            Parameter parameter = (Parameter) iter.next();
+            if (!(parameter.getValue() instanceof String) && !(parameter.getValue() instanceof Number)) {
+                // uploads and the like are never cached
+                return null;
+            }
+            if ("method".equals(parameter.getName())) {
+                method = String.valueOf(parameter.getValue());
+            } else if (!"api_sig".equals(parameter.getName())) {
+                sorted.add(parameter);
+            }
+        }
+        if (method == null || getTimeToLive(method) == 0) {
+            return null;
+        }
+        Collections.sort(sorted, new ParameterAlphaComparator());
+        StringBuffer key = new StringBuffer(method);
+        key.append('?');
+        iter = sorted.iterator();
+        while (iter.hasNext()) {
+            Parameter parameter = (Parameter) iter.next();
+            key.append(parameter.getName());
+            key.append('=');
+            key.append(parameter.getValue());
+            key.append('&');
+        }
+        return key.toString();
+    }
+
+    /**
+     * Get the cache key for a request from its parameters, checking the
+     * method before anything else. The parameters are sorted like the
+     * Signer sorts them, which they already are if the request is signed.
+     */
+    private String getKey(ParameterList parameters) {
+        String method = parameters.getMethod();
+        if (method == null || getTimeToLive(method) == 0) {
+            return null;
+        }
+        parameters.sort();
+        StringBuffer key = new StringBuffer(method);
+        key.append('?');
+        for (int i = 0, n = parameters.size(); i < n; i++) {
+            String name = parameters.getName(i);
+            if ("method".equals(name) || "api_sig".equals(name)) {
+                continue;
+            }
+            key.append(name);
+            key.append('=');
+            if (parameters.isNumber(i)) {
+                key.append(parameters.getNumber(i));
+            } else {
+                Object value = parameters.getValue(i);
+                if (!(value instanceof String) && !(value instanceof Number)) {
+                    return null;
+                }
+                key.append(value);
+            }
+            key.append('&');
+        }
+        return key.toString();
+    }
+
+    /**
+     * Get a cached response body.
+     *
+     * @param key The key
+     * @return The response body, null if there is no valid entry
+     */
+    public synchronized byte[] get(String key) {
+        Entry entry = (Entry) entries.get(key);
+        if (entry != null && entry.expires < System.currentTimeMillis()) {
+            entries.remove(key);
+            expiredCount++;
+            entry = null;
+        }
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.body;
+    }
+
+    /**
+     * Cache a response body.
+     *
+     * @param key The key from {@link #getKey(List)}
+     * @param body The response body
+     */
+    public synchronized void put(String key, byte[] body) {
+        long timeToLive = getTimeToLive(getMethod(key));
+        if (timeToLive > 0) {
+            entries.put(key, new Entry(body, System.currentTimeMillis() + timeToLive));
+        }
+    }
+
+    /**
+     * Remove all cached responses of a method.
+     *
+     * @param method The method name
+     */
+    public synchronized void invalidate(String method) {
+        Iterator iter = entries.keySet().iterator();
+        while (iter.hasNext()) {
+            if (method.equals(getMethod((String) iter.next()))) {
+                iter.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The number of entries removed to make room for new ones
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return The number of entries removed because their time to live passed
+     */
+    public synchronized long getExpiredCount() {
+        return expiredCount;
+    }
+
+    private String getMethod(String key) {
+        return key.substring(0, key.indexOf('?'));
+    }
+
+    private static class Entry {
+
+        final byte[] body;
+        final long expires;
+
+        Entry(byte[] body, long expires) {
+            this.body = body;
+            this.expires = expires;
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded queue which takes no lock.<p>
+ *
+ * Every slot carries a sequence number which tells whether it is free for
+ * the next writer or filled for the next reader, so writers and readers only
+ * compete on a compare-and-set of their position. Adding to a full buffer
+ * fails instead of waiting. Any number of threads may add and take.
+ *
+ * @author Anthony Eden
+ */
+public class RingBuffer {
+
+    private AtomicReferenceArray slots;
+    private AtomicLongArray sequences;
+    private int mask;
+    private AtomicLong head = new AtomicLong();
+    private AtomicLong tail = new AtomicLong();
+
+    /**
+     * Construct a RingBuffer.
+     *
+     * @param capacity The number of elements held, rounded up to a power of two of at least 2
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        // with one slot a filled slot could not be told from a free one
+        size = Math.max(size, 2);
+        slots = new AtomicReferenceArray(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Add an element, unless the buffer is full.
+     *
+     * @param element The element, not null
+     * @return true if the element was added, false if the buffer is full
+     */
+    public boolean offer(Object element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    // publish the element to the reader of this position
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Take the oldest element.
+     *
+     * @return The element, null if the buffer is empty
+     */
+    public Object poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    Object element = slots.get(index);
+                    slots.set(index, null);
+                    // free the slot for the writer one round later
+                    sequences.set(index, position + mask + 1);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * @return The number of elements, which may change at any time
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, mask + 1));
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+}
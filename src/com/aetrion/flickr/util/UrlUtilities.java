@@ -4,16 +4,8 @@
 
 package com.aetrion.flickr.util;
 
-import com.aetrion.flickr.Parameter;
-import com.aetrion.flickr.RequestContext;
-import com.aetrion.flickr.auth.Auth;
-import com.aetrion.flickr.auth.AuthUtilities;
-
-import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.net.URLEncoder;
-import java.util.Iterator;
 import java.util.List;
 
 /** @author Anthony Eden */
@@ -39,82 +31,22 @@ public class UrlUtilities {
         // see: AuthUtilities.getSignature()
         // AuthUtilities.addAuthToken(parameters);
 
-        StringBuffer buffer = new StringBuffer();
-        buffer.append("http://");
-        buffer.append(host);
-        if (port > 0) {
-            buffer.append(":");
-            buffer.append(port);
-        }
         if (path == null) {
             path = "/";
         }
-        buffer.append(path);
-
-        Iterator iter = parameters.iterator();
-        if (iter.hasNext()) {
-            buffer.append("?");
-        }
-        while (iter.hasNext()) {
-            Parameter p = (Parameter) iter.next();
-            buffer.append(p.getName());
-            buffer.append("=");
-	    Object value = p.getValue();
-	    if (value != null) {
-		String string = value.toString();
-		try {
-		    string = URLEncoder.encode(string, UTF8);
-		} catch(UnsupportedEncodingException e) {
-		    // Should never happen, but just in case
-		}
-		buffer.append(string);
-	    }
-            if (iter.hasNext()) buffer.append("&");
+        if (parameters.isEmpty()) {
+            return new URL("http", host, port > 0 ? port : -1, path);
         }
-
-/*        RequestContext requestContext = RequestContext.getRequestContext();
-        Auth auth = requestContext.getAuth();
-        if (auth != null && !ignoreMethod(getMethod(parameters))) {
-            buffer.append("&api_sig=");
-            buffer.append(AuthUtilities.getSignature(sharedSecret, parameters));
-        } */
-
-        return new URL(buffer.toString());
+        // the parts go to the URL as they are, without parsing the URL again
+        String query = QueryEncoder.getInstance().append(parameters).toString();
+        return new URL("http", host, port > 0 ? port : -1, path + "?" + query);
     }
 
     public static URL buildPostUrl(String host, int port, String path) throws MalformedURLException {
-        StringBuffer buffer = new StringBuffer();
-        buffer.append("http://");
-        buffer.append(host);
-        if (port > 0) {
-            buffer.append(":");
-            buffer.append(port);
-        }
         if (path == null) {
             path = "/";
         }
-        buffer.append(path);
-        return new URL(buffer.toString());
-    }
-
-    private static String getMethod(List parameters) {
-        Iterator iter = parameters.iterator();
-        while (iter.hasNext()) {
-            Parameter parameter = (Parameter) iter.next();
-            if ("method".equals(parameter.getName())) {
-                return String.valueOf(parameter.getValue());
-            }
-        }
-        return null;
-    }
-
-    private static boolean ignoreMethod(String method) {
-        if (method != null) {
-            if ("flickr.auth.checkToken".equals(method)) {
-                return true;
-            }
-        }
-        return false;
+        return new URL("http", host, port > 0 ? port : -1, path);
     }
 
     /**
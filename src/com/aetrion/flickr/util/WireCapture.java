@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.util;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The bytes of one call on the wire, collected for a {@link WireLog}.<p>
+ *
+ * The transport wraps the request and response streams of the call, which
+ * copy up to the capture limit of the log into memory. A call which is not
+ * sampled is only copied from the time it reaches the slow threshold; the
+ * bytes before are counted. The capture is complete when the response
+ * stream is closed or the call fails, and is then handed to the log.
+ *
+ * @author Anthony Eden
+ */
+public class WireCapture {
+
+    private WireLog log;
+    private boolean sampled;
+    private long slowThresholdNanos;
+    /** Whether the bytes are copied, from the start if sampled, otherwise once the call is slow. */
+    private boolean copying;
+    private String httpMethod;
+    private String url;
+    private long time;
+    private long startNanos;
+    private long durationNanos = -1;
+    private int status = -1;
+    private Bytes request;
+    private Bytes response;
+    private String failure;
+    private boolean completed = false;
+
+    WireCapture(WireLog log, boolean sampled, long slowThresholdNanos, String httpMethod, String url) {
+        this.log = log;
+        this.sampled = sampled;
+        this.slowThresholdNanos = slowThresholdNanos;
+        this.copying = sampled;
+        this.httpMethod = httpMethod;
+        this.url = url;
+        time = System.currentTimeMillis();
+        startNanos = System.nanoTime();
+        request = new Bytes(log.getMaxCaptureBytes());
+        response = new Bytes(log.getMaxCaptureBytes());
+    }
+
+    /**
+     * Copy the bytes written to a request stream.
+     *
+     * @param out The stream
+     * @return The stream copying into this capture
+     */
+    public OutputStream captureRequest(OutputStream out) {
+        return new FilterOutputStream(out) {
+            public void write(int b) throws IOException {
+                out.write(b);
+                if (isCopying()) {
+                    request.write(b);
+                } else {
+                    request.skip(1);
+                }
+            }
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                if (isCopying()) {
+                    request.write(b, off, len);
+                } else {
+                    request.skip(len);
+                }
+            }
+        };
+    }
+
+    /**
+     * Copy the bytes read from a response stream. Closing the stream
+     * completes the capture.
+     *
+     * @param in The stream
+     * @return The stream copying into this capture
+     */
+    public InputStream captureResponse(InputStream in) {
+        return new FilterInputStream(in) {
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    if (isCopying()) {
+                        response.write(b);
+                    } else {
+                        response.skip(1);
+                    }
+                }
+                return b;
+            }
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                    if (isCopying()) {
+                        response.write(b, off, n);
+                    } else {
+                        response.skip(n);
+                    }
+                }
+                return n;
+            }
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    complete();
+                }
+            }
+        };
+    }
+
+    private boolean isCopying() {
+        if (!copying && System.nanoTime() - startNanos >= slowThresholdNanos) {
+            copying = true;
+        }
+        return copying;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    /**
+     * Complete the capture of a call which failed.
+     *
+     * @param e The exception
+     */
+    public synchronized void failed(Exception e) {
+        if (failure == null && !completed) {
+            failure = e.toString();
+        }
+        complete();
+    }
+
+    synchronized void complete() {
+        if (completed) {
+            return;
+        }
+        completed = true;
+        durationNanos = System.nanoTime() - startNanos;
+        log.completed(this);
+    }
+
+    boolean isSampled() {
+        return sampled;
+    }
+
+    String getHttpMethod() {
+        return httpMethod;
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    long getTime() {
+        return time;
+    }
+
+    long getDurationNanos() {
+        return durationNanos;
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    Bytes getRequest() {
+        return request;
+    }
+
+    Bytes getResponse() {
+        return response;
+    }
+
+    String getFailure() {
+        return failure;
+    }
+
+    /**
+     * Bytes collected up to a limit, counting those beyond it.
+     */
+    static class Bytes {
+
+        private byte[] data = new byte[0];
+        private int count = 0;
+        private long dropped = 0;
+        private long skipped = 0;
+        private int limit;
+
+        Bytes(int limit) {
+            this.limit = limit;
+        }
+
+        void write(int b) {
+            if (count < limit) {
+                ensureCapacity(1);
+                data[count++] = (byte) b;
+            } else {
+                dropped++;
+            }
+        }
+
+        void write(byte[] b, int off, int len) {
+            int kept = Math.min(len, limit - count);
+            if (kept > 0) {
+                ensureCapacity(kept);
+                System.arraycopy(b, off, data, count, kept);
+                count += kept;
+            }
+            dropped += len - Math.max(kept, 0);
+        }
+
+        /**
+         * Count bytes passed before the call was slow.
+         */
+        void skip(int len) {
+            skipped += len;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (count + extra > data.length) {
+                byte[] grown = new byte[Math.min(limit, Math.max(count + extra, Math.max(256, data.length * 2)))];
+                System.arraycopy(data, 0, grown, 0, count);
+                data = grown;
+            }
+        }
+
+        byte[] getData() {
+            return data;
+        }
+
+        int getCount() {
+            return count;
+        }
+
+        long getDropped() {
+            return dropped;
+        }
+
+        long getSkipped() {
+            return skipped;
+        }
+
+    }
+
+}
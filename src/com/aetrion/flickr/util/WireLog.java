@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2005 Aetrion LLC.
+ */
+package com.aetrion.flickr.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URL;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * Writes the requests and responses of sampled or slow calls to rotating
+ * log files, without holding up the calls.<p>
+ *
+ * A call is captured if it is sampled, at the configured fraction of all
+ * calls, or if it takes at least the slow threshold. The bytes of a sampled
+ * call are copied up to a limit while it runs; those of any other call only
+ * once it has taken as long as the threshold, so a fast call copies nothing.
+ * The completed capture is added to a {@link RingBuffer}, and a daemon
+ * thread, which sleeps while the buffer is empty, writes it to the log
+ * file. A request thread never waits for the writer: when the buffer is
+ * full, the capture is dropped and counted.<p>
+ *
+ * The log file is rotated when it exceeds its maximum size: flickr.log
+ * becomes flickr.log.1, flickr.log.1 becomes flickr.log.2 and so on, and the
+ * oldest file is deleted. Auth tokens are masked in the log, in requests as
+ * well as in the responses of flickr.auth.getToken and the like.
+ *
+ * @author Anthony Eden
+ * @see com.aetrion.flickr.REST#setWireLog(WireLog)
+ */
+public class WireLog {
+
+    public static final int DEFAULT_CAPACITY = 256;
+    public static final int DEFAULT_MAX_CAPTURE_BYTES = 64 * 1024;
+    public static final long DEFAULT_MAX_FILE_SIZE = 10 * 1024 * 1024;
+    public static final int DEFAULT_MAX_FILES = 5;
+
+    private static final Pattern AUTH_TOKEN = Pattern.compile(
+        "(auth_token=)[^&\\s]*|(name=\"auth_token\"\r\n\r\n)[^\r]*|(<token>)[^<]*"
+    );
+    private static final ThreadFactory THREADS = new DaemonThreadFactory("wirelog");
+
+    private File file;
+    private RingBuffer buffer;
+    private volatile double sampleRate = 0;
+    private volatile long slowThresholdNanos = -1;
+    private volatile int maxCaptureBytes = DEFAULT_MAX_CAPTURE_BYTES;
+    private volatile long maxFileSize = DEFAULT_MAX_FILE_SIZE;
+    private volatile int maxFiles = DEFAULT_MAX_FILES;
+    private volatile boolean closed = false;
+    /** Set while the writer sleeps, so only then a request thread wakes it. */
+    private volatile boolean waiting = false;
+    private volatile IOException failure;
+
+    private AtomicLong callCount = new AtomicLong();
+    private AtomicLong droppedCount = new AtomicLong();
+    private AtomicLong writtenCount = new AtomicLong();
+
+    private Thread writer;
+
+    /**
+     * Construct a WireLog writing to the given file.
+     *
+     * @param file The log file
+     */
+    public WireLog(File file) {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct a WireLog writing to the given file.
+     *
+     * @param file The log file
+     * @param capacity The number of captures waiting to be written before further captures are dropped
+     */
+    public WireLog(File file, int capacity) {
+        this.file = file;
+        buffer = new RingBuffer(capacity);
+        writer = THREADS.newThread(new Writer());
+        writer.start();
+    }
+
+    /**
+     * Capture the given fraction of all calls.
+     *
+     * @param sampleRate The fraction, from 0 for no calls to 1 for all calls
+     */
+    public void setSampleRate(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Capture all calls which take at least the given time, sampled or not.
+     *
+     * @param millis The time in milliseconds, negative to capture sampled calls only
+     */
+    public void setSlowThreshold(long millis) {
+        slowThresholdNanos = millis < 0 ? -1 : millis * 1000000L;
+    }
+
+    /**
+     * @return The slow threshold in milliseconds, -1 if there is none
+     */
+    public long getSlowThreshold() {
+        return slowThresholdNanos < 0 ? -1 : slowThresholdNanos / 1000000L;
+    }
+
+    /**
+     * Capture at most the given number of bytes of each request and each response.
+     *
+     * @param maxCaptureBytes The number of bytes
+     */
+    public void setMaxCaptureBytes(int maxCaptureBytes) {
+        this.maxCaptureBytes = maxCaptureBytes;
+    }
+
+    public int getMaxCaptureBytes() {
+        return maxCaptureBytes;
+    }
+
+    /**
+     * @param maxFileSize The size in bytes after which the log file is rotated
+     */
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * @param maxFiles The number of log files kept, the current one included
+     */
+    public void setMaxFiles(int maxFiles) {
+        if (maxFiles < 1) {
+            throw new IllegalArgumentException("maxFiles must be at least 1");
+        }
+        this.maxFiles = maxFiles;
+    }
+
+    /**
+     * Start capturing a call, if it is sampled or may turn out to be slow.
+     *
+     * @param httpMethod GET or POST
+     * @param url The request URL
+     * @return The WireCapture, null if the call is not captured
+     */
+    public WireCapture startCapture(String httpMethod, URL url) {
+        if (closed) {
+            return null;
+        }
+        long n = callCount.incrementAndGet();
+        // spreads the sampled calls evenly, the rate is met after every few calls
+        boolean sampled = (long) (n * sampleRate) != (long) ((n - 1) * sampleRate);
+        if (!sampled && slowThresholdNanos < 0) {
+            return null;
+        }
+        return new WireCapture(this, sampled, slowThresholdNanos, httpMethod, url.toString());
+    }
+
+    void completed(WireCapture capture) {
+        long threshold = slowThresholdNanos;
+        if (!capture.isSampled() && (threshold < 0 || capture.getDurationNanos() < threshold)) {
+            return;
+        }
+        if (closed || !buffer.offer(capture)) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        if (waiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * @return The number of captures written to the log
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * @return The number of captures dropped because the writer fell behind or failed
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return The exception which stopped the writer, null if it did not fail
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Stop capturing, and wait until the captures taken so far are written.
+     *
+     * @throws InterruptedException
+     */
+    public void close() throws InterruptedException {
+        closed = true;
+        LockSupport.unpark(writer);
+        writer.join();
+    }
+
+    private File getFile(int index) {
+        return index == 0 ? file : new File(file.getPath() + "." + index);
+    }
+
+    /**
+     * Drains the buffer to the log file.
+     */
+    private class Writer implements Runnable {
+
+        private SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        private ByteArrayOutputStream entry = new ByteArrayOutputStream(8192);
+        private OutputStream out;
+        private long size;
+
+        public void run() {
+            try {
+                while (true) {
+                    WireCapture capture = (WireCapture) buffer.poll();
+                    if (capture == null) {
+                        if (out != null) {
+                            out.flush();
+                        }
+                        if (closed) {
+                            break;
+                        }
+                        waiting = true;
+                        // a capture offered before the flag was seen is found here
+                        if (buffer.size() == 0 && !closed) {
+                            LockSupport.park(this);
+                        }
+                        waiting = false;
+                        continue;
+                    }
+                    write(capture);
+                    writtenCount.incrementAndGet();
+                }
+            } catch (IOException e) {
+                failure = e;
+                closed = true;
+                // what is left can not be written any more
+                while (buffer.poll() != null) {
+                    droppedCount.incrementAndGet();
+                }
+            } finally {
+                IOUtilities.close(out);
+            }
+        }
+
+        private void write(WireCapture capture) throws IOException {
+            entry.reset();
+            StringBuffer header = new StringBuffer(256);
+            header.append("--- ").append(dateFormat.format(new Date(capture.getTime())));
+            header.append(' ').append(capture.getHttpMethod());
+            header.append(' ').append(mask(capture.getUrl()));
+            header.append(" status=").append(capture.getStatus());
+            header.append(" time=").append(capture.getDurationNanos() / 1000000L).append("ms");
+            if (!capture.isSampled()) {
+                header.append(" slow");
+            }
+            if (capture.getFailure() != null) {
+                header.append(" failed=").append(capture.getFailure());
+            }
+            header.append('\n');
+            entry.write(toBytes(header.toString()));
+            WireCapture.Bytes request = capture.getRequest();
+            if (request.getCount() > 0 || request.getDropped() > 0 || request.getSkipped() > 0) {
+                writeBytes('>', request);
+            }
+            writeBytes('<', capture.getResponse());
+            entry.write('\n');
+
+            if (out == null || size > 0 && size + entry.size() > maxFileSize) {
+                rotate();
+            }
+            entry.writeTo(out);
+            size += entry.size();
+        }
+
+        private void writeBytes(char direction, WireCapture.Bytes bytes) throws IOException {
+            entry.write(direction);
+            entry.write(' ');
+            if (bytes.getSkipped() > 0) {
+                entry.write(toBytes("[" + bytes.getSkipped() + " bytes before the call was slow]\n"));
+            }
+            entry.write(toBytes(mask(new String(bytes.getData(), 0, bytes.getCount(), "ISO-8859-1"))));
+            if (bytes.getDropped() > 0) {
+                entry.write(toBytes("\n[" + bytes.getDropped() + " more bytes]"));
+            }
+            entry.write('\n');
+        }
+
+        /**
+         * Open the log file, rotating it first if it is full.
+         */
+        private void rotate() throws IOException {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+            if (file.exists() && file.length() > 0 && (size > 0 || file.length() >= maxFileSize)) {
+                getFile(maxFiles - 1).delete();
+                for (int i = maxFiles - 2; i >= 0; i--) {
+                    File from = getFile(i);
+                    if (from.exists()) {
+                        from.renameTo(getFile(i + 1));
+                    }
+                }
+            }
+            if (maxFiles == 1) {
+                file.delete();
+            }
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            out = new FileOutputStream(file, true);
+            size = file.length();
+        }
+
+        private String mask(String s) {
+            return AUTH_TOKEN.matcher(s).replaceAll("$1$2$3***");
+        }
+
+        private byte[] toBytes(String s) throws UnsupportedEncodingException {
+            return s.getBytes("ISO-8859-1");
+        }
+
+    }
+
+}
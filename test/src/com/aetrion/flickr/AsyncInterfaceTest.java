@@ -0,0 +1,91 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.auth.Auth;
+import com.aetrion.flickr.photos.AsyncPhotosInterface;
+import com.aetrion.flickr.photos.PhotoList;
+import com.aetrion.flickr.photos.SearchParameters;
+
+/**
+ * Drives the async interfaces against a local stub server.
+ *
+ * @author Anthony Eden
+ */
+public class AsyncInterfaceTest extends TestCase {
+
+    private static final int CALLS = 40;
+    private static final long DELAY = 100;
+
+    private StubHttpServer server;
+    private Flickr flickr;
+
+    public void setUp() throws Exception {
+        server = new StubHttpServer(StubHttpServer.createPhotosPage(10));
+        flickr = new Flickr("apikey", "secret", new REST(server.getHost(), server.getPort()));
+    }
+
+    public void tearDown() {
+        flickr.shutdownExecutor();
+        server.stop();
+        RequestContext.getRequestContext().setAuth(null);
+    }
+
+    public void testCallsInFlight() throws Exception {
+        server.setDelay(DELAY);
+        AsyncPhotosInterface photos = flickr.getAsyncPhotosInterface();
+        List futures = new ArrayList();
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < CALLS; i++) {
+            SearchParameters params = new SearchParameters();
+            params.setText("search " + i);
+            futures.add(photos.search(params, 10, 1));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            PhotoList result = (PhotoList) ((FlickrFuture) futures.get(i)).getResult();
+            assertEquals(10, result.size());
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        assertEquals(CALLS, server.getRequestCount());
+        assertTrue("Calls did not overlap: " + elapsed + " ms", elapsed < CALLS * DELAY / 2);
+    }
+
+    public void testErrorMapping() throws Exception {
+        server.setResponseBody(
+            "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n"
+            + "<rsp stat=\"fail\"><err code=\"1\" msg=\"Photo not found\" /></rsp>\n"
+        );
+        FlickrFuture future = flickr.getAsyncPhotosInterface().getInfo("1", null);
+        try {
+            future.getResult();
+            fail("FlickrException expected");
+        } catch (FlickrException e) {
+            assertEquals("1", e.getErrorCode());
+            assertEquals("Photo not found", e.getErrorMessage());
+        }
+    }
+
+    public void testRequestContextIsCarried() throws Exception {
+        Auth auth = new Auth();
+        auth.setToken("token-123");
+        RequestContext.getRequestContext().setAuth(auth);
+        final CountDownLatch notified = new CountDownLatch(1);
+        FlickrFuture future = flickr.getAsyncPhotosInterface().getNotInSet(50, 1);
+        future.addListener(new Runnable() {
+            public void run() {
+                notified.countDown();
+            }
+        });
+        future.getResult();
+        assertTrue(server.getLastRequest().path.indexOf("auth_token=token-123") != -1);
+        assertTrue(notified.await(5, TimeUnit.SECONDS));
+    }
+
+}
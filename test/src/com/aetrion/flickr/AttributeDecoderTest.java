@@ -0,0 +1,139 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.photos.Photo;
+import com.aetrion.flickr.util.AttributeDecoder;
+
+/**
+ * Checks the AttributeDecoder against the parsing of the JDK.
+ *
+ * @author Anthony Eden
+ */
+public class AttributeDecoderTest extends TestCase {
+
+    private static final String[] ZONES = {
+        "UTC", "Europe/Berlin", "America/New_York", "America/Sao_Paulo", "Australia/Lord_Howe", "Asia/Kolkata"
+    };
+
+    public void testDateTimeLikeDateFormat() throws Exception {
+        Random random = new Random(42);
+        for (int z = 0; z < ZONES.length; z++) {
+            TimeZone zone = TimeZone.getTimeZone(ZONES[z]);
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+            format.setTimeZone(zone);
+            for (int i = 0; i < 5000; i++) {
+                // every 20 minutes over a year with changes of the offset, then at random
+                long time = i < 1000
+                    ? 1238540000000L + i * 20 * 60 * 1000L
+                    : (long) (random.nextDouble() * 4000000000000L) - 1000000000000L;
+                assertDateTime(format.format(new Date(time)), format, zone);
+            }
+        }
+    }
+
+    public void testUnusualDateTimes() throws Exception {
+        TimeZone zone = TimeZone.getTimeZone("Europe/Berlin");
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        format.setTimeZone(zone);
+        String[] values = {
+            "0000-00-00 00:00:00", "2009-02-29 12:00:00", "2008-02-29 12:00:00", "2009-13-01 00:00:00",
+            "2009-03-29 02:30:00", "2009-10-25 02:30:00", "1582-10-10 00:00:00", "1600-01-01 00:00:00",
+            "9999-12-31 23:59:59", "2009-7-1 1:2:3", "2009-07-01 12:34:56.0", "2009-07-01T12:34:56"
+        };
+        for (int i = 0; i < values.length; i++) {
+            assertDateTime(values[i], format, zone);
+        }
+        assertEquals(AttributeDecoder.NO_DATE, AttributeDecoder.parseDateTime("yesterday", zone));
+        assertEquals(AttributeDecoder.NO_DATE, AttributeDecoder.parseDateTime(""));
+        assertEquals(AttributeDecoder.NO_DATE, AttributeDecoder.parseDateTime(null));
+    }
+
+    public void testDefaultTimeZone() throws Exception {
+        String value = "2009-07-01 12:34:56";
+        Date expected = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(value);
+        assertEquals(expected.getTime(), AttributeDecoder.parseDateTime(value));
+        Photo photo = new Photo();
+        photo.setDateTaken(value);
+        assertEquals(expected, photo.getDateTaken());
+        photo.setDateTaken("not a date");
+        assertEquals(expected, photo.getDateTaken());
+    }
+
+    public void testEpochSeconds() {
+        assertEquals(1247000000000L, AttributeDecoder.parseEpochSeconds("1247000000"));
+        assertEquals(-1000L, AttributeDecoder.parseEpochSeconds("-1"));
+        assertEquals(AttributeDecoder.NO_DATE, AttributeDecoder.parseEpochSeconds(""));
+        assertEquals(AttributeDecoder.NO_DATE, AttributeDecoder.parseEpochSeconds("12a"));
+        assertEquals(AttributeDecoder.NO_DATE, AttributeDecoder.parseEpochSeconds(null));
+        Photo photo = new Photo();
+        photo.setDatePosted("1247000000");
+        photo.setLastUpdate("1247100000");
+        photo.setDateAdded("1247200000");
+        assertEquals(1247000000000L, photo.getDatePosted().getTime());
+        assertEquals(1247100000000L, photo.getLastUpdate().getTime());
+        assertEquals(1247200000000L, photo.getDateAdded().getTime());
+        try {
+            photo.setDatePosted("soon");
+            fail("Expected a NumberFormatException");
+        } catch (NumberFormatException e) {
+            // as before
+        }
+    }
+
+    public void testInt() {
+        String[] values = {
+            "0", "7", "-7", "+7", "0042", "2147483647", "-2147483648", "2147483648", "-2147483649",
+            "", "-", "+", "1.5", "12a", " 1", "99999999999"
+        };
+        for (int i = 0; i < values.length; i++) {
+            int expected;
+            try {
+                expected = Integer.parseInt(values[i]);
+            } catch (NumberFormatException e) {
+                expected = -1;
+            }
+            assertEquals(values[i], expected, AttributeDecoder.parseInt(values[i], -1));
+        }
+        assertEquals(5, AttributeDecoder.parseInt(null, 5));
+        assertEquals(Long.MIN_VALUE, AttributeDecoder.parseLong("-9223372036854775808", 0));
+        assertEquals(Long.MAX_VALUE, AttributeDecoder.parseLong("9223372036854775807", 0));
+        assertEquals(0, AttributeDecoder.parseLong("9223372036854775808", 0));
+
+        Photo photo = new Photo();
+        photo.setOriginalWidth("3000");
+        photo.setOriginalWidth("");
+        assertEquals(3000, photo.getOriginalWidth());
+        photo.setRotation("");
+        assertEquals(-1, photo.getRotation());
+        photo.setRotation("90");
+        assertEquals(90, photo.getRotation());
+    }
+
+    public void testFlag() {
+        assertTrue(AttributeDecoder.parseFlag("1"));
+        assertFalse(AttributeDecoder.parseFlag("0"));
+        assertFalse(AttributeDecoder.parseFlag("11"));
+        assertFalse(AttributeDecoder.parseFlag(""));
+        assertFalse(AttributeDecoder.parseFlag(null));
+    }
+
+    private static void assertDateTime(String value, SimpleDateFormat format, TimeZone zone) {
+        long expected;
+        try {
+            expected = format.parse(value).getTime();
+        } catch (ParseException e) {
+            expected = AttributeDecoder.NO_DATE;
+        }
+        assertEquals(value + " in " + zone.getID(), expected, AttributeDecoder.parseDateTime(value, zone));
+    }
+
+}
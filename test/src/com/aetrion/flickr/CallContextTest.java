@@ -0,0 +1,113 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.auth.Auth;
+import com.aetrion.flickr.auth.AuthUtilities;
+
+/**
+ * Checks that interfaces bound to a CallContext ignore the RequestContext.
+ *
+ * @author Anthony Eden
+ */
+public class CallContextTest extends TestCase {
+
+    private static final int USERS = 20;
+
+    private StubHttpServer server;
+    private Flickr flickr;
+    private ExecutorService executor;
+
+    public void setUp() throws Exception {
+        server = new StubHttpServer(StubHttpServer.createPhotosPage(5));
+        flickr = new Flickr("apikey", "secret", new REST(server.getHost(), server.getPort()));
+        executor = Executors.newFixedThreadPool(4);
+        flickr.setExecutor(executor);
+    }
+
+    public void tearDown() {
+        executor.shutdown();
+        server.stop();
+        RequestContext.getRequestContext().setAuth(null);
+    }
+
+    public void testSignatureUsesContextAuth() {
+        RequestContext.getRequestContext().setAuth(createAuth("thread-token"));
+        CallContext context = new CallContext(createAuth("context-token"), null);
+
+        List parameters = new ArrayList();
+        parameters.add(new Parameter("method", "flickr.test.login"));
+        AuthUtilities.getSignature("secret", parameters, context);
+        // the parameters are sorted for the signature
+        Parameter token = (Parameter) parameters.get(0);
+        assertEquals("auth_token", token.getName());
+        assertEquals("context-token", token.getValue());
+        assertTrue(AuthUtilities.isAuthenticated(new ArrayList(), context));
+        assertFalse(AuthUtilities.isAuthenticated(new ArrayList(), CallContext.EMPTY));
+    }
+
+    public void testContextIsImmutable() {
+        List extras = new ArrayList(Arrays.asList(new String[] {"geo"}));
+        CallContext context = new CallContext(null, extras);
+        extras.add("tags");
+        assertEquals(1, context.getExtras().size());
+        CallContext other = context.withAuth(createAuth("token"));
+        assertNull(context.getAuth());
+        assertEquals("token", other.getAuthToken());
+        assertEquals(context.getExtras(), other.getExtras());
+    }
+
+    public void testUsersShareOneExecutor() throws Exception {
+        RequestContext.getRequestContext().setAuth(createAuth("thread-token"));
+        List futures = new ArrayList();
+        for (int i = 0; i < USERS; i++) {
+            CallContext context = new CallContext(
+                createAuth("token-" + i),
+                Arrays.asList(new String[] {"extra-" + i})
+            );
+            Flickr view = flickr.withContext(context);
+            futures.add(view.getAsyncPhotosInterface().getNotInSet(5, 1));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            ((FlickrFuture) futures.get(i)).getResult();
+        }
+
+        List requests = server.getRequests();
+        assertEquals(USERS, requests.size());
+        boolean[] seen = new boolean[USERS];
+        for (int i = 0; i < requests.size(); i++) {
+            String path = ((StubHttpServer.Request) requests.get(i)).path;
+            assertEquals(-1, path.indexOf("thread-token"));
+            int start = path.indexOf("auth_token=token-") + "auth_token=token-".length();
+            int end = path.indexOf('&', start);
+            String user = end == -1 ? path.substring(start) : path.substring(start, end);
+            assertTrue(path, path.indexOf("extras=extra-" + user) != -1);
+            seen[Integer.parseInt(user)] = true;
+        }
+        for (int i = 0; i < USERS; i++) {
+            assertTrue("No request for user " + i, seen[i]);
+        }
+    }
+
+    public void testViewUsesExecutorSetLater() throws Exception {
+        Flickr plain = new Flickr("key", new REST(server.getHost(), server.getPort()));
+        Flickr view = plain.withContext(new CallContext(createAuth("token"), new ArrayList()));
+        plain.setExecutor(executor);
+        assertSame(executor, view.getExecutor());
+    }
+
+    private Auth createAuth(String token) {
+        Auth auth = new Auth();
+        auth.setToken(token);
+        return auth;
+    }
+
+}
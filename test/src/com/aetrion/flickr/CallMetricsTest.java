@@ -0,0 +1,177 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.reflection.ReflectionInterface;
+import com.aetrion.flickr.util.CallMetrics;
+import com.aetrion.flickr.util.LatencyHistogram;
+import com.aetrion.flickr.util.MethodMetrics;
+import com.aetrion.flickr.util.ResponseCache;
+
+/**
+ * Tests the events of the REST transport against a local stub server, and
+ * the metrics collected from them.
+ *
+ * @author Anthony Eden
+ */
+public class CallMetricsTest extends TestCase {
+
+    private static final String METHODS =
+        "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n"
+        + "<rsp stat=\"ok\"><methods><method>flickr.a</method><method>flickr.b</method></methods></rsp>\n";
+
+    private static final String ERROR =
+        "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n"
+        + "<rsp stat=\"fail\"><err code=\"105\" msg=\"Service currently unavailable\" /></rsp>\n";
+
+    private StubHttpServer server;
+    private REST rest;
+    private Flickr flickr;
+    private List events;
+
+    public void setUp() throws Exception {
+        server = new StubHttpServer(METHODS);
+        rest = new REST(server.getHost(), server.getPort());
+        flickr = new Flickr("apikey", "secret", rest);
+        events = new ArrayList();
+        rest.addTransportListener(new TransportListener() {
+            public void callCompleted(CallEvent event) {
+                events.add(event);
+            }
+        });
+    }
+
+    public void tearDown() {
+        server.stop();
+    }
+
+    public void testGetEvent() throws Exception {
+        server.setDelay(20);
+        flickr.getReflectionInterface().getMethods();
+        assertEquals(1, events.size());
+        CallEvent event = (CallEvent) events.get(0);
+        assertEquals(ReflectionInterface.METHOD_GET_METHODS, event.getMethod());
+        assertEquals("GET", event.getHttpMethod());
+        assertEquals(200, event.getStatus());
+        assertEquals(METHODS.length(), event.getBytesReceived());
+        assertTrue(event.getBytesSent() > 0);
+        assertTrue(event.getConnectNanos() >= 0);
+        assertTrue(event.getFirstByteNanos() >= 20000000L);
+        assertTrue(event.getParseNanos() >= 0);
+        assertTrue(event.getTotalNanos() >= event.getConnectNanos() + event.getFirstByteNanos() + event.getParseNanos());
+        assertFalse(event.isError());
+        assertFalse(event.isCached());
+    }
+
+    public void testPostEvent() throws Exception {
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", "flickr.test.echo");
+        parameters.add("text", "a b");
+        rest.post(rest.getPath(), parameters);
+        CallEvent event = (CallEvent) events.get(0);
+        assertEquals("POST", event.getHttpMethod());
+        assertEquals("flickr.test.echo", event.getMethod());
+        assertEquals(server.getLastRequest().body.length, event.getBytesSent());
+        assertEquals(METHODS.length(), event.getBytesReceived());
+    }
+
+    public void testErrorEvent() throws Exception {
+        server.setResponseBody(ERROR.getBytes("UTF-8"));
+        try {
+            flickr.getReflectionInterface().getMethods();
+            fail("Expected a FlickrException");
+        } catch (FlickrException e) {
+            assertEquals("105", e.getErrorCode());
+        }
+        CallEvent event = (CallEvent) events.get(0);
+        assertEquals("105", event.getErrorCode());
+        assertTrue(event.isError());
+
+        server.closeConnections();
+        server.stop();
+        try {
+            flickr.getReflectionInterface().getMethods();
+            fail("Expected an IOException");
+        } catch (java.io.IOException e) {
+            assertSame(e, ((CallEvent) events.get(1)).getException());
+        }
+    }
+
+    public void testCachedEvent() throws Exception {
+        ResponseCache cache = new ResponseCache();
+        cache.setTimeToLive(ReflectionInterface.METHOD_GET_METHODS, 60000);
+        rest.setResponseCache(cache);
+        flickr.getReflectionInterface().getMethods();
+        flickr.getReflectionInterface().getMethods();
+        CallEvent event = (CallEvent) events.get(1);
+        assertTrue(event.isCached());
+        assertEquals(-1, event.getStatus());
+        assertEquals(-1, event.getConnectNanos());
+        assertEquals(0, event.getBytesReceived());
+        assertTrue(event.getParseNanos() >= 0);
+    }
+
+    public void testStreamingEvent() throws Exception {
+        server.setResponseBody(StubHttpServer.createPhotosPage(20).getBytes("UTF-8"));
+        rest.setStreaming(true);
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", "flickr.photos.search");
+        rest.getPhotoList(rest.getPath(), parameters);
+        CallEvent event = (CallEvent) events.get(0);
+        assertEquals("flickr.photos.search", event.getMethod());
+        assertEquals(200, event.getStatus());
+        assertTrue(event.getBytesReceived() > 0);
+    }
+
+    public void testMetrics() throws Exception {
+        CallMetrics metrics = new CallMetrics();
+        rest.addTransportListener(metrics);
+        flickr.getReflectionInterface().getMethods();
+        flickr.getReflectionInterface().getMethods();
+        server.setDelay(30);
+        ParameterList slow = new ParameterList();
+        slow.add("method", "flickr.slow");
+        rest.get(rest.getPath(), slow);
+        rest.removeTransportListener(metrics);
+        flickr.getReflectionInterface().getMethods();
+
+        List all = metrics.getMetrics();
+        assertEquals(2, all.size());
+        // the slow method cost the most time
+        assertEquals("flickr.slow", ((MethodMetrics) all.get(0)).getMethod());
+        MethodMetrics getMethods = metrics.getMetrics(ReflectionInterface.METHOD_GET_METHODS);
+        assertEquals(2, getMethods.getCount());
+        assertEquals(0, getMethods.getErrorCount());
+        assertEquals(2 * METHODS.length(), getMethods.getBytesReceived());
+        assertTrue(metrics.toString().indexOf(ReflectionInterface.METHOD_GET_METHODS) > 0);
+        metrics.reset();
+        assertTrue(metrics.getMetrics().isEmpty());
+    }
+
+    public void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(0.5));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000000L);
+        }
+        histogram.record(-1);
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000000000L, histogram.getMaxNanos());
+        assertEquals(500500000L, histogram.getMeanNanos());
+        assertWithin(500000000L, histogram.getPercentile(0.5));
+        assertWithin(990000000L, histogram.getPercentile(0.99));
+        assertEquals(1000000000L, histogram.getPercentile(1.0));
+        assertWithin(1000000L, histogram.getPercentile(0.0));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("expected about " + expected + " got " + actual,
+            actual >= expected && actual <= expected + expected / 8 + 1000);
+    }
+
+}
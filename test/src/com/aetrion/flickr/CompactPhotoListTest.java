@@ -0,0 +1,200 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.people.User;
+import com.aetrion.flickr.photos.CompactPhotoList;
+import com.aetrion.flickr.photos.Photo;
+import com.aetrion.flickr.photos.PhotoList;
+import com.aetrion.flickr.tags.Tag;
+
+/**
+ * Checks that a CompactPhotoList gives back the photos put into it.
+ *
+ * @author Anthony Eden
+ */
+public class CompactPhotoListTest extends TestCase {
+
+    private StubHttpServer server;
+    private REST rest;
+
+    public void setUp() throws Exception {
+        server = new StubHttpServer(StubHttpServer.createPhotosPage(50));
+        rest = new REST(server.getHost(), server.getPort());
+    }
+
+    public void tearDown() {
+        server.stop();
+    }
+
+    public void testDomPhotos() throws Exception {
+        rest.setStreaming(false);
+        assertSamePhotos(rest.getPhotoList(rest.getPath(), new ArrayList()));
+    }
+
+    public void testStreamedPhotos() throws Exception {
+        rest.setStreaming(true);
+        assertSamePhotos(rest.getPhotoList(rest.getPath(), new ArrayList()));
+    }
+
+    public void testFields() throws Exception {
+        rest.setStreaming(true);
+        PhotoList photos = rest.getPhotoList(rest.getPath(), new ArrayList());
+        CompactPhotoList compact = new CompactPhotoList(photos);
+        Photo photo = (Photo) photos.get(7);
+        assertEquals("1000007", compact.getId(7));
+        assertEquals("a1b2c3d4e5", compact.getSecret(7));
+        assertEquals("2345", compact.getServer(7));
+        assertEquals("3", compact.getFarm(7));
+        assertEquals("4", compact.getLicense(7));
+        assertEquals("photo", compact.getMedia(7));
+        assertEquals("Photo 7", compact.getTitle(7));
+        assertEquals("12037949754@N01", compact.getOwnerId(7));
+        assertEquals("Owner", compact.getOwnerName(7));
+        assertEquals(1247000000000L, compact.getDatePosted(7));
+        assertEquals(photo.getDateTaken().getTime(), compact.getDateTaken(7));
+        assertEquals(1247100000000L, compact.getLastUpdate(7));
+        assertEquals(CompactPhotoList.NO_DATE, compact.getDateAdded(7));
+        assertEquals(3000, compact.getOriginalWidth(7));
+        assertEquals(2000, compact.getOriginalHeight(7));
+        assertTrue(compact.isPublicFlag(7));
+        assertFalse(compact.isFriendFlag(7));
+        assertFalse(compact.isFamilyFlag(7));
+        try {
+            compact.getId(50);
+            fail("Expected an IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    public void testUnusualValues() {
+        Photo photo = new Photo();
+        photo.setId("not-a-number");
+        photo.setSecret("ABCDEF");
+        photo.setServer("0123");
+        photo.setFarm("");
+        photo.setLicense("99999999999");
+        photo.setOriginalSecret("0000000000000001");
+        photo.setDateAdded(new Date(-1000L));
+        photo.setTitle("Caf\u00e9");
+        photo.setDescription("A description");
+        User owner = new User();
+        owner.setId("1@N01");
+        owner.setRealName("Real Name");
+        photo.setOwner(owner);
+        photo.setUrl("http://flickr.com/photos/alias/1");
+        List tags = new ArrayList();
+        Tag tag = new Tag();
+        tag.setValue("berlin");
+        tags.add(tag);
+        photo.setTags(tags);
+        photo.setFavorite(true);
+        photo.setPrimary(true);
+
+        CompactPhotoList compact = new CompactPhotoList(1);
+        compact.add(new Photo());
+        compact.add(photo);
+        compact.add(new Photo());
+        assertEquals(new Photo(), compact.get(0));
+        assertEquals(photo, compact.get(1));
+        assertEquals(new Photo(), compact.get(2));
+        assertEquals("not-a-number", compact.getId(1));
+        assertNull(compact.getOwnerId(0));
+        assertEquals(-1000L, compact.getDateAdded(1));
+        assertTrue(compact.isFavorite(1));
+        assertTrue(compact.isPrimary(1));
+
+        // replacing a value kept apart drops it
+        compact.set(1, new Photo());
+        assertEquals(new Photo(), compact.get(1));
+        compact.set(0, photo);
+        assertEquals(photo, compact.get(0));
+    }
+
+    public void testPoolDropsReplacedValues() throws Exception {
+        CompactPhotoList compact = new CompactPhotoList();
+        compact.add(createOwnedPhoto("shared", "photo"));
+        compact.add(createOwnedPhoto("shared", "photo"));
+        for (int i = 0; i < 1000; i++) {
+            compact.set(1, createOwnedPhoto("owner" + i, "video"));
+        }
+        // shared, photo, the last owner and video
+        assertEquals(4, getPoolSize(compact));
+        assertEquals("shared", compact.getOwnerId(0));
+        assertEquals("photo", compact.getMedia(0));
+        assertEquals("owner999", compact.getOwnerId(1));
+        assertEquals("video", compact.getMedia(1));
+
+        // the codes given up are used again for new values
+        compact.set(0, createOwnedPhoto("other", "video"));
+        compact.add(createOwnedPhoto("another", "photo"));
+        assertEquals(5, getPoolSize(compact));
+        assertEquals("other", compact.getOwnerId(0));
+        assertEquals("owner999", compact.getOwnerId(1));
+        assertEquals("another", compact.getOwnerId(2));
+        assertEquals("photo", compact.getMedia(2));
+    }
+
+    public void testSortAndClear() throws Exception {
+        rest.setStreaming(true);
+        PhotoList photos = rest.getPhotoList(rest.getPath(), new ArrayList());
+        CompactPhotoList compact = new CompactPhotoList();
+        compact.addAll(photos);
+        compact.trimToSize();
+        Collections.sort(compact, new Comparator() {
+            public int compare(Object o1, Object o2) {
+                return ((Photo) o2).getId().compareTo(((Photo) o1).getId());
+            }
+        });
+        assertEquals(50, compact.size());
+        assertEquals("1000049", compact.getId(0));
+        assertEquals("1000000", compact.getId(49));
+        assertEquals(photos.get(0), compact.get(49));
+
+        compact.clear();
+        assertTrue(compact.isEmpty());
+        compact.add(photos.get(3));
+        assertEquals(photos.get(3), compact.get(0));
+    }
+
+    private static Photo createOwnedPhoto(String ownerId, String media) {
+        Photo photo = new Photo();
+        User owner = new User();
+        owner.setId(ownerId);
+        photo.setOwner(owner);
+        photo.setMedia(media);
+        return photo;
+    }
+
+    private static int getPoolSize(CompactPhotoList compact) throws Exception {
+        Field poolField = CompactPhotoList.class.getDeclaredField("pool");
+        poolField.setAccessible(true);
+        Object pool = poolField.get(compact);
+        Field codesField = pool.getClass().getDeclaredField("codes");
+        codesField.setAccessible(true);
+        return ((Map) codesField.get(pool)).size();
+    }
+
+    private void assertSamePhotos(PhotoList photos) {
+        assertEquals(50, photos.size());
+        CompactPhotoList compact = new CompactPhotoList();
+        compact.addAll(photos);
+        assertEquals(photos.size(), compact.size());
+        for (int i = 0; i < photos.size(); i++) {
+            assertEquals(photos.get(i), compact.get(i));
+        }
+        assertEquals(photos, compact);
+    }
+
+}
@@ -0,0 +1,165 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.util.HttpConnectionPool;
+
+/**
+ * Tests REST over pooled keep-alive connections against a local stub server.
+ *
+ * @author Anthony Eden
+ */
+public class HttpConnectionPoolTest extends TestCase {
+
+    private StubHttpServer server;
+    private HttpConnectionPool pool;
+    private REST rest;
+
+    public void setUp() throws Exception {
+        server = new StubHttpServer(StubHttpServer.createPhotosPage(10));
+        pool = new HttpConnectionPool(2, 60000);
+        rest = new REST(server.getHost(), server.getPort());
+        rest.setConnectionPool(pool);
+    }
+
+    public void tearDown() {
+        pool.shutdown();
+        server.stop();
+    }
+
+    public void testGetReusesConnection() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            Response response = rest.get(rest.getPath(), createParameters());
+            assertFalse(response.isError());
+            assertEquals(10, response.getPayload().getElementsByTagName("photo").getLength());
+        }
+        assertEquals(1, server.getConnectionCount());
+        assertEquals(10, server.getRequestCount());
+        assertEquals(1, pool.getMissCount());
+        assertEquals(9, pool.getHitCount());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    public void testPostReusesConnection() throws Exception {
+        rest.get(rest.getPath(), createParameters());
+        Response response = rest.post(rest.getPath(), createParameters());
+        assertFalse(response.isError());
+        StubHttpServer.Request request = server.getLastRequest();
+        assertEquals("POST", request.method);
+        assertEquals("application/x-www-form-urlencoded", request.getHeader("Content-Type"));
+        assertEquals("method=flickr.test.echo&name=a+b", new String(request.body, "UTF-8"));
+        assertEquals(1, server.getConnectionCount());
+        assertEquals(1, pool.getHitCount());
+    }
+
+    public void testMaxConnectionsPerHost() throws Exception {
+        server.setDelay(50);
+        final List failures = new ArrayList();
+        Thread[] threads = new Thread[6];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        for (int j = 0; j < 3; j++) {
+                            rest.get(rest.getPath(), createParameters());
+                        }
+                    } catch (Throwable t) {
+                        synchronized (failures) {
+                            failures.add(t);
+                        }
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].join();
+        }
+        assertTrue("Failures: " + failures, failures.isEmpty());
+        assertEquals(18, server.getRequestCount());
+        assertTrue(server.getConnectionCount() <= 2);
+        assertEquals(18, pool.getHitCount() + pool.getMissCount());
+    }
+
+    public void testWaitForConnectionIsBounded() throws Exception {
+        URL url = new URL("http://" + server.getHost() + ":" + server.getPort() + rest.getPath()
+            + "?method=flickr.test.echo");
+        // responses which are never read keep both connections leased
+        for (int i = 0; i < 2; i++) {
+            HttpURLConnection leaked = pool.openConnection(url);
+            assertEquals(200, leaked.getResponseCode());
+        }
+
+        HttpURLConnection connection = pool.openConnection(url);
+        connection.setConnectTimeout(200);
+        assertWaitFails(connection, 200);
+
+        pool.setWaitTimeout(100);
+        assertWaitFails(pool.openConnection(url), 100);
+        assertEquals(2, server.getConnectionCount());
+    }
+
+    public void testIdleConnectionsAreEvicted() throws Exception {
+        pool.setIdleTimeout(50);
+        rest.get(rest.getPath(), createParameters());
+        assertEquals(1, pool.getIdleCount());
+        Thread.sleep(100);
+        pool.closeExpiredConnections();
+        assertEquals(0, pool.getIdleCount());
+        assertEquals(1, pool.getEvictionCount());
+        rest.get(rest.getPath(), createParameters());
+        assertEquals(2, pool.getMissCount());
+        assertEquals(2, server.getConnectionCount());
+    }
+
+    public void testStaleConnectionIsReplaced() throws Exception {
+        rest.get(rest.getPath(), createParameters());
+        server.closeConnections();
+        Response response = rest.get(rest.getPath(), createParameters());
+        assertFalse(response.isError());
+        assertEquals(1, pool.getHitCount());
+        assertEquals(2, pool.getMissCount());
+        assertEquals(2, server.getConnectionCount());
+    }
+
+    public void testStaleConnectionIsReplacedBeforeStreamedPost() throws Exception {
+        rest.get(rest.getPath(), createParameters());
+        server.closeConnections();
+        Response response = rest.post(rest.getPath(), createParameters(), true);
+        assertFalse(response.isError());
+        StubHttpServer.Request request = server.getLastRequest();
+        assertEquals("POST", request.method);
+        assertTrue(request.getHeader("Content-Type").startsWith("multipart/form-data"));
+        assertEquals(2, pool.getMissCount());
+        assertEquals(2, server.getConnectionCount());
+    }
+
+    private static void assertWaitFails(HttpURLConnection connection, long timeout) {
+        long start = System.currentTimeMillis();
+        try {
+            connection.getInputStream();
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            assertEquals("No connection to " + connection.getURL().getHost() + ":"
+                + connection.getURL().getPort() + " available", e.getMessage());
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        assertTrue("Waited " + elapsed, elapsed >= timeout && elapsed < timeout + 2000);
+    }
+
+    private List createParameters() {
+        List parameters = new ArrayList();
+        parameters.add(new Parameter("method", "flickr.test.echo"));
+        parameters.add(new Parameter("name", "a b"));
+        return parameters;
+    }
+
+}
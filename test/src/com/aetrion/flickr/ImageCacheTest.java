@@ -0,0 +1,138 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+
+import javax.imageio.ImageIO;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.photos.PhotosInterface;
+import com.aetrion.flickr.util.ImageCache;
+
+/**
+ * Tests the disk image cache, alone and behind PhotosInterface#getImage.
+ *
+ * @author Anthony Eden
+ */
+public class ImageCacheTest extends TestCase {
+
+    private File directory;
+
+    public void setUp() throws Exception {
+        directory = File.createTempFile("flickrj", "");
+        directory.delete();
+    }
+
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        for (int i = 0; files != null && i < files.length; i++) {
+            files[i].delete();
+        }
+        directory.delete();
+    }
+
+    public void testKey() {
+        assertEquals("2995_a2c3b4d5e6_m.jpg", ImageCache.getKey("http://farm3.static.flickr.com/2345/2995_a2c3b4d5e6_m.jpg"));
+        assertNull(ImageCache.getKey("http://example.com/images/"));
+        assertNull(ImageCache.getKey("http://example.com/image?size=m"));
+    }
+
+    public void testPhotosInterfaceReadsFromCache() throws Exception {
+        BufferedImage image = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(5, 5, 0xff0000);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        StubHttpServer server = new StubHttpServer("");
+        server.setResponseBody(png.toByteArray());
+        server.setContentType("image/png");
+        try {
+            PhotosInterface photos = new PhotosInterface("apikey", "secret", new REST(server.getHost(), server.getPort()));
+            ImageCache cache = new ImageCache(directory, 1024 * 1024);
+            photos.setImageCache(cache);
+            String url = "http://" + server.getHost() + ":" + server.getPort() + "/2345/2995_abc_m.png";
+            for (int i = 0; i < 3; i++) {
+                BufferedImage read = photos.getImage(url);
+                assertEquals(40, read.getWidth());
+                assertEquals(0xff0000, read.getRGB(5, 5) & 0xffffff);
+            }
+            assertEquals(1, server.getRequestCount());
+            assertEquals(2, cache.getHitCount());
+            assertTrue(new File(directory, "2995_abc_m.png").isFile());
+        } finally {
+            server.stop();
+        }
+    }
+
+    public void testPhotosInterfaceImageLargerThanCache() throws Exception {
+        BufferedImage image = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        StubHttpServer server = new StubHttpServer("");
+        server.setResponseBody(png.toByteArray());
+        server.setContentType("image/png");
+        try {
+            PhotosInterface photos = new PhotosInterface("apikey", "secret", new REST(server.getHost(), server.getPort()));
+            ImageCache cache = new ImageCache(directory, 10);
+            photos.setImageCache(cache);
+            String url = "http://" + server.getHost() + ":" + server.getPort() + "/2345/2995_abc_m.png";
+            assertEquals(40, photos.getImage(url).getWidth());
+            assertEquals(1, server.getRequestCount());
+            assertEquals(0, cache.getSize());
+        } finally {
+            server.stop();
+        }
+    }
+
+    public void testLeastRecentlyUsedIsEvicted() throws Exception {
+        ImageCache cache = new ImageCache(directory, 250);
+        cache.put("a.jpg", new ByteArrayInputStream(new byte[100]));
+        cache.put("b.jpg", new ByteArrayInputStream(new byte[100]));
+        assertNotNull(cache.get("a.jpg"));
+        cache.put("c.jpg", new ByteArrayInputStream(new byte[100]));
+        assertEquals(2, cache.getSize());
+        assertEquals(200, cache.getBytes());
+        assertNull(cache.get("b.jpg"));
+        assertFalse(new File(directory, "b.jpg").exists());
+        assertEquals(100, cache.get("c.jpg").remaining());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    public void testImageLargerThanCache() throws Exception {
+        ImageCache cache = new ImageCache(directory, 250);
+        cache.put("a.jpg", new ByteArrayInputStream(new byte[100]));
+        byte[] large = new byte[300];
+        large[299] = 7;
+        ByteBuffer buffer = cache.put("b.jpg", new ByteArrayInputStream(large));
+        assertEquals(300, buffer.remaining());
+        assertEquals(7, buffer.get(299));
+        assertEquals(1, cache.getSize());
+        assertEquals(100, cache.getBytes());
+        assertNotNull(cache.get("a.jpg"));
+        assertNull(cache.get("b.jpg"));
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals(1, directory.listFiles().length);
+    }
+
+    public void testReopen() throws Exception {
+        ImageCache cache = new ImageCache(directory, 1000);
+        cache.put("a.jpg", new ByteArrayInputStream(new byte[] {1, 2, 3}));
+        // a write cut off by a crash
+        FileOutputStream out = new FileOutputStream(new File(directory, "b.jpg.1.tmp"));
+        out.write(new byte[10]);
+        out.close();
+
+        cache = new ImageCache(directory, 1000);
+        assertEquals(1, cache.getSize());
+        assertEquals(3, cache.getBytes());
+        assertEquals(3, cache.get("a.jpg").get(2));
+        assertEquals(1, directory.listFiles().length);
+    }
+
+}
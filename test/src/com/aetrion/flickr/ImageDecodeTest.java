@@ -0,0 +1,121 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.photos.Photo;
+import com.aetrion.flickr.photos.PhotosInterface;
+import com.aetrion.flickr.photos.PreviewLoader;
+import com.aetrion.flickr.photos.Size;
+import com.aetrion.flickr.util.ImageUtilities;
+
+/**
+ * Tests decoding images to a target size.
+ *
+ * @author Anthony Eden
+ */
+public class ImageDecodeTest extends TestCase {
+
+    private ImageUtilities imageUtilities = new ImageUtilities();
+    private byte[] png;
+
+    public void setUp() throws Exception {
+        // red left half, blue right half
+        BufferedImage image = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, x < 1000 ? 0xff0000 : 0x0000ff);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        png = out.toByteArray();
+    }
+
+    public void testReadFitsIntoSize() throws Exception {
+        BufferedImage image = imageUtilities.read(new ByteArrayInputStream(png), 300, 300);
+        assertEquals(300, image.getWidth());
+        assertEquals(150, image.getHeight());
+        assertEquals(0xff0000, image.getRGB(10, 75) & 0xffffff);
+        assertEquals(0x0000ff, image.getRGB(290, 75) & 0xffffff);
+    }
+
+    public void testReadSubsamplesExactly() throws Exception {
+        BufferedImage image = imageUtilities.read(new ByteArrayInputStream(png), 500, 500);
+        assertEquals(500, image.getWidth());
+        assertEquals(250, image.getHeight());
+    }
+
+    public void testSmallImageIsNotEnlarged() throws Exception {
+        BufferedImage image = imageUtilities.read(new ByteArrayInputStream(png), 4000, 4000);
+        assertEquals(2000, image.getWidth());
+        assertEquals(1000, image.getHeight());
+    }
+
+    public void testReadRegion() throws Exception {
+        Rectangle region = new Rectangle(1000, 0, 1000, 1000);
+        BufferedImage image = imageUtilities.read(new ByteArrayInputStream(png), region, 100, 100);
+        assertEquals(100, image.getWidth());
+        assertEquals(100, image.getHeight());
+        assertEquals(0x0000ff, image.getRGB(0, 0) & 0xffffff);
+        assertEquals(0x0000ff, image.getRGB(99, 99) & 0xffffff);
+    }
+
+    public void testUnsupportedFormat() throws Exception {
+        assertNull(imageUtilities.read(new ByteArrayInputStream("not an image".getBytes()), 100, 100));
+    }
+
+    public void testBufferImage() throws Exception {
+        Image image = ImageIO.read(new ByteArrayInputStream(png));
+        BufferedImage buffered = imageUtilities.bufferImage(image);
+        assertEquals(2000, buffered.getWidth());
+        assertEquals(0x0000ff, buffered.getRGB(1500, 500) & 0xffffff);
+    }
+
+    public void testPreviewLoader() throws Exception {
+        final StubHttpServer server = new StubHttpServer("");
+        server.setResponseBody(png);
+        server.setContentType("image/png");
+        try {
+            PhotosInterface photosInterface = new PhotosInterface("apikey", "secret", new REST()) {
+                public InputStream getImageAsStream(Photo photo, int size) throws IOException {
+                    return new URL("http://" + server.getHost() + ":" + server.getPort() + "/" + photo.getId() + ".png").openStream();
+                }
+            };
+            List photos = new ArrayList();
+            for (int i = 0; i < 5; i++) {
+                Photo photo = new Photo();
+                photo.setId(String.valueOf(i));
+                photos.add(photo);
+            }
+            PreviewLoader loader = new PreviewLoader(photosInterface, 2);
+            List images = loader.loadAll(photos, Size.ORIGINAL, 100, 100);
+            assertEquals(5, images.size());
+            for (int i = 0; i < images.size(); i++) {
+                BufferedImage image = (BufferedImage) images.get(i);
+                assertEquals(100, image.getWidth());
+                assertEquals(50, image.getHeight());
+            }
+            assertEquals(5, loader.getLoadedCount());
+            assertEquals(5, server.getRequestCount());
+            loader.shutdown();
+        } finally {
+            server.stop();
+        }
+    }
+
+}
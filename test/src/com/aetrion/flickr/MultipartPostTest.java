@@ -0,0 +1,120 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.util.HttpConnectionPool;
+import com.aetrion.flickr.util.IOUtilities;
+
+/**
+ * Checks that multipart posts are streamed with a Content-Length or chunked
+ * encoding, and that the body arrives intact at a local stub server.
+ *
+ * @author Anthony Eden
+ */
+public class MultipartPostTest extends TestCase {
+
+    /** Not a multiple of any copy buffer size. */
+    private static final int PHOTO_LENGTH = 200003;
+
+    private StubHttpServer server;
+    private REST rest;
+    private byte[] photo;
+
+    public void setUp() throws Exception {
+        server = new StubHttpServer(StubHttpServer.createPhotosPage(1));
+        rest = new REST(server.getHost(), server.getPort());
+        photo = new byte[PHOTO_LENGTH];
+        for (int i = 0; i < photo.length; i++) {
+            photo[i] = (byte) i;
+        }
+    }
+
+    public void tearDown() {
+        server.stop();
+    }
+
+    public void testBytesAreSentWithContentLength() throws Exception {
+        rest.post("/services/upload/", createParameters(photo), true);
+        StubHttpServer.Request request = server.getLastRequest();
+        assertEquals(String.valueOf(request.body.length), request.getHeader("Content-Length"));
+        assertNull(request.getHeader("Transfer-Encoding"));
+        assertBody(request.body);
+    }
+
+    public void testStreamIsSentChunked() throws Exception {
+        rest.post("/services/upload/", createParameters(new ByteArrayInputStream(photo)), true);
+        StubHttpServer.Request request = server.getLastRequest();
+        assertEquals("chunked", request.getHeader("Transfer-Encoding"));
+        assertBody(request.body);
+    }
+
+    public void testFileIsSentWithNameAndType() throws Exception {
+        File file = File.createTempFile("flickrj", ".mov");
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            out.write(photo);
+            out.close();
+            rest.post("/services/upload/", createParameters(file), true);
+        } finally {
+            file.delete();
+        }
+        StubHttpServer.Request request = server.getLastRequest();
+        assertEquals(String.valueOf(request.body.length), request.getHeader("Content-Length"));
+        String text = new String(request.body, "ISO-8859-1");
+        assertTrue(text.indexOf("filename=\"" + file.getName() + "\"") > 0);
+        assertBody(request.body, "Content-Type: video/quicktime\r\n\r\n");
+    }
+
+    public void testContentType() {
+        assertEquals("image/jpeg", IOUtilities.getContentType("IMG_0001.JPG"));
+        assertEquals("video/mp4", IOUtilities.getContentType("clip.mp4"));
+        assertEquals("application/octet-stream", IOUtilities.getContentType("README"));
+    }
+
+    public void testPooledConnection() throws Exception {
+        rest.setConnectionPool(new HttpConnectionPool());
+        rest.post("/services/upload/", createParameters(photo), true);
+        assertEquals(
+            String.valueOf(server.getLastRequest().body.length),
+            server.getLastRequest().getHeader("Content-Length")
+        );
+        assertBody(server.getLastRequest().body);
+        rest.post("/services/upload/", createParameters(new ByteArrayInputStream(photo)), true);
+        assertEquals("chunked", server.getLastRequest().getHeader("Transfer-Encoding"));
+        assertBody(server.getLastRequest().body);
+        rest.getConnectionPool().shutdown();
+    }
+
+    private List createParameters(Object photo) {
+        List parameters = new ArrayList();
+        parameters.add(new Parameter("title", "T\u00eftle"));
+        parameters.add(new Parameter("photo", photo));
+        return parameters;
+    }
+
+    private void assertBody(byte[] body) throws Exception {
+        assertBody(body, "Content-Type: image/jpeg\r\n\r\n");
+    }
+
+    private void assertBody(byte[] body, String header) throws Exception {
+        String text = new String(body, "ISO-8859-1");
+        assertTrue(text.startsWith("--"));
+        assertTrue(text.indexOf(new String("T\u00eftle".getBytes("UTF-8"), "ISO-8859-1")) > 0);
+        int start = text.indexOf(header) + header.length();
+        byte[] sent = new byte[PHOTO_LENGTH];
+        System.arraycopy(body, start, sent, 0, PHOTO_LENGTH);
+        assertTrue(Arrays.equals(photo, sent));
+        assertTrue(text.substring(start + PHOTO_LENGTH).startsWith("\r\n--"));
+        assertTrue(text.endsWith("\r\n"));
+    }
+
+}
@@ -0,0 +1,148 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the PagedIterator against an in-memory page source.
+ *
+ * @author Anthony Eden
+ */
+public class PagedIteratorTest extends TestCase {
+
+    private static final int PER_PAGE = 5;
+
+    private ExecutorService executor;
+
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    public void testAllResultsInOrder() {
+        FakeSource source = new FakeSource(48, true);
+        PagedIterator iter = new PagedIterator(source, PER_PAGE);
+        int count = 0;
+        while (iter.hasNext()) {
+            assertEquals(new Integer(count++), iter.next());
+        }
+        assertEquals(48, count);
+        assertEquals(10, source.getRequests().size());
+    }
+
+    public void testPrefetchIsBounded() throws Exception {
+        FakeSource source = new FakeSource(100, true);
+        PagedIterator iter = new PagedIterator(source, PER_PAGE, executor, 2);
+        int pages = 0;
+        while (iter.hasNextPage()) {
+            SearchResultList page = iter.nextPage();
+            pages++;
+            assertEquals(pages, page.getPage());
+            // the prefetched pages are requested while this page is consumed
+            int expected = Math.min(20, pages + 2);
+            source.awaitRequests(expected);
+            assertEquals(expected, source.getRequests().size());
+        }
+        assertEquals(20, pages);
+    }
+
+    public void testUnknownPageCount() throws Exception {
+        FakeSource source = new FakeSource(12, false);
+        PagedIterator iter = new PagedIterator(source, PER_PAGE, executor, 1);
+        int count = 0;
+        while (iter.hasNext()) {
+            iter.next();
+            count++;
+        }
+        assertEquals(12, count);
+    }
+
+    public void testFailureEndsIteration() {
+        FakeSource source = new FakeSource(50, true);
+        source.failOnPage = 3;
+        PagedIterator iter = new PagedIterator(source, PER_PAGE, executor, 1);
+        int count = 0;
+        try {
+            while (iter.hasNext()) {
+                iter.next();
+                count++;
+            }
+            fail("FlickrRuntimeException expected");
+        } catch (FlickrRuntimeException e) {
+            assertTrue(e.getCause() instanceof FlickrException);
+        }
+        assertEquals(10, count);
+        assertFalse(iter.hasNext());
+    }
+
+    public void testFailedFirstPageEndsIteration() {
+        FakeSource source = new FakeSource(50, true);
+        source.failOnPage = 1;
+        PagedIterator iter = new PagedIterator(source, PER_PAGE);
+        try {
+            iter.hasNext();
+            fail("FlickrRuntimeException expected");
+        } catch (FlickrRuntimeException e) {
+            assertTrue(e.getCause() instanceof FlickrException);
+        }
+        assertFalse(iter.hasNext());
+        assertFalse(iter.hasNextPage());
+        assertEquals(1, source.getRequests().size());
+    }
+
+    private static class FakeSource implements PageSource {
+
+        private int total;
+        private boolean reportPages;
+        private List requests = new ArrayList();
+        int failOnPage = -1;
+
+        FakeSource(int total, boolean reportPages) {
+            this.total = total;
+            this.reportPages = reportPages;
+        }
+
+        public SearchResultList getPage(int perPage, int page) throws FlickrException {
+            synchronized (this) {
+                requests.add(new Integer(page));
+                notifyAll();
+            }
+            if (page == failOnPage) {
+                throw new FlickrException("1", "Failed");
+            }
+            SearchResultList list = new SearchResultList();
+            list.setPage(page);
+            list.setPerPage(perPage);
+            list.setTotal(total);
+            if (reportPages) {
+                list.setPages((total + perPage - 1) / perPage);
+            }
+            for (int i = (page - 1) * perPage; i < Math.min(total, page * perPage); i++) {
+                list.add(new Integer(i));
+            }
+            return list;
+        }
+
+        synchronized List getRequests() {
+            return new ArrayList(requests);
+        }
+
+        synchronized void awaitRequests(int count) throws InterruptedException {
+            long end = System.currentTimeMillis() + 5000;
+            while (requests.size() < count && System.currentTimeMillis() < end) {
+                wait(100);
+            }
+        }
+
+    }
+
+}
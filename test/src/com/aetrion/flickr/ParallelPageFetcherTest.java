@@ -0,0 +1,106 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.photos.Photo;
+import com.aetrion.flickr.photos.PhotoList;
+
+/**
+ * Tests the ParallelPageFetcher against a slow in-memory page source.
+ *
+ * @author Anthony Eden
+ */
+public class ParallelPageFetcherTest extends TestCase {
+
+    private static final int PER_PAGE = 10;
+    private static final int PAGES = 20;
+    private static final long DELAY = 50;
+
+    private ExecutorService executor;
+
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    public void testPagesAreFetchedConcurrently() throws Exception {
+        SlowSource source = new SlowSource(false);
+        ParallelPageFetcher fetcher = new ParallelPageFetcher(source, PER_PAGE, executor, 5);
+        long start = System.currentTimeMillis();
+        SearchResultList photos = fetcher.fetchAll();
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertTrue(photos instanceof PhotoList);
+        assertEquals(PAGES * PER_PAGE, photos.size());
+        for (int i = 0; i < photos.size(); i++) {
+            assertEquals(String.valueOf(i), ((Photo) photos.get(i)).getId());
+        }
+        assertEquals(5, source.maxRunning);
+        assertTrue("Pages did not overlap: " + elapsed + " ms", elapsed < PAGES * DELAY / 2);
+    }
+
+    public void testMovedPhotosAreRemoved() throws Exception {
+        SlowSource source = new SlowSource(true);
+        ParallelPageFetcher fetcher = new ParallelPageFetcher(source, PER_PAGE, executor, 3);
+        SearchResultList photos = fetcher.fetchAll(source.getPage(PER_PAGE, 1));
+        // the first photo of every page after the first is also on the page before
+        assertEquals(PAGES * PER_PAGE - (PAGES - 1), photos.size());
+        assertEquals(PAGES * PER_PAGE, photos.getTotal());
+    }
+
+    public void testMaxPages() throws Exception {
+        SlowSource source = new SlowSource(false);
+        ParallelPageFetcher fetcher = new ParallelPageFetcher(source, PER_PAGE, executor, 4);
+        fetcher.setMaxPages(3);
+        assertEquals(3 * PER_PAGE, fetcher.fetchAll().size());
+    }
+
+    private static class SlowSource implements PageSource {
+
+        private boolean overlap;
+        private int running = 0;
+        int maxRunning = 0;
+
+        SlowSource(boolean overlap) {
+            this.overlap = overlap;
+        }
+
+        public SearchResultList getPage(int perPage, int page) throws FlickrException {
+            synchronized (this) {
+                running++;
+                maxRunning = Math.max(maxRunning, running);
+            }
+            try {
+                Thread.sleep(DELAY);
+            } catch (InterruptedException e) {
+                throw new FlickrException("0", "Interrupted");
+            } finally {
+                synchronized (this) {
+                    running--;
+                }
+            }
+            PhotoList photos = new PhotoList();
+            photos.setPage(page);
+            photos.setPages(PAGES);
+            photos.setPerPage(perPage);
+            photos.setTotal(PAGES * perPage);
+            int first = (page - 1) * perPage;
+            for (int i = first; i < first + perPage; i++) {
+                Photo photo = new Photo();
+                photo.setId(String.valueOf(overlap && i == first && page > 1 ? i - 1 : i));
+                photos.add(photo);
+            }
+            return photos;
+        }
+
+    }
+
+}
@@ -0,0 +1,147 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.auth.Auth;
+import com.aetrion.flickr.auth.AuthUtilities;
+import com.aetrion.flickr.auth.Signer;
+import com.aetrion.flickr.util.QueryEncoder;
+import com.aetrion.flickr.util.ResponseCache;
+
+/**
+ * Tests the sorted parameter list against the list of Parameter objects it
+ * replaces on the request path.
+ *
+ * @author Anthony Eden
+ */
+public class ParameterListTest extends TestCase {
+
+    public void testInsertionOrder() {
+        ParameterList parameters = new ParameterList(2);
+        parameters.add("method", "flickr.photos.search");
+        parameters.add("tags", "b");
+        parameters.add("api_key", "key");
+        parameters.add("per_page", 500);
+        parameters.add("tags", "a");
+        parameters.add(new Parameter("extras", "tags"));
+        assertEquals(6, parameters.size());
+        String[] names = {"method", "tags", "api_key", "per_page", "tags", "extras"};
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], parameters.getName(i));
+        }
+        assertEquals("extras", ((Parameter) parameters.get(parameters.size() - 1)).getName());
+        assertTrue(parameters.isNumber(3));
+        assertEquals(500, parameters.getNumber(3));
+        assertEquals(new Long(500), ((Parameter) parameters.get(3)).getValue());
+        assertEquals(3, parameters.indexOfName("per_page"));
+        assertEquals(-1, parameters.indexOfName("page"));
+        assertEquals("b", parameters.getValue("tags"));
+
+        parameters.add(0, new Parameter("format", "rest"));
+        assertEquals("format", parameters.getName(0));
+        assertEquals("method", parameters.getName(1));
+
+        parameters.sort();
+        names = new String[] {"api_key", "extras", "format", "method", "per_page", "tags", "tags"};
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], parameters.getName(i));
+        }
+        // equal names keep the order they were added in
+        assertEquals("b", parameters.getValue(5));
+        assertEquals("a", parameters.getValue(6));
+        assertEquals(500, parameters.getNumber(4));
+    }
+
+    public void testSpecialParameters() {
+        ParameterList parameters = new ParameterList();
+        assertNull(parameters.getMethod());
+        parameters.add("method", "flickr.test.echo");
+        parameters.add("auth_token", "token");
+        parameters.add("api_sig", "sig");
+        assertEquals("flickr.test.echo", parameters.getMethod());
+        assertEquals("token", parameters.getAuthToken());
+        assertEquals("sig", parameters.getApiSig());
+        parameters.remove(parameters.indexOfName("auth_token"));
+        assertNull(parameters.getAuthToken());
+        parameters.set(parameters.indexOfName("method"), new Parameter("method", "flickr.photos.search"));
+        assertEquals("flickr.photos.search", parameters.getMethod());
+        parameters.set(parameters.indexOfName("method"), new Parameter("auth_token", "other"));
+        assertNull(parameters.getMethod());
+        assertEquals("other", parameters.getAuthToken());
+        parameters.clear();
+        assertNull(parameters.getApiSig());
+        assertTrue(parameters.isEmpty());
+    }
+
+    public void testSortKeepsEntries() {
+        ParameterList parameters = new ParameterList();
+        parameters.add("b", "1");
+        parameters.add("a", "2");
+        parameters.add("a", 3);
+        Collections.sort(parameters, new ParameterAlphaComparator());
+        assertEquals(3, parameters.size());
+        assertEquals("2", parameters.getValue(0));
+        assertEquals(new Long(3), parameters.getValue(1));
+        assertEquals("1", parameters.getValue(2));
+    }
+
+    public void testSignatureAndEncoding() {
+        List list = new ArrayList();
+        ParameterList parameters = new ParameterList();
+        add(list, parameters, "method", "flickr.photos.search");
+        add(list, parameters, "text", "caf\u00e9 & more");
+        add(list, parameters, "api_key", "0123456789abcdef");
+        list.add(new Parameter("per_page", 500));
+        parameters.add("per_page", 500);
+        list.add(new Parameter("min_upload_date", -1234567890123L));
+        parameters.add("min_upload_date", -1234567890123L);
+        list.add(new Parameter("page", Long.MIN_VALUE));
+        parameters.add("page", Long.MIN_VALUE);
+
+        assertEquals(Signer.getInstance("secret").sign(list), Signer.getInstance("secret").sign(parameters));
+        assertEquals(
+            Signer.getInstance("secret").sign(list, "text"),
+            Signer.getInstance("secret").sign(parameters, "text")
+        );
+        // signing sorts both lists, so they encode in the same order
+        assertEquals(
+            QueryEncoder.getInstance().append(list).toString(),
+            QueryEncoder.getInstance().append(parameters).toString()
+        );
+
+        ResponseCache cache = new ResponseCache();
+        cache.setTimeToLive("flickr.photos.search", 1000);
+        assertEquals(cache.getKey(list), cache.getKey(parameters));
+        cache.setTimeToLive("flickr.photos.search", 0);
+        assertNull(cache.getKey(parameters));
+    }
+
+    public void testAuthToken() {
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", "flickr.test.login");
+        AuthUtilities.addAuthToken(parameters, context("token"));
+        assertEquals("token", parameters.getAuthToken());
+        assertEquals(2, parameters.size());
+        AuthUtilities.addAuthToken(parameters, context("other"));
+        assertEquals(2, parameters.size());
+        assertTrue(AuthUtilities.isAuthenticated(parameters, CallContext.EMPTY));
+    }
+
+    private static CallContext context(String token) {
+        Auth auth = new Auth();
+        auth.setToken(token);
+        return new CallContext(auth, null);
+    }
+
+    private static void add(List list, ParameterList parameters, String name, String value) {
+        list.add(new Parameter(name, value));
+        parameters.add(name, value);
+    }
+
+}
@@ -0,0 +1,169 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.photos.Photo;
+import com.aetrion.flickr.photos.PhotoDownload;
+import com.aetrion.flickr.photos.PhotoDownloader;
+import com.aetrion.flickr.photos.Size;
+import com.aetrion.flickr.util.IOUtilities;
+
+/**
+ * Tests concurrent downloads into files from a local stub server.
+ *
+ * @author Anthony Eden
+ */
+public class PhotoDownloaderTest extends TestCase {
+
+    private StubHttpServer server;
+    private File directory;
+    private byte[] image;
+
+    public void setUp() throws Exception {
+        image = new byte[300001];
+        for (int i = 0; i < image.length; i++) {
+            image[i] = (byte) (i % 251);
+        }
+        server = new StubHttpServer("");
+        server.setResponseBody(image);
+        server.setContentType("image/jpeg");
+        directory = File.createTempFile("flickrj", "");
+        directory.delete();
+        directory.mkdir();
+    }
+
+    public void tearDown() {
+        server.stop();
+        File[] files = directory.listFiles();
+        for (int i = 0; i < files.length; i++) {
+            files[i].delete();
+        }
+        directory.delete();
+    }
+
+    public void testDownloadAll() throws Exception {
+        PhotoDownloader downloader = new StubDownloader(4, 4, false);
+        List downloads = downloader.downloadAll(createPhotos(6), Size.LARGE, directory);
+        assertEquals(6, downloads.size());
+        for (int i = 0; i < downloads.size(); i++) {
+            PhotoDownload download = (PhotoDownload) downloads.get(i);
+            assertTrue(download.isSuccessful());
+            assertEquals(image.length, download.getBytes());
+            assertEquals(i + "_secret_b.jpg", download.getFile().getName());
+            FileInputStream in = new FileInputStream(download.getFile());
+            assertTrue(Arrays.equals(image, IOUtilities.toByteArray(in)));
+            in.close();
+        }
+        assertEquals(6, downloader.getDownloadedCount());
+        assertEquals(6L * image.length, downloader.getDownloadedBytes());
+        assertTrue(downloader.getBytesPerSecond() > 0);
+        assertEquals(6, directory.listFiles().length);
+        downloader.shutdown();
+    }
+
+    public void testConnectionsPerHost() throws Exception {
+        server.setDelay(200);
+        PhotoDownloader downloader = new StubDownloader(8, 1, false);
+        long start = System.currentTimeMillis();
+        downloader.downloadAll(createPhotos(4), Size.SMALL, directory);
+        long oneHost = System.currentTimeMillis() - start;
+        assertTrue("4 downloads one at a time: " + oneHost, oneHost >= 800);
+        downloader.shutdown();
+
+        downloader = new StubDownloader(8, 1, true);
+        start = System.currentTimeMillis();
+        downloader.downloadAll(createPhotos(4), Size.SMALL, directory);
+        long twoHosts = System.currentTimeMillis() - start;
+        assertTrue("2 hosts, 2 downloads each: " + twoHosts, twoHosts < oneHost);
+        downloader.shutdown();
+    }
+
+    public void testShutdownRunsQueuedDownloads() throws Exception {
+        server.setDelay(100);
+        PhotoDownloader downloader = new StubDownloader(2, 1, false);
+        List photos = createPhotos(3);
+        List futures = new ArrayList();
+        for (int i = 0; i < photos.size(); i++) {
+            futures.add(downloader.download((Photo) photos.get(i), Size.LARGE, new File(directory, i + ".jpg")));
+        }
+        downloader.shutdown();
+        downloader.awaitCompletion();
+        assertEquals(3, downloader.getDownloadedCount());
+        for (int i = 0; i < futures.size(); i++) {
+            assertTrue(((PhotoDownload) ((FlickrFuture) futures.get(i)).get()).isSuccessful());
+        }
+        try {
+            downloader.download((Photo) photos.get(0), Size.LARGE, new File(directory, "late.jpg"));
+            fail("Expected a RejectedExecutionException");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+    }
+
+    public void testReadTimeout() throws Exception {
+        server.setDelay(2000);
+        PhotoDownloader downloader = new StubDownloader(1, 1, false);
+        downloader.setReadTimeout(200);
+        List downloads = downloader.downloadAll(createPhotos(1), Size.LARGE, directory);
+        PhotoDownload download = (PhotoDownload) downloads.get(0);
+        assertFalse(download.isSuccessful());
+        assertTrue(download.getError() instanceof SocketTimeoutException);
+        downloader.shutdown();
+    }
+
+    public void testFailureLeavesNoFile() throws Exception {
+        server.stop();
+        PhotoDownloader downloader = new StubDownloader(2, 2, false);
+        List downloads = downloader.downloadAll(createPhotos(1), Size.LARGE, directory);
+        PhotoDownload download = (PhotoDownload) downloads.get(0);
+        assertFalse(download.isSuccessful());
+        assertNotNull(download.getError());
+        assertEquals(1, downloader.getFailedCount());
+        assertEquals(0, directory.listFiles().length);
+        downloader.shutdown();
+    }
+
+    private List createPhotos(int count) {
+        List photos = new ArrayList();
+        for (int i = 0; i < count; i++) {
+            Photo photo = new Photo();
+            photo.setId(String.valueOf(i));
+            photo.setSecret("secret");
+            photo.setServer("2345");
+            photo.setFarm("3");
+            photos.add(photo);
+        }
+        return photos;
+    }
+
+    /**
+     * Sends the downloads to the stub server, optionally spread over two host names.
+     */
+    private class StubDownloader extends PhotoDownloader {
+
+        private boolean twoHosts;
+
+        StubDownloader(int concurrency, int connectionsPerHost, boolean twoHosts) {
+            super(concurrency, connectionsPerHost);
+            this.twoHosts = twoHosts;
+        }
+
+        protected String getUrl(Photo photo, int size) throws FlickrException {
+            String url = photo.getUrl(size);
+            String host = twoHosts && Integer.parseInt(photo.getId()) % 2 == 1 ? "localhost" : server.getHost();
+            return "http://" + host + ":" + server.getPort() + url.substring(url.indexOf('/', 7));
+        }
+
+    }
+
+}
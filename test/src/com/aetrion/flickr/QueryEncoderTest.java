@@ -0,0 +1,99 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.util.QueryEncoder;
+import com.aetrion.flickr.util.UrlUtilities;
+
+/**
+ * Tests the query and form encoder against URLEncoder and on the wire.
+ *
+ * @author Anthony Eden
+ */
+public class QueryEncoderTest extends TestCase {
+
+    public void testEncodesLikeUrlEncoder() throws Exception {
+        String[] values = {
+            "", "plain", "a b&c=d+e%f", "caf\u00e9 \u4e2d\u6587", "\ud83d\ude00 smile",
+            "broken \ud800 surrogate", "~!*'();:@$,/?#[]", ".-_*"
+        };
+        for (int i = 0; i < values.length; i++) {
+            assertEncoded(values[i]);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            char[] chars = new char[random.nextInt(300)];
+            for (int j = 0; j < chars.length; j++) {
+                int kind = random.nextInt(4);
+                chars[j] = (char) (kind == 0 ? random.nextInt(0x80) : kind == 1 ? random.nextInt(0x800)
+                    : kind == 2 ? random.nextInt(0x10000) : 'a' + random.nextInt(26));
+            }
+            assertEncoded(new String(chars));
+        }
+    }
+
+    public void testParameters() {
+        List parameters = new ArrayList();
+        parameters.add(new Parameter("method", "flickr.photos.search"));
+        parameters.add(new Parameter("per_page", 500));
+        parameters.add(new Parameter("text", "a b"));
+        parameters.add(new Parameter("empty", null));
+        assertEquals(
+            "method=flickr.photos.search&per_page=500&text=a+b&empty=",
+            QueryEncoder.getInstance().append(parameters).toString()
+        );
+        // the buffer of the thread is reused
+        assertEquals("x=1", QueryEncoder.getInstance().append("x", "1").toString());
+    }
+
+    public void testBuildUrl() throws Exception {
+        List parameters = new ArrayList();
+        parameters.add(new Parameter("method", "flickr.test.echo"));
+        parameters.add(new Parameter("text", "caf\u00e9 & more"));
+        URL url = UrlUtilities.buildUrl("api.flickr.com", 0, "/services/rest/", parameters);
+        assertEquals("http://api.flickr.com/services/rest/?method=flickr.test.echo&text=caf%C3%A9+%26+more", url.toString());
+        assertEquals("method=flickr.test.echo&text=caf%C3%A9+%26+more", url.getQuery());
+        assertEquals(-1, url.getPort());
+        url = UrlUtilities.buildUrl("localhost", 8080, null, new ArrayList());
+        assertEquals("http://localhost:8080/", url.toString());
+    }
+
+    public void testPostBody() throws Exception {
+        StubHttpServer server = new StubHttpServer("<rsp stat=\"ok\"><user id=\"1\"/></rsp>");
+        try {
+            REST rest = new REST(server.getHost(), server.getPort());
+            List parameters = new ArrayList();
+            parameters.add(new Parameter("method", "flickr.photos.setMeta"));
+            parameters.add(new Parameter("title", "\u6771\u4eac & Berlin"));
+            parameters.add(new Parameter("description", null));
+            rest.post("/services/rest/", parameters);
+            StubHttpServer.Request request = server.getLastRequest();
+            String body = "method=flickr.photos.setMeta&title=%E6%9D%B1%E4%BA%AC+%26+Berlin&description=";
+            assertEquals(body, new String(request.body, "UTF-8"));
+            assertEquals(String.valueOf(body.length()), request.getHeader("Content-Length"));
+            assertEquals("application/x-www-form-urlencoded", request.getHeader("Content-Type"));
+
+            // a ParameterList is sent the same way
+            ParameterList list = new ParameterList();
+            list.addAll(parameters);
+            rest.post("/services/rest/", list);
+            assertEquals(body, new String(server.getLastRequest().body, "UTF-8"));
+        } finally {
+            server.stop();
+        }
+    }
+
+    private void assertEncoded(String value) throws Exception {
+        String encoded = QueryEncoder.getInstance().append("v", value).toString();
+        assertEquals("v=" + URLEncoder.encode(value, "UTF-8"), encoded);
+    }
+
+}
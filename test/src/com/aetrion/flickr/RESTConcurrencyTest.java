@@ -0,0 +1,118 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import com.aetrion.flickr.photos.Photo;
+import com.aetrion.flickr.photos.PhotoList;
+
+/**
+ * Drives many threads through one REST transport against a local stub
+ * server which answers every request with a page of its own size. Each
+ * thread must get back exactly the page it asked for, parsed completely and
+ * independently of the pages parsed at the same time on other threads.
+ *
+ * @author Anthony Eden
+ */
+public class RESTConcurrencyTest extends TestCase {
+
+    private static final int THREADS = 16;
+    private static final int CALLS_PER_THREAD = 20;
+
+    private StubHttpServer server;
+    private REST rest;
+
+    public void setUp() throws Exception {
+        server = new StubHttpServer("");
+        server.setResponder(new StubHttpServer.Responder() {
+            public byte[] respond(StubHttpServer.Request request) throws IOException {
+                int start = request.path.indexOf("per_page=") + "per_page=".length();
+                int end = request.path.indexOf('&', start);
+                String perPage = request.path.substring(start, end < 0 ? request.path.length() : end);
+                return StubHttpServer.createPhotosPage(Integer.parseInt(perPage)).getBytes("UTF-8");
+            }
+        });
+        rest = new REST(server.getHost(), server.getPort());
+    }
+
+    public void tearDown() {
+        server.stop();
+    }
+
+    public void testConcurrentGet() throws Exception {
+        rest.setStreaming(false);
+        runThreads(new Call() {
+            public void call(int perPage) throws Exception {
+                Response response = rest.get(rest.getPath(), createParameters(perPage));
+                assertFalse(response.isError());
+                NodeList photos = response.getPayload().getElementsByTagName("photo");
+                assertEquals(perPage, photos.getLength());
+                assertEquals("Photo " + (perPage - 1), ((Element) photos.item(perPage - 1)).getAttribute("title"));
+            }
+        });
+    }
+
+    public void testConcurrentPhotoList() throws Exception {
+        rest.setStreaming(true);
+        runThreads(new Call() {
+            public void call(int perPage) throws Exception {
+                PhotoList photos = rest.getPhotoList(rest.getPath(), createParameters(perPage));
+                assertEquals(perPage, photos.size());
+                assertEquals(perPage, photos.getPerPage());
+                assertEquals("Photo " + (perPage - 1), ((Photo) photos.get(perPage - 1)).getTitle());
+            }
+        });
+    }
+
+    private interface Call {
+
+        void call(int perPage) throws Exception;
+
+    }
+
+    private void runThreads(final Call call) throws Exception {
+        final List failures = new ArrayList();
+        Thread[] threads = new Thread[THREADS];
+        for (int i = 0; i < threads.length; i++) {
+            final int thread = i;
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        for (int j = 0; j < CALLS_PER_THREAD; j++) {
+                            // a size no other thread asks for at the same time
+                            call.call(1 + thread + j * THREADS);
+                        }
+                    } catch (Throwable t) {
+                        synchronized (failures) {
+                            failures.add(t);
+                        }
+                    }
+                }
+            };
+        }
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].start();
+        }
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].join();
+        }
+        assertTrue("Failures: " + failures, failures.isEmpty());
+        assertEquals(THREADS * CALLS_PER_THREAD, server.getRequestCount());
+    }
+
+    private static List createParameters(int perPage) {
+        List parameters = new ArrayList();
+        parameters.add(new Parameter("method", "flickr.photos.search"));
+        parameters.add(new Parameter("per_page", perPage));
+        return parameters;
+    }
+
+}
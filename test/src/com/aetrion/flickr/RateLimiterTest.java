@@ -0,0 +1,122 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.util.RateLimiter;
+
+/**
+ * Tests the token bucket rate limiter and its use by the REST transport.
+ *
+ * @author Anthony Eden
+ */
+public class RateLimiterTest extends TestCase {
+
+    private static final String ERROR =
+        "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n"
+        + "<rsp stat=\"fail\"><err code=\"105\" msg=\"Service currently unavailable\" /></rsp>\n";
+
+    public void testBurstIsFree() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(1, 3);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire();
+        }
+        assertTrue(System.currentTimeMillis() - start < 500);
+        assertEquals(0, rateLimiter.getMaxWaitTime());
+        // the next call is due now, the one after it has to wait
+        assertTrue(rateLimiter.tryAcquire());
+        assertFalse(rateLimiter.tryAcquire());
+        assertTrue(rateLimiter.getDelay() > 0);
+    }
+
+    public void testCallsAreSpacedOut() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(20, 0);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 6; i++) {
+            rateLimiter.acquire();
+        }
+        // the first call is free, the other five wait 50ms each
+        assertTrue(System.currentTimeMillis() - start >= 200);
+        assertEquals(6, rateLimiter.getAcquiredCount());
+        assertTrue(rateLimiter.getTotalWaitTime() >= 200);
+        assertEquals(0, rateLimiter.getWaitingCount());
+    }
+
+    public void testWaitingCallersAreCounted() throws Exception {
+        final RateLimiter rateLimiter = new RateLimiter(2, 0);
+        rateLimiter.acquire();
+        Thread[] threads = new Thread[3];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        rateLimiter.acquire();
+                    } catch (InterruptedException e) {
+                        // ends the thread
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        Thread.sleep(200);
+        assertEquals(3, rateLimiter.getWaitingCount());
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].join();
+        }
+        assertEquals(0, rateLimiter.getWaitingCount());
+        assertTrue(rateLimiter.getMaxWaitTime() >= 1000);
+    }
+
+    public void testBackoffAndRecovery() {
+        RateLimiter rateLimiter = new RateLimiter(10, 5);
+        rateLimiter.throttled();
+        assertEquals(5.0, rateLimiter.getCurrentRate(), 0.001);
+        // a burst of throttled calls halves the rate once
+        rateLimiter.throttled();
+        assertEquals(5.0, rateLimiter.getCurrentRate(), 0.001);
+        assertEquals(2, rateLimiter.getThrottledCount());
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.succeeded();
+        }
+        assertEquals(10.0, rateLimiter.getCurrentRate(), 0.001);
+    }
+
+    public void testSharedPerApiKey() {
+        assertSame(RateLimiter.getInstance("key1"), RateLimiter.getInstance("key1"));
+        assertNotSame(RateLimiter.getInstance("key1"), RateLimiter.getInstance("key2"));
+    }
+
+    public void testTransportReportsThrottling() throws Exception {
+        StubHttpServer server = new StubHttpServer(ERROR);
+        try {
+            REST rest = new REST(server.getHost(), server.getPort());
+            RateLimiter rateLimiter = new RateLimiter(100, 1);
+            rest.setRateLimiter(rateLimiter);
+            Response response = rest.get(rest.getPath(), createParameters());
+            assertTrue(response.isError());
+            assertEquals(1, rateLimiter.getAcquiredCount());
+            assertEquals(1, rateLimiter.getThrottledCount());
+            assertEquals(50.0, rateLimiter.getCurrentRate(), 0.001);
+
+            server.setResponseBody(StubHttpServer.createPhotosPage(1));
+            rest.post(rest.getPath(), createParameters(), false);
+            assertEquals(2, rateLimiter.getAcquiredCount());
+            assertEquals(55.0, rateLimiter.getCurrentRate(), 0.001);
+        } finally {
+            server.stop();
+        }
+    }
+
+    private List createParameters() {
+        List parameters = new ArrayList();
+        parameters.add(new Parameter("method", "flickr.photos.getInfo"));
+        parameters.add(new Parameter("photo_id", "1234"));
+        return parameters;
+    }
+
+}
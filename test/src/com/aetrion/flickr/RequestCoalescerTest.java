@@ -0,0 +1,92 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.util.RequestCoalescer;
+
+/**
+ * Checks that identical concurrent requests share one call to a local stub server.
+ *
+ * @author Anthony Eden
+ */
+public class RequestCoalescerTest extends TestCase {
+
+    private static final int THREADS = 20;
+
+    private StubHttpServer server;
+    private REST rest;
+    private RequestCoalescer coalescer;
+
+    public void setUp() throws Exception {
+        server = new StubHttpServer(StubHttpServer.createPhotosPage(10));
+        server.setDelay(300);
+        rest = new REST(server.getHost(), server.getPort());
+        coalescer = new RequestCoalescer();
+        rest.setRequestCoalescer(coalescer);
+    }
+
+    public void tearDown() {
+        server.stop();
+    }
+
+    public void testIdenticalRequestsShareOneCall() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List responses = Collections.synchronizedList(new ArrayList());
+        final List failures = Collections.synchronizedList(new ArrayList());
+        Thread[] threads = new Thread[THREADS];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                public void run() {
+                    try {
+                        start.await();
+                        responses.add(rest.get(rest.getPath(), createParameters("1234")));
+                    } catch (Throwable t) {
+                        failures.add(t);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].join();
+        }
+
+        assertTrue("Failures: " + failures, failures.isEmpty());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, coalescer.getCallCount());
+        assertEquals(THREADS - 1, coalescer.getCoalescedCount());
+        assertEquals(0, coalescer.getInFlightCount());
+        assertEquals(THREADS, responses.size());
+        // every caller parses its own response
+        assertNotSame(responses.get(0), responses.get(1));
+        for (int i = 0; i < responses.size(); i++) {
+            Response response = (Response) responses.get(i);
+            assertEquals(10, response.getPayload().getElementsByTagName("photo").getLength());
+        }
+    }
+
+    public void testDifferentRequestsAreNotShared() throws Exception {
+        server.setDelay(0);
+        rest.get(rest.getPath(), createParameters("1"));
+        rest.get(rest.getPath(), createParameters("2"));
+        rest.get(rest.getPath(), createParameters("1"));
+        assertEquals(3, server.getRequestCount());
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    private List createParameters(String photoId) {
+        List parameters = new ArrayList();
+        parameters.add(new Parameter("method", "flickr.photos.getInfo"));
+        parameters.add(new Parameter("photo_id", photoId));
+        return parameters;
+    }
+
+}
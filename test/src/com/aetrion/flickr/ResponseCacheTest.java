@@ -0,0 +1,125 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.auth.Auth;
+import com.aetrion.flickr.reflection.ReflectionInterface;
+import com.aetrion.flickr.util.ResponseCache;
+
+/**
+ * Tests the response cache of the REST transport against a local stub server.
+ *
+ * @author Anthony Eden
+ */
+public class ResponseCacheTest extends TestCase {
+
+    private static final String METHODS =
+        "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n"
+        + "<rsp stat=\"ok\"><methods><method>flickr.a</method><method>flickr.b</method></methods></rsp>\n";
+
+    private static final String ERROR =
+        "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n"
+        + "<rsp stat=\"fail\"><err code=\"105\" msg=\"Service currently unavailable\" /></rsp>\n";
+
+    private StubHttpServer server;
+    private REST rest;
+    private ResponseCache cache;
+    private Flickr flickr;
+
+    public void setUp() throws Exception {
+        server = new StubHttpServer(METHODS);
+        rest = new REST(server.getHost(), server.getPort());
+        cache = new ResponseCache(2);
+        cache.setTimeToLive(ReflectionInterface.METHOD_GET_METHODS, 60000);
+        rest.setResponseCache(cache);
+        flickr = new Flickr("apikey", "secret", rest);
+    }
+
+    public void tearDown() {
+        server.stop();
+    }
+
+    public void testRepeatedCallIsCached() throws Exception {
+        Collection first = flickr.getReflectionInterface().getMethods();
+        Collection second = flickr.getReflectionInterface().getMethods();
+        assertEquals(first, second);
+        assertEquals(2, second.size());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    public void testUsersAreKeptApart() throws Exception {
+        Flickr other = flickr.withContext(new CallContext(createAuth("token"), null));
+        flickr.getReflectionInterface().getMethods();
+        other.getReflectionInterface().getMethods();
+        other.getReflectionInterface().getMethods();
+        assertEquals(2, server.getRequestCount());
+    }
+
+    public void testKeyIgnoresSignatureAndOrder() {
+        List parameters = new ArrayList();
+        parameters.add(new Parameter("method", ReflectionInterface.METHOD_GET_METHODS));
+        parameters.add(new Parameter("b", "2"));
+        parameters.add(new Parameter("a", 1));
+        parameters.add(new Parameter("api_sig", "abc"));
+        List reordered = new ArrayList();
+        reordered.add(new Parameter("a", 1));
+        reordered.add(new Parameter("api_sig", "def"));
+        reordered.add(new Parameter("b", "2"));
+        reordered.add(new Parameter("method", ReflectionInterface.METHOD_GET_METHODS));
+        assertEquals(cache.getKey(parameters), cache.getKey(reordered));
+
+        List uncached = new ArrayList();
+        uncached.add(new Parameter("method", "flickr.photos.delete"));
+        assertNull(cache.getKey(uncached));
+    }
+
+    public void testExpiry() throws Exception {
+        cache.setTimeToLive(ReflectionInterface.METHOD_GET_METHODS, 50);
+        flickr.getReflectionInterface().getMethods();
+        Thread.sleep(100);
+        flickr.getReflectionInterface().getMethods();
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, cache.getExpiredCount());
+    }
+
+    public void testLeastRecentlyUsedIsEvicted() {
+        cache.setTimeToLive("m", 60000);
+        cache.put("m?a", new byte[0]);
+        cache.put("m?b", new byte[0]);
+        cache.get("m?a");
+        cache.put("m?c", new byte[0]);
+        assertEquals(2, cache.getSize());
+        assertNotNull(cache.get("m?a"));
+        assertNull(cache.get("m?b"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    public void testErrorsAreNotCached() throws Exception {
+        server.setResponseBody(ERROR);
+        for (int i = 0; i < 2; i++) {
+            try {
+                flickr.getReflectionInterface().getMethods();
+                fail("FlickrException expected");
+            } catch (FlickrException e) {
+                assertEquals("105", e.getErrorCode());
+            }
+        }
+        assertEquals(2, server.getRequestCount());
+        assertEquals(0, cache.getSize());
+    }
+
+    private Auth createAuth(String token) {
+        Auth auth = new Auth();
+        auth.setToken(token);
+        return auth;
+    }
+
+}
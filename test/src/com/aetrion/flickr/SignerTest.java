@@ -0,0 +1,91 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.auth.AuthUtilities;
+import com.aetrion.flickr.auth.Signer;
+import com.aetrion.flickr.util.ByteUtilities;
+
+/**
+ * Checks the Signer against the signature as Flickr defines it.
+ *
+ * @author Anthony Eden
+ */
+public class SignerTest extends TestCase {
+
+    public void testMatchesConcatenation() throws Exception {
+        StringBuffer longValue = new StringBuffer();
+        for (int i = 0; i < 700; i++) {
+            longValue.append("\u00e9\u4e2d");
+        }
+        List parameters = new ArrayList();
+        parameters.add(new Parameter("text", "caf\u00e9 \u4e2d\u6587 \ud83d\ude00 \ud800"));
+        parameters.add(new Parameter("description", longValue.toString()));
+        parameters.add(new Parameter("per_page", 500));
+        parameters.add(new Parameter("extras", null));
+        parameters.add(new Parameter("api_key", "xxx"));
+        String expected = sign("s\u00e9cret", parameters);
+        assertEquals(expected, new Signer("s\u00e9cret").sign(parameters));
+        // a second time through the buffers of this thread
+        assertEquals(expected, Signer.getInstance("s\u00e9cret").sign(parameters));
+        assertEquals(expected, Signer.getInstance("s\u00e9cret").sign(parameters));
+    }
+
+    public void testAcrossBufferBoundaries() throws Exception {
+        Signer signer = new Signer("secret");
+        StringBuffer value = new StringBuffer();
+        for (int i = 0; i < 1000; i++) {
+            value.append('x');
+        }
+        for (int i = 0; i < 40; i++) {
+            value.append('x');
+            List parameters = new ArrayList();
+            parameters.add(new Parameter("a", value.toString() + "\u4e2d\ud83d\ude00\u00e9"));
+            parameters.add(new Parameter("b", value.toString()));
+            assertEquals(sign("secret", parameters), signer.sign(parameters));
+        }
+    }
+
+    public void testManySecrets() throws Exception {
+        List parameters = new ArrayList();
+        parameters.add(new Parameter("api_key", "xxx"));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(sign("secret" + i, parameters), Signer.getInstance("secret" + i).sign(parameters));
+        }
+        assertSame(Signer.getInstance("secret99"), Signer.getInstance("secret99"));
+    }
+
+    public void testMultipartSignatureIgnoresPhoto() throws Exception {
+        List parameters = new ArrayList();
+        parameters.add(new Parameter("title", "Title"));
+        parameters.add(new Parameter("api_key", "xxx"));
+        parameters.add(new Parameter("auth_token", "token"));
+        String expected = sign("foobar", parameters);
+        parameters.add(new Parameter("photo", new byte[] {1, 2, 3}));
+        assertEquals(expected, AuthUtilities.getMultipartSignature("foobar", parameters));
+    }
+
+    /**
+     * The signature as defined by Flickr: the MD5 of the secret and the sorted names and values.
+     */
+    private String sign(String secret, List parameters) throws Exception {
+        List sorted = new ArrayList(parameters);
+        Collections.sort(sorted, new ParameterAlphaComparator());
+        StringBuffer buffer = new StringBuffer(secret);
+        for (int i = 0; i < sorted.size(); i++) {
+            Parameter param = (Parameter) sorted.get(i);
+            buffer.append(param.getName());
+            buffer.append(param.getValue());
+        }
+        MessageDigest md = MessageDigest.getInstance("MD5");
+        return ByteUtilities.toHexString(md.digest(buffer.toString().getBytes("UTF-8")));
+    }
+
+}
@@ -0,0 +1,109 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.photos.Photo;
+import com.aetrion.flickr.photos.PhotoList;
+import com.aetrion.flickr.photos.PhotosInterface;
+import com.aetrion.flickr.photos.SearchParameters;
+
+/**
+ * Checks that streaming photo lists are equal to the lists built from the DOM.
+ *
+ * @author Anthony Eden
+ */
+public class StreamingPhotoListTest extends TestCase {
+
+    private static final String PHOTOSET =
+        "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n"
+        + "<rsp stat=\"ok\">\n"
+        + "<photoset id=\"72157\" primary=\"1001\" owner=\"12037949754@N01\" ownername=\"Owner\""
+        + " page=\"2\" per_page=\"2\" pages=\"3\" total=\"6\">\n"
+        + "<photo id=\"1001\" secret=\"abc\" server=\"12\" farm=\"1\" title=\"First &amp; best\" isprimary=\"1\"/>\n"
+        + "<photo id=\"1002\" secret=\"def\" server=\"12\" farm=\"1\" title=\"Second\" isprimary=\"0\">"
+        + "<description>A description</description></photo>\n"
+        + "</photoset>\n"
+        + "</rsp>\n";
+
+    private static final String ERROR =
+        "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n"
+        + "<rsp stat=\"fail\"><err code=\"1\" msg=\"Photoset not found\" /></rsp>\n";
+
+    private StubHttpServer server;
+    private REST rest;
+
+    public void setUp() throws Exception {
+        server = new StubHttpServer(StubHttpServer.createPhotosPage(50));
+        rest = new REST(server.getHost(), server.getPort());
+    }
+
+    public void tearDown() {
+        server.stop();
+    }
+
+    public void testSearchPage() throws Exception {
+        assertStreamingEqualsDom(50);
+    }
+
+    public void testPhotoset() throws Exception {
+        server.setResponseBody(PHOTOSET);
+        PhotoList photos = assertStreamingEqualsDom(2);
+        assertEquals(2, photos.getPage());
+        assertEquals(2, photos.getPerPage());
+        Photo photo = (Photo) photos.get(1);
+        assertEquals("12037949754@N01", photo.getOwner().getId());
+        assertEquals("A description", photo.getDescription());
+        assertEquals("First & best", ((Photo) photos.get(0)).getTitle());
+    }
+
+    public void testSearchInterestingness() throws Exception {
+        PhotosInterface photosInterface = new PhotosInterface("key", "secret", rest);
+        PhotoList photos = photosInterface.searchInterestingness(new SearchParameters(), 50, 1);
+        assertEquals(50, photos.size());
+        assertEquals(500, photos.getTotal());
+        Photo photo = (Photo) photos.get(7);
+        assertEquals("1000007", photo.getId());
+        assertEquals("12037949754@N01", photo.getOwner().getId());
+        assertEquals("Photo 7", photo.getTitle());
+        assertTrue(photo.isPublicFlag());
+        assertFalse(photo.isFamilyFlag());
+        assertTrue(server.getLastRequest().path.indexOf("method=flickr.interestingness.getList") > 0);
+    }
+
+    public void testError() throws Exception {
+        server.setResponseBody(ERROR);
+        rest.setStreaming(true);
+        try {
+            rest.getPhotoList(rest.getPath(), new ArrayList());
+            fail("FlickrException expected");
+        } catch (FlickrException e) {
+            assertEquals("1", e.getErrorCode());
+            assertEquals("Photoset not found", e.getErrorMessage());
+        }
+    }
+
+    private PhotoList assertStreamingEqualsDom(int size) throws Exception {
+        List parameters = new ArrayList();
+        rest.setStreaming(false);
+        PhotoList domPhotos = rest.getPhotoList(rest.getPath(), parameters);
+        rest.setStreaming(true);
+        PhotoList streamedPhotos = rest.getPhotoList(rest.getPath(), parameters);
+
+        assertEquals(size, domPhotos.size());
+        assertEquals(domPhotos.size(), streamedPhotos.size());
+        assertEquals(domPhotos.getPage(), streamedPhotos.getPage());
+        assertEquals(domPhotos.getPages(), streamedPhotos.getPages());
+        assertEquals(domPhotos.getPerPage(), streamedPhotos.getPerPage());
+        assertEquals(domPhotos.getTotal(), streamedPhotos.getTotal());
+        for (int i = 0; i < domPhotos.size(); i++) {
+            assertEquals(domPhotos.get(i), streamedPhotos.get(i));
+        }
+        return streamedPhotos;
+    }
+
+}
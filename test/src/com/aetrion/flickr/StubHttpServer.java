@@ -0,0 +1,314 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Minimal HTTP/1.1 server answering every request with a fixed body.
+ * Used by tests which exercise the transport without talking to Flickr.
+ * Connections are kept alive unless the client asks to close them.
+ *
+ * @author Anthony Eden
+ */
+public class StubHttpServer implements Runnable {
+
+    private ServerSocket serverSocket;
+    private Thread acceptThread;
+    private volatile boolean running = true;
+    private volatile byte[] responseBody;
+    private volatile String contentType = "text/xml; charset=utf-8";
+    private volatile long delay = 0;
+    private volatile Responder responder;
+    private int connectionCount = 0;
+    private int requestCount = 0;
+    private List requests = Collections.synchronizedList(new ArrayList());
+    private List sockets = Collections.synchronizedList(new ArrayList());
+
+    /**
+     * A request as received by the stub.
+     */
+    public static class Request {
+
+        public String method;
+        public String path;
+        public List headers = new ArrayList();
+        public byte[] body;
+
+        public String getHeader(String name) {
+            for (int i = 0; i < headers.size(); i++) {
+                String header = (String) headers.get(i);
+                int colon = header.indexOf(':');
+                if (colon > 0 && header.substring(0, colon).trim().equalsIgnoreCase(name)) {
+                    return header.substring(colon + 1).trim();
+                }
+            }
+            return null;
+        }
+
+    }
+
+    /**
+     * Answers each request with a body of its own, in place of the fixed body.
+     */
+    public interface Responder {
+
+        byte[] respond(Request request) throws IOException;
+
+    }
+
+    public StubHttpServer(String responseBody) throws IOException {
+        setResponseBody(responseBody);
+        serverSocket = new ServerSocket(0, 200, InetAddress.getByName("127.0.0.1"));
+        acceptThread = new Thread(this, "StubHttpServer");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    /**
+     * Create a search result page with the given number of photos,
+     * carrying the typical extras.
+     *
+     * @param count The number of photos
+     * @return The response body
+     */
+    public static String createPhotosPage(int count) {
+        StringBuffer buffer = new StringBuffer();
+        buffer.append("<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n");
+        buffer.append("<rsp stat=\"ok\">\n");
+        buffer.append("<photos page=\"1\" pages=\"10\" perpage=\"" + count + "\" total=\"" + (count * 10) + "\">\n");
+        for (int i = 0; i < count; i++) {
+            buffer.append("<photo id=\"" + (1000000 + i) + "\" owner=\"12037949754@N01\" secret=\"a1b2c3d4e5\"");
+            buffer.append(" server=\"2345\" farm=\"3\" title=\"Photo " + i + "\" ispublic=\"1\" isfriend=\"0\" isfamily=\"0\"");
+            buffer.append(" license=\"4\" dateupload=\"1247000000\" datetaken=\"2009-07-01 12:34:56\"");
+            buffer.append(" datetakengranularity=\"0\" ownername=\"Owner\" iconserver=\"1\" iconfarm=\"1\"");
+            buffer.append(" originalsecret=\"f6e5d4c3b2\" originalformat=\"jpg\" lastupdate=\"1247100000\"");
+            buffer.append(" latitude=\"52.5\" longitude=\"13.4\" accuracy=\"16\" tags=\"berlin summer\"");
+            buffer.append(" media=\"photo\" media_status=\"ready\" o_width=\"3000\" o_height=\"2000\" />\n");
+        }
+        buffer.append("</photos>\n");
+        buffer.append("</rsp>\n");
+        return buffer.toString();
+    }
+
+    public String getHost() {
+        return "127.0.0.1";
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void setResponseBody(String responseBody) {
+        try {
+            this.responseBody = responseBody.getBytes("UTF-8");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void setResponseBody(byte[] responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public void setResponder(Responder responder) {
+        this.responder = responder;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * Delay every response by the given number of milliseconds,
+     * simulating a network round trip.
+     *
+     * @param delay The delay in milliseconds
+     */
+    public void setDelay(long delay) {
+        this.delay = delay;
+    }
+
+    public synchronized int getConnectionCount() {
+        return connectionCount;
+    }
+
+    public synchronized int getRequestCount() {
+        return requestCount;
+    }
+
+    public List getRequests() {
+        return requests;
+    }
+
+    public Request getLastRequest() {
+        synchronized (requests) {
+            return requests.isEmpty() ? null : (Request) requests.get(requests.size() - 1);
+        }
+    }
+
+    /**
+     * Close all open connections, like a server dropping idle keep-alive connections.
+     */
+    public void closeConnections() {
+        synchronized (sockets) {
+            for (int i = 0; i < sockets.size(); i++) {
+                try {
+                    ((Socket) sockets.get(i)).close();
+                } catch (IOException e) {
+                }
+            }
+            sockets.clear();
+        }
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+        }
+    }
+
+    public void run() {
+        while (running) {
+            try {
+                final Socket socket = serverSocket.accept();
+                synchronized (this) {
+                    connectionCount++;
+                }
+                sockets.add(socket);
+                Thread worker = new Thread("StubHttpServer-connection") {
+                    public void run() {
+                        serve(socket);
+                    }
+                };
+                worker.setDaemon(true);
+                worker.start();
+            } catch (IOException e) {
+                // socket closed by stop()
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try {
+            socket.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            while (running) {
+                Request request = readRequest(in);
+                if (request == null) {
+                    break;
+                }
+                synchronized (this) {
+                    requestCount++;
+                }
+                requests.add(request);
+                if (delay > 0) {
+                    Thread.sleep(delay);
+                }
+                boolean close = "close".equalsIgnoreCase(request.getHeader("Connection"));
+                Responder currentResponder = responder;
+                byte[] body = currentResponder == null ? responseBody : currentResponder.respond(request);
+                StringBuffer head = new StringBuffer();
+                head.append("HTTP/1.1 200 OK\r\n");
+                head.append("Content-Type: ").append(contentType).append("\r\n");
+                head.append("Content-Length: ").append(body.length).append("\r\n");
+                head.append("Connection: ").append(close ? "close" : "keep-alive").append("\r\n");
+                head.append("\r\n");
+                out.write(head.toString().getBytes("ISO-8859-1"));
+                out.write(body);
+                out.flush();
+                if (close) {
+                    break;
+                }
+            }
+        } catch (SocketException e) {
+            // client went away
+        } catch (IOException e) {
+            // client went away
+        } catch (InterruptedException e) {
+            // shutting down
+        } finally {
+            sockets.remove(socket);
+            try {
+                socket.close();
+            } catch (IOException e) {
+            }
+        }
+    }
+
+    private Request readRequest(InputStream in) throws IOException {
+        String requestLine = readLine(in);
+        if (requestLine == null || requestLine.length() == 0) {
+            return null;
+        }
+        Request request = new Request();
+        String[] parts = requestLine.split(" ");
+        request.method = parts[0];
+        request.path = parts.length > 1 ? parts[1] : "/";
+        String line;
+        while ((line = readLine(in)) != null && line.length() > 0) {
+            request.headers.add(line);
+        }
+        String length = request.getHeader("Content-Length");
+        if (length != null) {
+            int remaining = Integer.parseInt(length);
+            byte[] body = new byte[remaining];
+            int offset = 0;
+            while (offset < remaining) {
+                int read = in.read(body, offset, remaining - offset);
+                if (read == -1) {
+                    throw new IOException("Unexpected end of request body");
+                }
+                offset += read;
+            }
+            request.body = body;
+        } else if ("chunked".equalsIgnoreCase(request.getHeader("Transfer-Encoding"))) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            while (true) {
+                int size = Integer.parseInt(readLine(in).trim(), 16);
+                if (size == 0) {
+                    readLine(in);
+                    break;
+                }
+                for (int i = 0; i < size; i++) {
+                    body.write(in.read());
+                }
+                readLine(in);
+            }
+            request.body = body.toByteArray();
+        }
+        return request;
+    }
+
+    private String readLine(InputStream in) throws IOException {
+        StringBuffer buffer = new StringBuffer();
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\n') {
+                int length = buffer.length();
+                if (length > 0 && buffer.charAt(length - 1) == '\r') {
+                    buffer.setLength(length - 1);
+                }
+                return buffer.toString();
+            }
+            buffer.append((char) c);
+        }
+        return buffer.length() == 0 ? null : buffer.toString();
+    }
+
+}
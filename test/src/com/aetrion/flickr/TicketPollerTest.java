@@ -0,0 +1,155 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.photos.upload.TicketPoller;
+import com.aetrion.flickr.photos.upload.UploadInterface;
+
+/**
+ * Tests batched polling of upload tickets against a local stub server.
+ *
+ * @author Anthony Eden
+ */
+public class TicketPollerTest extends TestCase {
+
+    private static final String TICKETS =
+        "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n"
+        + "<rsp stat=\"ok\"><uploader>"
+        + "<ticket id=\"1\" complete=\"1\" photoid=\"1001\" />"
+        + "<ticket id=\"2\" complete=\"2\" />"
+        + "<ticket id=\"3\" invalid=\"1\" />"
+        + "<ticket id=\"4\" complete=\"0\" />"
+        + "<ticket id=\"5\" complete=\"1\" photoid=\"1005\" />"
+        + "</uploader></rsp>\n";
+
+    private static final String BUSY =
+        "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n"
+        + "<rsp stat=\"ok\"><uploader><ticket id=\"4\" complete=\"0\" /></uploader></rsp>\n";
+
+    private StubHttpServer server;
+    private TicketPoller poller;
+
+    public void setUp() throws Exception {
+        server = new StubHttpServer(TICKETS);
+        REST rest = new REST(server.getHost(), server.getPort());
+        poller = new TicketPoller(new UploadInterface("apikey", "secret", rest));
+        poller.setMinInterval(20);
+        poller.setMaxInterval(200);
+    }
+
+    public void tearDown() {
+        poller.shutdown();
+        server.stop();
+    }
+
+    public void testTicketsAreCheckedInOneCall() throws Exception {
+        FlickrFuture completed = poller.track("1");
+        FlickrFuture failed = poller.track("2");
+        FlickrFuture invalid = poller.track("3");
+        FlickrFuture busy = poller.track("4");
+        FlickrFuture other = poller.track("5");
+
+        assertEquals("1001", completed.getResult(5, TimeUnit.SECONDS));
+        assertEquals("1005", other.getResult(5, TimeUnit.SECONDS));
+        assertFailed(failed, "2");
+        assertFailed(invalid, "invalid");
+        assertFalse(busy.isDone());
+        assertEquals(1, poller.getPendingCount());
+        assertEquals("5 tickets, one call", 1, server.getRequestCount());
+        assertTrue(server.getLastRequest().body != null
+            && new String(server.getLastRequest().body, "UTF-8").indexOf("tickets=1%2C2%2C3%2C4%2C5") != -1);
+    }
+
+    public void testBatchSize() throws Exception {
+        server.setResponseBody(TICKETS.replaceAll("complete=\"0\"", "complete=\"1\""));
+        poller.setBatchSize(2);
+        FlickrFuture[] futures = new FlickrFuture[5];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = poller.track(String.valueOf(i + 1));
+        }
+        futures[4].getResult(5, TimeUnit.SECONDS);
+        Thread.sleep(200);
+        assertEquals(0, poller.getPendingCount());
+        assertEquals(1, poller.getPollCount());
+        assertEquals(3, poller.getCallCount());
+    }
+
+    public void testIntervalBacksOffWhileBusy() throws Exception {
+        server.setResponseBody(BUSY);
+        poller.track("4");
+        Thread.sleep(500);
+        // 20, 40, 80, 160 ms
+        assertTrue(poller.getPollCount() <= 5);
+        assertEquals(200, poller.getInterval());
+        assertEquals(1, poller.getPendingCount());
+    }
+
+    public void testPollingStopsWhenDone() throws Exception {
+        poller.track("1").getResult(5, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        assertEquals(1, server.getRequestCount());
+        poller.track("5").getResult(5, TimeUnit.SECONDS);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    public void testThrowingListenerDoesNotStopPolling() throws Exception {
+        final List uncaught = Collections.synchronizedList(new ArrayList());
+        Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+            public void uncaughtException(Thread thread, Throwable e) {
+                uncaught.add(e);
+            }
+        });
+        try {
+            final List run = Collections.synchronizedList(new ArrayList());
+            // listeners are added long before the first poll
+            poller.setMinInterval(300);
+            FlickrFuture future = poller.track("1");
+            future.addListener(new Runnable() {
+                public void run() {
+                    throw new IllegalStateException("listener failed");
+                }
+            });
+            future.addListener(new Runnable() {
+                public void run() {
+                    run.add("second");
+                }
+            });
+            assertEquals("1001", future.getResult(5, TimeUnit.SECONDS));
+            assertEquals("1005", poller.track("5").getResult(5, TimeUnit.SECONDS));
+            assertEquals(1, run.size());
+            assertEquals(1, uncaught.size());
+            assertEquals("listener failed", ((Throwable) uncaught.get(0)).getMessage());
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(handler);
+        }
+    }
+
+    public void testUnknownTicketExpires() throws Exception {
+        server.setResponseBody(BUSY);
+        poller.setMaxMissedChecks(2);
+        FlickrFuture busy = poller.track("4");
+        FlickrFuture unknown = poller.track("9");
+        assertFailed(unknown, "expired");
+        assertFalse(busy.isDone());
+        assertEquals(1, poller.getPendingCount());
+        assertTrue(poller.getPollCount() >= 2);
+    }
+
+    private void assertFailed(FlickrFuture future, String errorCode) throws Exception {
+        try {
+            future.getResult(5, TimeUnit.SECONDS);
+            fail("FlickrException expected");
+        } catch (FlickrException e) {
+            assertEquals(errorCode, e.getErrorCode());
+        }
+    }
+
+}
@@ -0,0 +1,270 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.photos.upload.TicketPoller;
+import com.aetrion.flickr.photos.upload.UploadInterface;
+import com.aetrion.flickr.uploader.UploadJournal;
+import com.aetrion.flickr.uploader.UploadManager;
+import com.aetrion.flickr.uploader.UploadMetaData;
+import com.aetrion.flickr.uploader.Uploader;
+
+/**
+ * Tests concurrent uploads and resuming from the journal, with an Uploader
+ * which does not go to the network.
+ *
+ * @author Anthony Eden
+ */
+public class UploadManagerTest extends TestCase {
+
+    private File directory;
+    private File journalFile;
+    private StubUploader uploader;
+
+    public void setUp() throws Exception {
+        directory = File.createTempFile("flickrj", "");
+        directory.delete();
+        directory.mkdir();
+        for (int i = 0; i < 10; i++) {
+            write(new File(directory, "photo" + i + ".jpg"), 1000);
+        }
+        journalFile = File.createTempFile("flickrj", ".journal");
+        journalFile.delete();
+        uploader = new StubUploader();
+    }
+
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        for (int i = 0; i < files.length; i++) {
+            files[i].delete();
+        }
+        directory.delete();
+        journalFile.delete();
+    }
+
+    public void testUploadDirectory() throws Exception {
+        UploadManager manager = new UploadManager(uploader, new UploadJournal(journalFile), 3);
+        assertEquals(10, manager.addDirectory(directory, new UploadMetaData()));
+        manager.awaitCompletion();
+        assertEquals(10, manager.getUploadedCount());
+        assertEquals(0, manager.getPendingCount());
+        assertEquals(10000, manager.getUploadedBytes());
+        assertTrue(manager.getFilesPerSecond() > 0);
+        assertTrue(manager.getMegabytesPerSecond() > 0);
+        assertTrue(uploader.maxConcurrent <= 3);
+        assertTrue(uploader.maxConcurrent > 1);
+        assertEquals(10, manager.getJournal().getCount(UploadJournal.DONE));
+        assertEquals("id-photo0.jpg", manager.getJournal().getId(new File(directory, "photo0.jpg")));
+        manager.shutdown();
+    }
+
+    public void testResumeSkipsFinishedFiles() throws Exception {
+        uploader.failing = "photo3.jpg";
+        UploadManager manager = new UploadManager(uploader, new UploadJournal(journalFile), 2);
+        manager.addDirectory(directory, new UploadMetaData());
+        manager.awaitCompletion();
+        assertEquals(9, manager.getUploadedCount());
+        assertEquals(1, manager.getFailedCount());
+        manager.shutdown();
+
+        // a crash while uploading, with a torn last line
+        OutputStream out = new FileOutputStream(journalFile, true);
+        File photo5 = new File(directory, "photo5.jpg");
+        out.write(("1\tuploading\t-\t1000\t" + photo5.lastModified() + "\t" + photo5.getAbsolutePath() + "\n").getBytes("UTF-8"));
+        out.write("1\tdone\t-\t1000\t1\t/tor".getBytes("UTF-8"));
+        out.close();
+
+        uploader = new StubUploader();
+        manager = new UploadManager(uploader, new UploadJournal(journalFile), 2);
+        assertEquals(2, manager.addDirectory(directory, new UploadMetaData()));
+        manager.awaitCompletion();
+        assertEquals(8, manager.getSkippedCount());
+        assertEquals(2, uploader.uploaded.size());
+        assertTrue(uploader.uploaded.contains("photo3.jpg"));
+        assertTrue(uploader.uploaded.contains("photo5.jpg"));
+        manager.shutdown();
+
+        UploadJournal journal = new UploadJournal(journalFile);
+        assertEquals(10, journal.getCount(UploadJournal.DONE));
+        assertNull(journal.getState(new File("/tor")));
+        journal.close();
+    }
+
+    public void testChangedFileIsUploadedAgain() throws Exception {
+        UploadManager manager = new UploadManager(uploader, new UploadJournal(journalFile), 2);
+        manager.addDirectory(directory, new UploadMetaData());
+        manager.awaitCompletion();
+        manager.shutdown();
+
+        File photo2 = new File(directory, "photo2.jpg");
+        write(photo2, 2000);
+        uploader = new StubUploader();
+        manager = new UploadManager(uploader, new UploadJournal(journalFile), 2);
+        assertEquals(1, manager.addDirectory(directory, new UploadMetaData()));
+        manager.awaitCompletion();
+        assertEquals(9, manager.getSkippedCount());
+        assertEquals(Collections.singletonList("photo2.jpg"), uploader.uploaded);
+        manager.shutdown();
+    }
+
+    public void testJournalIsCompactedOnOpen() throws Exception {
+        UploadManager manager = new UploadManager(uploader, new UploadJournal(journalFile), 2);
+        manager.addDirectory(directory, new UploadMetaData());
+        manager.awaitCompletion();
+        manager.shutdown();
+        // pending, uploading and done for each file
+        assertEquals(30, countLines(journalFile));
+
+        UploadJournal journal = new UploadJournal(journalFile);
+        assertEquals(10, countLines(journalFile));
+        assertEquals(10, journal.getCount(UploadJournal.DONE));
+        assertEquals("id-photo4.jpg", journal.getId(new File(directory, "photo4.jpg")));
+        journal.record(new File(directory, "photo4.jpg"), UploadJournal.FAILED, "retry");
+        journal.close();
+        assertEquals(11, countLines(journalFile));
+    }
+
+    public void testJournalErrorAfterUploadIsNotAFailure() throws Exception {
+        UploadJournal journal = new UploadJournal(journalFile) {
+            public synchronized void record(File upload, String state, String id) throws IOException {
+                if (UploadJournal.DONE.equals(state)) {
+                    throw new IOException("Disk full");
+                }
+                super.record(upload, state, id);
+            }
+        };
+        UploadManager manager = new UploadManager(uploader, journal, 2);
+        manager.add(new File(directory, "photo1.jpg"), new UploadMetaData());
+        manager.awaitCompletion();
+        assertEquals(1, manager.getUploadedCount());
+        assertEquals(0, manager.getFailedCount());
+        assertEquals(1, manager.getJournalErrorCount());
+        assertEquals(UploadJournal.UPLOADING, journal.getState(new File(directory, "photo1.jpg")));
+        manager.shutdown();
+    }
+
+    public void testFileWhichCannotBeQueuedIsTakenBack() throws Exception {
+        final boolean[] full = {true};
+        UploadJournal journal = new UploadJournal(journalFile) {
+            public synchronized void record(File upload, String state, String id) throws IOException {
+                if (full[0] && UploadJournal.PENDING.equals(state)) {
+                    throw new IOException("Disk full");
+                }
+                super.record(upload, state, id);
+            }
+        };
+        UploadManager manager = new UploadManager(uploader, journal, 2);
+        File file = new File(directory, "photo1.jpg");
+        try {
+            manager.add(file, new UploadMetaData());
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            assertEquals("Disk full", e.getMessage());
+        }
+        assertEquals(0, manager.getPendingCount());
+        manager.awaitCompletion();
+
+        full[0] = false;
+        assertTrue(manager.add(file, new UploadMetaData()));
+        manager.awaitCompletion();
+        assertEquals(1, manager.getUploadedCount());
+        manager.shutdown();
+    }
+
+    public void testTicketsAreTracked() throws Exception {
+        StringBuffer tickets = new StringBuffer("<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n<rsp stat=\"ok\"><uploader>");
+        for (int i = 0; i < 10; i++) {
+            tickets.append("<ticket id=\"id-photo" + i + ".jpg\" complete=\"1\" photoid=\"" + i + "\" />");
+        }
+        tickets.append("</uploader></rsp>\n");
+        StubHttpServer server = new StubHttpServer(tickets.toString());
+        TicketPoller poller = new TicketPoller(
+            new UploadInterface("apikey", "secret", new REST(server.getHost(), server.getPort()))
+        );
+        poller.setMinInterval(20);
+        try {
+            UploadMetaData metaData = new UploadMetaData();
+            metaData.setAsync(true);
+            UploadManager manager = new UploadManager(uploader, new UploadJournal(journalFile), 3);
+            manager.setTicketPoller(poller);
+            manager.addDirectory(directory, metaData);
+            manager.awaitCompletion();
+            for (int i = 0; i < 100 && manager.getJournal().getCount(UploadJournal.DONE) < 10; i++) {
+                Thread.sleep(50);
+            }
+            assertEquals(0, poller.getPendingCount());
+            assertEquals(10, manager.getJournal().getCount(UploadJournal.DONE));
+            assertEquals("7", manager.getJournal().getId(new File(directory, "photo7.jpg")));
+            assertTrue(server.getRequestCount() < 10);
+            manager.shutdown();
+        } finally {
+            poller.shutdown();
+            server.stop();
+        }
+    }
+
+    private int countLines(File file) throws IOException {
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            int count = 0;
+            while (reader.readLine() != null) {
+                count++;
+            }
+            return count;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void write(File file, int length) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        out.write(new byte[length]);
+        out.close();
+    }
+
+    private static class StubUploader extends Uploader {
+
+        String failing;
+        List uploaded = Collections.synchronizedList(new ArrayList());
+        int concurrent = 0;
+        int maxConcurrent = 0;
+
+        StubUploader() {
+            super("apikey", "secret");
+        }
+
+        public String upload(File file, UploadMetaData metaData) throws FlickrException {
+            synchronized (this) {
+                concurrent++;
+                maxConcurrent = Math.max(maxConcurrent, concurrent);
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this) {
+                concurrent--;
+            }
+            if (file.getName().equals(failing)) {
+                throw new FlickrException("3", "General upload failure");
+            }
+            uploaded.add(file.getName());
+            return "id-" + file.getName();
+        }
+
+    }
+
+}
@@ -0,0 +1,256 @@
+/* Copyright 2004, Aetrion LLC.  All Rights Reserved. */
+
+package com.aetrion.flickr;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.TestCase;
+
+import com.aetrion.flickr.util.IOUtilities;
+import com.aetrion.flickr.util.RingBuffer;
+import com.aetrion.flickr.util.WireLog;
+
+/**
+ * Tests the wire log of the REST transport against a local stub server.
+ *
+ * @author Anthony Eden
+ */
+public class WireLogTest extends TestCase {
+
+    private static final String OK =
+        "<?xml version=\"1.0\" encoding=\"utf-8\" ?>\n"
+        + "<rsp stat=\"ok\"><method>flickr.test.echo</method></rsp>\n";
+
+    private StubHttpServer server;
+    private REST rest;
+    private File dir;
+    private File file;
+
+    public void setUp() throws Exception {
+        server = new StubHttpServer(OK);
+        rest = new REST(server.getHost(), server.getPort());
+        dir = File.createTempFile("wirelog", "");
+        dir.delete();
+        dir.mkdir();
+        file = new File(dir, "flickr.log");
+    }
+
+    public void tearDown() {
+        server.stop();
+        File[] files = dir.listFiles();
+        for (int i = 0; files != null && i < files.length; i++) {
+            files[i].delete();
+        }
+        dir.delete();
+    }
+
+    public void testRingBuffer() {
+        RingBuffer buffer = new RingBuffer(3);
+        assertEquals(4, buffer.getCapacity());
+        assertEquals(2, new RingBuffer(1).getCapacity());
+        assertNull(buffer.poll());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(new Integer(i)));
+        }
+        assertFalse(buffer.offer(new Integer(4)));
+        assertEquals(4, buffer.size());
+        assertEquals(new Integer(0), buffer.poll());
+        assertTrue(buffer.offer(new Integer(4)));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(new Integer(i), buffer.poll());
+        }
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    public void testRingBufferConcurrency() throws Exception {
+        final RingBuffer buffer = new RingBuffer(64);
+        final int count = 20000;
+        final AtomicLong taken = new AtomicLong();
+        final AtomicLong sum = new AtomicLong();
+        Thread[] threads = new Thread[6];
+        for (int t = 0; t < 4; t++) {
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 1; i <= count; i++) {
+                        while (!buffer.offer(new Integer(i))) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            };
+        }
+        for (int t = 4; t < 6; t++) {
+            threads[t] = new Thread() {
+                public void run() {
+                    while (taken.get() < 4L * count) {
+                        Integer i = (Integer) buffer.poll();
+                        if (i == null) {
+                            Thread.yield();
+                        } else {
+                            sum.addAndGet(i.intValue());
+                            taken.incrementAndGet();
+                        }
+                    }
+                }
+            };
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join(30000);
+        }
+        assertEquals(4L * count, taken.get());
+        assertEquals(4L * count * (count + 1) / 2, sum.get());
+        assertNull(buffer.poll());
+    }
+
+    public void testSampling() throws Exception {
+        WireLog log = new WireLog(file);
+        URL url = new URL("http://localhost/services/rest/");
+        assertNull(log.startCapture("GET", url));
+        log.setSampleRate(0.25);
+        int captured = 0;
+        for (int i = 0; i < 100; i++) {
+            if (log.startCapture("GET", url) != null) {
+                captured++;
+            }
+        }
+        assertEquals(25, captured);
+        log.close();
+        assertNull(log.startCapture("GET", url));
+        assertEquals(0, log.getWrittenCount());
+    }
+
+    public void testGetAndPost() throws Exception {
+        WireLog log = new WireLog(file);
+        log.setSampleRate(1);
+        rest.setWireLog(log);
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", "flickr.test.echo");
+        parameters.add("auth_token", "secret-token");
+        rest.get(rest.getPath(), parameters);
+        rest.post(rest.getPath(), parameters);
+        log.close();
+
+        assertEquals(2, log.getWrittenCount());
+        String text = read(file);
+        assertTrue(text, text.indexOf(" GET http://") > 0);
+        assertTrue(text, text.indexOf(" POST http://") > 0);
+        assertTrue(text, text.indexOf("status=200") > 0);
+        assertTrue(text, text.indexOf("> method=flickr.test.echo&auth_token=***") > 0);
+        assertTrue(text, text.indexOf("< " + OK) > 0);
+        assertEquals(-1, text.indexOf("secret-token"));
+    }
+
+    public void testSlowCalls() throws Exception {
+        WireLog log = new WireLog(file);
+        log.setSlowThreshold(100);
+        rest.setWireLog(log);
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", "flickr.test.echo");
+        rest.get(rest.getPath(), parameters);
+        server.setDelay(150);
+        rest.get(rest.getPath(), parameters);
+        log.close();
+
+        assertEquals(1, log.getWrittenCount());
+        String text = read(file);
+        assertTrue(text, text.indexOf(" slow") > 0);
+        // the response came after the threshold, so it was copied
+        assertTrue(text, text.indexOf("< " + OK) > 0);
+    }
+
+    public void testTokenInResponseIsMasked() throws Exception {
+        server.setResponseBody(
+            "<rsp stat=\"ok\"><auth><token>45-76598454353455</token><perms>read</perms></auth></rsp>"
+        );
+        WireLog log = new WireLog(file);
+        log.setSampleRate(1);
+        rest.setWireLog(log);
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", "flickr.auth.getToken");
+        parameters.add("frob", "123");
+        rest.get(rest.getPath(), parameters);
+        log.close();
+
+        String text = read(file);
+        assertTrue(text, text.indexOf("<token>***</token><perms>read</perms>") > 0);
+        assertEquals(-1, text.indexOf("76598454353455"));
+    }
+
+    public void testFailedCall() throws Exception {
+        WireLog log = new WireLog(file);
+        log.setSampleRate(1);
+        rest.setWireLog(log);
+        server.closeConnections();
+        server.stop();
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", "flickr.test.echo");
+        try {
+            rest.get(rest.getPath(), parameters);
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            // expected
+        }
+        log.close();
+        assertEquals(1, log.getWrittenCount());
+        assertTrue(read(file).indexOf(" failed=") > 0);
+    }
+
+    public void testRotation() throws Exception {
+        WireLog log = new WireLog(file);
+        log.setSampleRate(1);
+        log.setMaxFileSize(OK.length() * 2);
+        log.setMaxFiles(3);
+        rest.setWireLog(log);
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", "flickr.test.echo");
+        for (int i = 0; i < 6; i++) {
+            rest.get(rest.getPath(), parameters);
+        }
+        log.close();
+
+        assertEquals(6, log.getWrittenCount());
+        assertTrue(file.exists());
+        assertTrue(new File(dir, "flickr.log.1").exists());
+        assertTrue(new File(dir, "flickr.log.2").exists());
+        assertFalse(new File(dir, "flickr.log.3").exists());
+    }
+
+    public void testDroppedCaptures() throws Exception {
+        WireLog log = new WireLog(file, 1);
+        log.setSampleRate(1);
+        log.setMaxCaptureBytes(16);
+        rest.setWireLog(log);
+        ParameterList parameters = new ParameterList();
+        parameters.add("method", "flickr.test.echo");
+        for (int i = 0; i < 20; i++) {
+            rest.get(rest.getPath(), parameters);
+        }
+        log.close();
+
+        assertEquals(20, log.getWrittenCount() + log.getDroppedCount());
+        assertTrue(read(file).indexOf(" more bytes]") > 0);
+    }
+
+    private static String read(File file) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            byte[] data = new byte[(int) file.length()];
+            int count = 0;
+            while (count < data.length) {
+                count += in.read(data, count, data.length - count);
+            }
+            return new String(data, "ISO-8859-1");
+        } finally {
+            IOUtilities.close(in);
+        }
+    }
+
+}